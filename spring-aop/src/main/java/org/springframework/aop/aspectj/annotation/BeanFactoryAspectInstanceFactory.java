@@ -102,21 +102,18 @@ public class BeanFactoryAspectInstanceFactory implements MetadataAwareAspectInst
 		return this.aspectMetadata;
 	}
 
+	/**
+	 * This implementation does not expose a creation mutex: obtaining the
+	 * aspect instance may trigger singleton creation in the factory, which
+	 * must not happen while holding a lock shared with other threads.
+	 * For a singleton bean, the factory's singleton semantics apply;
+	 * {@link LazySingletonAspectInstanceFactoryDecorator} keeps the first
+	 * instance of a prototype bean.
+	 */
 	@Override
+	@Nullable
 	public Object getAspectCreationMutex() {
-		if (this.beanFactory != null) {
-			if (this.beanFactory.isSingleton(name)) {
-				// Rely on singleton semantics provided by the factory -> no local lock.
-				return null;
-			}
-			else if (this.beanFactory instanceof ConfigurableBeanFactory) {
-				// No singleton guarantees from the factory -> let's lock locally but
-				// reuse the factory's singleton lock, just in case a lazy dependency
-				// of our advice bean happens to trigger the singleton lock implicitly...
-				return ((ConfigurableBeanFactory) this.beanFactory).getSingletonMutex();
-			}
-		}
-		return this;
+		return null;
 	}
 
 	/**
@@ -50,7 +50,14 @@ public class LazySingletonAspectInstanceFactoryDecorator implements MetadataAwar
 		if (this.materialized == null) {
 			Object mutex = this.maaif.getAspectCreationMutex();
 			if (mutex == null) {
-				this.materialized = this.maaif.getAspectInstance();
+				// No creation mutex -> obtain the instance without locking,
+				// keeping the first one in case of concurrent calls.
+				Object aspectInstance = this.maaif.getAspectInstance();
+				synchronized (this) {
+					if (this.materialized == null) {
+						this.materialized = aspectInstance;
+					}
+				}
 			}
 			else {
 				synchronized (mutex) {
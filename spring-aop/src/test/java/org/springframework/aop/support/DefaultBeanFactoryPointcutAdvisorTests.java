@@ -0,0 +1,85 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.support;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.aop.Advice;
+import org.junit.Test;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.tests.aop.interceptor.NopInterceptor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link DefaultBeanFactoryPointcutAdvisor}.
+ */
+public class DefaultBeanFactoryPointcutAdvisorTests {
+
+	@Test
+	public void prototypeAdviceIsObtainedOnce() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("advice",
+				new RootBeanDefinition(NopInterceptor.class, BeanDefinition.SCOPE_PROTOTYPE, NopInterceptor::new));
+		DefaultBeanFactoryPointcutAdvisor advisor = new DefaultBeanFactoryPointcutAdvisor();
+		advisor.setAdviceBeanName("advice");
+		advisor.setBeanFactory(beanFactory);
+
+		Advice advice = advisor.getAdvice();
+		assertTrue(advice instanceof NopInterceptor);
+		assertSame(advice, advisor.getAdvice());
+	}
+
+	@Test
+	public void prototypeAdviceIsNotObtainedUnderSingletonMutex() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("advice",
+				new RootBeanDefinition(NopInterceptor.class, BeanDefinition.SCOPE_PROTOTYPE, NopInterceptor::new));
+		DefaultBeanFactoryPointcutAdvisor advisor = new DefaultBeanFactoryPointcutAdvisor();
+		advisor.setAdviceBeanName("advice");
+		advisor.setBeanFactory(beanFactory);
+
+		// Another thread holding the singleton mutex must not block advice retrieval
+		CountDownLatch mutexHeld = new CountDownLatch(1);
+		CountDownLatch adviceObtained = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> holder = executor.submit(() -> {
+				synchronized (beanFactory.getSingletonMutex()) {
+					mutexHeld.countDown();
+					return adviceObtained.await(10, TimeUnit.SECONDS);
+				}
+			});
+			assertTrue(mutexHeld.await(5, TimeUnit.SECONDS));
+			Future<Advice> advice = executor.submit(advisor::getAdvice);
+			assertTrue(advice.get(5, TimeUnit.SECONDS) instanceof NopInterceptor);
+			adviceObtained.countDown();
+			holder.get(5, TimeUnit.SECONDS);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
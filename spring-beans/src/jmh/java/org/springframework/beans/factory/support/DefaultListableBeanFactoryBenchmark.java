@@ -0,0 +1,142 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+
+/**
+ * Benchmarks for {@link DefaultListableBeanFactory#getBean} with singleton and
+ * prototype bean definitions (with explicit, constructor-autowired and
+ * annotation-driven dependencies), looked up by name and by type.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BeanFactoryState {
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+
+			RootBeanDefinition repository = new RootBeanDefinition(Repository.class);
+			this.beanFactory.registerBeanDefinition("repository", repository);
+
+			RootBeanDefinition singleton = new RootBeanDefinition(Service.class);
+			singleton.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("repository"));
+			this.beanFactory.registerBeanDefinition("singletonService", singleton);
+
+			RootBeanDefinition prototype = new RootBeanDefinition(Service.class);
+			prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			prototype.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("repository"));
+			this.beanFactory.registerBeanDefinition("prototypeService", prototype);
+
+			RootBeanDefinition autowired = new RootBeanDefinition(Service.class);
+			autowired.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			autowired.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			this.beanFactory.registerBeanDefinition("autowiredPrototypeService", autowired);
+
+			AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+			bpp.setBeanFactory(this.beanFactory);
+			this.beanFactory.addBeanPostProcessor(bpp);
+			RootBeanDefinition annotated = new RootBeanDefinition(AnnotatedService.class);
+			annotated.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+			this.beanFactory.registerBeanDefinition("annotatedPrototypeService", annotated);
+
+			// Additional unrelated definitions, as found in any realistic context
+			for (int i = 0; i < 500; i++) {
+				this.beanFactory.registerBeanDefinition("filler" + i, new RootBeanDefinition(Filler.class));
+			}
+			this.beanFactory.preInstantiateSingletons();
+		}
+	}
+
+
+	@Benchmark
+	public Object getSingletonByName(BeanFactoryState state) {
+		return state.beanFactory.getBean("singletonService");
+	}
+
+	@Benchmark
+	public Object getPrototypeByName(BeanFactoryState state) {
+		return state.beanFactory.getBean("prototypeService");
+	}
+
+	@Benchmark
+	public Object getAutowiredPrototypeByName(BeanFactoryState state) {
+		return state.beanFactory.getBean("autowiredPrototypeService");
+	}
+
+	@Benchmark
+	public Object getAnnotatedPrototypeByName(BeanFactoryState state) {
+		return state.beanFactory.getBean("annotatedPrototypeService");
+	}
+
+	@Benchmark
+	public Object getSingletonByType(BeanFactoryState state) {
+		return state.beanFactory.getBean(Repository.class);
+	}
+
+
+	public static class Repository {
+	}
+
+	public static class Service {
+
+		private final Repository repository;
+
+		public Service(Repository repository) {
+			this.repository = repository;
+		}
+
+		public Repository getRepository() {
+			return this.repository;
+		}
+	}
+
+	public static class AnnotatedService {
+
+		@Autowired
+		private Repository repository;
+
+		public Repository getRepository() {
+			return this.repository;
+		}
+	}
+
+	public static class Filler {
+	}
+
+}
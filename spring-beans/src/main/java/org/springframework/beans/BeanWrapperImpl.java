@@ -17,6 +17,7 @@
 package org.springframework.beans;
 
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.AccessControlContext;
 import java.security.AccessController;
@@ -326,6 +327,17 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 				}
 			}
 			else {
+				if (GeneratedAccessors.isEnabled()) {
+					try {
+						if (GeneratedAccessors.invokeSetter(writeMethod, getWrappedInstance(), value)) {
+							return;
+						}
+					}
+					catch (Throwable ex) {
+						// Same exception model as for reflective invocation
+						throw new InvocationTargetException(ex);
+					}
+				}
 				ReflectionUtils.makeAccessible(writeMethod);
 				writeMethod.invoke(getWrappedInstance(), value);
 			}
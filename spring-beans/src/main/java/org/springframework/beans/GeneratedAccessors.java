@@ -0,0 +1,425 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.core.SpringProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Static access to bytecode-generated accessors for constructors, setter
+ * methods and fields, as an alternative to reflective invocation on the
+ * hot paths of bean creation and dependency injection.
+ *
+ * <p>An accessor class is generated once per member (with ASM) and cached.
+ * Generated classes are defined in a child ClassLoader of the ClassLoader
+ * of the member's declaring class, analogous to the SpEL compiler. Since
+ * generated code is subject to regular access checks, accessors can only
+ * be generated for public members of public classes that exclusively
+ * refer to public types; for any other member as well as for arguments
+ * that do not match the member's declared types, the methods on this
+ * class indicate that the caller needs to fall back to reflection.
+ *
+ * <p>Exceptions thrown by an invoked constructor or setter method are
+ * propagated as-is, without the {@link java.lang.reflect.InvocationTargetException}
+ * wrapper that reflection would apply.
+ *
+ * <p>The container only uses generated accessors if the
+ * {@link #GENERATED_ACCESSORS_PROPERTY_NAME} flag has been set to "true"
+ * through a system property or the {@code spring.properties} file.
+ *
+ * @since 5.0
+ * @see #isEnabled()
+ * @see org.springframework.beans.factory.support.SimpleInstantiationStrategy
+ */
+public abstract class GeneratedAccessors {
+
+	/**
+	 * System property that instructs Spring to use generated accessors
+	 * instead of reflection for bean instantiation, setter-based property
+	 * population and field injection: "spring.beans.generated-accessors".
+	 * <p>The default is "false". Consider switching this flag to "true" for
+	 * applications that create a large number of (e.g. prototype) bean
+	 * instances, where the one-time cost of generating a class per
+	 * member is outweighed by the cheaper invocation.
+	 */
+	public static final String GENERATED_ACCESSORS_PROPERTY_NAME = "spring.beans.generated-accessors";
+
+	private static final int CLASSES_DEFINED_LIMIT = 100;
+
+	private static final String GENERATED_CLASS_PREFIX = "org/springframework/beans/generated/Accessor";
+
+	private static final Log logger = LogFactory.getLog(GeneratedAccessors.class);
+
+	private static final boolean enabled = SpringProperties.getFlag(GENERATED_ACCESSORS_PROPERTY_NAME);
+
+	private static final Accessor NO_ACCESSOR = new Accessor(null, new Class<?>[0]);
+
+	private static final Map<Member, Accessor> accessorCache = new ConcurrentReferenceHashMap<>(256);
+
+	private static final Map<ClassLoader, AccessorClassLoader> classLoaders = new ConcurrentReferenceHashMap<>(16);
+
+	private static final AtomicInteger suffixId = new AtomicInteger();
+
+
+	/**
+	 * Return whether the container should use generated accessors,
+	 * as indicated by the {@link #GENERATED_ACCESSORS_PROPERTY_NAME} flag.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Create a new instance through a generated instantiator for the given constructor.
+	 * @param ctor the constructor to invoke
+	 * @param args the constructor arguments to apply
+	 * @return the new instance, or {@code null} if no instantiator is available for the
+	 * given constructor or the given arguments do not match its parameter types
+	 * (in which case the caller is expected to fall back to reflection)
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public static <T> T newInstance(Constructor<T> ctor, Object... args) {
+		Accessor accessor = getAccessor(ctor);
+		if (accessor.target == null || !accessor.isApplicable(args)) {
+			return null;
+		}
+		return (T) ((Function<Object[], Object>) accessor.target).apply(args);
+	}
+
+	/**
+	 * Invoke the given setter method through a generated accessor.
+	 * @param writeMethod the single-argument method to invoke
+	 * @param target the object to invoke the method on
+	 * @param value the argument to pass
+	 * @return {@code true} if the method has been invoked, or {@code false} if no
+	 * accessor is available for the given method or the given target and value do not
+	 * match its declared types (in which case the caller is expected to fall back to
+	 * reflection)
+	 */
+	public static boolean invokeSetter(Method writeMethod, Object target, @Nullable Object value) {
+		return accept(writeMethod, target, value);
+	}
+
+	/**
+	 * Set the given field through a generated accessor.
+	 * @param field the field to set
+	 * @param target the object to set the field on
+	 * @param value the value to set
+	 * @return {@code true} if the field has been set, or {@code false} if no accessor
+	 * is available for the given field or the given target and value do not match its
+	 * declared types (in which case the caller is expected to fall back to reflection)
+	 */
+	public static boolean setField(Field field, Object target, @Nullable Object value) {
+		return accept(field, target, value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean accept(Member member, Object target, @Nullable Object value) {
+		Accessor accessor = getAccessor(member);
+		if (accessor.target == null || !member.getDeclaringClass().isInstance(target) ||
+				!accessor.isApplicable(new Object[] {value})) {
+			return false;
+		}
+		((BiConsumer<Object, Object>) accessor.target).accept(target, value);
+		return true;
+	}
+
+	private static Accessor getAccessor(Member member) {
+		Accessor accessor = accessorCache.get(member);
+		if (accessor == null) {
+			accessor = generateAccessor(member);
+			Accessor existing = accessorCache.putIfAbsent(member, accessor);
+			if (existing != null) {
+				accessor = existing;
+			}
+		}
+		return accessor;
+	}
+
+	private static Accessor generateAccessor(Member member) {
+		Class<?> declaringClass = member.getDeclaringClass();
+		ClassLoader classLoader = declaringClass.getClassLoader();
+		Class<?>[] parameterTypes = getParameterTypes(member);
+		if (classLoader == null || System.getSecurityManager() != null || parameterTypes == null ||
+				!isAccessible(member, parameterTypes)) {
+			return NO_ACCESSOR;
+		}
+		String className = GENERATED_CLASS_PREFIX + suffixId.incrementAndGet();
+		try {
+			byte[] bytes;
+			if (member instanceof Constructor) {
+				bytes = generateInstantiator(className, (Constructor<?>) member);
+			}
+			else if (member instanceof Method) {
+				bytes = generateSetter(className, (Method) member);
+			}
+			else {
+				bytes = generateFieldWriter(className, (Field) member);
+			}
+			Class<?> generatedClass = defineClass(classLoader, className.replace('/', '.'), bytes);
+			return new Accessor(ReflectionUtils.accessibleConstructor(generatedClass).newInstance(), parameterTypes);
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to generate accessor for " + member + " - falling back to reflection", ex);
+			}
+			return NO_ACCESSOR;
+		}
+	}
+
+	@Nullable
+	private static Class<?>[] getParameterTypes(Member member) {
+		if (member instanceof Constructor) {
+			return ((Constructor<?>) member).getParameterTypes();
+		}
+		else if (member instanceof Method) {
+			Method method = (Method) member;
+			return (method.getParameterCount() == 1 ? method.getParameterTypes() : null);
+		}
+		else if (member instanceof Field) {
+			return new Class<?>[] {((Field) member).getType()};
+		}
+		return null;
+	}
+
+	private static boolean isAccessible(Member member, Class<?>[] parameterTypes) {
+		Class<?> declaringClass = member.getDeclaringClass();
+		int modifiers = member.getModifiers();
+		if (!isPublicType(declaringClass) || !Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers)) {
+			return false;
+		}
+		if (member instanceof Constructor && Modifier.isAbstract(declaringClass.getModifiers())) {
+			return false;
+		}
+		if (member instanceof Field && Modifier.isFinal(modifiers)) {
+			return false;
+		}
+		for (Class<?> parameterType : parameterTypes) {
+			if (!isPublicType(parameterType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isPublicType(Class<?> type) {
+		Class<?> typeToCheck = type;
+		while (typeToCheck.isArray()) {
+			typeToCheck = typeToCheck.getComponentType();
+		}
+		return (typeToCheck.isPrimitive() || Modifier.isPublic(typeToCheck.getModifiers()));
+	}
+
+	private static Class<?> defineClass(ClassLoader parent, String name, byte[] bytes) {
+		synchronized (classLoaders) {
+			AccessorClassLoader classLoader = classLoaders.get(parent);
+			// Replace the child ClassLoader periodically, allowing accessor classes
+			// that are not referenced from the cache anymore to be garbage-collected
+			if (classLoader == null || classLoader.getClassesDefinedCount() >= CLASSES_DEFINED_LIMIT) {
+				classLoader = new AccessorClassLoader(parent);
+				classLoaders.put(parent, classLoader);
+			}
+			return classLoader.defineClass(name, bytes);
+		}
+	}
+
+
+	// Bytecode generation
+
+	private static byte[] generateInstantiator(String className, Constructor<?> ctor) {
+		ClassWriter cw = createClassWriter(className, Function.class);
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "apply",
+				"(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		String owner = Type.getInternalName(ctor.getDeclaringClass());
+		mv.visitTypeInsn(Opcodes.NEW, owner);
+		mv.visitInsn(Opcodes.DUP);
+		Class<?>[] parameterTypes = ctor.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, "[Ljava/lang/Object;");
+			pushInt(mv, i);
+			mv.visitInsn(Opcodes.AALOAD);
+			castOrUnbox(mv, parameterTypes[i]);
+		}
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, owner, "<init>", Type.getConstructorDescriptor(ctor), false);
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static byte[] generateSetter(String className, Method method) {
+		ClassWriter cw = createClassWriter(className, BiConsumer.class);
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "accept",
+				"(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+		mv.visitCode();
+		Class<?> declaringClass = method.getDeclaringClass();
+		String owner = Type.getInternalName(declaringClass);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		castOrUnbox(mv, method.getParameterTypes()[0]);
+		boolean isInterface = declaringClass.isInterface();
+		mv.visitMethodInsn((isInterface ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL),
+				owner, method.getName(), Type.getMethodDescriptor(method), isInterface);
+		Class<?> returnType = method.getReturnType();
+		if (returnType == long.class || returnType == double.class) {
+			mv.visitInsn(Opcodes.POP2);
+		}
+		else if (returnType != void.class) {
+			mv.visitInsn(Opcodes.POP);
+		}
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static byte[] generateFieldWriter(String className, Field field) {
+		ClassWriter cw = createClassWriter(className, BiConsumer.class);
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "accept",
+				"(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+		mv.visitCode();
+		String owner = Type.getInternalName(field.getDeclaringClass());
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		castOrUnbox(mv, field.getType());
+		mv.visitFieldInsn(Opcodes.PUTFIELD, owner, field.getName(), Type.getDescriptor(field.getType()));
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	private static ClassWriter createClassWriter(String className, Class<?> interfaceType) {
+		// Straight-line code only, so no stack map frames to compute
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null,
+				"java/lang/Object", new String[] {Type.getInternalName(interfaceType)});
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		return cw;
+	}
+
+	private static void castOrUnbox(MethodVisitor mv, Class<?> type) {
+		if (type.isPrimitive()) {
+			Class<?> wrapperType = ClassUtils.resolvePrimitiveIfNecessary(type);
+			String wrapper = Type.getInternalName(wrapperType);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getName() + "Value",
+					"()" + Type.getDescriptor(type), false);
+		}
+		else if (type != Object.class) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+		}
+	}
+
+	private static void pushInt(MethodVisitor mv, int value) {
+		if (value <= 5) {
+			mv.visitInsn(Opcodes.ICONST_0 + value);
+		}
+		else if (value <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(Opcodes.BIPUSH, value);
+		}
+		else {
+			mv.visitIntInsn(Opcodes.SIPUSH, value);
+		}
+	}
+
+
+	/**
+	 * Cached generated accessor (if any), along with the member's parameter types.
+	 */
+	private static class Accessor {
+
+		final Object target;
+
+		final Class<?>[] parameterTypes;
+
+		Accessor(@Nullable Object target, Class<?>[] parameterTypes) {
+			this.target = target;
+			this.parameterTypes = parameterTypes;
+		}
+
+		boolean isApplicable(@Nullable Object[] args) {
+			if (args == null || args.length != this.parameterTypes.length) {
+				return false;
+			}
+			for (int i = 0; i < args.length; i++) {
+				if (!ClassUtils.isAssignableValue(this.parameterTypes[i], args[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+
+	/**
+	 * Child ClassLoader for generated accessor classes.
+	 */
+	private static class AccessorClassLoader extends ClassLoader {
+
+		private int classesDefinedCount = 0;
+
+		AccessorClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		int getClassesDefinedCount() {
+			return this.classesDefinedCount;
+		}
+
+		Class<?> defineClass(String name, byte[] bytes) {
+			Class<?> clazz = defineClass(name, bytes, 0, bytes.length);
+			this.classesDefinedCount++;
+			return clazz;
+		}
+	}
+
+}
@@ -39,6 +39,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.GeneratedAccessors;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
@@ -586,7 +587,7 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 					}
 				}
 			}
-			if (value != null) {
+			if (value != null && !(GeneratedAccessors.isEnabled() && GeneratedAccessors.setField(field, bean, value))) {
 				ReflectionUtils.makeAccessible(field);
 				field.set(bean, value);
 			}
@@ -127,6 +127,9 @@ public interface SingletonBeanRegistry {
 
 	/**
 	 * Return the singleton mutex used by this registry (for external collaborators).
+	 * <p>Note that a registry may guard singleton creation with finer-grained locks
+	 * instead of this mutex: collaborators should not trigger bean creation while
+	 * holding it, since that may deadlock with singletons created in other threads.
 	 * @return the mutex object (never {@code null})
 	 * @since 4.2
 	 */
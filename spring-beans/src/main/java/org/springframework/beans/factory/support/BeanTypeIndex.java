@@ -0,0 +1,179 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Index from bean types to the names of the bean definitions that may match
+ * them, used by {@link DefaultListableBeanFactory} to narrow down by-type lookups
+ * to the relevant candidates once its configuration has been frozen.
+ *
+ * <p>Each bean name is registered under the type that the factory determined
+ * for it, and is thereby indexed under that class as well as all of its
+ * superclasses and interfaces, plus {@code Object} for interface types.
+ * Bean names without an upfront determinable type (e.g. FactoryBeans or
+ * beans currently in creation) are kept as unresolved and returned as
+ * candidates for every type.
+ *
+ * <p>Candidates are therefore a superset of the actual matches: the caller
+ * is expected to apply its regular type matching algorithm to each of them.
+ * They are returned in registration order, analogous to a full iteration over
+ * the bean definition names.
+ *
+ * <p>Modifications are synchronized, whereas candidate lookups operate without
+ * locking; since mappings for a new type are added before outdated mappings get
+ * removed, a concurrent lookup never misses a bean that is being re-registered.
+ *
+ * @since 5.0
+ * @see DefaultListableBeanFactory#freezeConfiguration()
+ */
+class BeanTypeIndex {
+
+	private final Map<String, Registration> registrations = new ConcurrentHashMap<>(256);
+
+	private final Map<Class<?>, Set<String>> beanNamesByType = new ConcurrentHashMap<>(256);
+
+	private final Set<String> unresolvedBeanNames = Collections.newSetFromMap(new ConcurrentHashMap<>(16));
+
+	private long nextOrder = 0;
+
+
+	/**
+	 * Register the given bean name under the given type, replacing a previous
+	 * registration for the same bean name (while retaining its original order).
+	 * @param beanName the name of the bean
+	 * @param beanType the type to index the bean under, or {@code null} to keep
+	 * the bean as unresolved (i.e. as a candidate for any type)
+	 */
+	public synchronized void register(String beanName, @Nullable Class<?> beanType) {
+		Registration existing = this.registrations.get(beanName);
+		if (existing != null && existing.beanType == beanType) {
+			return;
+		}
+		if (beanType != null) {
+			for (Class<?> type : getTypeHierarchy(beanType)) {
+				this.beanNamesByType.computeIfAbsent(type, key -> Collections.newSetFromMap(new ConcurrentHashMap<>(16)))
+						.add(beanName);
+			}
+		}
+		else {
+			this.unresolvedBeanNames.add(beanName);
+		}
+		long order = (existing != null ? existing.order : this.nextOrder++);
+		this.registrations.put(beanName, new Registration(order, beanType));
+		if (existing != null) {
+			removeMappings(beanName, existing.beanType, beanType);
+		}
+	}
+
+	/**
+	 * Remove the given bean name from this index.
+	 * @param beanName the name of the bean
+	 */
+	public synchronized void remove(String beanName) {
+		Registration existing = this.registrations.remove(beanName);
+		if (existing != null) {
+			removeMappings(beanName, existing.beanType, null);
+			this.unresolvedBeanNames.remove(beanName);
+		}
+	}
+
+	/**
+	 * Return the names of all beans that may match the given type, in registration order.
+	 * @param type the (raw) type to look up
+	 * @return the candidate bean names, including all unresolved bean names
+	 */
+	public List<String> getCandidateNames(Class<?> type) {
+		Map<Long, String> candidates = new TreeMap<>();
+		Set<String> indexedNames = this.beanNamesByType.get(type);
+		if (indexedNames != null) {
+			addCandidates(indexedNames, candidates);
+		}
+		addCandidates(this.unresolvedBeanNames, candidates);
+		return new ArrayList<>(candidates.values());
+	}
+
+	private void addCandidates(Set<String> beanNames, Map<Long, String> candidates) {
+		for (String beanName : beanNames) {
+			Registration registration = this.registrations.get(beanName);
+			if (registration != null) {
+				candidates.put(registration.order, beanName);
+			}
+		}
+	}
+
+	private void removeMappings(String beanName, @Nullable Class<?> oldType, @Nullable Class<?> newType) {
+		if (oldType != null) {
+			Set<Class<?>> retainedTypes = (newType != null ? getTypeHierarchy(newType) : Collections.emptySet());
+			for (Class<?> type : getTypeHierarchy(oldType)) {
+				if (!retainedTypes.contains(type)) {
+					Set<String> beanNames = this.beanNamesByType.get(type);
+					if (beanNames != null) {
+						beanNames.remove(beanName);
+					}
+				}
+			}
+		}
+		else if (newType != null) {
+			this.unresolvedBeanNames.remove(beanName);
+		}
+	}
+
+	private static Set<Class<?>> getTypeHierarchy(Class<?> beanType) {
+		Set<Class<?>> types = new LinkedHashSet<>();
+		collectTypeHierarchy(beanType, types);
+		// Interfaces do not extend Object but are assignable to it
+		types.add(Object.class);
+		return types;
+	}
+
+	private static void collectTypeHierarchy(@Nullable Class<?> type, Set<Class<?>> types) {
+		if (type != null && types.add(type)) {
+			collectTypeHierarchy(type.getSuperclass(), types);
+			for (Class<?> ifc : type.getInterfaces()) {
+				collectTypeHierarchy(ifc, types);
+			}
+		}
+	}
+
+
+	/**
+	 * A bean's registration in the index.
+	 */
+	private static class Registration {
+
+		final long order;
+
+		final Class<?> beanType;
+
+		Registration(long order, @Nullable Class<?> beanType) {
+			this.order = order;
+			this.beanType = beanType;
+		}
+	}
+
+}
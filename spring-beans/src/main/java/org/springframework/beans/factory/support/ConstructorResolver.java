@@ -40,6 +40,7 @@ import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.InjectionPoint;
 import org.springframework.beans.factory.UnsatisfiedDependencyException;
 import org.springframework.beans.factory.config.ConstructorArgumentValues;
@@ -714,12 +715,15 @@ class ConstructorResolver {
 							"] - did you specify the correct bean references as arguments?");
 				}
 				try {
+					Set<String> argumentBeanNames = new LinkedHashSet<>(2);
 					Object autowiredArgument =
-							resolveAutowiredArgument(methodParam, beanName, autowiredBeanNames, converter);
+							resolveAutowiredArgument(methodParam, beanName, argumentBeanNames, converter);
 					args.rawArguments[paramIndex] = autowiredArgument;
 					args.arguments[paramIndex] = autowiredArgument;
-					args.preparedArguments[paramIndex] = new AutowiredArgumentMarker();
+					args.preparedArguments[paramIndex] =
+							new AutowiredArgumentMarker(determineShortcut(argumentBeanNames, paramType));
 					args.resolveNecessary = true;
+					autowiredBeanNames.addAll(argumentBeanNames);
 				}
 				catch (BeansException ex) {
 					throw new UnsatisfiedDependencyException(
@@ -758,7 +762,16 @@ class ConstructorResolver {
 			MethodParameter methodParam = MethodParameter.forExecutable(executable, argIndex);
 			GenericTypeResolver.resolveParameterType(methodParam, executable.getDeclaringClass());
 			if (argValue instanceof AutowiredArgumentMarker) {
-				argValue = resolveAutowiredArgument(methodParam, beanName, null, converter);
+				String shortcut = ((AutowiredArgumentMarker) argValue).shortcut;
+				if (shortcut != null) {
+					// Pre-resolved target bean: skip the type matching algorithm across all beans
+					argValue = this.beanFactory.resolveDependency(
+							new ShortcutDependencyDescriptor(methodParam, shortcut, paramTypes[argIndex]),
+							beanName, null, converter);
+				}
+				else {
+					argValue = resolveAutowiredArgument(methodParam, beanName, null, converter);
+				}
 			}
 			else if (argValue instanceof BeanMetadataElement) {
 				argValue = valueResolver.resolveValueIfNecessary("constructor argument", argValue);
@@ -795,6 +808,23 @@ class ConstructorResolver {
 		return constructor;
 	}
 
+	/**
+	 * Determine the name of the target bean that a subsequent resolution of the
+	 * given autowired argument may go to directly, if it has been resolved to a
+	 * single bean of a matching type.
+	 */
+	@Nullable
+	private String determineShortcut(Set<String> autowiredBeanNames, Class<?> paramType) {
+		if (autowiredBeanNames.size() == 1) {
+			String autowiredBeanName = autowiredBeanNames.iterator().next();
+			if (this.beanFactory.containsBean(autowiredBeanName) &&
+					this.beanFactory.isTypeMatch(autowiredBeanName, paramType)) {
+				return autowiredBeanName;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Template method for resolving the specified argument which is supposed to be autowired.
 	 */
@@ -891,9 +921,39 @@ class ConstructorResolver {
 
 
 	/**
-	 * Marker for autowired arguments in a cached argument array.
+	 * Marker for autowired arguments in a cached argument array,
+	 * holding the name of the pre-resolved target bean (if any).
  	 */
 	private static class AutowiredArgumentMarker {
+
+		private final String shortcut;
+
+		public AutowiredArgumentMarker(@Nullable String shortcut) {
+			this.shortcut = shortcut;
+		}
+	}
+
+
+	/**
+	 * DependencyDescriptor variant with a pre-resolved target bean name.
+	 */
+	@SuppressWarnings("serial")
+	private static class ShortcutDependencyDescriptor extends DependencyDescriptor {
+
+		private final String shortcut;
+
+		private final Class<?> requiredType;
+
+		public ShortcutDependencyDescriptor(MethodParameter methodParameter, String shortcut, Class<?> requiredType) {
+			super(methodParameter, true);
+			this.shortcut = shortcut;
+			this.requiredType = requiredType;
+		}
+
+		@Override
+		public Object resolveShortcut(BeanFactory beanFactory) {
+			return resolveCandidate(this.shortcut, this.requiredType, beanFactory);
+		}
 	}
 
 
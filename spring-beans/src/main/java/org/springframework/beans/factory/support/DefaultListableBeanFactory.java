@@ -65,6 +65,7 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
@@ -146,6 +147,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Optional OrderComparator for dependency Lists and arrays */
 	private Comparator<Object> dependencyComparator;
 
+	/** Number of threads to pre-instantiate singletons with */
+	private int preInstantiationParallelism = 1;
+
 	/** Resolver to use for checking if a bean definition is an autowire candidate */
 	private AutowireCandidateResolver autowireCandidateResolver = new SimpleAutowireCandidateResolver();
 
@@ -173,6 +177,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans */
 	private volatile boolean configurationFrozen = false;
 
+	/** Index of bean definition names by type in case of frozen configuration */
+	private volatile BeanTypeIndex beanTypeIndex;
+
+	/** Whether the type index is to be rebuilt on next use, after destruction of all singletons */
+	private volatile boolean beanTypeIndexOutdated = false;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -275,6 +285,36 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.dependencyComparator;
 	}
 
+	/**
+	 * Set the number of threads to pre-instantiate non-lazy singletons with
+	 * in {@link #preInstantiateSingletons()}.
+	 * <p>Default is 1, creating all singletons sequentially in registration order.
+	 * A higher value creates beans that do not refer to each other concurrently
+	 * on a dedicated fork-join pool, following the bean references declared in
+	 * the bean definitions as well as the predicted injection points of each bean
+	 * (constructor and factory method parameters, autowired properties, and
+	 * annotated fields and methods). This requires beans whose initialization is
+	 * not implicitly order-dependent and thread-safe with respect to shared state;
+	 * sequential creation remains in place whenever a bean declares an explicit
+	 * {@code depends-on} ordering, the type of a bean cannot be predicted, or the
+	 * references are circular.
+	 * {@link SmartInitializingSingleton} callbacks are always invoked sequentially
+	 * in registration order, once all singletons have been created.
+	 * @since 5.0
+	 */
+	public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+		Assert.isTrue(preInstantiationParallelism > 0, "Parallelism must be greater than 0");
+		this.preInstantiationParallelism = preInstantiationParallelism;
+	}
+
+	/**
+	 * Return the number of threads to pre-instantiate singletons with.
+	 * @since 5.0
+	 */
+	public int getPreInstantiationParallelism() {
+		return this.preInstantiationParallelism;
+	}
+
 	/**
 	 * Set a custom autowire candidate resolver for this BeanFactory to use
 	 * when deciding whether a bean definition should be considered as a
@@ -312,6 +352,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.preInstantiationParallelism = otherListableFactory.preInstantiationParallelism;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
 			setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well...
@@ -399,8 +440,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		List<String> result = new ArrayList<>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all bean definitions (or the indexed candidates for the given type).
+		for (String beanName : getCandidateBeanDefinitionNames(type)) {
 			// Only consider bean as eligible if the bean name
 			// is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
@@ -481,6 +522,96 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Determine the names of the bean definitions to check against the given type:
+	 * the candidates from the type index in case of frozen configuration,
+	 * or all bean definition names otherwise.
+	 * @param type the type to match
+	 * @return the bean definition names to check, in registration order
+	 * @see #freezeConfiguration()
+	 */
+	private Collection<String> getCandidateBeanDefinitionNames(ResolvableType type) {
+		BeanTypeIndex index = this.beanTypeIndex;
+		if (index == null && this.beanTypeIndexOutdated) {
+			this.beanTypeIndexOutdated = false;
+			index = buildBeanTypeIndex();
+			this.beanTypeIndex = index;
+		}
+		Class<?> rawType = type.resolve();
+		if (index == null || rawType == null || rawType == Object.class ||
+				rawType.isArray() || rawType.isPrimitive()) {
+			return this.beanDefinitionNames;
+		}
+		return index.getCandidateNames(rawType);
+	}
+
+	/**
+	 * Build a type index for all currently registered bean definitions.
+	 */
+	private BeanTypeIndex buildBeanTypeIndex() {
+		BeanTypeIndex index = new BeanTypeIndex();
+		for (String beanName : this.beanDefinitionNames) {
+			index.register(beanName, determineIndexedType(beanName));
+		}
+		return index;
+	}
+
+	/**
+	 * Update the type index (if any) for the given bean,
+	 * after a change of its bean definition or singleton instance.
+	 * @param beanName the name of the bean
+	 * @param resolveType whether to determine the bean's current type,
+	 * as opposed to keeping it as a candidate for every type
+	 */
+	private void updateBeanTypeIndex(String beanName, boolean resolveType) {
+		BeanTypeIndex index = this.beanTypeIndex;
+		if (index != null) {
+			if (!containsBeanDefinition(beanName)) {
+				index.remove(beanName);
+			}
+			else {
+				index.register(beanName, (resolveType ? determineIndexedType(beanName) : null));
+			}
+		}
+	}
+
+	/**
+	 * Determine the type to index the given bean under: the class of its
+	 * singleton instance if available, or its predicted type otherwise.
+	 * <p>Returns {@code null} for beans that need to be checked for every type,
+	 * in particular for FactoryBeans, for beans currently in creation (which might
+	 * expose an early reference of a different type), and for beans whose type
+	 * cannot be safely determined without eager initialization.
+	 * @param beanName the name of the bean
+	 * @return the type to index, or {@code null} if none
+	 */
+	@Nullable
+	private Class<?> determineIndexedType(String beanName) {
+		try {
+			if (isSingletonCurrentlyInCreation(beanName)) {
+				return null;
+			}
+			Object beanInstance = getSingleton(beanName, false);
+			if (beanInstance != null) {
+				return (!(beanInstance instanceof FactoryBean) ? beanInstance.getClass() : null);
+			}
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (mbd.isAbstract() || mbd.getDecoratedDefinition() != null ||
+					// Predictions for non-singletons may change (e.g. proxy types after first creation)
+					(!mbd.isSingleton() && hasInstantiationAwareBeanPostProcessors()) ||
+					(!mbd.hasBeanClass() && mbd.isLazyInit() && !isAllowEagerClassLoading()) ||
+					requiresEagerInitForType(mbd.getFactoryBeanName())) {
+				return null;
+			}
+			Class<?> beanType = predictBeanType(beanName, mbd);
+			return (beanType != null && !FactoryBean.class.isAssignableFrom(beanType) ? beanType : null);
+		}
+		catch (BeansException ex) {
+			// To be checked (and reported, if necessary) by the regular type matching algorithm
+			return null;
+		}
+	}
+
 	/**
 	 * Check whether the specified bean would need to be eagerly initialized
 	 * in order to determine its type.
@@ -690,12 +821,24 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
 		clearByTypeCache();
+		if (this.beanTypeIndex != null) {
+			this.beanTypeIndex = buildBeanTypeIndex();
+		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation also builds an index of bean definition names by type,
+	 * which lets subsequent by-type lookups only check the relevant candidates rather
+	 * than all bean definitions. The index is updated on changes to the registered
+	 * bean definitions and singleton instances.
+	 */
 	@Override
 	public void freezeConfiguration() {
 		this.configurationFrozen = true;
 		this.frozenBeanDefinitionNames = StringUtils.toStringArray(this.beanDefinitionNames);
+		this.beanTypeIndexOutdated = false;
+		this.beanTypeIndex = buildBeanTypeIndex();
 	}
 
 	@Override
@@ -724,27 +867,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					final FactoryBean<?> factory = (FactoryBean<?>) getBean(FACTORY_BEAN_PREFIX + beanName);
-					boolean isEagerInit;
-					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-						isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
-								((SmartFactoryBean<?>) factory).isEagerInit(),
-								getAccessControlContext());
-					}
-					else {
-						isEagerInit = (factory instanceof SmartFactoryBean &&
-								((SmartFactoryBean<?>) factory).isEagerInit());
-					}
-					if (isEagerInit) {
-						getBean(beanName);
-					}
-				}
-				else {
-					getBean(beanName);
+		if (this.preInstantiationParallelism <= 1 || System.getSecurityManager() != null ||
+				!preInstantiateSingletonsInParallel(beanNames)) {
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -768,6 +896,55 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * Pre-instantiate the non-lazy singletons among the given beans on a
+	 * fork-join pool, if the declared references between them allow for it.
+	 * @param beanNames the names of all bean definitions, in registration order
+	 * @return {@code false} if sequential pre-instantiation is required instead
+	 * @see #setPreInstantiationParallelism
+	 */
+	private boolean preInstantiateSingletonsInParallel(List<String> beanNames) {
+		List<String> singletonNames = new ArrayList<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				singletonNames.add(beanName);
+			}
+		}
+		ParallelSingletonPreInstantiator preInstantiator =
+				new ParallelSingletonPreInstantiator(this, this.preInstantiationParallelism);
+		return preInstantiator.preInstantiate(singletonNames);
+	}
+
+	/**
+	 * Pre-instantiate the given non-lazy singleton, or the given
+	 * {@link FactoryBean} and - if eagerly initializing - its object.
+	 * @param beanName the name of the bean
+	 * @see #preInstantiateSingletons()
+	 */
+	void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			final FactoryBean<?> factory = (FactoryBean<?>) getBean(FACTORY_BEAN_PREFIX + beanName);
+			boolean isEagerInit;
+			if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+				isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+						((SmartFactoryBean<?>) factory).isEagerInit(),
+						getAccessControlContext());
+			}
+			else {
+				isEagerInit = (factory instanceof SmartFactoryBean &&
+						((SmartFactoryBean<?>) factory).isEagerInit());
+			}
+			if (isEagerInit) {
+				getBean(beanName);
+			}
+		}
+		else {
+			getBean(beanName);
+		}
+	}
+
+
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
 	//---------------------------------------------------------------------
@@ -850,6 +1027,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (oldBeanDefinition != null || containsSingleton(beanName)) {
 			resetBeanDefinition(beanName);
 		}
+		updateBeanTypeIndex(beanName, false);
 	}
 
 	@Override
@@ -944,13 +1122,44 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		super.destroySingleton(beanName);
 		this.manualSingletonNames.remove(beanName);
 		clearByTypeCache();
+		updateBeanTypeIndex(beanName, true);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation suspends the type index (if any) while destroying,
+	 * rebuilding it on the next by-type lookup.
+	 */
 	@Override
 	public void destroySingletons() {
+		boolean indexed = (this.beanTypeIndex != null || this.beanTypeIndexOutdated);
+		this.beanTypeIndexOutdated = false;
+		this.beanTypeIndex = null;
 		super.destroySingletons();
 		this.manualSingletonNames.clear();
 		clearByTypeCache();
+		this.beanTypeIndexOutdated = indexed;
+	}
+
+	@Override
+	protected void addSingleton(String beanName, @Nullable Object singletonObject) {
+		super.addSingleton(beanName, singletonObject);
+		updateBeanTypeIndex(beanName, true);
+	}
+
+	@Override
+	protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
+		super.addSingletonFactory(beanName, singletonFactory);
+		updateBeanTypeIndex(beanName, false);
+	}
+
+	@Override
+	public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
+		super.addBeanPostProcessor(beanPostProcessor);
+		if (this.beanTypeIndex != null) {
+			// Type predictions might change with a new post-processor
+			this.beanTypeIndex = buildBeanTypeIndex();
+		}
 	}
 
 	/**
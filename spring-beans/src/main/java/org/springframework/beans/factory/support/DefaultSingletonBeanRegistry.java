@@ -16,15 +16,20 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +40,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -64,6 +70,19 @@ import org.springframework.util.StringUtils;
  * (which inherit from it). Can alternatively also be used as a nested
  * helper to delegate to.
  *
+ * <p>Fully initialized singletons are read without any locking. Creation of
+ * a singleton is guarded by a lock per bean name rather than by a registry-wide
+ * mutex, so that independent singletons (e.g. lazy-init beans requested from
+ * different threads) can be created concurrently. Early references to a
+ * singleton currently in creation are only exposed to the creating thread,
+ * except when waiting for another thread's creation would deadlock: exactly
+ * one thread in such a circular dependency across threads is selected
+ * deterministically to back off and proceed with an early reference, just
+ * like a circular reference within a single thread. The creating thread is
+ * blocked in the meantime, and the backing-off thread waits for the referenced
+ * singleton to be fully initialized before it returns from its outermost
+ * singleton creation, so the early reference does not escape to its callers.
+ *
  * @author Juergen Hoeller
  * @since 2.0
  * @see #registerSingleton
@@ -79,6 +98,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected static final Object NULL_OBJECT = new Object();
 
+	/** Interval in milliseconds for re-checking a waiting thread for deadlocks */
+	private static final long DEADLOCK_CHECK_INTERVAL = 10;
+
 
 	/** Logger available to subclasses */
 	protected final Log logger = LogFactory.getLog(getClass());
@@ -87,10 +109,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
 	/** Cache of singleton factories: bean name --> ObjectFactory */
-	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+	private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
 	/** Cache of early singleton objects: bean name --> bean instance */
-	private final Map<String, Object> earlySingletonObjects = new HashMap<>(16);
+	private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
 	/** Set of registered singletons, containing the bean names in registration order */
 	private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
@@ -103,11 +125,22 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Set<String> inCreationCheckExclusions =
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
-	/** List of suppressed Exceptions, available for associating related causes */
-	private Set<Exception> suppressedExceptions;
+	/** Creation locks for singleton beans: bean name --> lock */
+	private final Map<String, SingletonLock> singletonLocks = new ConcurrentHashMap<>(256);
+
+	/** Singleton locks that threads are currently waiting for: thread --> lock request */
+	private final Map<Thread, SingletonLockRequest> singletonLockWaiters = new ConcurrentHashMap<>(16);
+
+	/** Names of singletons in creation in other threads that the current thread obtained early references to */
+	private final ThreadLocal<Set<String>> earlyReferencesFromOtherThreads =
+			new NamedThreadLocal<>("Early singleton references from other threads");
+
+	/** Suppressed Exceptions of the current thread, available for associating related causes */
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions during singleton creation");
 
 	/** Flag that indicates whether we're currently within destroySingletons */
-	private boolean singletonsCurrentlyInDestruction = false;
+	private volatile boolean singletonsCurrentlyInDestruction = false;
 
 	/** Disposable bean instances: bean name --> disposable instance */
 	private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
@@ -125,7 +158,12 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "'beanName' must not be null");
-		synchronized (this.singletonObjects) {
+		Lock lock = acquireSingletonLock(beanName, name -> false);
+		if (lock == null) {
+			throw new IllegalStateException("Could not register object [" + singletonObject +
+					"] under bean name '" + beanName + "': bean is currently in creation in another thread");
+		}
+		try {
 			Object oldObject = this.singletonObjects.get(beanName);
 			if (oldObject != null) {
 				throw new IllegalStateException("Could not register object [" + singletonObject +
@@ -133,6 +171,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			}
 			addSingleton(beanName, singletonObject);
 		}
+		finally {
+			releaseSingletonLock(lock);
+		}
 	}
 
 	/**
@@ -142,7 +183,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param singletonObject the singleton object
 	 */
 	protected void addSingleton(String beanName, @Nullable Object singletonObject) {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registeredSingletons) {
 			this.singletonObjects.put(beanName, (singletonObject != null ? singletonObject : NULL_OBJECT));
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -160,7 +201,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(singletonFactory, "Singleton factory must not be null");
-		synchronized (this.singletonObjects) {
+		synchronized (this.registeredSingletons) {
 			if (!this.singletonObjects.containsKey(beanName)) {
 				this.singletonFactories.put(beanName, singletonFactory);
 				this.earlySingletonObjects.remove(beanName);
@@ -178,6 +219,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * Return the (raw) singleton object registered under the given name.
 	 * <p>Checks already instantiated singletons and also allows for an early
 	 * reference to a currently created singleton (resolving a circular reference).
+	 * <p>Early references are only exposed to the thread creating the singleton;
+	 * other threads will see {@code null} until the singleton is fully initialized
+	 * (unless they are involved in a circular dependency with the creating thread,
+	 * see {@link #getSingleton(String, ObjectFactory)}).
 	 * @param beanName the name of the bean to look for
 	 * @param allowEarlyReference whether early references should be created or not
 	 * @return the registered singleton object, or {@code null} if none found
@@ -186,24 +231,53 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
 		Object singletonObject = this.singletonObjects.get(beanName);
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-			synchronized (this.singletonObjects) {
-				singletonObject = this.earlySingletonObjects.get(beanName);
-				if (singletonObject == null && allowEarlyReference) {
-					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-					if (singletonFactory != null) {
+			SingletonLock lock = this.singletonLocks.get(beanName);
+			if (lock != null && lock.isHeldByCurrentThread()) {
+				singletonObject = getEarlySingleton(beanName, allowEarlyReference);
+			}
+		}
+		return (singletonObject != NULL_OBJECT ? singletonObject : null);
+	}
+
+	/**
+	 * Return the early reference to the given singleton currently in creation,
+	 * obtaining it from the registered singleton factory if necessary.
+	 * @param beanName the name of the bean
+	 * @param allowEarlyReference whether early references should be created or not
+	 * @return the early singleton reference, or {@code null} if none available
+	 */
+	@Nullable
+	private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+		Object singletonObject = this.earlySingletonObjects.get(beanName);
+		if (singletonObject == null && allowEarlyReference) {
+			ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+			if (singletonFactory != null) {
+				// Synchronize on the factory itself in order to build the early reference only once...
+				synchronized (singletonFactory) {
+					singletonObject = this.earlySingletonObjects.get(beanName);
+					if (singletonObject == null && this.singletonFactories.get(beanName) == singletonFactory) {
 						singletonObject = singletonFactory.getObject();
+						if (singletonObject == null) {
+							singletonObject = NULL_OBJECT;
+						}
 						this.earlySingletonObjects.put(beanName, singletonObject);
 						this.singletonFactories.remove(beanName);
 					}
 				}
 			}
 		}
-		return (singletonObject != NULL_OBJECT ? singletonObject : null);
+		if (singletonObject == null) {
+			singletonObject = this.singletonObjects.get(beanName);
+		}
+		return singletonObject;
 	}
 
 	/**
 	 * Return the (raw) singleton object registered under the given name,
 	 * creating and registering a new one if none registered yet.
+	 * <p>Creation is guarded by the {@link #acquireSingletonLock singleton lock}
+	 * for the given bean name: concurrent callers for the same bean wait for the
+	 * singleton to be created, while other singletons may be created concurrently.
 	 * @param beanName the name of the bean
 	 * @param singletonFactory the ObjectFactory to lazily create the singleton
 	 * with, if necessary
@@ -212,8 +286,32 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	@Nullable
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "'beanName' must not be null");
-		synchronized (this.singletonObjects) {
-			Object singletonObject = this.singletonObjects.get(beanName);
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return (singletonObject != NULL_OBJECT ? singletonObject : null);
+		}
+
+		Lock lock = acquireSingletonLock(beanName);
+		if (lock == null) {
+			// This thread has been selected to back off from a circular dependency with
+			// the creating thread: resolve like a circular reference within one thread.
+			singletonObject = getEarlySingleton(beanName, true);
+			if (singletonObject == null) {
+				throw new BeanCurrentlyInCreationException(beanName, "Requested bean is currently in creation " +
+						"in another thread which waits for a bean in creation in this thread: " +
+						"Is there an unresolvable circular reference?");
+			}
+			Set<String> earlyReferences = this.earlyReferencesFromOtherThreads.get();
+			if (earlyReferences == null) {
+				earlyReferences = new LinkedHashSet<>();
+				this.earlyReferencesFromOtherThreads.set(earlyReferences);
+			}
+			earlyReferences.add(beanName);
+			return (singletonObject != NULL_OBJECT ? singletonObject : null);
+		}
+
+		try {
+			singletonObject = this.singletonObjects.get(beanName);
 			if (singletonObject == null) {
 				if (this.singletonsCurrentlyInDestruction) {
 					throw new BeanCreationNotAllowedException(beanName,
@@ -225,9 +323,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 				}
 				beforeSingletonCreation(beanName);
 				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
+				boolean recordSuppressedExceptions = (this.suppressedExceptions.get() == null);
 				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
+					this.suppressedExceptions.set(new LinkedHashSet<>());
 				}
 				try {
 					singletonObject = singletonFactory.getObject();
@@ -243,7 +341,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 				}
 				catch (BeanCreationException ex) {
 					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
+						for (Exception suppressedException : this.suppressedExceptions.get()) {
 							ex.addRelatedCause(suppressedException);
 						}
 					}
@@ -251,7 +349,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 				}
 				finally {
 					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+						this.suppressedExceptions.remove();
 					}
 					afterSingletonCreation(beanName);
 				}
@@ -261,6 +359,172 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			}
 			return (singletonObject != NULL_OBJECT ? singletonObject : null);
 		}
+		finally {
+			releaseSingletonLock(lock);
+		}
+	}
+
+	/**
+	 * Return the creation lock for the given singleton bean name.
+	 * <p>Use {@link Lock#tryLock()} for opportunistic access to a singleton's
+	 * creation phase; blocking callers should go through
+	 * {@link #acquireSingletonLock} instead, which detects deadlocks.
+	 * @param beanName the name of the bean
+	 * @return the lock (never {@code null})
+	 * @since 5.0
+	 */
+	protected final Lock getSingletonLock(String beanName) {
+		return this.singletonLocks.computeIfAbsent(beanName, SingletonLock::new);
+	}
+
+	/**
+	 * Acquire the creation lock for the given singleton bean name, waiting
+	 * for another thread to finish its creation phase if necessary.
+	 * <p>Backs off from a deadlock if an early reference to the singleton
+	 * is available, see {@link #acquireSingletonLock(String, Predicate)}.
+	 * @param beanName the name of the bean
+	 * @return the acquired lock, to be released by the caller,
+	 * or {@code null} if the current thread has to back off from a deadlock
+	 * @since 5.0
+	 */
+	@Nullable
+	protected Lock acquireSingletonLock(String beanName) {
+		return acquireSingletonLock(beanName, this::hasEarlySingletonReference);
+	}
+
+	/**
+	 * Acquire the creation lock for the given singleton bean name, waiting
+	 * for another thread to finish its creation phase if necessary.
+	 * <p>While waiting, the current thread periodically checks whether the
+	 * thread holding the lock is (transitively) waiting for a singleton lock
+	 * held by the current thread, i.e. whether there is a circular dependency
+	 * between singletons in creation in different threads. Exactly one of the
+	 * waiting threads in such a cycle backs off, independent of the order in
+	 * which the threads started waiting: preferably a thread which can proceed
+	 * without the lock for the bean it is waiting for, and among those the one
+	 * waiting for the lowest bean name.
+	 * @param beanName the name of the bean
+	 * @param canProceedWithoutLock whether the caller is able to proceed
+	 * without the lock for the given bean name (possibly evaluated by
+	 * another thread, so it needs to be thread-safe)
+	 * @return the acquired lock, to be released by the caller,
+	 * or {@code null} if the current thread has to back off from a deadlock
+	 * @since 5.0
+	 * @see #releaseSingletonLock
+	 */
+	@Nullable
+	protected Lock acquireSingletonLock(String beanName, Predicate<String> canProceedWithoutLock) {
+		SingletonLock lock = (SingletonLock) getSingletonLock(beanName);
+		if (lock.tryLock()) {
+			return lock;
+		}
+		Thread currentThread = Thread.currentThread();
+		this.singletonLockWaiters.put(currentThread, new SingletonLockRequest(lock, canProceedWithoutLock));
+		boolean interrupted = false;
+		try {
+			while (true) {
+				List<SingletonLockRequest> cycle = getWaitCycle(currentThread);
+				if (cycle != null && selectRequestToBackOff(cycle).lock == lock) {
+					return null;
+				}
+				try {
+					if (lock.tryLock(DEADLOCK_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+						return lock;
+					}
+				}
+				catch (InterruptedException ex) {
+					// Keep waiting like a regular monitor would, restoring the flag afterwards
+					interrupted = true;
+				}
+			}
+		}
+		finally {
+			this.singletonLockWaiters.remove(currentThread);
+			if (interrupted) {
+				currentThread.interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Release the given singleton lock, as obtained from {@link #acquireSingletonLock}.
+	 * <p>If the current thread obtained early references to singletons in creation
+	 * in other threads, releasing its last singleton lock waits for those to be
+	 * fully initialized: the singletons created by the current thread might hold
+	 * on to them, so they must not escape to the caller in a partially
+	 * initialized state.
+	 * @param lock the lock to release
+	 * @since 5.0
+	 */
+	protected void releaseSingletonLock(Lock lock) {
+		lock.unlock();
+		Set<String> earlyReferences = this.earlyReferencesFromOtherThreads.get();
+		if (earlyReferences != null && !holdsAnySingletonLock()) {
+			this.earlyReferencesFromOtherThreads.remove();
+			for (String beanName : earlyReferences) {
+				// The creating thread releases its lock once the singleton is fully initialized
+				Lock otherLock = acquireSingletonLock(beanName, name -> true);
+				if (otherLock != null) {
+					otherLock.unlock();
+				}
+			}
+		}
+	}
+
+	private boolean holdsAnySingletonLock() {
+		for (SingletonLock singletonLock : this.singletonLocks.values()) {
+			if (singletonLock.isHeldByCurrentThread()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasEarlySingletonReference(String beanName) {
+		return (this.earlySingletonObjects.containsKey(beanName) || this.singletonFactories.containsKey(beanName));
+	}
+
+	/**
+	 * Determine the cycle of lock requests that the given thread is waiting in.
+	 * @param currentThread the thread to start from
+	 * @return the lock requests of all threads in the cycle,
+	 * or {@code null} if the given thread is not part of a cycle
+	 */
+	@Nullable
+	private List<SingletonLockRequest> getWaitCycle(Thread currentThread) {
+		List<SingletonLockRequest> cycle = new ArrayList<>();
+		Set<Thread> visitedThreads = new HashSet<>();
+		Thread thread = currentThread;
+		while (visitedThreads.add(thread)) {
+			SingletonLockRequest request = this.singletonLockWaiters.get(thread);
+			if (request == null) {
+				return null;
+			}
+			cycle.add(request);
+			thread = request.lock.getOwnerThread();
+			if (thread == null) {
+				return null;
+			}
+			if (thread == currentThread) {
+				return cycle;
+			}
+		}
+		// Cycle between other threads, not involving the current thread
+		return null;
+	}
+
+	private SingletonLockRequest selectRequestToBackOff(List<SingletonLockRequest> cycle) {
+		SingletonLockRequest selected = null;
+		boolean selectedCanProceed = false;
+		for (SingletonLockRequest request : cycle) {
+			boolean canProceed = request.canProceedWithoutLock.test(request.lock.beanName);
+			if (selected == null || (canProceed && !selectedCanProceed) ||
+					(canProceed == selectedCanProceed && request.lock.beanName.compareTo(selected.lock.beanName) < 0)) {
+				selected = request;
+				selectedCanProceed = canProceed;
+			}
+		}
+		return selected;
 	}
 
 	/**
@@ -269,10 +533,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param ex the Exception to register
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -283,7 +546,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #getSingletonMutex()
 	 */
 	protected void removeSingleton(String beanName) {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registeredSingletons) {
 			this.singletonObjects.remove(beanName);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
@@ -298,14 +561,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	@Override
 	public String[] getSingletonNames() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registeredSingletons) {
 			return StringUtils.toStringArray(this.registeredSingletons);
 		}
 	}
 
 	@Override
 	public int getSingletonCount() {
-		synchronized (this.singletonObjects) {
+		synchronized (this.registeredSingletons) {
 			return this.registeredSingletons.size();
 		}
 	}
@@ -514,9 +777,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (logger.isDebugEnabled()) {
 			logger.debug("Destroying singletons in " + this);
 		}
-		synchronized (this.singletonObjects) {
-			this.singletonsCurrentlyInDestruction = true;
-		}
+		this.singletonsCurrentlyInDestruction = true;
 
 		String[] disposableBeanNames;
 		synchronized (this.disposableBeans) {
@@ -530,13 +791,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		this.dependentBeanMap.clear();
 		this.dependenciesForBeanMap.clear();
 
-		synchronized (this.singletonObjects) {
+		synchronized (this.registeredSingletons) {
 			this.singletonObjects.clear();
 			this.singletonFactories.clear();
 			this.earlySingletonObjects.clear();
 			this.registeredSingletons.clear();
-			this.singletonsCurrentlyInDestruction = false;
 		}
+		this.singletonLocks.clear();
+		this.singletonsCurrentlyInDestruction = false;
 	}
 
 	/**
@@ -611,13 +873,52 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	/**
 	 * Exposes the singleton mutex to subclasses and external collaborators.
-	 * <p>Subclasses should synchronize on the given Object if they perform
-	 * any sort of extended singleton creation phase. In particular, subclasses
-	 * should <i>not</i> have their own mutexes involved in singleton creation,
-	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>As of 5.0, this registry does not hold the mutex itself: singleton
+	 * creation is guarded by {@link #getSingletonLock per-bean locks} instead.
+	 * Subclasses performing any sort of extended singleton creation phase
+	 * should acquire the singleton lock of the corresponding bean. Collaborators
+	 * synchronizing on the mutex must not trigger singleton creation while
+	 * holding it: a thread creating a singleton may wait for the mutex while
+	 * holding its singleton lock, and such a deadlock cannot be detected.
 	 */
 	public final Object getSingletonMutex() {
 		return this.singletonObjects;
 	}
 
+
+	/**
+	 * Reentrant lock for a singleton bean name,
+	 * exposing its owner thread for deadlock detection.
+	 */
+	@SuppressWarnings("serial")
+	private static class SingletonLock extends ReentrantLock {
+
+		private final String beanName;
+
+		public SingletonLock(String beanName) {
+			this.beanName = beanName;
+		}
+
+		@Nullable
+		public Thread getOwnerThread() {
+			return getOwner();
+		}
+	}
+
+
+	/**
+	 * A thread's pending request for a singleton lock.
+	 */
+	private static class SingletonLockRequest {
+
+		private final SingletonLock lock;
+
+		private final Predicate<String> canProceedWithoutLock;
+
+		public SingletonLockRequest(SingletonLock lock, Predicate<String> canProceedWithoutLock) {
+			this.lock = lock;
+			this.canProceedWithoutLock = canProceedWithoutLock;
+		}
+	}
+
 }
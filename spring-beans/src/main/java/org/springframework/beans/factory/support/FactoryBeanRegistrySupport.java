@@ -23,6 +23,7 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanCreationException;
@@ -97,31 +98,49 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	@Nullable
 	protected Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
 		if (factory.isSingleton() && containsSingleton(beanName)) {
-			synchronized (getSingletonMutex()) {
-				Object object = this.factoryBeanObjectCache.get(beanName);
-				if (object == null) {
-					object = doGetObjectFromFactoryBean(factory, beanName);
-					// Only post-process and store if not put there already during getObject() call above
-					// (e.g. because of circular reference processing triggered by custom getBean calls)
-					Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
-					if (alreadyThere != null) {
-						object = alreadyThere;
+			Object object = this.factoryBeanObjectCache.get(beanName);
+			if (object == null) {
+				// Guard creation of the object with the FactoryBean's singleton lock
+				Lock lock = acquireSingletonLock(beanName, this.factoryBeanObjectCache::containsKey);
+				if (lock == null) {
+					// Selected to back off from a circular dependency with another thread
+					object = this.factoryBeanObjectCache.get(beanName);
+					if (object == null) {
+						throw new BeanCurrentlyInCreationException(beanName,
+								"FactoryBean's object is currently in creation in another thread which waits " +
+								"for a bean in creation in this thread: Is there an unresolvable circular reference?");
 					}
-					else {
-						if (object != null && shouldPostProcess) {
-							try {
-								object = postProcessObjectFromFactoryBean(object, beanName);
-							}
-							catch (Throwable ex) {
-								throw new BeanCreationException(beanName,
-										"Post-processing of FactoryBean's singleton object failed", ex);
+					return (object != NULL_OBJECT ? object : null);
+				}
+				try {
+					object = this.factoryBeanObjectCache.get(beanName);
+					if (object == null) {
+						object = doGetObjectFromFactoryBean(factory, beanName);
+						// Only post-process and store if not put there already during getObject() call above
+						// (e.g. because of circular reference processing triggered by custom getBean calls)
+						Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
+						if (alreadyThere != null) {
+							object = alreadyThere;
+						}
+						else {
+							if (object != null && shouldPostProcess) {
+								try {
+									object = postProcessObjectFromFactoryBean(object, beanName);
+								}
+								catch (Throwable ex) {
+									throw new BeanCreationException(beanName,
+											"Post-processing of FactoryBean's singleton object failed", ex);
+								}
 							}
+							this.factoryBeanObjectCache.put(beanName, (object != null ? object : NULL_OBJECT));
 						}
-						this.factoryBeanObjectCache.put(beanName, (object != null ? object : NULL_OBJECT));
 					}
 				}
-				return (object != NULL_OBJECT ? object : null);
+				finally {
+					releaseSingletonLock(lock);
+				}
 			}
+			return (object != NULL_OBJECT ? object : null);
 		}
 		else {
 			Object object = doGetObjectFromFactoryBean(factory, beanName);
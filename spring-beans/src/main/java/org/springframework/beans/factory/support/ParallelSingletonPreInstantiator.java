@@ -0,0 +1,408 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Pre-instantiates the non-lazy singletons of a {@link DefaultListableBeanFactory}
+ * on a dedicated {@link ForkJoinPool}, following a dependency graph derived from
+ * the merged bean definitions: a bean is only created once all beans that it
+ * explicitly refers to are available, while independent beans are handed to
+ * the pool concurrently.
+ *
+ * <p>The graph contains the references declared in the bean definitions (bean
+ * references in constructor arguments and property values, including inner beans
+ * and managed collections, as well as factory bean names) and the predicted
+ * injection points of each bean: the parameters of its factory methods or of its
+ * candidate constructors, the non-simple properties for autowiring by name or
+ * type, and - if the factory has instantiation-aware post-processors, e.g. for
+ * {@code @Autowired} or {@code @Resource} - all annotated fields and void methods.
+ * Each injection point refers to all beans matching its type (or its element type
+ * for collections, maps, arrays and lazy providers) and its name. This is an
+ * over-approximation of the actual dependencies, erring on the side of ordering.
+ *
+ * <p>If the graph contains a cycle, if any bean declares an explicit
+ * {@code depends-on} ordering, or if the type of any bean cannot be predicted,
+ * no parallel plan is built and the caller falls back to sequential
+ * pre-instantiation in registration order.
+ *
+ * @since 5.0
+ * @see DefaultListableBeanFactory#setPreInstantiationParallelism
+ */
+final class ParallelSingletonPreInstantiator {
+
+	private static final Log logger = LogFactory.getLog(ParallelSingletonPreInstantiator.class);
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	private final int parallelism;
+
+
+	ParallelSingletonPreInstantiator(DefaultListableBeanFactory beanFactory, int parallelism) {
+		this.beanFactory = beanFactory;
+		this.parallelism = parallelism;
+	}
+
+
+	/**
+	 * Pre-instantiate the given singletons in parallel, if possible.
+	 * @param beanNames the names of the non-lazy singletons to pre-instantiate,
+	 * in registration order
+	 * @return {@code true} if the beans have been pre-instantiated, or {@code false}
+	 * if no parallel plan could be built, in which case no bean has been touched
+	 * @throws BeansException the first failure in registration order, if any
+	 */
+	public boolean preInstantiate(List<String> beanNames) throws BeansException {
+		Map<String, Set<String>> graph = buildGraph(beanNames);
+		if (graph == null) {
+			return false;
+		}
+		String cycleMember = findCycle(graph);
+		if (cycleMember != null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Circular bean references around '" + cycleMember +
+						"' - pre-instantiating singletons sequentially");
+			}
+			return false;
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiating " + graph.size() + " singletons with parallelism " + this.parallelism);
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(this.parallelism, forkJoinPool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+			thread.setName("singleton-bootstrap-" + thread.getPoolIndex());
+			thread.setContextClassLoader(classLoader);
+			return thread;
+		}, null, false);
+
+		try {
+			Map<String, CompletableFuture<Void>> futures = new HashMap<>(graph.size());
+			for (String beanName : graph.keySet()) {
+				schedule(beanName, graph, futures, pool);
+			}
+			Throwable failure = null;
+			for (String beanName : graph.keySet()) {
+				try {
+					futures.get(beanName).join();
+				}
+				catch (CompletionException ex) {
+					if (failure == null) {
+						failure = ex.getCause();
+					}
+				}
+			}
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+			if (failure != null) {
+				throw new IllegalStateException("Singleton pre-instantiation failed", failure);
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+		return true;
+	}
+
+	private CompletableFuture<Void> schedule(String beanName, Map<String, Set<String>> graph,
+			Map<String, CompletableFuture<Void>> futures, ForkJoinPool pool) {
+
+		CompletableFuture<Void> future = futures.get(beanName);
+		if (future == null) {
+			Set<String> dependencies = graph.get(beanName);
+			CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[dependencies.size()];
+			int i = 0;
+			for (String dependency : dependencies) {
+				dependencyFutures[i++] = schedule(dependency, graph, futures, pool);
+			}
+			future = CompletableFuture.allOf(dependencyFutures).thenRunAsync(
+					() -> this.beanFactory.preInstantiateSingleton(beanName), pool);
+			futures.put(beanName, future);
+		}
+		return future;
+	}
+
+	/**
+	 * Build the graph of declared references and predicted injection points
+	 * between the given beans.
+	 * @return a map from bean name to the names of the given beans that it
+	 * refers to, in registration order, or {@code null} if any bean declares
+	 * a {@code depends-on} ordering or has an unpredictable type
+	 */
+	@Nullable
+	private Map<String, Set<String>> buildGraph(List<String> beanNames) {
+		Set<String> candidates = new LinkedHashSet<>(beanNames);
+		Map<String, Set<String>> graph = new LinkedHashMap<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition mbd = this.beanFactory.getMergedLocalBeanDefinition(beanName);
+			if (!ObjectUtils.isEmpty(mbd.getDependsOn())) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Explicit depends-on ordering for bean '" + beanName +
+							"' - pre-instantiating singletons sequentially");
+				}
+				return null;
+			}
+			Set<String> references = new LinkedHashSet<>();
+			collectReferences(mbd, references);
+			if (!collectInjectionPoints(beanName, mbd, references)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Cannot predict dependencies of bean '" + beanName +
+							"' - pre-instantiating singletons sequentially");
+				}
+				return null;
+			}
+			Set<String> dependencies = new LinkedHashSet<>();
+			for (String reference : references) {
+				String dependency = this.beanFactory.transformedBeanName(reference);
+				if (!dependency.equals(beanName) && candidates.contains(dependency)) {
+					dependencies.add(dependency);
+				}
+			}
+			graph.put(beanName, dependencies);
+		}
+		return graph;
+	}
+
+	private void collectReferences(BeanDefinition bd, Set<String> references) {
+		if (bd.getFactoryBeanName() != null) {
+			references.add(bd.getFactoryBeanName());
+		}
+		ConstructorArgumentValues cav = bd.getConstructorArgumentValues();
+		for (ConstructorArgumentValues.ValueHolder valueHolder : cav.getIndexedArgumentValues().values()) {
+			collectReferences(valueHolder.getValue(), references);
+		}
+		for (ConstructorArgumentValues.ValueHolder valueHolder : cav.getGenericArgumentValues()) {
+			collectReferences(valueHolder.getValue(), references);
+		}
+		for (PropertyValue pv : bd.getPropertyValues().getPropertyValueList()) {
+			collectReferences(pv.getValue(), references);
+		}
+	}
+
+	private void collectReferences(@Nullable Object value, Set<String> references) {
+		if (value instanceof RuntimeBeanReference) {
+			RuntimeBeanReference ref = (RuntimeBeanReference) value;
+			if (!ref.isToParent()) {
+				references.add(ref.getBeanName());
+			}
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			collectReferences(((BeanDefinitionHolder) value).getBeanDefinition(), references);
+		}
+		else if (value instanceof BeanDefinition) {
+			collectReferences((BeanDefinition) value, references);
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectReferences(element, references);
+			}
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectReferences(entry.getKey(), references);
+				collectReferences(entry.getValue(), references);
+			}
+		}
+	}
+
+	/**
+	 * Collect the names of all beans that may be injected into the given bean,
+	 * based on its predicted injection points.
+	 * @return {@code false} if the injection points cannot be predicted
+	 */
+	private boolean collectInjectionPoints(String beanName, RootBeanDefinition mbd, Set<String> references) {
+		Class<?> beanType = this.beanFactory.predictBeanType(beanName, mbd);
+		if (beanType == null) {
+			return false;
+		}
+
+		if (mbd.getFactoryMethodName() != null) {
+			Class<?> factoryClass = (mbd.getFactoryBeanName() != null ?
+					predictType(mbd.getFactoryBeanName()) : (mbd.hasBeanClass() ? mbd.getBeanClass() : null));
+			if (factoryClass == null) {
+				return false;
+			}
+			for (Method method : ReflectionUtils.getUniqueDeclaredMethods(ClassUtils.getUserClass(factoryClass))) {
+				if (method.getName().equals(mbd.getFactoryMethodName())) {
+					for (int i = 0; i < method.getParameterCount(); i++) {
+						collectTypeReferences(ResolvableType.forMethodParameter(method, i), references);
+					}
+				}
+			}
+		}
+		else if (mbd.getInstanceSupplier() == null) {
+			Constructor<?>[] ctors = this.beanFactory.determineConstructorsFromBeanPostProcessors(beanType, beanName);
+			if (ctors == null && mbd.getResolvedAutowireMode() == AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR) {
+				ctors = (mbd.isNonPublicAccessAllowed() ? beanType.getDeclaredConstructors() : beanType.getConstructors());
+			}
+			if (ctors != null) {
+				for (Constructor<?> ctor : ctors) {
+					for (int i = 0; i < ctor.getParameterCount(); i++) {
+						collectTypeReferences(ResolvableType.forConstructorParameter(ctor, i), references);
+					}
+				}
+			}
+		}
+
+		int autowireMode = mbd.getResolvedAutowireMode();
+		if (autowireMode == AutowireCapableBeanFactory.AUTOWIRE_BY_NAME ||
+				autowireMode == AutowireCapableBeanFactory.AUTOWIRE_BY_TYPE) {
+			for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(beanType)) {
+				Method writeMethod = pd.getWriteMethod();
+				if (writeMethod != null && pd.getPropertyType() != null &&
+						!BeanUtils.isSimpleProperty(pd.getPropertyType())) {
+					references.add(pd.getName());
+					collectTypeReferences(ResolvableType.forMethodParameter(writeMethod, 0), references);
+				}
+			}
+		}
+
+		if (this.beanFactory.hasInstantiationAwareBeanPostProcessors()) {
+			// Annotation-driven injection: consider any annotated field and void method
+			ReflectionUtils.doWithFields(beanType, field -> {
+				references.add(field.getName());
+				collectTypeReferences(ResolvableType.forField(field), references);
+			}, this::isPotentialInjectionPoint);
+			ReflectionUtils.doWithMethods(beanType, method -> {
+				if (method.getName().startsWith("set") && method.getName().length() > 3) {
+					references.add(StringUtils.uncapitalize(method.getName().substring(3)));
+				}
+				for (int i = 0; i < method.getParameterCount(); i++) {
+					collectTypeReferences(ResolvableType.forMethodParameter(method, i), references);
+				}
+			}, method -> (method.getReturnType() == void.class && method.getParameterCount() > 0 &&
+					isPotentialInjectionPoint(method)));
+		}
+		return true;
+	}
+
+	private boolean isPotentialInjectionPoint(Field field) {
+		return (!Modifier.isStatic(field.getModifiers()) && field.getDeclaredAnnotations().length > 0);
+	}
+
+	private boolean isPotentialInjectionPoint(Method method) {
+		return (!Modifier.isStatic(method.getModifiers()) && method.getDeclaredAnnotations().length > 0);
+	}
+
+	@Nullable
+	private Class<?> predictType(String beanName) {
+		if (this.beanFactory.containsBeanDefinition(beanName)) {
+			return this.beanFactory.predictBeanType(beanName, this.beanFactory.getMergedLocalBeanDefinition(beanName));
+		}
+		Object singleton = this.beanFactory.getSingleton(beanName, false);
+		return (singleton != null ? singleton.getClass() : null);
+	}
+
+	/**
+	 * Collect the names of all beans matching the given injection point type,
+	 * including the element type of collections, maps, arrays and lazy providers.
+	 */
+	private void collectTypeReferences(ResolvableType type, Set<String> references) {
+		Class<?> rawType = type.resolve();
+		if (rawType == null || BeanUtils.isSimpleValueType(rawType)) {
+			return;
+		}
+		for (String candidate : this.beanFactory.getBeanNamesForType(rawType, true, false)) {
+			references.add(candidate);
+		}
+		if (rawType.isArray()) {
+			collectTypeReferences(type.getComponentType(), references);
+		}
+		else if (Collection.class.isAssignableFrom(rawType) || Optional.class == rawType ||
+				ObjectFactory.class.isAssignableFrom(rawType) || "javax.inject.Provider".equals(rawType.getName())) {
+			collectTypeReferences(type.getGeneric(0), references);
+		}
+		else if (Map.class.isAssignableFrom(rawType)) {
+			collectTypeReferences(type.getGeneric(1), references);
+		}
+	}
+
+	/**
+	 * Return the name of a bean that is part of a cycle, or {@code null} if
+	 * the graph is acyclic.
+	 */
+	@Nullable
+	private static String findCycle(Map<String, Set<String>> graph) {
+		Map<String, Boolean> visiting = new HashMap<>(graph.size());
+		for (String beanName : graph.keySet()) {
+			String cycleMember = findCycle(beanName, graph, visiting);
+			if (cycleMember != null) {
+				return cycleMember;
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private static String findCycle(String beanName, Map<String, Set<String>> graph, Map<String, Boolean> visiting) {
+		Boolean inProgress = visiting.get(beanName);
+		if (inProgress != null) {
+			return (inProgress ? beanName : null);
+		}
+		visiting.put(beanName, Boolean.TRUE);
+		for (String dependency : graph.get(beanName)) {
+			String cycleMember = findCycle(dependency, graph, visiting);
+			if (cycleMember != null) {
+				return cycleMember;
+			}
+		}
+		visiting.put(beanName, Boolean.FALSE);
+		return null;
+	}
+
+}
@@ -25,6 +25,7 @@ import java.security.PrivilegedExceptionAction;
 
 import org.springframework.beans.BeanInstantiationException;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.GeneratedAccessors;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.lang.Nullable;
@@ -85,7 +86,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 					}
 				}
 			}
-			return BeanUtils.instantiateClass(constructorToUse);
+			return instantiateClass(constructorToUse);
 		}
 		else {
 			// Must generate CGLIB subclass.
@@ -115,13 +116,40 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 					return null;
 				});
 			}
-			return (args != null ? BeanUtils.instantiateClass(ctor, args) : BeanUtils.instantiateClass(ctor));
+			return (args != null ? instantiateClass(ctor, args) : instantiateClass(ctor));
 		}
 		else {
 			return instantiateWithMethodInjection(bd, beanName, owner, ctor, args);
 		}
 	}
 
+	/**
+	 * Instantiate the given constructor with the given arguments.
+	 * <p>The default implementation uses a generated instantiator if
+	 * {@link GeneratedAccessors#isEnabled() enabled} and applicable,
+	 * falling back to {@link BeanUtils#instantiateClass(Constructor, Object...)}.
+	 * @param ctor the constructor to invoke
+	 * @param args the constructor arguments to apply
+	 * @return the new instance
+	 * @throws BeanInstantiationException if the bean cannot be instantiated
+	 * @since 5.0
+	 */
+	protected <T> T instantiateClass(Constructor<T> ctor, Object... args) {
+		if (GeneratedAccessors.isEnabled()) {
+			T instance;
+			try {
+				instance = GeneratedAccessors.newInstance(ctor, args);
+			}
+			catch (Throwable ex) {
+				throw new BeanInstantiationException(ctor, "Constructor threw exception", ex);
+			}
+			if (instance != null) {
+				return instance;
+			}
+		}
+		return BeanUtils.instantiateClass(ctor, args);
+	}
+
 	/**
 	 * Subclasses can override this method, which is implemented to throw
 	 * UnsupportedOperationException, if they can instantiate an object with
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link GeneratedAccessors}.
+ */
+public class GeneratedAccessorsTests {
+
+	@Test
+	public void newInstanceWithDefaultConstructor() throws Exception {
+		Constructor<SampleBean> ctor = SampleBean.class.getConstructor();
+		SampleBean bean = GeneratedAccessors.newInstance(ctor);
+		assertNotNull(bean);
+		assertNull(bean.name);
+		assertNotSame(bean, GeneratedAccessors.newInstance(ctor));
+	}
+
+	@Test
+	public void newInstanceWithArguments() throws Exception {
+		Constructor<SampleBean> ctor = SampleBean.class.getConstructor(String.class, int.class, long.class);
+		SampleBean bean = GeneratedAccessors.newInstance(ctor, "foo", 42, 7L);
+		assertNotNull(bean);
+		assertEquals("foo", bean.name);
+		assertEquals(42, bean.age);
+		assertEquals(7L, bean.id);
+	}
+
+	@Test
+	public void newInstanceWithNonMatchingArguments() throws Exception {
+		Constructor<SampleBean> ctor = SampleBean.class.getConstructor(String.class, int.class, long.class);
+		assertNull(GeneratedAccessors.newInstance(ctor, "foo", null, 7L));
+		assertNull(GeneratedAccessors.newInstance(ctor, "foo", "42", 7L));
+		assertNull(GeneratedAccessors.newInstance(ctor, "foo", 42));
+	}
+
+	@Test
+	public void newInstanceWithNonPublicConstructor() throws Exception {
+		Constructor<SampleBean> ctor = SampleBean.class.getDeclaredConstructor(String.class);
+		assertNull(GeneratedAccessors.newInstance(ctor, "foo"));
+	}
+
+	@Test
+	public void newInstanceWithNonPublicClass() throws Exception {
+		Constructor<PackagePrivateBean> ctor = PackagePrivateBean.class.getConstructor();
+		assertNull(GeneratedAccessors.newInstance(ctor));
+	}
+
+	@Test
+	public void newInstancePropagatesConstructorException() throws Exception {
+		Constructor<FailingBean> ctor = FailingBean.class.getConstructor();
+		try {
+			GeneratedAccessors.newInstance(ctor);
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException ex) {
+			assertEquals("failed", ex.getMessage());
+		}
+	}
+
+	@Test
+	public void invokeSetter() throws Exception {
+		SampleBean bean = new SampleBean();
+		Method setName = SampleBean.class.getMethod("setName", String.class);
+		assertTrue(GeneratedAccessors.invokeSetter(setName, bean, "foo"));
+		assertEquals("foo", bean.name);
+		assertTrue(GeneratedAccessors.invokeSetter(setName, bean, null));
+		assertNull(bean.name);
+	}
+
+	@Test
+	public void invokeSetterWithPrimitiveAndReturnValue() throws Exception {
+		SampleBean bean = new SampleBean();
+		Method setId = SampleBean.class.getMethod("setId", long.class);
+		assertTrue(GeneratedAccessors.invokeSetter(setId, bean, 5L));
+		assertEquals(5L, bean.id);
+		assertFalse(GeneratedAccessors.invokeSetter(setId, bean, null));
+		assertFalse(GeneratedAccessors.invokeSetter(setId, bean, "5"));
+	}
+
+	@Test
+	public void invokeSetterOnInterface() throws Exception {
+		SampleBean bean = new SampleBean();
+		Method setAge = Ageable.class.getMethod("setAge", int.class);
+		assertTrue(GeneratedAccessors.invokeSetter(setAge, bean, 30));
+		assertEquals(30, bean.age);
+		assertFalse(GeneratedAccessors.invokeSetter(setAge, new Object(), 30));
+	}
+
+	@Test
+	public void setField() throws Exception {
+		SampleBean bean = new SampleBean();
+		Field field = SampleBean.class.getField("names");
+		String[] names = new String[] {"foo", "bar"};
+		assertTrue(GeneratedAccessors.setField(field, bean, names));
+		assertSame(names, bean.names);
+	}
+
+	@Test
+	public void setNonPublicField() throws Exception {
+		SampleBean bean = new SampleBean();
+		Field field = SampleBean.class.getDeclaredField("age");
+		assertFalse(GeneratedAccessors.setField(field, bean, 30));
+		assertEquals(0, bean.age);
+	}
+
+
+	public interface Ageable {
+
+		void setAge(int age);
+	}
+
+
+	public static class SampleBean implements Ageable {
+
+		private String name;
+
+		private int age;
+
+		private long id;
+
+		public String[] names;
+
+		public SampleBean() {
+		}
+
+		public SampleBean(String name, int age, long id) {
+			this.name = name;
+			this.age = age;
+			this.id = id;
+		}
+
+		private SampleBean(String name) {
+			this.name = name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public long setId(long id) {
+			long previous = this.id;
+			this.id = id;
+			return previous;
+		}
+	}
+
+
+	static class PackagePrivateBean {
+
+		public PackagePrivateBean() {
+		}
+	}
+
+
+	public static class FailingBean {
+
+		public FailingBean() {
+			throw new IllegalStateException("failed");
+		}
+	}
+
+}
@@ -35,6 +35,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Priority;
 import javax.security.auth.Subject;
 
@@ -54,6 +55,8 @@ import org.springframework.beans.PropertyEditorRegistry;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanExpressionContext;
@@ -150,6 +153,137 @@ public class DefaultListableBeanFactoryTests {
 		assertTrue("singleton was instantiated", KnowsIfInstantiated.wasInstantiated());
 	}
 
+	@Test
+	public void testParallelPreInstantiation() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		Map<String, String> creatingThreads = new ConcurrentHashMap<>();
+		lbf.addBeanPostProcessor(new CreatingThreadRecorder(creatingThreads));
+		for (int i = 0; i < 20; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			if (i % 2 == 1) {
+				bd.getPropertyValues().add("spouse", new RuntimeBeanReference("bean" + (i - 1)));
+			}
+			lbf.registerBeanDefinition("bean" + i, bd);
+		}
+		RootBeanDefinition lazy = new RootBeanDefinition(TestBean.class);
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("lazy", lazy);
+
+		lbf.preInstantiateSingletons();
+
+		assertEquals(20, creatingThreads.size());
+		assertFalse(lbf.containsSingleton("lazy"));
+		for (int i = 1; i < 20; i += 2) {
+			TestBean bean = (TestBean) lbf.getBean("bean" + i);
+			assertSame(lbf.getBean("bean" + (i - 1)), bean.getSpouse());
+		}
+		for (String threadName : creatingThreads.values()) {
+			assertTrue(threadName, threadName.startsWith("singleton-bootstrap-"));
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithDependsOn() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		Map<String, String> creatingThreads = new ConcurrentHashMap<>();
+		lbf.addBeanPostProcessor(new CreatingThreadRecorder(creatingThreads));
+		lbf.registerBeanDefinition("bean1", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setDependsOn("bean1");
+		lbf.registerBeanDefinition("bean2", bd);
+
+		lbf.preInstantiateSingletons();
+
+		assertEquals(2, creatingThreads.size());
+		assertEquals(Thread.currentThread().getName(), creatingThreads.get("bean1"));
+		assertEquals(Thread.currentThread().getName(), creatingThreads.get("bean2"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReferences() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		Map<String, String> creatingThreads = new ConcurrentHashMap<>();
+		lbf.addBeanPostProcessor(new CreatingThreadRecorder(creatingThreads));
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.getPropertyValues().add("spouse", new RuntimeBeanReference("bean2"));
+		lbf.registerBeanDefinition("bean1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("bean1"));
+		lbf.registerBeanDefinition("bean2", bd2);
+
+		lbf.preInstantiateSingletons();
+
+		TestBean bean1 = (TestBean) lbf.getBean("bean1");
+		TestBean bean2 = (TestBean) lbf.getBean("bean2");
+		assertSame(bean2, bean1.getSpouse());
+		assertSame(bean1, bean2.getSpouse());
+		assertEquals(Thread.currentThread().getName(), creatingThreads.get("bean1"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithAutowiredDependencies() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+		bpp.setBeanFactory(lbf);
+		lbf.addBeanPostProcessor(bpp);
+		Map<String, String> creatingThreads = new ConcurrentHashMap<>();
+		lbf.addBeanPostProcessor(new CreatingThreadRecorder(creatingThreads));
+		lbf.registerBeanDefinition("fieldInjected", new RootBeanDefinition(FieldInjectedBean.class));
+		lbf.registerBeanDefinition("testBean", new RootBeanDefinition(TestBean.class));
+
+		lbf.preInstantiateSingletons();
+
+		assertSame(lbf.getBean("testBean"), lbf.getBean(FieldInjectedBean.class).testBean);
+		for (String threadName : creatingThreads.values()) {
+			assertTrue(threadName, threadName.startsWith("singleton-bootstrap-"));
+		}
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithAutowiredCircularReferences() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+		bpp.setBeanFactory(lbf);
+		lbf.addBeanPostProcessor(bpp);
+		Map<String, String> creatingThreads = new ConcurrentHashMap<>();
+		lbf.addBeanPostProcessor(new CreatingThreadRecorder(creatingThreads));
+		lbf.registerBeanDefinition("fieldInjected", new RootBeanDefinition(CircularFieldInjectedBean.class));
+		lbf.registerBeanDefinition("constructorInjected", new RootBeanDefinition(CircularConstructorInjectedBean.class));
+
+		lbf.preInstantiateSingletons();
+
+		CircularFieldInjectedBean fieldInjected = lbf.getBean(CircularFieldInjectedBean.class);
+		CircularConstructorInjectedBean constructorInjected = lbf.getBean(CircularConstructorInjectedBean.class);
+		assertSame(constructorInjected, fieldInjected.other);
+		assertSame(fieldInjected, constructorInjected.other);
+		assertEquals(Thread.currentThread().getName(), creatingThreads.get("fieldInjected"));
+		assertEquals(Thread.currentThread().getName(), creatingThreads.get("constructorInjected"));
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithFailure() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.setPreInstantiationParallelism(4);
+		lbf.registerBeanDefinition("bean1", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.getPropertyValues().add("age", "not a number");
+		lbf.registerBeanDefinition("bean2", bd);
+		lbf.registerBeanDefinition("bean3", new RootBeanDefinition(TestBean.class));
+
+		try {
+			lbf.preInstantiateSingletons();
+			fail("Should have thrown BeanCreationException");
+		}
+		catch (BeanCreationException ex) {
+			assertEquals("bean2", ex.getBeanName());
+		}
+	}
+
 	@Test
 	public void testFactoryBeanDidNotCreatePrototype() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -758,6 +892,118 @@ public class DefaultListableBeanFactoryTests {
 		assertEquals(DerivedTestBean.class, factory.getType("child"));
 	}
 
+	@Test
+	public void testGetBeanNamesForTypeWithFrozenConfiguration() {
+		DefaultListableBeanFactory lbf = createFactoryForTypeMatching();
+		DefaultListableBeanFactory frozenLbf = createFactoryForTypeMatching();
+		frozenLbf.freezeConfiguration();
+
+		Class<?>[] types = new Class<?>[] {Object.class, TestBean.class, ITestBean.class, DerivedTestBean.class,
+				NestedTestBean.class, FactoryBean.class, DummyFactory.class, String.class};
+		for (Class<?> type : types) {
+			assertEquals(Arrays.asList(lbf.getBeanNamesForType(type, true, false)),
+					Arrays.asList(frozenLbf.getBeanNamesForType(type, true, false)));
+		}
+		assertEquals(Arrays.asList("tb", "child", "prototype", "singleton"),
+				Arrays.asList(frozenLbf.getBeanNamesForType(TestBean.class, true, false)));
+		assertEquals(Arrays.asList("&factory"), Arrays.asList(frozenLbf.getBeanNamesForType(FactoryBean.class, true, false)));
+
+		for (Class<?> type : types) {
+			assertEquals(Arrays.asList(lbf.getBeanNamesForType(ResolvableType.forClass(type))),
+					Arrays.asList(frozenLbf.getBeanNamesForType(ResolvableType.forClass(type))));
+			assertEquals(Arrays.asList(lbf.getBeanNamesForType(type, false, true)),
+					Arrays.asList(frozenLbf.getBeanNamesForType(type, false, true)));
+		}
+		assertEquals(Arrays.asList("tb", "child", "factory", "prototype", "singleton"),
+				Arrays.asList(frozenLbf.getBeanNamesForType(ResolvableType.forClass(TestBean.class))));
+	}
+
+	private DefaultListableBeanFactory createFactoryForTypeMatching() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition abstractDefinition = new RootBeanDefinition(TestBean.class);
+		abstractDefinition.setAbstract(true);
+		lbf.registerBeanDefinition("abstract", abstractDefinition);
+		lbf.registerBeanDefinition("child", new ChildBeanDefinition("abstract", DerivedTestBean.class, null, null));
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		lbf.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+		RootBeanDefinition prototype = new RootBeanDefinition(TestBean.class);
+		prototype.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("prototype", prototype);
+		lbf.registerSingleton("singleton", new TestBean());
+		return lbf;
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeWithFrozenConfigurationAndChangedDefinitions() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class));
+		lbf.freezeConfiguration();
+		assertEquals(Arrays.asList("tb1", "tb2"), Arrays.asList(lbf.getBeanNamesForType(ITestBean.class, true, false)));
+
+		lbf.registerBeanDefinition("tb3", new RootBeanDefinition(DerivedTestBean.class));
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(TestBean.class));
+		lbf.removeBeanDefinition("tb1");
+		assertEquals(Arrays.asList("nested", "tb2", "tb3"),
+				Arrays.asList(lbf.getBeanNamesForType(ITestBean.class, true, false)));
+		assertEquals(0, lbf.getBeanNamesForType(NestedTestBean.class, true, false).length);
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeWithFrozenConfigurationAndSingletonOfMoreSpecificType() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition rbd = new RootBeanDefinition(TestBeanFactory.class);
+		rbd.setFactoryMethodName("createTestBeanAsObject");
+		lbf.registerBeanDefinition("tb", rbd);
+		lbf.freezeConfiguration();
+		assertEquals(0, lbf.getBeanNamesForType(ITestBean.class, true, false).length);
+
+		// Exposed singleton instance determines the type from now on
+		lbf.getBean("tb");
+		assertEquals(Arrays.asList("tb"), Arrays.asList(lbf.getBeanNamesForType(ITestBean.class, true, false)));
+	}
+
+	@Test
+	public void testGetBeanNamesForTypeWithFrozenConfigurationAfterDestroySingletons() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition rbd = new RootBeanDefinition(TestBeanFactory.class);
+		rbd.setFactoryMethodName("createTestBeanAsObject");
+		lbf.registerBeanDefinition("tb", rbd);
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		lbf.freezeConfiguration();
+		lbf.getBean("tb");
+		assertEquals(Arrays.asList("tb"), Arrays.asList(lbf.getBeanNamesForType(ITestBean.class, true, false)));
+
+		lbf.destroySingletons();
+		assertEquals(Arrays.asList("tb"), Arrays.asList(lbf.getBeanNamesForType(ITestBean.class, true, false)));
+		assertEquals(Arrays.asList("nested"), Arrays.asList(lbf.getBeanNamesForType(NestedTestBean.class, true, false)));
+
+		// Rebuilt index keeps track of changed definitions again
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class));
+		lbf.removeBeanDefinition("nested");
+		assertEquals(Arrays.asList("tb", "tb2"), Arrays.asList(lbf.getBeanNamesForType(ITestBean.class, true, false)));
+		assertEquals(0, lbf.getBeanNamesForType(NestedTestBean.class, true, false).length);
+	}
+
+	@Test
+	public void testGetBeanNamesForObjectTypeWithFrozenConfigurationAndLazyInterfaceTypedFactoryMethod() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition rbd = new RootBeanDefinition(TestBeanFactory.class);
+		rbd.setFactoryMethodName("createTestBeanAsInterface");
+		rbd.setLazyInit(true);
+		lbf.registerBeanDefinition("tb", rbd);
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		List<String> expected = Arrays.asList(lbf.getBeanNamesForType(Object.class, true, false));
+		assertEquals(Arrays.asList("tb", "nested"), expected);
+
+		lbf.freezeConfiguration();
+		assertEquals(expected, Arrays.asList(lbf.getBeanNamesForType(Object.class, true, false)));
+		assertEquals(Arrays.asList("tb"), Arrays.asList(lbf.getBeanNamesForType(ITestBean.class, true, false)));
+		assertEquals(2, lbf.getBeansOfType(Object.class).size());
+	}
+
 	@Test
 	public void testNameAlreadyBound() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -2344,6 +2590,51 @@ public class DefaultListableBeanFactoryTests {
 		assertTrue("Prototype creation took too long: " + sw.getTotalTimeMillis(), sw.getTotalTimeMillis() < 4000);
 	}
 
+	@Test
+	public void testPrototypeCreationWithAutowiredConstructorArgumentsIsFastEnough() {
+		Assume.group(TestGroup.PERFORMANCE);
+		Assume.notLogging(factoryLog);
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition rbd = new RootBeanDefinition(ConstructorDependency.class);
+		rbd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		rbd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		lbf.registerBeanDefinition("test", rbd);
+		lbf.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		for (int i = 0; i < 1000; i++) {
+			lbf.registerBeanDefinition("filler" + i, new RootBeanDefinition(NestedTestBean.class));
+		}
+		TestBean spouse = (TestBean) lbf.getBean("spouse");
+		StopWatch sw = new StopWatch();
+		sw.start("prototype");
+		for (int i = 0; i < 100000; i++) {
+			ConstructorDependency bean = (ConstructorDependency) lbf.getBean("test");
+			assertSame(spouse, bean.spouse);
+		}
+		sw.stop();
+		// System.out.println(sw.getTotalTimeMillis());
+		assertTrue("Prototype creation took too long: " + sw.getTotalTimeMillis(), sw.getTotalTimeMillis() < 4000);
+	}
+
+	@Test
+	public void testPrototypeCreationWithAutowiredConstructorArgumentsUsesResolvedTarget() {
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
+		RootBeanDefinition rbd = new RootBeanDefinition(ConstructorDependency.class);
+		rbd.setScope(RootBeanDefinition.SCOPE_PROTOTYPE);
+		rbd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		lbf.registerBeanDefinition("test", rbd);
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		TestBean tb1 = (TestBean) lbf.getBean("tb1");
+		ConstructorDependency bean = (ConstructorDependency) lbf.getBean("test");
+		assertSame(tb1, bean.spouse);
+		assertTrue(Arrays.asList(lbf.getDependentBeans("tb1")).contains("test"));
+
+		// Subsequent instances go to the previously resolved target bean directly,
+		// without matching the dependency type against all beans again
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class));
+		bean = (ConstructorDependency) lbf.getBean("test");
+		assertSame(tb1, bean.spouse);
+	}
+
 	@Test
 	public void testPrototypeCreationWithPropertiesIsFastEnough() {
 		Assume.group(TestGroup.PERFORMANCE);
@@ -3055,6 +3346,14 @@ public class DefaultListableBeanFactoryTests {
 			return new TestBean();
 		}
 
+		public static Object createTestBeanAsObject() {
+			return new TestBean();
+		}
+
+		public static ITestBean createTestBeanAsInterface() {
+			return new TestBean();
+		}
+
 		public TestBean createTestBeanNonStatic() {
 			return new TestBean();
 		}
@@ -3263,4 +3562,44 @@ public class DefaultListableBeanFactoryTests {
 		}
 	}
 
+
+	public static class FieldInjectedBean {
+
+		@Autowired
+		private TestBean testBean;
+	}
+
+
+	public static class CircularFieldInjectedBean {
+
+		@Autowired
+		private CircularConstructorInjectedBean other;
+	}
+
+
+	public static class CircularConstructorInjectedBean {
+
+		private final CircularFieldInjectedBean other;
+
+		public CircularConstructorInjectedBean(CircularFieldInjectedBean other) {
+			this.other = other;
+		}
+	}
+
+
+	private static class CreatingThreadRecorder implements BeanPostProcessor {
+
+		private final Map<String, String> creatingThreads;
+
+		public CreatingThreadRecorder(Map<String, String> creatingThreads) {
+			this.creatingThreads = creatingThreads;
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName) {
+			this.creatingThreads.put(beanName, Thread.currentThread().getName());
+			return bean;
+		}
+	}
+
 }
@@ -16,6 +16,15 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import org.springframework.beans.BeansException;
@@ -101,4 +110,210 @@ public class DefaultSingletonBeanRegistryTests {
 		assertTrue(beanRegistry.isDependent("c", "c"));
 	}
 
+	@Test
+	public void testIndependentSingletonsAreCreatedConcurrently() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		CountDownLatch bInCreation = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// "a" can only complete while "b" is in creation in another thread
+			Future<Object> a = executor.submit(() -> beanRegistry.getSingleton("a", () -> {
+				try {
+					assertTrue(bInCreation.await(5, TimeUnit.SECONDS));
+				}
+				catch (InterruptedException ex) {
+					throw new IllegalStateException(ex);
+				}
+				return "a";
+			}));
+			Future<Object> b = executor.submit(() -> beanRegistry.getSingleton("b", () -> {
+				bInCreation.countDown();
+				return "b";
+			}));
+			assertEquals("a", a.get(10, TimeUnit.SECONDS));
+			assertEquals("b", b.get(10, TimeUnit.SECONDS));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testSingletonIsCreatedOnceForConcurrentCallers() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		AtomicInteger creationCount = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return beanRegistry.getSingleton("tb", () -> {
+						creationCount.incrementAndGet();
+						return new TestBean();
+					});
+				}));
+			}
+			start.countDown();
+			Object singleton = results.get(0).get(10, TimeUnit.SECONDS);
+			for (Future<Object> result : results) {
+				assertSame(singleton, result.get(10, TimeUnit.SECONDS));
+			}
+			assertEquals(1, creationCount.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testEarlySingletonReferenceIsOnlyExposedToCreatingThread() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		TestBean tb = new TestBean();
+		CountDownLatch exposed = new CountDownLatch(1);
+		CountDownLatch checked = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Object> result = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				beanRegistry.addSingletonFactory("tb", () -> tb);
+				assertSame(tb, beanRegistry.getSingleton("tb"));
+				exposed.countDown();
+				try {
+					assertTrue(checked.await(5, TimeUnit.SECONDS));
+				}
+				catch (InterruptedException ex) {
+					throw new IllegalStateException(ex);
+				}
+				return tb;
+			}));
+			assertTrue(exposed.await(5, TimeUnit.SECONDS));
+			assertTrue(beanRegistry.isSingletonCurrentlyInCreation("tb"));
+			assertNull(beanRegistry.getSingleton("tb"));
+			checked.countDown();
+			assertSame(tb, result.get(10, TimeUnit.SECONDS));
+			assertSame(tb, beanRegistry.getSingleton("tb"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCircularReferenceAcrossThreadsIsResolvedThroughEarlyReference() throws Exception {
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> a = executor.submit(() -> beanRegistry.getSingleton("a",
+					() -> createWithReference(beanRegistry, "a", "b", bothInCreation)));
+			Future<Object> b = executor.submit(() -> beanRegistry.getSingleton("b",
+					() -> createWithReference(beanRegistry, "b", "a", bothInCreation)));
+			TestBean tbA = (TestBean) a.get(10, TimeUnit.SECONDS);
+			TestBean tbB = (TestBean) b.get(10, TimeUnit.SECONDS);
+			assertSame(tbB, tbA.getSpouse());
+			assertSame(tbA, tbB.getSpouse());
+			assertSame(tbA, beanRegistry.getSingleton("a"));
+			assertSame(tbB, beanRegistry.getSingleton("b"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testConstructorAndFieldCycleAcrossThreadsWhenConstructorSideWaitsFirst() throws Exception {
+		assertConstructorAndFieldCycleAcrossThreadsIsResolved(true);
+	}
+
+	@Test
+	public void testConstructorAndFieldCycleAcrossThreadsWhenFieldSideWaitsFirst() throws Exception {
+		assertConstructorAndFieldCycleAcrossThreadsIsResolved(false);
+	}
+
+	/**
+	 * "a" needs "b" for its constructor, so it has no early reference yet;
+	 * "b" is instantiated and exposes an early reference before injecting "a"
+	 * into a field. Whichever thread starts waiting first, the thread creating
+	 * "a" has to proceed with the early reference to "b".
+	 */
+	private void assertConstructorAndFieldCycleAcrossThreadsIsResolved(boolean constructorSideWaitsFirst)
+			throws Exception {
+
+		DefaultSingletonBeanRegistry beanRegistry = new DefaultSingletonBeanRegistry();
+		CountDownLatch bothInCreation = new CountDownLatch(2);
+		Thread[] firstWaiter = new Thread[1];
+		CountDownLatch firstWaiterRegistered = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> a = executor.submit(() -> beanRegistry.getSingleton("a", () -> {
+				awaitTurn(bothInCreation, constructorSideWaitsFirst, firstWaiter, firstWaiterRegistered);
+				TestBean spouse = (TestBean) beanRegistry.getSingleton("b", () -> {
+					throw new IllegalStateException("Bean 'b' must not be created twice");
+				});
+				return new TestBean(spouse);
+			}));
+			Future<Object> b = executor.submit(() -> beanRegistry.getSingleton("b", () -> {
+				TestBean tb = new TestBean("b");
+				beanRegistry.addSingletonFactory("b", () -> tb);
+				awaitTurn(bothInCreation, !constructorSideWaitsFirst, firstWaiter, firstWaiterRegistered);
+				tb.setSpouse((TestBean) beanRegistry.getSingleton("a", () -> {
+					throw new IllegalStateException("Bean 'a' must not be created twice");
+				}));
+				return tb;
+			}));
+			TestBean tbA = (TestBean) a.get(10, TimeUnit.SECONDS);
+			TestBean tbB = (TestBean) b.get(10, TimeUnit.SECONDS);
+			assertSame(tbB, tbA.getSpouse());
+			assertSame(tbA, tbB.getSpouse());
+			assertSame(tbA, beanRegistry.getSingleton("a"));
+			assertSame(tbB, beanRegistry.getSingleton("b"));
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void awaitTurn(CountDownLatch bothInCreation, boolean first,
+			Thread[] firstWaiter, CountDownLatch firstWaiterRegistered) {
+
+		try {
+			bothInCreation.countDown();
+			assertTrue(bothInCreation.await(5, TimeUnit.SECONDS));
+			if (first) {
+				firstWaiter[0] = Thread.currentThread();
+				firstWaiterRegistered.countDown();
+			}
+			else {
+				assertTrue(firstWaiterRegistered.await(5, TimeUnit.SECONDS));
+				long deadline = System.currentTimeMillis() + 5000;
+				while (firstWaiter[0].getState() != Thread.State.WAITING &&
+						firstWaiter[0].getState() != Thread.State.TIMED_WAITING) {
+					assertTrue(System.currentTimeMillis() < deadline);
+					Thread.sleep(1);
+				}
+			}
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static TestBean createWithReference(DefaultSingletonBeanRegistry beanRegistry,
+			String beanName, String referencedBeanName, CountDownLatch bothInCreation) {
+
+		TestBean tb = new TestBean(beanName);
+		beanRegistry.addSingletonFactory(beanName, () -> tb);
+		bothInCreation.countDown();
+		try {
+			assertTrue(bothInCreation.await(5, TimeUnit.SECONDS));
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+		tb.setSpouse((TestBean) beanRegistry.getSingleton(referencedBeanName,
+				() -> createWithReference(beanRegistry, referencedBeanName, beanName, new CountDownLatch(0))));
+		return tb;
+	}
+
 }
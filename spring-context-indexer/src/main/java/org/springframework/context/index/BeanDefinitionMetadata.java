@@ -0,0 +1,160 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build-time view of the bean definition that component scanning would
+ * register for a candidate: its explicit bean name, scope, qualifiers and
+ * the common definition attributes, as well as the signature of the
+ * constructor that is used to instantiate it.
+ *
+ * <p>A definition is {@linkplain #isPartial() partial} if some of its
+ * settings cannot be determined reliably at build time (for instance,
+ * because they are declared through composed annotations or depend on a
+ * {@code @Conditional}). Partial definitions are completed at runtime
+ * from the class metadata of the candidate.
+ *
+ * @since 5.0
+ */
+class BeanDefinitionMetadata {
+
+	private String name;
+
+	private String scope;
+
+	private String scopedProxyMode;
+
+	private boolean lazyInit;
+
+	private boolean primary;
+
+	private Integer role;
+
+	private final List<String> dependsOn = new ArrayList<>();
+
+	private final List<String> qualifiers = new ArrayList<>();
+
+	private List<String> constructorParameterTypes;
+
+	private boolean partial;
+
+
+	/**
+	 * Return the explicit bean name, or {@code null} if the bean name is
+	 * derived from the type of the candidate.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Return the declared scope, or {@code null} for the default scope.
+	 */
+	public String getScope() {
+		return this.scope;
+	}
+
+	public void setScope(String scope) {
+		this.scope = scope;
+	}
+
+	/**
+	 * Return the name of the declared {@code ScopedProxyMode}, or {@code null}
+	 * for the default mode.
+	 */
+	public String getScopedProxyMode() {
+		return this.scopedProxyMode;
+	}
+
+	public void setScopedProxyMode(String scopedProxyMode) {
+		this.scopedProxyMode = scopedProxyMode;
+	}
+
+	public boolean isLazyInit() {
+		return this.lazyInit;
+	}
+
+	public void setLazyInit(boolean lazyInit) {
+		this.lazyInit = lazyInit;
+	}
+
+	public boolean isPrimary() {
+		return this.primary;
+	}
+
+	public void setPrimary(boolean primary) {
+		this.primary = primary;
+	}
+
+	/**
+	 * Return the declared role, or {@code null} for the default role.
+	 */
+	public Integer getRole() {
+		return this.role;
+	}
+
+	public void setRole(Integer role) {
+		this.role = role;
+	}
+
+	public List<String> getDependsOn() {
+		return this.dependsOn;
+	}
+
+	public List<String> getQualifiers() {
+		return this.qualifiers;
+	}
+
+	/**
+	 * Return the fully qualified parameter types of the constructor used to
+	 * instantiate the candidate, or {@code null} if it cannot be determined
+	 * at build time.
+	 */
+	public List<String> getConstructorParameterTypes() {
+		return this.constructorParameterTypes;
+	}
+
+	public void setConstructorParameterTypes(List<String> constructorParameterTypes) {
+		this.constructorParameterTypes = constructorParameterTypes;
+	}
+
+	/**
+	 * Return whether this definition has to be completed from the class
+	 * metadata of the candidate at runtime.
+	 */
+	public boolean isPartial() {
+		return this.partial;
+	}
+
+	public void setPartial(boolean partial) {
+		this.partial = partial;
+	}
+
+	@Override
+	public String toString() {
+		return "BeanDefinitionMetadata{" + "name=" + this.name + ", scope=" + this.scope +
+				", partial=" + this.partial + '}';
+	}
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Compute the {@link BeanDefinitionMetadata} of a candidate that component
+ * scanning registers as a bean, that is a concrete, independent class that
+ * carries one of the scanned stereotypes.
+ *
+ * <p>Only annotations that are declared directly on the candidate are
+ * interpreted; any definition setting that is declared through a composed
+ * annotation, as well as any {@code @Conditional}, marks the resulting
+ * metadata as {@linkplain BeanDefinitionMetadata#isPartial() partial}.
+ *
+ * @since 5.0
+ */
+class BeanDefinitionMetadataProvider {
+
+	private static final String COMPONENT_ANNOTATION = "org.springframework.stereotype.Component";
+
+	private static final Set<String> SCANNED_STEREOTYPES = new HashSet<>(Arrays.asList(
+			COMPONENT_ANNOTATION, "javax.annotation.ManagedBean", "javax.inject.Named"));
+
+	private static final String SCOPE_ANNOTATION = "org.springframework.context.annotation.Scope";
+
+	private static final String LAZY_ANNOTATION = "org.springframework.context.annotation.Lazy";
+
+	private static final String PRIMARY_ANNOTATION = "org.springframework.context.annotation.Primary";
+
+	private static final String DEPENDS_ON_ANNOTATION = "org.springframework.context.annotation.DependsOn";
+
+	private static final String ROLE_ANNOTATION = "org.springframework.context.annotation.Role";
+
+	private static final String DESCRIPTION_ANNOTATION = "org.springframework.context.annotation.Description";
+
+	private static final String CONDITIONAL_ANNOTATION = "org.springframework.context.annotation.Conditional";
+
+	private static final String QUALIFIER_ANNOTATION = "org.springframework.beans.factory.annotation.Qualifier";
+
+	private static final String LOOKUP_ANNOTATION = "org.springframework.beans.factory.annotation.Lookup";
+
+	private static final Set<String> AUTOWIRED_ANNOTATIONS = new HashSet<>(Arrays.asList(
+			"org.springframework.beans.factory.annotation.Autowired", "javax.inject.Inject"));
+
+	private static final Set<String> DEFINITION_ANNOTATIONS = new HashSet<>(Arrays.asList(
+			SCOPE_ANNOTATION, LAZY_ANNOTATION, PRIMARY_ANNOTATION, DEPENDS_ON_ANNOTATION,
+			ROLE_ANNOTATION, DESCRIPTION_ANNOTATION, CONDITIONAL_ANNOTATION));
+
+
+	private final TypeHelper typeHelper;
+
+	private final Elements elements;
+
+	private final Types types;
+
+
+	public BeanDefinitionMetadataProvider(ProcessingEnvironment env) {
+		this.typeHelper = new TypeHelper(env);
+		this.elements = env.getElementUtils();
+		this.types = env.getTypeUtils();
+	}
+
+
+	/**
+	 * Return the {@link BeanDefinitionMetadata} for the specified element, or
+	 * {@code null} if component scanning does not register it as a bean.
+	 * @param element the candidate element
+	 * @param stereotypes the stereotypes of the candidate
+	 */
+	public BeanDefinitionMetadata getBeanDefinition(Element element, Set<String> stereotypes) {
+		if (Collections.disjoint(stereotypes, SCANNED_STEREOTYPES) || !isCandidateComponent(element)) {
+			return null;
+		}
+		BeanDefinitionMetadata metadata = new BeanDefinitionMetadata();
+		Set<String> names = new LinkedHashSet<>();
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			String type = this.typeHelper.getType(annotation);
+			Map<String, AnnotationValue> attributes = getAttributes(annotation);
+			Set<String> metaAnnotations = getMetaAnnotations(annotation);
+			if (SCOPE_ANNOTATION.equals(type)) {
+				String scope = getString(attributes, "value");
+				metadata.setScope(scope.isEmpty() ? getString(attributes, "scopeName") : scope);
+				Object proxyMode = attributes.get("proxyMode").getValue();
+				metadata.setScopedProxyMode(((VariableElement) proxyMode).getSimpleName().toString());
+			}
+			else if (LAZY_ANNOTATION.equals(type)) {
+				metadata.setLazyInit((Boolean) attributes.get("value").getValue());
+			}
+			else if (PRIMARY_ANNOTATION.equals(type)) {
+				metadata.setPrimary(true);
+			}
+			else if (DEPENDS_ON_ANNOTATION.equals(type)) {
+				metadata.getDependsOn().addAll(getStrings(attributes, "value"));
+			}
+			else if (ROLE_ANNOTATION.equals(type)) {
+				metadata.setRole((Integer) attributes.get("value").getValue());
+			}
+			else if (QUALIFIER_ANNOTATION.equals(type)) {
+				String qualifier = getString(attributes, "value");
+				if (!qualifier.isEmpty()) {
+					metadata.getQualifiers().add(qualifier);
+				}
+			}
+			else if (DESCRIPTION_ANNOTATION.equals(type) || CONDITIONAL_ANNOTATION.equals(type) ||
+					!Collections.disjoint(metaAnnotations, DEFINITION_ANNOTATIONS)) {
+				metadata.setPartial(true);
+			}
+			if ((SCANNED_STEREOTYPES.contains(type) || metaAnnotations.contains(COMPONENT_ANNOTATION)) &&
+					attributes.get("value") != null && attributes.get("value").getValue() instanceof String) {
+				String name = getString(attributes, "value");
+				if (!name.isEmpty()) {
+					names.add(name);
+				}
+			}
+		}
+		if (names.size() > 1) {
+			// Conflicting names: let the bean name generator report them at runtime
+			metadata.setPartial(true);
+		}
+		else if (names.size() == 1) {
+			metadata.setName(names.iterator().next());
+		}
+		metadata.setConstructorParameterTypes(getConstructorParameterTypes(element));
+		if (!isSerializable(metadata)) {
+			metadata = new BeanDefinitionMetadata();
+			metadata.setPartial(true);
+		}
+		return metadata;
+	}
+
+	private boolean isCandidateComponent(Element element) {
+		if (element.getKind() != ElementKind.CLASS) {
+			return false;
+		}
+		NestingKind nestingKind = ((TypeElement) element).getNestingKind();
+		boolean independent = (nestingKind == NestingKind.TOP_LEVEL ||
+				(nestingKind == NestingKind.MEMBER && element.getModifiers().contains(Modifier.STATIC)));
+		if (!independent) {
+			return false;
+		}
+		if (!element.getModifiers().contains(Modifier.ABSTRACT)) {
+			return true;
+		}
+		for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+			if (hasAnnotation(method, LOOKUP_ANNOTATION)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<String> getConstructorParameterTypes(Element element) {
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(element.getEnclosedElements());
+		ExecutableElement candidate = null;
+		for (ExecutableElement constructor : constructors) {
+			for (String autowiredAnnotation : AUTOWIRED_ANNOTATIONS) {
+				if (hasAnnotation(constructor, autowiredAnnotation)) {
+					if (candidate != null) {
+						return null;
+					}
+					candidate = constructor;
+				}
+			}
+		}
+		if (candidate == null && constructors.size() == 1) {
+			candidate = constructors.get(0);
+		}
+		if (candidate == null) {
+			return null;
+		}
+		List<String> parameterTypes = new ArrayList<>();
+		for (VariableElement parameter : candidate.getParameters()) {
+			parameterTypes.add(this.typeHelper.getType(this.types.erasure(parameter.asType())));
+		}
+		return parameterTypes;
+	}
+
+	private boolean isSerializable(BeanDefinitionMetadata metadata) {
+		List<String> values = new ArrayList<>(metadata.getDependsOn());
+		values.addAll(metadata.getQualifiers());
+		values.add(metadata.getName());
+		values.add(metadata.getScope());
+		for (String value : values) {
+			if (value != null && (value.indexOf(PropertiesMarshaller.ATTRIBUTE_SEPARATOR) != -1 ||
+					value.indexOf(PropertiesMarshaller.VALUE_SEPARATOR) != -1)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Set<String> getMetaAnnotations(AnnotationMirror annotation) {
+		Set<String> metaAnnotations = new HashSet<>();
+		collectMetaAnnotations(annotation.getAnnotationType().asElement(), metaAnnotations);
+		return metaAnnotations;
+	}
+
+	private void collectMetaAnnotations(Element annotationType, Set<String> metaAnnotations) {
+		for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+			String type = this.typeHelper.getType(metaAnnotation);
+			if (!type.startsWith("java.lang") && metaAnnotations.add(type)) {
+				collectMetaAnnotations(metaAnnotation.getAnnotationType().asElement(), metaAnnotations);
+			}
+		}
+	}
+
+	private boolean hasAnnotation(Element element, String annotationType) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (annotationType.equals(this.typeHelper.getType(annotation))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Map<String, AnnotationValue> getAttributes(AnnotationMirror annotation) {
+		Map<String, AnnotationValue> attributes = new HashMap<>();
+		this.elements.getElementValuesWithDefaults(annotation).forEach(
+				(method, value) -> attributes.put(method.getSimpleName().toString(), value));
+		return attributes;
+	}
+
+	private String getString(Map<String, AnnotationValue> attributes, String name) {
+		return (String) attributes.get(name).getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> getStrings(Map<String, AnnotationValue> attributes, String name) {
+		List<String> result = new ArrayList<>();
+		for (AnnotationValue value : (List<? extends AnnotationValue>) attributes.get(name).getValue()) {
+			result.add((String) value.getValue());
+		}
+		return result;
+	}
+
+}
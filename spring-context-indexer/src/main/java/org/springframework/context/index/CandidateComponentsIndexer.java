@@ -31,11 +31,16 @@ import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
 
 /**
  * Annotation {@link Processor} that writes {@link CandidateComponentsMetadata}
  * file for spring components.
  *
+ * <p>Candidates that component scanning registers as beans are additionally
+ * described by their {@link BeanDefinitionMetadata}, allowing the bean
+ * definitions to be registered at runtime without scanning the classpath.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @since 5.0
@@ -50,6 +55,8 @@ public class CandidateComponentsIndexer implements Processor {
 
 	private List<StereotypesProvider> stereotypesProviders;
 
+	private BeanDefinitionMetadataProvider beanDefinitionMetadataProvider;
+
 
 	@Override
 	public Set<String> getSupportedOptions() {
@@ -70,6 +77,7 @@ public class CandidateComponentsIndexer implements Processor {
 	public synchronized void init(ProcessingEnvironment env) {
 		this.stereotypesProviders = getStereotypesProviders(env);
 		this.typeHelper = new TypeHelper(env);
+		this.beanDefinitionMetadataProvider = new BeanDefinitionMetadataProvider(env);
 		this.metadataStore = new MetadataStore(env);
 		this.metadataCollector = new MetadataCollector(env, this.metadataStore.readMetadata());
 	}
@@ -105,8 +113,13 @@ public class CandidateComponentsIndexer implements Processor {
 		Set<String> stereotypes = new LinkedHashSet<>();
 		this.stereotypesProviders.forEach(p -> stereotypes.addAll(p.getStereotypes(element)));
 		if (!stereotypes.isEmpty()) {
-			this.metadataCollector.add(new ItemMetadata(this.typeHelper.getType(element), stereotypes));
+			BeanDefinitionMetadata beanDefinition =
+					this.beanDefinitionMetadataProvider.getBeanDefinition(element, stereotypes);
+			this.metadataCollector.add(
+					new ItemMetadata(this.typeHelper.getType(element), stereotypes, beanDefinition));
 		}
+		// Component scanning also detects static member classes
+		ElementFilter.typesIn(element.getEnclosedElements()).forEach(this::processElement);
 	}
 
 	private CandidateComponentsMetadata writeMetaData() {
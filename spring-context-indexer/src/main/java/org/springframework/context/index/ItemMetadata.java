@@ -25,6 +25,9 @@ import java.util.Set;
  * be used to retrieve the candidates. A typical use case is the presence of a given
  * annotation on the candidate.
  *
+ * <p>Candidates that are registered as beans when scanned may additionally
+ * carry the {@link BeanDefinitionMetadata} computed at build time.
+ *
  * @author Stephane Nicoll
  * @since 5.0
  */
@@ -34,10 +37,17 @@ class ItemMetadata {
 
 	private final Set<String> stereotypes;
 
+	private final BeanDefinitionMetadata beanDefinition;
+
 
 	public ItemMetadata(String type, Set<String> stereotypes) {
+		this(type, stereotypes, null);
+	}
+
+	public ItemMetadata(String type, Set<String> stereotypes, BeanDefinitionMetadata beanDefinition) {
 		this.type = type;
 		this.stereotypes = new HashSet<>(stereotypes);
+		this.beanDefinition = beanDefinition;
 	}
 
 
@@ -49,4 +59,12 @@ class ItemMetadata {
 		return this.stereotypes;
 	}
 
+	/**
+	 * Return the bean definition metadata of this candidate, or {@code null}
+	 * if the candidate is not registered as a bean when scanned.
+	 */
+	public BeanDefinitionMetadata getBeanDefinition() {
+		return this.beanDefinition;
+	}
+
 }
@@ -24,6 +24,7 @@ import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
 
 /**
  * Used by {@link CandidateComponentsIndexer} to collect {@link CandidateComponentsMetadata}.
@@ -67,6 +68,7 @@ class MetadataCollector {
 	private void markAsProcessed(Element element) {
 		if (element instanceof TypeElement) {
 			this.processedSourceTypes.add(this.typeHelper.getType(element));
+			ElementFilter.typesIn(element.getEnclosedElements()).forEach(this::markAsProcessed);
 		}
 	}
 
@@ -98,7 +100,7 @@ class MetadataCollector {
 
 	private boolean deletedInCurrentBuild(String sourceType) {
 		return this.processingEnvironment.getElementUtils()
-				.getTypeElement(sourceType) == null;
+				.getTypeElement(sourceType.replace('$', '.')) == null;
 	}
 
 	private boolean processedInCurrentBuild(String sourceType) {
@@ -33,6 +33,8 @@ class MetadataStore {
 
 	static final String METADATA_PATH = "META-INF/spring.components";
 
+	static final String BEAN_DEFINITIONS_PATH = "META-INF/spring.components.beans";
+
 	private final ProcessingEnvironment environment;
 
 
@@ -43,7 +45,7 @@ class MetadataStore {
 
 	public CandidateComponentsMetadata readMetadata() {
 		try {
-			return readMetadata(getMetadataResource().openInputStream());
+			return readMetadata(getMetadataResource(METADATA_PATH).openInputStream());
 		}
 		catch (IOException ex) {
 			// Failed to read metadata -> ignore.
@@ -53,28 +55,47 @@ class MetadataStore {
 
 	public void writeMetadata(CandidateComponentsMetadata metadata) throws IOException {
 		if (!metadata.getItems().isEmpty()) {
-			try (OutputStream outputStream = createMetadataResource().openOutputStream()) {
+			try (OutputStream outputStream = createMetadataResource(METADATA_PATH).openOutputStream()) {
 				PropertiesMarshaller.write(metadata, outputStream);
 			}
+			// Always written along with the candidates, so that the runtime can
+			// tell whether the bean definitions of all indexed candidates are known
+			try (OutputStream outputStream = createMetadataResource(BEAN_DEFINITIONS_PATH).openOutputStream()) {
+				PropertiesMarshaller.writeBeanDefinitions(metadata, outputStream);
+			}
 		}
 	}
 
 
 	private CandidateComponentsMetadata readMetadata(InputStream in) throws IOException {
+		InputStream beanDefinitionsIn = openBeanDefinitions();
 		try {
-			return PropertiesMarshaller.read(in);
+			return PropertiesMarshaller.read(in, beanDefinitionsIn);
 		}
 		finally {
 			in.close();
+			if (beanDefinitionsIn != null) {
+				beanDefinitionsIn.close();
+			}
+		}
+	}
+
+	private InputStream openBeanDefinitions() {
+		try {
+			return getMetadataResource(BEAN_DEFINITIONS_PATH).openInputStream();
+		}
+		catch (IOException ex) {
+			// No bean definitions from a previous build -> ignore.
+			return null;
 		}
 	}
 
-	private FileObject getMetadataResource() throws IOException {
-		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+	private FileObject getMetadataResource(String path) throws IOException {
+		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path);
 	}
 
-	private FileObject createMetadataResource() throws IOException {
-		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+	private FileObject createMetadataResource(String path) throws IOException {
+		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path);
 	}
 
 }
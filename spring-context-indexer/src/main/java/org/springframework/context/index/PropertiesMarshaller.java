@@ -19,8 +19,10 @@ package org.springframework.context.index;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
@@ -32,21 +34,154 @@ import java.util.Set;
  */
 abstract class PropertiesMarshaller {
 
+	/**
+	 * Separator between the attributes of a bean definition.
+	 */
+	static final char ATTRIBUTE_SEPARATOR = ';';
+
+	/**
+	 * Separator between the elements of a multi-valued attribute.
+	 */
+	static final char VALUE_SEPARATOR = ',';
+
+
 	public static void write(CandidateComponentsMetadata metadata, OutputStream out) throws IOException {
 		Properties props = new Properties();
 		metadata.getItems().forEach(m -> props.put(m.getType(), String.join(",", m.getStereotypes())));
 		props.store(out, "");
 	}
 
+	/**
+	 * Write the {@link BeanDefinitionMetadata} of the items that define one,
+	 * keyed by the type of the item.
+	 */
+	public static void writeBeanDefinitions(CandidateComponentsMetadata metadata, OutputStream out)
+			throws IOException {
+
+		Properties props = new Properties();
+		metadata.getItems().stream().filter(m -> m.getBeanDefinition() != null)
+				.forEach(m -> props.put(m.getType(), toString(m.getBeanDefinition())));
+		props.store(out, "");
+	}
+
 	public static CandidateComponentsMetadata read(InputStream in) throws IOException {
+		return read(in, null);
+	}
+
+	/**
+	 * Read the candidates and, if available, their bean definitions.
+	 * @param in the stream of candidates
+	 * @param beanDefinitionsIn the stream of bean definitions or {@code null}
+	 */
+	public static CandidateComponentsMetadata read(InputStream in, InputStream beanDefinitionsIn)
+			throws IOException {
+
 		CandidateComponentsMetadata result = new CandidateComponentsMetadata();
 		Properties props = new Properties();
 		props.load(in);
+		Properties beanDefinitionProps = new Properties();
+		if (beanDefinitionsIn != null) {
+			beanDefinitionProps.load(beanDefinitionsIn);
+		}
 		props.forEach((type, value) -> {
 			Set<String> candidates = new HashSet<>(Arrays.asList(((String) value).split(",")));
-			result.add(new ItemMetadata((String) type, candidates));
+			String beanDefinition = beanDefinitionProps.getProperty((String) type);
+			result.add(new ItemMetadata((String) type, candidates,
+					(beanDefinition != null ? parseBeanDefinition(beanDefinition) : null)));
 		});
 		return result;
 	}
 
+
+	private static String toString(BeanDefinitionMetadata beanDefinition) {
+		List<String> attributes = new ArrayList<>();
+		if (beanDefinition.getName() != null) {
+			attributes.add("name=" + beanDefinition.getName());
+		}
+		if (beanDefinition.getScope() != null) {
+			attributes.add("scope=" + beanDefinition.getScope());
+		}
+		if (beanDefinition.getScopedProxyMode() != null) {
+			attributes.add("proxyMode=" + beanDefinition.getScopedProxyMode());
+		}
+		if (beanDefinition.isLazyInit()) {
+			attributes.add("lazyInit=true");
+		}
+		if (beanDefinition.isPrimary()) {
+			attributes.add("primary=true");
+		}
+		if (beanDefinition.getRole() != null) {
+			attributes.add("role=" + beanDefinition.getRole());
+		}
+		if (!beanDefinition.getDependsOn().isEmpty()) {
+			attributes.add("dependsOn=" + join(beanDefinition.getDependsOn()));
+		}
+		if (!beanDefinition.getQualifiers().isEmpty()) {
+			attributes.add("qualifiers=" + join(beanDefinition.getQualifiers()));
+		}
+		if (beanDefinition.getConstructorParameterTypes() != null) {
+			attributes.add("constructor=" + join(beanDefinition.getConstructorParameterTypes()));
+		}
+		if (beanDefinition.isPartial()) {
+			attributes.add("partial=true");
+		}
+		return String.join(String.valueOf(ATTRIBUTE_SEPARATOR), attributes);
+	}
+
+	private static BeanDefinitionMetadata parseBeanDefinition(String value) {
+		BeanDefinitionMetadata beanDefinition = new BeanDefinitionMetadata();
+		for (String attribute : value.split(String.valueOf(ATTRIBUTE_SEPARATOR))) {
+			int index = attribute.indexOf('=');
+			if (index == -1) {
+				continue;
+			}
+			String name = attribute.substring(0, index);
+			String attributeValue = attribute.substring(index + 1);
+			switch (name) {
+				case "name":
+					beanDefinition.setName(attributeValue);
+					break;
+				case "scope":
+					beanDefinition.setScope(attributeValue);
+					break;
+				case "proxyMode":
+					beanDefinition.setScopedProxyMode(attributeValue);
+					break;
+				case "lazyInit":
+					beanDefinition.setLazyInit(Boolean.parseBoolean(attributeValue));
+					break;
+				case "primary":
+					beanDefinition.setPrimary(Boolean.parseBoolean(attributeValue));
+					break;
+				case "role":
+					beanDefinition.setRole(Integer.valueOf(attributeValue));
+					break;
+				case "dependsOn":
+					beanDefinition.getDependsOn().addAll(split(attributeValue));
+					break;
+				case "qualifiers":
+					beanDefinition.getQualifiers().addAll(split(attributeValue));
+					break;
+				case "constructor":
+					beanDefinition.setConstructorParameterTypes(split(attributeValue));
+					break;
+				case "partial":
+					beanDefinition.setPartial(Boolean.parseBoolean(attributeValue));
+					break;
+			}
+		}
+		return beanDefinition;
+	}
+
+	private static String join(List<String> values) {
+		return String.join(String.valueOf(VALUE_SEPARATOR), values);
+	}
+
+	private static List<String> split(String value) {
+		if (value.isEmpty()) {
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(Arrays.asList(value.split(String.valueOf(VALUE_SEPARATOR))));
+	}
+
 }
@@ -59,14 +59,11 @@ class TypeHelper {
 			return null;
 		}
 		if (type instanceof DeclaredType) {
-			DeclaredType declaredType = (DeclaredType) type;
-			Element enclosingElement = declaredType.asElement().getEnclosingElement();
-			if (enclosingElement != null && enclosingElement instanceof TypeElement) {
-				return getQualifiedName(enclosingElement) + "$"
-						+ declaredType.asElement().getSimpleName().toString();
-			} else {
-				return getQualifiedName(declaredType.asElement());
+			Element element = ((DeclaredType) type).asElement();
+			if (element instanceof TypeElement) {
+				return this.env.getElementUtils().getBinaryName((TypeElement) element).toString();
 			}
+			return getQualifiedName(element);
 		}
 		return type.toString();
 	}
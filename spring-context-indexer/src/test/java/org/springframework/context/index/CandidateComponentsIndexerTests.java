@@ -43,6 +43,9 @@ import org.springframework.context.index.sample.SampleRepository;
 import org.springframework.context.index.sample.SampleService;
 import org.springframework.context.index.sample.cdi.SampleManagedBean;
 import org.springframework.context.index.sample.cdi.SampleNamed;
+import org.springframework.context.index.sample.definition.SampleConditionalComponent;
+import org.springframework.context.index.sample.definition.SampleDefinedService;
+import org.springframework.context.index.sample.definition.SampleNestedComponents;
 import org.springframework.context.index.sample.jpa.SampleConverter;
 import org.springframework.context.index.sample.jpa.SampleEmbeddable;
 import org.springframework.context.index.sample.jpa.SampleEntity;
@@ -199,6 +202,64 @@ public class CandidateComponentsIndexerTests {
 	}
 
 
+	@Test
+	public void beanDefinition() throws IOException {
+		CandidateComponentsMetadata metadata = compile(SampleDefinedService.class);
+		BeanDefinitionMetadata beanDefinition = getItem(metadata, SampleDefinedService.class).getBeanDefinition();
+		assertThat(beanDefinition.getName(), is("definedService"));
+		assertThat(beanDefinition.getScope(), is("prototype"));
+		assertThat(beanDefinition.getScopedProxyMode(), is("TARGET_CLASS"));
+		assertThat(beanDefinition.isLazyInit(), is(true));
+		assertThat(beanDefinition.isPrimary(), is(true));
+		assertThat(beanDefinition.getDependsOn(), contains("first", "second"));
+		assertThat(beanDefinition.getQualifiers(), contains("special"));
+		assertThat(beanDefinition.getConstructorParameterTypes(), contains("java.lang.String", "int[]"));
+		assertThat(beanDefinition.isPartial(), is(false));
+	}
+
+	@Test
+	public void beanDefinitionWithDefaults() throws IOException {
+		CandidateComponentsMetadata metadata = compile(SampleComponent.class);
+		BeanDefinitionMetadata beanDefinition = getItem(metadata, SampleComponent.class).getBeanDefinition();
+		assertThat(beanDefinition.getName(), is(nullValue()));
+		assertThat(beanDefinition.getScope(), is(nullValue()));
+		assertThat(beanDefinition.getConstructorParameterTypes(), hasSize(0));
+		assertThat(beanDefinition.isPartial(), is(false));
+	}
+
+	@Test
+	public void beanDefinitionWithCondition() throws IOException {
+		CandidateComponentsMetadata metadata = compile(SampleConditionalComponent.class);
+		assertThat(getItem(metadata, SampleConditionalComponent.class).getBeanDefinition().isPartial(), is(true));
+	}
+
+	@Test
+	public void beanDefinitionOnAbstractClass() throws IOException {
+		CandidateComponentsMetadata metadata = compile(AbstractController.class);
+		assertThat(getItem(metadata, AbstractController.class).getBeanDefinition(), is(nullValue()));
+	}
+
+	@Test
+	public void beanDefinitionOnMemberClasses() throws IOException {
+		CandidateComponentsMetadata metadata = compile(SampleNestedComponents.class);
+		assertThat(metadata.getItems(), hasSize(2));
+		BeanDefinitionMetadata beanDefinition =
+				getItem(metadata, SampleNestedComponents.StaticComponent.class).getBeanDefinition();
+		assertThat(beanDefinition.getConstructorParameterTypes(), contains("java.lang.String"));
+		assertThat(getItem(metadata, SampleNestedComponents.InnerComponent.class).getBeanDefinition(),
+				is(nullValue()));
+	}
+
+
+	private ItemMetadata getItem(CandidateComponentsMetadata metadata, Class<?> type) {
+		for (ItemMetadata item : metadata.getItems()) {
+			if (item.getType().equals(type.getName())) {
+				return item;
+			}
+		}
+		throw new AssertionError("No item found for " + type.getName());
+	}
+
 	private void testComponent(Class<?>... classes) throws IOException {
 		CandidateComponentsMetadata metadata = compile(classes);
 		for (Class<?> c : classes) {
@@ -229,8 +290,11 @@ public class CandidateComponentsIndexerTests {
 		try {
 			File metadataFile = new File(outputLocation,
 					MetadataStore.METADATA_PATH);
+			File beanDefinitionsFile = new File(outputLocation,
+					MetadataStore.BEAN_DEFINITIONS_PATH);
 			if (metadataFile.isFile()) {
-				return PropertiesMarshaller.read(new FileInputStream(metadataFile));
+				return PropertiesMarshaller.read(new FileInputStream(metadataFile),
+						(beanDefinitionsFile.isFile() ? new FileInputStream(beanDefinitionsFile) : null));
 			}
 			else {
 				return new CandidateComponentsMetadata();
@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 
 import org.junit.Test;
@@ -50,6 +51,43 @@ public class PropertiesMarshallerTests {
 		assertThat(readMetadata.getItems(), hasSize(2));
 	}
 
+	@Test
+	public void readWriteBeanDefinitions() throws IOException {
+		BeanDefinitionMetadata beanDefinition = new BeanDefinitionMetadata();
+		beanDefinition.setName("foo");
+		beanDefinition.setScope("prototype");
+		beanDefinition.setRole(2);
+		beanDefinition.getDependsOn().addAll(Arrays.asList("a", "b"));
+		beanDefinition.setConstructorParameterTypes(Collections.emptyList());
+		CandidateComponentsMetadata metadata = new CandidateComponentsMetadata();
+		metadata.add(new ItemMetadata("com.foo", Collections.singleton("first"), beanDefinition));
+		metadata.add(createItem("com.bar", "first"));
+
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		PropertiesMarshaller.write(metadata, outputStream);
+		ByteArrayOutputStream beanDefinitionsOutputStream = new ByteArrayOutputStream();
+		PropertiesMarshaller.writeBeanDefinitions(metadata, beanDefinitionsOutputStream);
+		CandidateComponentsMetadata readMetadata = PropertiesMarshaller.read(
+				new ByteArrayInputStream(outputStream.toByteArray()),
+				new ByteArrayInputStream(beanDefinitionsOutputStream.toByteArray()));
+		assertThat(readMetadata.getItems(), hasSize(2));
+		for (ItemMetadata item : readMetadata.getItems()) {
+			if (item.getType().equals("com.foo")) {
+				BeanDefinitionMetadata readBeanDefinition = item.getBeanDefinition();
+				assertThat(readBeanDefinition.getName(), is("foo"));
+				assertThat(readBeanDefinition.getScope(), is("prototype"));
+				assertThat(readBeanDefinition.getRole(), is(2));
+				assertThat(readBeanDefinition.getDependsOn(), contains("a", "b"));
+				assertThat(readBeanDefinition.getQualifiers(), hasSize(0));
+				assertThat(readBeanDefinition.getConstructorParameterTypes(), hasSize(0));
+				assertThat(readBeanDefinition.isPartial(), is(false));
+			}
+			else {
+				assertThat(item.getBeanDefinition(), is(nullValue()));
+			}
+		}
+	}
+
 	private static ItemMetadata createItem(String type, String... stereotypes) {
 		return new ItemMetadata(type, new HashSet<>(Arrays.asList(stereotypes)));
 	}
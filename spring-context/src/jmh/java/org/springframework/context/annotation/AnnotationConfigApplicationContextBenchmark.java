@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.Serializable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+
+/**
+ * Benchmarks for the refresh of an {@link AnnotationConfigApplicationContext},
+ * with configuration classes and components implementing common JDK interfaces
+ * (whose annotation introspection is rejected upfront) and exposing
+ * {@code @Bean}, {@code @Autowired} and {@code @EventListener} methods.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnnotationConfigApplicationContextBenchmark {
+
+	@Benchmark
+	public AnnotationConfigApplicationContext refresh() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(BenchmarkConfig.class);
+		context.close();
+		return context;
+	}
+
+
+	@Configuration
+	@Import({Repository.class, Service.class, Listener.class})
+	public static class BenchmarkConfig implements Serializable {
+
+		@Bean
+		public Supplier<String> greetingSupplier() {
+			return () -> "hello";
+		}
+
+		@Bean
+		public Callable<Integer> answerCallable() {
+			return () -> 42;
+		}
+
+		@Bean
+		public Runnable noopRunnable() {
+			return () -> {};
+		}
+	}
+
+	public static class Repository implements Serializable, Comparable<Repository> {
+
+		@Override
+		public int compareTo(Repository other) {
+			return 0;
+		}
+	}
+
+	public static class Service implements Runnable, Ordered {
+
+		@Autowired
+		private Repository repository;
+
+		@Autowired
+		private Supplier<String> greetingSupplier;
+
+		@Override
+		public void run() {
+		}
+
+		@Override
+		public int getOrder() {
+			return 0;
+		}
+	}
+
+	public static class Listener implements AutoCloseable {
+
+		@EventListener
+		public void onRefresh(ContextRefreshedEvent event) {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
@@ -56,6 +56,8 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 
 	private final ClassPathBeanDefinitionScanner scanner;
 
+	private final BeanDefinitionSnapshotRegistrar snapshotRegistrar;
+
 
 	/**
 	 * Create a new AnnotationConfigApplicationContext that needs to be populated
@@ -64,6 +66,7 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 	public AnnotationConfigApplicationContext() {
 		this.reader = new AnnotatedBeanDefinitionReader(this);
 		this.scanner = new ClassPathBeanDefinitionScanner(this);
+		this.snapshotRegistrar = new BeanDefinitionSnapshotRegistrar(this.scanner);
 	}
 
 	/**
@@ -74,6 +77,7 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 		super(beanFactory);
 		this.reader = new AnnotatedBeanDefinitionReader(this);
 		this.scanner = new ClassPathBeanDefinitionScanner(this);
+		this.snapshotRegistrar = new BeanDefinitionSnapshotRegistrar(this.scanner);
 	}
 
 	/**
@@ -124,6 +128,7 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 	public void setBeanNameGenerator(BeanNameGenerator beanNameGenerator) {
 		this.reader.setBeanNameGenerator(beanNameGenerator);
 		this.scanner.setBeanNameGenerator(beanNameGenerator);
+		this.snapshotRegistrar.setBeanNameGenerator(beanNameGenerator);
 		getBeanFactory().registerSingleton(
 				AnnotationConfigUtils.CONFIGURATION_BEAN_NAME_GENERATOR, beanNameGenerator);
 	}
@@ -137,6 +142,7 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 	public void setScopeMetadataResolver(ScopeMetadataResolver scopeMetadataResolver) {
 		this.reader.setScopeMetadataResolver(scopeMetadataResolver);
 		this.scanner.setScopeMetadataResolver(scopeMetadataResolver);
+		this.snapshotRegistrar.setScopeMetadataResolver(scopeMetadataResolver);
 	}
 
 
@@ -160,6 +166,11 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 
 	/**
 	 * Perform a scan within the specified base packages.
+	 * <p>If all components indexes on the classpath also provide the bean
+	 * definitions of their components (see
+	 * {@link org.springframework.context.index.CandidateComponentsIndexLoader#BEAN_DEFINITIONS_RESOURCE_LOCATION}),
+	 * the bean definitions are registered from that build-time snapshot rather
+	 * than by scanning the classpath.
 	 * <p>Note that {@link #refresh()} must be called in order for the context
 	 * to fully process the new classes.
 	 * @param basePackages the packages to check for annotated classes
@@ -168,7 +179,9 @@ public class AnnotationConfigApplicationContext extends GenericApplicationContex
 	 */
 	public void scan(String... basePackages) {
 		Assert.notEmpty(basePackages, "At least one base package must be specified");
-		this.scanner.scan(basePackages);
+		if (!this.snapshotRegistrar.register(basePackages)) {
+			this.scanner.scan(basePackages);
+		}
 	}
 
 
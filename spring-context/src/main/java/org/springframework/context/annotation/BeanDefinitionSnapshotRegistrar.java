@@ -0,0 +1,214 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanNameGenerator;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.index.BeanDefinitionSnapshot;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Register the bean definitions of components from the build-time
+ * {@link BeanDefinitionSnapshot}, as an alternative to scanning the classpath
+ * with a {@link ClassPathBeanDefinitionScanner} that uses the default filters.
+ *
+ * <p>Complete snapshot entries are turned into bean definitions as-is, without
+ * reading the candidate class. Partial entries, as well as all entries if a
+ * custom {@link BeanNameGenerator} or {@link ScopeMetadataResolver} is in use,
+ * are completed from the ASM-based class metadata of the candidate, applying
+ * the same rules as the scanner.
+ *
+ * @since 5.0
+ * @see CandidateComponentsIndexLoader#loadBeanDefinitionSnapshot(ClassLoader)
+ */
+class BeanDefinitionSnapshotRegistrar {
+
+	private static final Log logger = LogFactory.getLog(BeanDefinitionSnapshotRegistrar.class);
+
+	private final ClassPathBeanDefinitionScanner scanner;
+
+	private BeanNameGenerator beanNameGenerator = new AnnotationBeanNameGenerator();
+
+	private ScopeMetadataResolver scopeMetadataResolver = new AnnotationScopeMetadataResolver();
+
+	private boolean customStrategies = false;
+
+	private ConditionEvaluator conditionEvaluator;
+
+
+	/**
+	 * Create a new registrar for the given scanner.
+	 * @param scanner the scanner to use for checking and registering the bean
+	 * definitions, using its registry, environment and resource loader
+	 */
+	public BeanDefinitionSnapshotRegistrar(ClassPathBeanDefinitionScanner scanner) {
+		this.scanner = scanner;
+	}
+
+
+	/**
+	 * Set the BeanNameGenerator to use for the registered components.
+	 * @see ClassPathBeanDefinitionScanner#setBeanNameGenerator
+	 */
+	public void setBeanNameGenerator(@Nullable BeanNameGenerator beanNameGenerator) {
+		this.beanNameGenerator = (beanNameGenerator != null ? beanNameGenerator : new AnnotationBeanNameGenerator());
+		this.customStrategies = true;
+	}
+
+	/**
+	 * Set the ScopeMetadataResolver to use for the registered components.
+	 * @see ClassPathBeanDefinitionScanner#setScopeMetadataResolver
+	 */
+	public void setScopeMetadataResolver(@Nullable ScopeMetadataResolver scopeMetadataResolver) {
+		this.scopeMetadataResolver =
+				(scopeMetadataResolver != null ? scopeMetadataResolver : new AnnotationScopeMetadataResolver());
+		this.customStrategies = true;
+	}
+
+
+	/**
+	 * Register the bean definitions of the components in the specified base
+	 * packages from the snapshot, if possible.
+	 * @param basePackages the packages to register components for
+	 * @return {@code true} if the components have been registered from the
+	 * snapshot, {@code false} if no complete snapshot is available or some
+	 * of the base packages are patterns, so that regular scanning is required
+	 */
+	public boolean register(String... basePackages) {
+		ClassLoader classLoader = ResourcePatternUtils.getResourcePatternResolver(
+				this.scanner.getResourceLoader()).getClassLoader();
+		BeanDefinitionSnapshot snapshot = CandidateComponentsIndexLoader.loadBeanDefinitionSnapshot(classLoader);
+		if (snapshot == null) {
+			return false;
+		}
+		String[] packagesToUse = new String[basePackages.length];
+		for (int i = 0; i < basePackages.length; i++) {
+			packagesToUse[i] = this.scanner.getEnvironment().resolveRequiredPlaceholders(basePackages[i]);
+			if (packagesToUse[i].indexOf('*') != -1 || packagesToUse[i].indexOf('?') != -1) {
+				return false;
+			}
+		}
+		BeanDefinitionRegistry registry = this.scanner.getRegistry();
+		int beanCountAtStart = registry.getBeanDefinitionCount();
+		for (String basePackage : packagesToUse) {
+			for (BeanDefinitionSnapshot.Entry entry : snapshot.getEntries(basePackage)) {
+				try {
+					registerBeanDefinition(entry);
+				}
+				catch (IOException ex) {
+					throw new BeanDefinitionStoreException(
+							"I/O failure while reading class metadata for [" + entry.getType() + "]", ex);
+				}
+			}
+		}
+		AnnotationConfigUtils.registerAnnotationConfigProcessors(registry);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Registered " + (registry.getBeanDefinitionCount() - beanCountAtStart) +
+					" bean definition(s) from snapshot for packages " +
+					StringUtils.arrayToCommaDelimitedString(packagesToUse));
+		}
+		return true;
+	}
+
+	private void registerBeanDefinition(BeanDefinitionSnapshot.Entry entry) throws IOException {
+		BeanDefinitionRegistry registry = this.scanner.getRegistry();
+		AbstractBeanDefinition candidate;
+		ScopeMetadata scopeMetadata;
+		String beanName;
+		if (entry.isPartial() || this.customStrategies) {
+			MetadataReader metadataReader =
+					this.scanner.getMetadataReaderFactory().getMetadataReader(entry.getType());
+			if (getConditionEvaluator().shouldSkip(metadataReader.getAnnotationMetadata())) {
+				return;
+			}
+			ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+			sbd.setResource(metadataReader.getResource());
+			sbd.setSource(metadataReader.getResource());
+			scopeMetadata = this.scopeMetadataResolver.resolveScopeMetadata(sbd);
+			sbd.setScope(scopeMetadata.getScopeName());
+			beanName = this.beanNameGenerator.generateBeanName(sbd, registry);
+			this.scanner.postProcessBeanDefinition(sbd, beanName);
+			AnnotationConfigUtils.processCommonDefinitionAnnotations(sbd);
+			candidate = sbd;
+		}
+		else {
+			scopeMetadata = new ScopeMetadata();
+			if (entry.getScope() != null) {
+				scopeMetadata.setScopeName(entry.getScope());
+			}
+			if (entry.getScopedProxyMode() != null) {
+				ScopedProxyMode proxyMode = ScopedProxyMode.valueOf(entry.getScopedProxyMode());
+				scopeMetadata.setScopedProxyMode(proxyMode != ScopedProxyMode.DEFAULT ? proxyMode : ScopedProxyMode.NO);
+			}
+			GenericBeanDefinition bd = new GenericBeanDefinition();
+			bd.setBeanClassName(entry.getType());
+			bd.setScope(scopeMetadata.getScopeName());
+			beanName = (entry.getName() != null ? entry.getName() : this.beanNameGenerator.generateBeanName(bd, registry));
+			this.scanner.postProcessBeanDefinition(bd, beanName);
+			applySnapshotSettings(bd, entry);
+			candidate = bd;
+		}
+		if (this.scanner.checkCandidate(beanName, candidate)) {
+			BeanDefinitionHolder definitionHolder = new BeanDefinitionHolder(candidate, beanName);
+			definitionHolder = AnnotationConfigUtils.applyScopedProxyMode(scopeMetadata, definitionHolder, registry);
+			this.scanner.registerBeanDefinition(definitionHolder, registry);
+		}
+	}
+
+	private void applySnapshotSettings(AbstractBeanDefinition bd, BeanDefinitionSnapshot.Entry entry) {
+		if (entry.isLazyInit()) {
+			bd.setLazyInit(true);
+		}
+		if (entry.isPrimary()) {
+			bd.setPrimary(true);
+		}
+		if (!entry.getDependsOn().isEmpty()) {
+			bd.setDependsOn(StringUtils.toStringArray(entry.getDependsOn()));
+		}
+		if (entry.getRole() != null) {
+			bd.setRole(entry.getRole());
+		}
+		for (String qualifier : entry.getQualifiers()) {
+			bd.addQualifier(new AutowireCandidateQualifier(Qualifier.class, qualifier));
+		}
+		bd.setResourceDescription("bean definition snapshot entry for [" + entry.getType() + "]");
+	}
+
+	private ConditionEvaluator getConditionEvaluator() {
+		if (this.conditionEvaluator == null) {
+			this.conditionEvaluator = new ConditionEvaluator(this.scanner.getRegistry(),
+					this.scanner.getEnvironment(), this.scanner.getResourceLoader());
+		}
+		return this.conditionEvaluator;
+	}
+
+}
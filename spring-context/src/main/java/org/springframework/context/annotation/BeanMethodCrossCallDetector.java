@@ -0,0 +1,241 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.Handle;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Bytecode-based check whether a {@link Configuration @Configuration} class
+ * relies on {@link Bean @Bean} method interception, i.e. whether any of the
+ * registered caller classes invokes one of its non-static {@code @Bean} methods.
+ * Callers are typically all configuration classes in a bean factory, so that
+ * both calls within a class hierarchy and calls on an injected instance of
+ * another configuration class are detected. Configuration classes without
+ * such calls behave the same with or without CGLIB enhancement from the
+ * container's point of view.
+ *
+ * <p>Each caller is introspected along with its superclasses, interfaces and
+ * nested classes. The analysis is conservative: whenever the bytecode of one
+ * of those classes cannot be read, every configuration class is considered
+ * to rely on interception.
+ *
+ * @since 5.0
+ * @see ConfigurationClassPostProcessor#setLiteByDefault
+ */
+class BeanMethodCrossCallDetector {
+
+	private final ClassLoader classLoader;
+
+	private final Set<String> scannedClassNames = new HashSet<>();
+
+	/** Invoked non-static method names per owner type, as internal class names */
+	private final Map<String, Set<String>> invokedMethodsByOwner = new HashMap<>();
+
+	private boolean unreadableClassFound;
+
+
+	/**
+	 * Create a new detector for classes from the given ClassLoader.
+	 * @param classLoader the ClassLoader to read class files from
+	 */
+	public BeanMethodCrossCallDetector(@Nullable ClassLoader classLoader) {
+		this.classLoader = (classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader());
+	}
+
+
+	/**
+	 * Register the given class as a potential caller of {@code @Bean} methods,
+	 * introspecting its bytecode for method invocations.
+	 * @param className the fully qualified name of the caller class
+	 */
+	public void addCallerClass(String className) {
+		Deque<String> queue = new ArrayDeque<>();
+		queue.add(ClassUtils.convertClassNameToResourcePath(className));
+		while (!queue.isEmpty()) {
+			String internalName = queue.poll();
+			if (internalName.startsWith("java/") || !this.scannedClassNames.add(internalName)) {
+				continue;
+			}
+			CallSiteVisitor visitor = new CallSiteVisitor(queue);
+			if (!readClass(internalName, visitor)) {
+				this.unreadableClassFound = true;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Determine whether any of the registered callers invokes a non-static
+	 * {@code @Bean} method declared in the given configuration class or inherited
+	 * from one of its superclasses or interfaces.
+	 * @param configClass the configuration class to check
+	 * @return {@code true} if the class needs to be enhanced in order to
+	 * preserve singleton semantics for inter-bean method calls
+	 */
+	public boolean hasBeanMethodCalls(Class<?> configClass) {
+		if (this.unreadableClassFound) {
+			return true;
+		}
+		Set<Class<?>> hierarchy = new LinkedHashSet<>();
+		collectHierarchy(configClass, hierarchy);
+
+		Set<String> beanMethodNames = new HashSet<>();
+		for (Class<?> clazz : hierarchy) {
+			ReflectionUtils.doWithLocalMethods(clazz, method -> {
+				if (!Modifier.isStatic(method.getModifiers()) && BeanAnnotationHelper.isBeanAnnotated(method)) {
+					beanMethodNames.add(method.getName());
+				}
+			});
+		}
+		if (beanMethodNames.isEmpty()) {
+			return false;
+		}
+
+		// Call sites refer to the static type of the target instance as owner,
+		// which is the configuration class itself or any type in its hierarchy
+		for (Class<?> clazz : hierarchy) {
+			Set<String> invokedMethods =
+					this.invokedMethodsByOwner.get(ClassUtils.convertClassNameToResourcePath(clazz.getName()));
+			if (invokedMethods != null) {
+				for (String beanMethodName : beanMethodNames) {
+					if (invokedMethods.contains(beanMethodName)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean readClass(String internalName, ClassVisitor visitor) {
+		if (this.classLoader == null) {
+			return false;
+		}
+		InputStream is = this.classLoader.getResourceAsStream(internalName + ClassUtils.CLASS_FILE_SUFFIX);
+		if (is == null) {
+			return false;
+		}
+		try {
+			try {
+				new ClassReader(is).accept(visitor, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+			}
+			finally {
+				is.close();
+			}
+			return true;
+		}
+		catch (IOException | RuntimeException ex) {
+			return false;
+		}
+	}
+
+	private void addInvocation(String owner, String name) {
+		if (owner.startsWith("java/")) {
+			return;
+		}
+		this.invokedMethodsByOwner.computeIfAbsent(owner, key -> new HashSet<>()).add(name);
+	}
+
+	private static void collectHierarchy(@Nullable Class<?> clazz, Set<Class<?>> hierarchy) {
+		if (clazz == null || clazz == Object.class || !hierarchy.add(clazz)) {
+			return;
+		}
+		collectHierarchy(clazz.getSuperclass(), hierarchy);
+		for (Class<?> ifc : clazz.getInterfaces()) {
+			collectHierarchy(ifc, hierarchy);
+		}
+	}
+
+
+	/**
+	 * Records non-static method invocations, including lambda and method reference
+	 * call sites, and queues the superclass, interfaces and nested classes.
+	 */
+	private class CallSiteVisitor extends ClassVisitor {
+
+		private final Deque<String> queue;
+
+		private String className;
+
+		public CallSiteVisitor(Deque<String> queue) {
+			super(SpringAsmInfo.ASM_VERSION);
+			this.queue = queue;
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+			this.className = name;
+			if (superName != null) {
+				this.queue.add(superName);
+			}
+			for (String ifc : interfaces) {
+				this.queue.add(ifc);
+			}
+		}
+
+		@Override
+		public void visitInnerClass(String name, String outerName, String innerName, int access) {
+			// Nested and anonymous classes may call back into the enclosing instance
+			if (name.startsWith(this.className + "$")) {
+				this.queue.add(name);
+			}
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+			return new MethodVisitor(SpringAsmInfo.ASM_VERSION) {
+				@Override
+				public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+					if (opcode != Opcodes.INVOKESTATIC) {
+						addInvocation(owner, name);
+					}
+				}
+				@Override
+				public void visitInvokeDynamicInsn(String name, String desc, Handle bsm, Object... bsmArgs) {
+					for (Object bsmArg : bsmArgs) {
+						if (bsmArg instanceof Handle) {
+							Handle handle = (Handle) bsmArg;
+							if (handle.getTag() != Opcodes.H_INVOKESTATIC) {
+								addInvocation(handle.getOwner(), handle.getName());
+							}
+						}
+					}
+				}
+			};
+		}
+	}
+
+}
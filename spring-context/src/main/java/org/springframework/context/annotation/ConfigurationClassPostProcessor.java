@@ -25,6 +25,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -37,6 +38,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
@@ -53,9 +55,12 @@ import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.ConfigurationClassEnhancer.EnhancedConfiguration;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
@@ -86,6 +91,18 @@ import static org.springframework.context.annotation.AnnotationConfigUtils.*;
 public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPostProcessor,
 		PriorityOrdered, ResourceLoaderAware, BeanClassLoaderAware, EnvironmentAware {
 
+	/**
+	 * System property that instructs Spring to skip CGLIB enhancement for
+	 * {@link Configuration} classes whose {@link Bean} methods are never called
+	 * from configuration classes: {@code "spring.context.configuration.lite-by-default"}.
+	 * <p>The default is "false". Setting this flag to "true" has the same effect
+	 * as calling {@link #setLiteByDefault} with {@code true} on every
+	 * {@code ConfigurationClassPostProcessor}.
+	 * @since 5.0
+	 * @see #setLiteByDefault
+	 */
+	public static final String LITE_BY_DEFAULT_PROPERTY_NAME = "spring.context.configuration.lite-by-default";
+
 	private static final String IMPORT_REGISTRY_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".importRegistry";
 
@@ -114,6 +131,8 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
 	private boolean localBeanNameGeneratorSet = false;
 
+	private boolean liteByDefault = SpringProperties.getFlag(LITE_BY_DEFAULT_PROPERTY_NAME);
+
 	/* Using short class names as default bean names */
 	private BeanNameGenerator componentScanBeanNameGenerator = new AnnotationBeanNameGenerator();
 
@@ -186,6 +205,26 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		this.importBeanNameGenerator = beanNameGenerator;
 	}
 
+	/**
+	 * Specify whether {@link Configuration} classes should only be enhanced
+	 * through CGLIB if they actually rely on {@link Bean} method interception.
+	 * <p>If set to {@code true}, the bytecode of all (full and lite) configuration
+	 * classes is introspected before enhancement: classes whose non-static
+	 * {@code @Bean} methods are never called from any configuration class, be it
+	 * within their own class hierarchy or on an injected instance, are left as
+	 * they are and processed like "lite" {@code @Bean} classes, saving the class
+	 * generation time and the metaspace for their CGLIB subclasses.
+	 * <p>Note that a {@code @Bean} method invoked on such an unenhanced instance
+	 * from any other class, e.g. a regular component, creates a new object on
+	 * every call.
+	 * <p>Default is "false", unless the {@link #LITE_BY_DEFAULT_PROPERTY_NAME}
+	 * system property is set to "true".
+	 * @since 5.0
+	 */
+	public void setLiteByDefault(boolean liteByDefault) {
+		this.liteByDefault = liteByDefault;
+	}
+
 	@Override
 	public void setEnvironment(Environment environment) {
 		Assert.notNull(environment, "Environment must not be null");
@@ -297,6 +336,9 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			}
 		}
 
+		ApplicationStartup applicationStartup = (registry instanceof ConfigurableBeanFactory ?
+				((ConfigurableBeanFactory) registry).getApplicationStartup() : ApplicationStartup.DEFAULT);
+
 		// Parse each @Configuration class
 		ConfigurationClassParser parser = new ConfigurationClassParser(
 				this.metadataReaderFactory, this.problemReporter, this.environment,
@@ -305,8 +347,11 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		Set<BeanDefinitionHolder> candidates = new LinkedHashSet<>(configCandidates);
 		Set<ConfigurationClass> alreadyParsed = new HashSet<>(configCandidates.size());
 		do {
+			StartupStep processConfig = applicationStartup.start("spring.context.config-classes.parse")
+					.tag("classCount", () -> String.valueOf(candidates.size()));
 			parser.parse(candidates);
 			parser.validate();
+			processConfig.end();
 
 			Set<ConfigurationClass> configClasses = new LinkedHashSet<>(parser.getConfigurationClasses());
 			configClasses.removeAll(alreadyParsed);
@@ -385,14 +430,40 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			return;
 		}
 
+		StartupStep enhanceConfigClasses = beanFactory.getApplicationStartup().start("spring.context.config-classes.enhance");
 		ConfigurationClassEnhancer enhancer = new ConfigurationClassEnhancer();
+		long startTime = System.nanoTime();
+		int enhancedCount = 0;
+		int skippedCount = 0;
+		BeanMethodCrossCallDetector crossCallDetector = null;
+		if (this.liteByDefault) {
+			// Full and lite configuration classes may call @Bean methods on each other
+			crossCallDetector = new BeanMethodCrossCallDetector(this.beanClassLoader);
+			for (String beanName : beanFactory.getBeanDefinitionNames()) {
+				BeanDefinition beanDef = beanFactory.getBeanDefinition(beanName);
+				if ((ConfigurationClassUtils.isFullConfigurationClass(beanDef) ||
+						ConfigurationClassUtils.isLiteConfigurationClass(beanDef)) && beanDef.getBeanClassName() != null) {
+					crossCallDetector.addCallerClass(beanDef.getBeanClassName());
+				}
+			}
+		}
 		for (Map.Entry<String, AbstractBeanDefinition> entry : configBeanDefs.entrySet()) {
 			AbstractBeanDefinition beanDef = entry.getValue();
-			// If a @Configuration class gets proxied, always proxy the target class
-			beanDef.setAttribute(AutoProxyUtils.PRESERVE_TARGET_CLASS_ATTRIBUTE, Boolean.TRUE);
 			try {
-				// Set enhanced subclass of the user-specified bean class
 				Class<?> configClass = beanDef.resolveBeanClass(this.beanClassLoader);
+				if (configClass != null && crossCallDetector != null &&
+						!crossCallDetector.hasBeanMethodCalls(configClass)) {
+					if (logger.isDebugEnabled()) {
+						logger.debug(String.format("Not enhancing bean definition '%s' with class '%s' since " +
+								"its @Bean methods are not called from configuration classes",
+								entry.getKey(), configClass.getName()));
+					}
+					skippedCount++;
+					continue;
+				}
+				// If a @Configuration class gets proxied, always proxy the target class
+				beanDef.setAttribute(AutoProxyUtils.PRESERVE_TARGET_CLASS_ATTRIBUTE, Boolean.TRUE);
+				// Set enhanced subclass of the user-specified bean class
 				if (configClass != null) {
 					Class<?> enhancedClass = enhancer.enhance(configClass, this.beanClassLoader);
 					if (configClass != enhancedClass) {
@@ -401,6 +472,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 									"enhanced class '%s'", entry.getKey(), configClass.getName(), enhancedClass.getName()));
 						}
 						beanDef.setBeanClass(enhancedClass);
+						enhancedCount++;
 					}
 				}
 			}
@@ -408,6 +480,13 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 				throw new IllegalStateException("Cannot load configuration class: " + beanDef.getBeanClassName(), ex);
 			}
 		}
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Enhanced %d @Configuration classes in %d ms (%d left unenhanced " +
+					"since their @Bean methods are not called from configuration classes)", enhancedCount,
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), skippedCount));
+		}
+		enhanceConfigClasses.tag("enhancedClassCount", String.valueOf(enhancedCount))
+				.tag("skippedClassCount", String.valueOf(skippedCount)).end();
 	}
 
 
@@ -435,7 +514,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		public Object postProcessBeforeInitialization(Object bean, String beanName)  {
 			if (bean instanceof ImportAware) {
 				ImportRegistry ir = this.beanFactory.getBean(IMPORT_REGISTRY_BEAN_NAME, ImportRegistry.class);
-				AnnotationMetadata importingClass = ir.getImportingClassFor(bean.getClass().getSuperclass().getName());
+				AnnotationMetadata importingClass = ir.getImportingClassFor(ClassUtils.getUserClass(bean).getName());
 				if (importingClass != null) {
 					((ImportAware) bean).setImportMetadata(importingClass);
 				}
@@ -69,7 +69,10 @@ public abstract class AbstractApplicationEventMulticaster
 
 	private BeanFactory beanFactory;
 
-	private Object retrievalMutex = this.defaultRetriever;
+	private final Object retrievalMutex = this.defaultRetriever;
+
+	/** Incremented whenever the listener registrations change, guarded by the retrieval mutex */
+	private int retrieverCacheGeneration;
 
 
 	@Override
@@ -85,7 +88,6 @@ public abstract class AbstractApplicationEventMulticaster
 			if (this.beanClassLoader == null) {
 				this.beanClassLoader = cbf.getBeanClassLoader();
 			}
-			this.retrievalMutex = cbf.getSingletonMutex();
 		}
 	}
 
@@ -108,7 +110,7 @@ public abstract class AbstractApplicationEventMulticaster
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
 			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			invalidateRetrieverCache();
 		}
 	}
 
@@ -116,7 +118,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			invalidateRetrieverCache();
 		}
 	}
 
@@ -124,7 +126,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			invalidateRetrieverCache();
 		}
 	}
 
@@ -132,7 +134,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			invalidateRetrieverCache();
 		}
 	}
 
@@ -141,20 +143,34 @@ public abstract class AbstractApplicationEventMulticaster
 		synchronized (this.retrievalMutex) {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			invalidateRetrieverCache();
 		}
 	}
 
 
+	/**
+	 * Invalidate all cached ListenerRetrievers, including ones currently being built.
+	 * <p>To be called while holding the retrieval mutex.
+	 */
+	private void invalidateRetrieverCache() {
+		this.retrieverCache.clear();
+		this.retrieverCacheGeneration++;
+	}
+
+
 	/**
 	 * Return a Collection containing all ApplicationListeners.
 	 * @return a Collection of ApplicationListeners
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
+		ListenerRetriever retriever = new ListenerRetriever(false);
 		synchronized (this.retrievalMutex) {
-			return this.defaultRetriever.getApplicationListeners();
+			retriever.applicationListeners.addAll(this.defaultRetriever.applicationListeners);
+			retriever.applicationListenerBeans.addAll(this.defaultRetriever.applicationListenerBeans);
 		}
+		// Obtain listener beans outside of the mutex since they might be in creation in another thread
+		return retriever.getApplicationListeners();
 	}
 
 	/**
@@ -182,18 +198,22 @@ public abstract class AbstractApplicationEventMulticaster
 		if (this.beanClassLoader == null ||
 				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
 						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-			// Fully synchronized building and caching of a ListenerRetriever
+			// Build a ListenerRetriever outside of the mutex, since obtaining listener beans
+			// might have to wait for their creation in another thread, and only cache it
+			// if no listener has been added or removed in the meantime.
+			int generation;
 			synchronized (this.retrievalMutex) {
-				retriever = this.retrieverCache.get(cacheKey);
-				if (retriever != null) {
-					return retriever.getApplicationListeners();
+				generation = this.retrieverCacheGeneration;
+			}
+			retriever = new ListenerRetriever(true);
+			Collection<ApplicationListener<?>> listeners =
+					retrieveApplicationListeners(eventType, sourceType, retriever);
+			synchronized (this.retrievalMutex) {
+				if (generation == this.retrieverCacheGeneration) {
+					this.retrieverCache.putIfAbsent(cacheKey, retriever);
 				}
-				retriever = new ListenerRetriever(true);
-				Collection<ApplicationListener<?>> listeners =
-						retrieveApplicationListeners(eventType, sourceType, retriever);
-				this.retrieverCache.put(cacheKey, retriever);
-				return listeners;
 			}
+			return listeners;
 		}
 		else {
 			// No ListenerRetriever caching -> no synchronization necessary
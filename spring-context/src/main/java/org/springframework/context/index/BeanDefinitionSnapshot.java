@@ -0,0 +1,245 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Provide access to the bean definitions that are defined in
+ * {@code META-INF/spring.components.beans}, as computed at build time for
+ * the candidates that component scanning registers as beans.
+ *
+ * <p>Each entry is keyed by the fully qualified name of the candidate and
+ * holds a semicolon-separated list of attributes, for instance:
+ * <pre class="code">
+ * com.example.MyService=name=myService;scope=prototype;dependsOn=a,b
+ * </pre>
+ *
+ * <p>An entry that is flagged as {@linkplain Entry#isPartial() partial}
+ * needs to be completed from the class metadata of the candidate, typically
+ * because it is subject to a {@code @Conditional} or declares some of its
+ * settings through composed annotations.
+ *
+ * @since 5.0
+ * @see CandidateComponentsIndexLoader#loadBeanDefinitionSnapshot(ClassLoader)
+ */
+public class BeanDefinitionSnapshot {
+
+	private final Map<String, Entry> entries;
+
+
+	BeanDefinitionSnapshot(List<Properties> content) {
+		this.entries = parseEntries(content);
+	}
+
+
+	/**
+	 * Return the entries of the candidates that are located in the specified
+	 * package or one of its sub-packages, sorted by type.
+	 * @param basePackage the package to check for candidates
+	 * @return the matching entries (never {@code null})
+	 */
+	public List<Entry> getEntries(String basePackage) {
+		String prefix = basePackage + ".";
+		List<Entry> result = new ArrayList<>();
+		for (Entry entry : this.entries.values()) {
+			if (entry.getType().startsWith(prefix)) {
+				result.add(entry);
+			}
+		}
+		return result;
+	}
+
+	private static Map<String, Entry> parseEntries(List<Properties> content) {
+		Map<String, Entry> entries = new TreeMap<>();
+		for (Properties properties : content) {
+			properties.forEach((type, value) -> entries.put((String) type, new Entry((String) type, (String) value)));
+		}
+		return entries;
+	}
+
+
+	/**
+	 * The build-time bean definition of a single candidate.
+	 */
+	public static final class Entry {
+
+		private final String type;
+
+		private String name;
+
+		private String scope;
+
+		private String scopedProxyMode;
+
+		private boolean lazyInit;
+
+		private boolean primary;
+
+		private Integer role;
+
+		private List<String> dependsOn = Collections.emptyList();
+
+		private List<String> qualifiers = Collections.emptyList();
+
+		private List<String> constructorParameterTypes;
+
+		private boolean partial;
+
+		Entry(String type, String value) {
+			this.type = type;
+			for (String attribute : StringUtils.delimitedListToStringArray(value, ";")) {
+				int index = attribute.indexOf('=');
+				if (index != -1) {
+					setAttribute(attribute.substring(0, index), attribute.substring(index + 1));
+				}
+			}
+		}
+
+		private void setAttribute(String name, String value) {
+			switch (name) {
+				case "name":
+					this.name = value;
+					break;
+				case "scope":
+					this.scope = value;
+					break;
+				case "proxyMode":
+					this.scopedProxyMode = value;
+					break;
+				case "lazyInit":
+					this.lazyInit = Boolean.parseBoolean(value);
+					break;
+				case "primary":
+					this.primary = Boolean.parseBoolean(value);
+					break;
+				case "role":
+					this.role = Integer.valueOf(value);
+					break;
+				case "dependsOn":
+					this.dependsOn = toList(value);
+					break;
+				case "qualifiers":
+					this.qualifiers = toList(value);
+					break;
+				case "constructor":
+					this.constructorParameterTypes = toList(value);
+					break;
+				case "partial":
+					this.partial = Boolean.parseBoolean(value);
+					break;
+			}
+		}
+
+		private static List<String> toList(String value) {
+			return Collections.unmodifiableList(Arrays.asList(StringUtils.commaDelimitedListToStringArray(value)));
+		}
+
+		/**
+		 * Return the fully qualified name of the candidate.
+		 */
+		public String getType() {
+			return this.type;
+		}
+
+		/**
+		 * Return the explicit bean name, or {@code null} if the bean name
+		 * should be derived from the type of the candidate.
+		 */
+		@Nullable
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the declared scope, or {@code null} for the default scope.
+		 */
+		@Nullable
+		public String getScope() {
+			return this.scope;
+		}
+
+		/**
+		 * Return the name of the declared scoped proxy mode, or {@code null}
+		 * for the default mode.
+		 */
+		@Nullable
+		public String getScopedProxyMode() {
+			return this.scopedProxyMode;
+		}
+
+		public boolean isLazyInit() {
+			return this.lazyInit;
+		}
+
+		public boolean isPrimary() {
+			return this.primary;
+		}
+
+		/**
+		 * Return the declared role, or {@code null} for the default role.
+		 */
+		@Nullable
+		public Integer getRole() {
+			return this.role;
+		}
+
+		public List<String> getDependsOn() {
+			return this.dependsOn;
+		}
+
+		/**
+		 * Return the values of the {@code @Qualifier} declared on the candidate.
+		 */
+		public List<String> getQualifiers() {
+			return this.qualifiers;
+		}
+
+		/**
+		 * Return the fully qualified parameter types of the constructor used
+		 * to instantiate the candidate, or {@code null} if it could not be
+		 * determined at build time.
+		 */
+		@Nullable
+		public List<String> getConstructorParameterTypes() {
+			return this.constructorParameterTypes;
+		}
+
+		/**
+		 * Return whether this entry has to be completed from the class metadata
+		 * of the candidate.
+		 */
+		public boolean isPartial() {
+			return this.partial;
+		}
+
+		@Override
+		public String toString() {
+			return "BeanDefinitionSnapshot.Entry: type=" + this.type + ", partial=" + this.partial;
+		}
+	}
+
+}
@@ -19,9 +19,13 @@ package org.springframework.context.index;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
@@ -47,6 +51,14 @@ public class CandidateComponentsIndexLoader {
 	 */
 	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
 
+	/**
+	 * The location to look for the bean definitions of the components.
+	 * <p>Written along with {@value #COMPONENTS_RESOURCE_LOCATION}, and can
+	 * thus be present in multiple JAR files as well.
+	 * @since 5.0
+	 */
+	public static final String BEAN_DEFINITIONS_RESOURCE_LOCATION = "META-INF/spring.components.beans";
+
 	/**
 	 * System property that instructs Spring to ignore the index, i.e.
 	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}.
@@ -66,6 +78,9 @@ public class CandidateComponentsIndexLoader {
 	private static final ConcurrentMap<ClassLoader, CandidateComponentsIndex> cache =
 			new ConcurrentReferenceHashMap<>();
 
+	private static final ConcurrentMap<ClassLoader, Optional<BeanDefinitionSnapshot>> snapshotCache =
+			new ConcurrentReferenceHashMap<>();
+
 
 	/**
 	 * Load and instantiate the {@link CandidateComponentsIndex} from
@@ -114,4 +129,69 @@ public class CandidateComponentsIndexLoader {
 		}
 	}
 
+	/**
+	 * Load and instantiate the {@link BeanDefinitionSnapshot} from
+	 * {@value #BEAN_DEFINITIONS_RESOURCE_LOCATION}, using the given class loader.
+	 * <p>The snapshot is only returned if it is complete, that is if every
+	 * {@value #COMPONENTS_RESOURCE_LOCATION} index on the classpath comes with
+	 * the bean definitions of its components. Otherwise, or if the index is
+	 * {@linkplain #IGNORE_INDEX ignored}, return {@code null}.
+	 * @param classLoader the ClassLoader to use for loading (can be {@code null} to use the default)
+	 * @return the snapshot to use or {@code null} if no complete snapshot was found
+	 * @throws IllegalArgumentException if any snapshot cannot be loaded
+	 * @since 5.0
+	 */
+	@Nullable
+	public static BeanDefinitionSnapshot loadBeanDefinitionSnapshot(@Nullable ClassLoader classLoader) {
+		ClassLoader classLoaderToUse = classLoader;
+		if (classLoaderToUse == null) {
+			classLoaderToUse = CandidateComponentsIndexLoader.class.getClassLoader();
+		}
+		return snapshotCache.computeIfAbsent(classLoaderToUse,
+				cl -> Optional.ofNullable(doLoadBeanDefinitionSnapshot(cl))).orElse(null);
+	}
+
+	@Nullable
+	private static BeanDefinitionSnapshot doLoadBeanDefinitionSnapshot(ClassLoader classLoader) {
+		if (shouldIgnoreIndex) {
+			return null;
+		}
+
+		try {
+			Set<String> indexRoots = getRoots(
+					Collections.list(classLoader.getResources(COMPONENTS_RESOURCE_LOCATION)), COMPONENTS_RESOURCE_LOCATION);
+			if (indexRoots.isEmpty()) {
+				return null;
+			}
+			List<URL> snapshotUrls = Collections.list(classLoader.getResources(BEAN_DEFINITIONS_RESOURCE_LOCATION));
+			if (!getRoots(snapshotUrls, BEAN_DEFINITIONS_RESOURCE_LOCATION).containsAll(indexRoots)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring bean definition snapshot: not all indexes provide bean definitions");
+				}
+				return null;
+			}
+			List<Properties> result = new ArrayList<>();
+			for (URL url : snapshotUrls) {
+				result.add(PropertiesLoaderUtils.loadProperties(new UrlResource(url)));
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Loaded " + result.size() + " bean definition snapshot(s)");
+			}
+			return new BeanDefinitionSnapshot(result);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Unable to load bean definition snapshots from location [" +
+					BEAN_DEFINITIONS_RESOURCE_LOCATION + "]", ex);
+		}
+	}
+
+	private static Set<String> getRoots(List<URL> urls, String location) {
+		Set<String> roots = new HashSet<>();
+		for (URL url : urls) {
+			String path = url.toString();
+			roots.add(path.endsWith(location) ? path.substring(0, path.length() - location.length()) : path);
+		}
+		return roots;
+	}
+
 }
@@ -67,6 +67,7 @@ import org.springframework.context.expression.StandardBeanExpressionResolver;
 import org.springframework.context.weaving.LoadTimeWeaverAware;
 import org.springframework.context.weaving.LoadTimeWeaverAwareProcessor;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
@@ -76,6 +77,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -172,6 +175,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	/** Environment used by this context */
 	private ConfigurableEnvironment environment;
 
+	/** Application startup metrics */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 	/** BeanFactoryPostProcessors to apply on refresh */
 	private final List<BeanFactoryPostProcessor> beanFactoryPostProcessors = new ArrayList<>();
 
@@ -306,6 +312,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.environment;
 	}
 
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	/**
 	 * Create and return a new {@link StandardEnvironment}.
 	 * <p>Subclasses may override this method in order to supply
@@ -507,6 +524,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Override
 	public void refresh() throws BeansException, IllegalStateException {
 		synchronized (this.startupShutdownMonitor) {
+			StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
+
 			// Prepare this context for refreshing.
 			prepareRefresh();
 
@@ -521,10 +540,16 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				postProcessBeanFactory(beanFactory);
 
 				// Invoke factory processors registered as beans in the context.
+				StartupStep beanFactoryPostProcess =
+						this.applicationStartup.start("spring.context.bean-factory-post-processors");
 				invokeBeanFactoryPostProcessors(beanFactory);
+				beanFactoryPostProcess.end();
 
 				// Register bean processors that intercept bean creation.
+				StartupStep beanPostProcessorRegistration =
+						this.applicationStartup.start("spring.context.bean-post-processors");
 				registerBeanPostProcessors(beanFactory);
+				beanPostProcessorRegistration.end();
 
 				// Initialize message source for this context.
 				initMessageSource();
@@ -539,7 +564,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				registerListeners();
 
 				// Instantiate all remaining (non-lazy-init) singletons.
+				StartupStep singletonInstantiation = this.applicationStartup.start("spring.context.singletons");
 				finishBeanFactoryInitialization(beanFactory);
+				singletonInstantiation.end();
 
 				// Last step: publish corresponding event.
 				finishRefresh();
@@ -557,6 +584,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				// Reset 'active' flag.
 				cancelRefresh(ex);
 
+				// Release context-level resource caches (such as ASM metadata from scanning).
+				clearResourceCaches();
+
 				// Propagate exception to caller.
 				throw ex;
 			}
@@ -565,6 +595,8 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				// Reset common introspection caches in Spring's core, since we
 				// might not ever need metadata for singleton beans anymore...
 				resetCommonCaches();
+				setCacheJarEntries(false);
+				contextRefresh.end();
 			}
 		}
 	}
@@ -592,6 +624,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		// Allow for the collection of early ApplicationEvents,
 		// to be published once the multicaster is available...
 		this.earlyApplicationEvents = new LinkedHashSet<>();
+
+		// Read the directory of each jar file only once for all scans during refresh...
+		setCacheJarEntries(true);
 	}
 
 	/**
@@ -628,6 +663,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		beanFactory.setBeanClassLoader(getClassLoader());
 		beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver(beanFactory.getBeanClassLoader()));
 		beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
+		beanFactory.setApplicationStartup(getApplicationStartup());
 
 		// Configure the bean factory with context callbacks.
 		beanFactory.addBeanPostProcessor(new ApplicationContextAwareProcessor(this));
@@ -892,16 +928,24 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		this.active.set(false);
 	}
 
+	private void setCacheJarEntries(boolean cacheJarEntries) {
+		if (this.resourcePatternResolver instanceof PathMatchingResourcePatternResolver) {
+			((PathMatchingResourcePatternResolver) this.resourcePatternResolver).setCacheJarEntries(cacheJarEntries);
+		}
+	}
+
 	/**
 	 * Reset Spring's common core caches, in particular the {@link ReflectionUtils},
-	 * {@link ResolvableType} and {@link CachedIntrospectionResults} caches.
+	 * {@link AnnotationUtils}, {@link ResolvableType} and {@link CachedIntrospectionResults} caches.
 	 * @since 4.2
 	 * @see ReflectionUtils#clearCache()
+	 * @see AnnotationUtils#clearCache()
 	 * @see ResolvableType#clearCache()
 	 * @see CachedIntrospectionResults#clearClassLoader(ClassLoader)
 	 */
 	protected void resetCommonCaches() {
 		ReflectionUtils.clearCache();
+		AnnotationUtils.clearCache();
 		ResolvableType.clearCache();
 		CachedIntrospectionResults.clearClassLoader(getClassLoader());
 	}
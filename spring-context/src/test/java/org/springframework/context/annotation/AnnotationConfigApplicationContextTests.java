@@ -16,7 +16,12 @@
 
 package org.springframework.context.annotation;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.junit.Test;
@@ -29,6 +34,8 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation6.ComponentForScanning;
 import org.springframework.context.annotation6.ConfigForScanning;
 import org.springframework.context.annotation6.Jsr330NamedForScanning;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.BufferingApplicationStartup.TimelineEvent;
 
 import static java.lang.String.format;
 import static org.hamcrest.Matchers.*;
@@ -73,6 +80,33 @@ public class AnnotationConfigApplicationContextTests {
 		assertEquals(2, beans.size());
 	}
 
+	@Test
+	public void refreshWithApplicationStartup() throws IOException {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(1000);
+		context.setApplicationStartup(applicationStartup);
+		context.register(Config.class, NameConfig.class);
+		context.refresh();
+
+		List<TimelineEvent> timeline = applicationStartup.getTimeline();
+		Set<String> stepNames = new HashSet<>();
+		for (TimelineEvent event : timeline) {
+			stepNames.add(event.getName());
+		}
+		assertTrue(stepNames.containsAll(Arrays.asList("spring.context.refresh",
+				"spring.context.bean-factory-post-processors", "spring.context.beandef-registry.post-process",
+				"spring.context.bean-factory.post-process", "spring.context.config-classes.parse",
+				"spring.context.config-classes.enhance", "spring.context.bean-post-processors",
+				"spring.context.singletons", "spring.beans.instantiate")));
+		assertEquals("spring.context.refresh", timeline.get(0).getName());
+		assertNull(timeline.get(0).getParentId());
+
+		StringBuilder out = new StringBuilder();
+		applicationStartup.writeFoldedStacks(out);
+		assertTrue(out.toString().contains(
+				"spring.context.refresh;spring.context.singletons;spring.beans.instantiate[beanName="));
+	}
+
 	@Test
 	public void getBeansWithAnnotation() {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.context.annotation.snapshot.SnapshotComponents;
+import org.springframework.context.index.CandidateComponentsTestClassLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BeanDefinitionSnapshotRegistrar}, as used by
+ * {@link AnnotationConfigApplicationContext#scan(String...)}.
+ */
+public class BeanDefinitionSnapshotRegistrarTests {
+
+	private static final String PACKAGE = "org.springframework.context.annotation.snapshot";
+
+
+	@Test
+	public void registerFromSnapshot() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(snapshotClassLoader());
+		context.scan(PACKAGE);
+
+		assertTrue(context.containsBeanDefinition("snapshotComponents.SimpleComponent"));
+		BeanDefinition custom = context.getBeanDefinition("custom");
+		assertEquals(SnapshotComponents.CustomComponent.class.getName(), custom.getBeanClassName());
+		assertEquals(BeanDefinition.SCOPE_PROTOTYPE, custom.getScope());
+		assertTrue(custom.isLazyInit());
+		assertTrue(custom.isPrimary());
+		assertArrayEquals(new String[] {"snapshotComponents.SimpleComponent"}, custom.getDependsOn());
+		assertNotNull(((GenericBeanDefinition) custom).getQualifier(Qualifier.class.getName()));
+		assertFalse("Not in snapshot", context.containsBeanDefinition("snapshotComponents.UnindexedComponent"));
+
+		context.refresh();
+		assertNotSame(context.getBean("custom"), context.getBean("custom"));
+		assertNotNull(context.getBean(SnapshotComponents.SimpleComponent.class));
+		context.close();
+	}
+
+	@Test
+	public void registerPartialEntriesFromClassMetadata() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(snapshotClassLoader());
+		context.scan(PACKAGE);
+
+		BeanDefinition partial = context.getBeanDefinition("snapshotComponents.PartialComponent");
+		assertTrue(partial instanceof ScannedGenericBeanDefinition);
+		assertTrue(partial.isLazyInit());
+		assertFalse(context.containsBeanDefinition("snapshotComponents.ConditionalComponent"));
+	}
+
+	@Test
+	public void registerWithCustomBeanNameGenerator() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(snapshotClassLoader());
+		context.setBeanNameGenerator(new TestBeanNameGenerator());
+		context.scan(PACKAGE);
+
+		assertTrue(context.containsBeanDefinition("testing.custom"));
+		assertFalse(context.containsBeanDefinition("snapshotComponents.UnindexedComponent"));
+	}
+
+	@Test
+	public void scanWithoutBeanDefinitionSnapshot() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setClassLoader(CandidateComponentsTestClassLoader.index(getClass().getClassLoader(),
+				new ClassPathResource("snapshot/META-INF/spring.components", getClass())));
+		context.scan(PACKAGE);
+
+		assertTrue(context.getBeanDefinition("custom") instanceof ScannedGenericBeanDefinition);
+		assertTrue("Scanned", context.containsBeanDefinition("snapshotComponents.UnindexedComponent"));
+		assertFalse(context.containsBeanDefinition("snapshotComponents.ConditionalComponent"));
+	}
+
+
+	private ClassLoader snapshotClassLoader() {
+		return CandidateComponentsTestClassLoader.snapshot(getClass().getClassLoader(),
+				new ClassPathResource("snapshot/META-INF/spring.components", getClass()),
+				new ClassPathResource("snapshot/META-INF/spring.components.beans", getClass()));
+	}
+
+}
@@ -22,6 +22,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
 
 import org.junit.Before;
@@ -52,6 +53,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DescriptiveResource;
+import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.stereotype.Component;
 import org.springframework.tests.sample.beans.ITestBean;
 import org.springframework.tests.sample.beans.TestBean;
@@ -98,6 +100,103 @@ public class ConfigurationClassPostProcessorTests {
 		assertTrue(Arrays.asList(beanFactory.getDependentBeans("foo")).contains("bar"));
 	}
 
+	@Test
+	public void enhancementIsPresentInLiteByDefaultModeForCrossCallingBeanMethods() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(SingletonBeanConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setLiteByDefault(true);
+		pp.postProcessBeanFactory(beanFactory);
+		assertNotSame(SingletonBeanConfig.class, beanFactory.getType("config"));
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertSame(foo, bar.foo);
+	}
+
+	@Test
+	public void enhancementIsPresentInLiteByDefaultModeForInheritedCrossCallingBeanMethods() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(DerivedSingletonBeanConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setLiteByDefault(true);
+		pp.postProcessBeanFactory(beanFactory);
+		assertNotSame(DerivedSingletonBeanConfig.class, beanFactory.getType("config"));
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertSame(foo, bar.foo);
+	}
+
+	@Test
+	public void enhancementIsPresentInLiteByDefaultModeForCrossCallingLambda() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(LambdaSingletonBeanConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setLiteByDefault(true);
+		pp.postProcessBeanFactory(beanFactory);
+		assertNotSame(LambdaSingletonBeanConfig.class, beanFactory.getType("config"));
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertSame(foo, bar.foo);
+	}
+
+	@Test
+	public void enhancementIsSkippedInLiteByDefaultModeWithoutCrossCallingBeanMethods() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(ParameterInjectingBeanConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setLiteByDefault(true);
+		pp.postProcessBeanFactory(beanFactory);
+		assertSame(ParameterInjectingBeanConfig.class, beanFactory.getType("config"));
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertSame(foo, bar.foo);
+	}
+
+	@Test
+	public void enhancementIsPresentInLiteByDefaultModeForBeanMethodsCalledFromOtherConfigClass() {
+		AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+		bpp.setBeanFactory(beanFactory);
+		beanFactory.addBeanPostProcessor(bpp);
+		beanFactory.registerBeanDefinition("fooConfig", new RootBeanDefinition(FooBeanConfig.class));
+		beanFactory.registerBeanDefinition("barConfig", new RootBeanDefinition(FooConfigInjectingBeanConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setLiteByDefault(true);
+		pp.postProcessBeanFactory(beanFactory);
+		assertNotSame(FooBeanConfig.class, beanFactory.getType("fooConfig"));
+		assertSame(FooConfigInjectingBeanConfig.class, beanFactory.getType("barConfig"));
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertSame(foo, bar.foo);
+	}
+
+	@Test
+	public void enhancementIsPresentInLiteByDefaultModeForBeanMethodsCalledFromAnonymousClass() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(AnonymousClassSingletonBeanConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setLiteByDefault(true);
+		pp.postProcessBeanFactory(beanFactory);
+		assertNotSame(AnonymousClassSingletonBeanConfig.class, beanFactory.getType("config"));
+		Foo foo = beanFactory.getBean("foo", Foo.class);
+		Bar bar = beanFactory.getBean("bar", Bar.class);
+		assertSame(foo, bar.foo);
+	}
+
+	@Test
+	public void importMetadataIsInjectedInLiteByDefaultModeWithoutEnhancement() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(ImportingConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.setLiteByDefault(true);
+		pp.postProcessBeanFactory(beanFactory);
+		ImportAwareConfig importAwareConfig = beanFactory.getBean(ImportAwareConfig.class);
+		assertSame(ImportAwareConfig.class, importAwareConfig.getClass());
+		assertNotNull(importAwareConfig.importMetadata);
+		assertEquals(ImportingConfig.class.getName(), importAwareConfig.importMetadata.getClassName());
+	}
+
+	@Test
+	public void enhancementIsPresentWithoutCrossCallingBeanMethodsByDefault() {
+		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(ParameterInjectingBeanConfig.class));
+		ConfigurationClassPostProcessor pp = new ConfigurationClassPostProcessor();
+		pp.postProcessBeanFactory(beanFactory);
+		assertNotSame(ParameterInjectingBeanConfig.class, beanFactory.getType("config"));
+	}
+
 	@Test
 	public void configurationIntrospectionOfInnerClassesWorksWithDotNameSyntax() {
 		beanFactory.registerBeanDefinition("config", new RootBeanDefinition(getClass().getName() + ".SingletonBeanConfig"));
@@ -816,6 +915,92 @@ public class ConfigurationClassPostProcessorTests {
 		}
 	}
 
+	@Configuration
+	static class DerivedSingletonBeanConfig extends SingletonBeanConfig {
+	}
+
+	@Configuration
+	static class LambdaSingletonBeanConfig {
+
+		public @Bean Foo foo() {
+			return new Foo();
+		}
+
+		public @Bean Bar bar() {
+			Supplier<Foo> fooSupplier = () -> foo();
+			return new Bar(fooSupplier.get());
+		}
+	}
+
+	@Configuration
+	static class FooBeanConfig {
+
+		public @Bean Foo foo() {
+			return new Foo();
+		}
+	}
+
+	@Configuration
+	static class FooConfigInjectingBeanConfig {
+
+		@Autowired
+		FooBeanConfig fooConfig;
+
+		public @Bean Bar bar() {
+			return new Bar(this.fooConfig.foo());
+		}
+	}
+
+	@Configuration
+	static class AnonymousClassSingletonBeanConfig {
+
+		public @Bean Foo foo() {
+			return new Foo();
+		}
+
+		public @Bean Bar bar() {
+			Supplier<Foo> fooSupplier = new Supplier<Foo>() {
+				@Override
+				public Foo get() {
+					return foo();
+				}
+			};
+			return new Bar(fooSupplier.get());
+		}
+	}
+
+	@Configuration
+	@Import(ImportAwareConfig.class)
+	static class ImportingConfig {
+	}
+
+	@Configuration
+	static class ImportAwareConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+
+		public @Bean Foo foo() {
+			return new Foo();
+		}
+	}
+
+	@Configuration
+	static class ParameterInjectingBeanConfig {
+
+		public @Bean Foo foo() {
+			return new Foo();
+		}
+
+		public @Bean Bar bar(Foo foo) {
+			return new Bar(foo);
+		}
+	}
+
 	@Configuration
 	@Order(2)
 	static class OverridingSingletonBeanConfig {
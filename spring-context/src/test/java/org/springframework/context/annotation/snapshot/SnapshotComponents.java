@@ -0,0 +1,72 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation.snapshot;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.stereotype.Component;
+
+/**
+ * Components described by the bean definition snapshot in
+ * {@code META-INF/spring.components.beans} next to this class.
+ */
+public class SnapshotComponents {
+
+	@Component
+	public static class SimpleComponent {
+	}
+
+	@Component("custom")
+	@Scope("prototype")
+	@Lazy
+	@Primary
+	@DependsOn("snapshotComponents.SimpleComponent")
+	@Qualifier("special")
+	public static class CustomComponent {
+	}
+
+	@Component
+	@Lazy
+	public static class PartialComponent {
+	}
+
+	@Component
+	@Conditional(NeverCondition.class)
+	public static class ConditionalComponent {
+	}
+
+	@Component
+	public static class UnindexedComponent {
+	}
+
+
+	static class NeverCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return false;
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.context.index;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.Rule;
@@ -35,6 +36,8 @@ import static org.junit.Assert.*;
  */
 public class CandidateComponentsIndexLoaderTests {
 
+	private static final String SNAPSHOT_LOCATION = "org/springframework/context/annotation/snapshot/META-INF/";
+
 	@Rule
 	public final ExpectedException thrown = ExpectedException.none();
 
@@ -109,4 +112,33 @@ public class CandidateComponentsIndexLoaderTests {
 				getClass().getClassLoader(), cause));
 	}
 
+	@Test
+	public void loadBeanDefinitionSnapshot() {
+		BeanDefinitionSnapshot snapshot = CandidateComponentsIndexLoader.loadBeanDefinitionSnapshot(
+				CandidateComponentsTestClassLoader.snapshot(getClass().getClassLoader(),
+						new ClassPathResource(SNAPSHOT_LOCATION + "spring.components"),
+						new ClassPathResource(SNAPSHOT_LOCATION + "spring.components.beans")));
+		List<BeanDefinitionSnapshot.Entry> entries =
+				snapshot.getEntries("org.springframework.context.annotation.snapshot");
+		assertThat(entries, hasSize(4));
+		BeanDefinitionSnapshot.Entry custom = entries.get(1);
+		assertThat(custom.getType(), endsWith("$CustomComponent"));
+		assertThat(custom.getName(), is("custom"));
+		assertThat(custom.getScope(), is("prototype"));
+		assertThat(custom.isLazyInit(), is(true));
+		assertThat(custom.getDependsOn(), contains("snapshotComponents.SimpleComponent"));
+		assertThat(custom.getQualifiers(), contains("special"));
+		assertThat(custom.getConstructorParameterTypes(), hasSize(0));
+		assertThat(custom.isPartial(), is(false));
+		assertThat(snapshot.getEntries("org.springframework.context.annotation.snap"), hasSize(0));
+	}
+
+	@Test
+	public void loadBeanDefinitionSnapshotWithoutBeanDefinitionsForIndex() {
+		BeanDefinitionSnapshot snapshot = CandidateComponentsIndexLoader.loadBeanDefinitionSnapshot(
+				CandidateComponentsTestClassLoader.index(getClass().getClassLoader(),
+						new ClassPathResource(SNAPSHOT_LOCATION + "spring.components")));
+		assertThat(snapshot, is(nullValue()));
+	}
+
 }
@@ -54,15 +54,34 @@ public class CandidateComponentsTestClassLoader extends ClassLoader {
 	 * specified resources.
 	 */
 	public static ClassLoader index(ClassLoader classLoader, Resource... resources) {
-		return new CandidateComponentsTestClassLoader(classLoader,
-				Collections.enumeration(Stream.of(resources).map(r -> {
-					try {
-						return r.getURL();
-					}
-					catch (Exception ex) {
-						throw new IllegalArgumentException("Invalid resource " + r, ex);
-					}
-				}).collect(Collectors.toList())));
+		return new CandidateComponentsTestClassLoader(classLoader, toUrls(resources));
+	}
+
+	/**
+	 * Create a test {@link ClassLoader} that creates an index and a bean definition
+	 * snapshot with the specified {@link Resource} instances.
+	 * @param classLoader the classloader to use for all other operations
+	 * @param index the index resource
+	 * @param beanDefinitions the bean definition snapshot resource
+	 * @return a test {@link ClassLoader} with an index and a bean definition snapshot
+	 * @see CandidateComponentsIndexLoader#BEAN_DEFINITIONS_RESOURCE_LOCATION
+	 */
+	public static ClassLoader snapshot(ClassLoader classLoader, Resource index, Resource beanDefinitions) {
+		CandidateComponentsTestClassLoader testClassLoader =
+				new CandidateComponentsTestClassLoader(classLoader, toUrls(index));
+		testClassLoader.beanDefinitionUrls = toUrls(beanDefinitions);
+		return testClassLoader;
+	}
+
+	private static Enumeration<URL> toUrls(Resource... resources) {
+		return Collections.enumeration(Stream.of(resources).map(r -> {
+			try {
+				return r.getURL();
+			}
+			catch (Exception ex) {
+				throw new IllegalArgumentException("Invalid resource " + r, ex);
+			}
+		}).collect(Collectors.toList()));
 	}
 
 
@@ -70,6 +89,8 @@ public class CandidateComponentsTestClassLoader extends ClassLoader {
 
 	private final IOException cause;
 
+	private Enumeration<URL> beanDefinitionUrls;
+
 	public CandidateComponentsTestClassLoader(ClassLoader classLoader, Enumeration<URL> resourceUrls) {
 		super(classLoader);
 		this.resourceUrls = resourceUrls;
@@ -90,6 +111,10 @@ public class CandidateComponentsTestClassLoader extends ClassLoader {
 			}
 			throw this.cause;
 		}
+		if (CandidateComponentsIndexLoader.BEAN_DEFINITIONS_RESOURCE_LOCATION.equals(name)) {
+			return (this.beanDefinitionUrls != null ? this.beanDefinitionUrls :
+					Collections.enumeration(Collections.emptyList()));
+		}
 		return super.getResources(name);
 	}
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link ResolvableType#forMethodParameter} and friends.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResolvableTypeBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class MethodState {
+
+		public Method method;
+
+		public MethodParameter simpleParameter;
+
+		public MethodParameter genericParameter;
+
+		@Setup
+		public void setup() throws Exception {
+			this.method = Handlers.class.getMethod("handle", String.class, Map.class);
+			this.simpleParameter = new MethodParameter(this.method, 0);
+			this.genericParameter = new MethodParameter(this.method, 1);
+		}
+	}
+
+
+	@Benchmark
+	public ResolvableType forMethodParameterSimple(MethodState state) {
+		return ResolvableType.forMethodParameter(state.simpleParameter);
+	}
+
+	@Benchmark
+	public ResolvableType forMethodParameterGeneric(MethodState state) {
+		return ResolvableType.forMethodParameter(state.genericParameter);
+	}
+
+	@Benchmark
+	public Class<?> forMethodParameterResolveGeneric(MethodState state) {
+		return ResolvableType.forMethodParameter(state.genericParameter).getGeneric(1, 0).resolve();
+	}
+
+	@Benchmark
+	public ResolvableType forMethodParameterFromMethod(MethodState state) {
+		return ResolvableType.forMethodParameter(state.method, 1);
+	}
+
+	@Benchmark
+	public ResolvableType forClass() {
+		return ResolvableType.forClass(String.class);
+	}
+
+	@Benchmark
+	public boolean forClassIsAssignableFrom() {
+		return ResolvableType.forClass(List.class).isAssignableFrom(ResolvableType.forClass(ArrayList.class));
+	}
+
+
+	public interface Handlers {
+
+		void handle(String name, Map<String, List<Integer>> values);
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link AnnotatedElementUtils#findMergedAnnotation}, covering
+ * direct, meta-present and absent annotations on classes and methods, as well
+ * as {@link AnnotationUtils#findAnnotation} lookups on JDK types.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnnotatedElementUtilsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class ElementState {
+
+		public Method annotatedMethod;
+
+		public Method plainMethod;
+
+		public Method jdkMethod;
+
+		@Setup
+		public void setup() throws Exception {
+			this.annotatedMethod = AnnotatedService.class.getMethod("annotated");
+			this.plainMethod = AnnotatedService.class.getMethod("plain");
+			this.jdkMethod = Runnable.class.getMethod("run");
+		}
+	}
+
+
+	@Benchmark
+	public Transactional findDirectOnClass() {
+		return AnnotatedElementUtils.findMergedAnnotation(DirectlyAnnotatedService.class, Transactional.class);
+	}
+
+	@Benchmark
+	public Transactional findMetaOnClass() {
+		return AnnotatedElementUtils.findMergedAnnotation(AnnotatedService.class, Transactional.class);
+	}
+
+	@Benchmark
+	public Transactional findMetaOnMethod(ElementState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.annotatedMethod, Transactional.class);
+	}
+
+	@Benchmark
+	public Transactional findAbsentOnMethod(ElementState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.plainMethod, Transactional.class);
+	}
+
+	@Benchmark
+	public Transactional findAbsentOnJdkType() {
+		return AnnotatedElementUtils.findMergedAnnotation(String.class, Transactional.class);
+	}
+
+	@Benchmark
+	public Transactional findAbsentOnJdkMethod(ElementState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.jdkMethod, Transactional.class);
+	}
+
+	@Benchmark
+	public Transactional findAnnotationAbsentOnJdkType() {
+		return AnnotationUtils.findAnnotation(String.class, Transactional.class);
+	}
+
+	@Benchmark
+	public Transactional findAnnotationAbsentOnJdkMethod(ElementState state) {
+		return AnnotationUtils.findAnnotation(state.jdkMethod, Transactional.class);
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	public @interface Transactional {
+
+		String value() default "";
+
+		boolean readOnly() default false;
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@Transactional(readOnly = true)
+	public @interface ReadOnlyTransactional {
+
+		@AliasFor(annotation = Transactional.class)
+		String value() default "";
+	}
+
+	@Transactional("tx")
+	public static class DirectlyAnnotatedService {
+	}
+
+	@ReadOnlyTransactional("tx")
+	public static class AnnotatedService {
+
+		@ReadOnlyTransactional("other")
+		public void annotated() {
+		}
+
+		public void plain() {
+		}
+	}
+
+}
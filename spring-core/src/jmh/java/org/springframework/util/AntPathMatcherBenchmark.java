@@ -0,0 +1,79 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link AntPathMatcher#match(String, String)}.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AntPathMatcherBenchmark {
+
+	private static final String[] PATTERNS = {
+			"/api/users", "/api/users/{id}", "/api/users/{id}/orders/{orderId}",
+			"/static/**", "/static/**/*.css", "/docs/*.html", "/files/{name:[a-z]+}.{ext}"};
+
+	private static final String[] PATHS = {
+			"/api/users", "/api/users/42", "/api/users/42/orders/7",
+			"/static/css/site.css", "/static/js/app.js", "/docs/index.html", "/files/report.pdf"};
+
+
+	@State(Scope.Benchmark)
+	public static class MatcherState {
+
+		@Param({"true", "false"})
+		public boolean cachePatterns;
+
+		public AntPathMatcher matcher;
+
+		@Setup
+		public void setup() {
+			this.matcher = new AntPathMatcher();
+			this.matcher.setCachePatterns(this.cachePatterns);
+		}
+	}
+
+
+	@Benchmark
+	public void match(MatcherState state, Blackhole bh) {
+		for (String pattern : PATTERNS) {
+			for (String path : PATHS) {
+				bh.consume(state.matcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void extractUriTemplateVariables(MatcherState state, Blackhole bh) {
+		bh.consume(state.matcher.extractUriTemplateVariables("/api/users/{id}/orders/{orderId}", "/api/users/42/orders/7"));
+	}
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks for {@link ConcurrentReferenceHashMap} reads and writes under
+ * 64-thread contention, with {@link ConcurrentHashMap} as a reference point.
+ * Compare against an earlier implementation through the "jmhBaseline" and
+ * "jmhCompare" tasks.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class ConcurrentReferenceHashMapBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class MapState {
+
+		@Param({"concurrentReferenceHashMap", "concurrentHashMap"})
+		public String mapType;
+
+		@Param({"1024"})
+		public int elementCount;
+
+		public ConcurrentMap<String, Object> map;
+
+		public String[] keys;
+
+		public String[] missingKeys;
+
+		@Setup
+		public void setup() {
+			this.map = ("concurrentHashMap".equals(this.mapType) ?
+					new ConcurrentHashMap<>(256) : new ConcurrentReferenceHashMap<>(256));
+			this.keys = new String[this.elementCount];
+			this.missingKeys = new String[this.elementCount];
+			for (int i = 0; i < this.elementCount; i++) {
+				this.keys[i] = "key" + i;
+				this.missingKeys[i] = "missing" + i;
+				this.map.put(this.keys[i], new Object());
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class KeyIndex {
+
+		private int index = (int) Thread.currentThread().getId();
+
+		public int next(int length) {
+			this.index = (this.index + 1) & Integer.MAX_VALUE;
+			return this.index % length;
+		}
+	}
+
+
+	@Benchmark
+	public Object get(MapState state, KeyIndex index) {
+		return state.map.get(state.keys[index.next(state.keys.length)]);
+	}
+
+	@Benchmark
+	public Object getMissing(MapState state, KeyIndex index) {
+		return state.map.get(state.missingKeys[index.next(state.missingKeys.length)]);
+	}
+
+	@Benchmark
+	public Object putIfAbsentPresent(MapState state, KeyIndex index) {
+		return state.map.putIfAbsent(state.keys[index.next(state.keys.length)], index);
+	}
+
+	@Benchmark
+	public Object put(MapState state, KeyIndex index) {
+		return state.map.put(state.keys[index.next(state.keys.length)], index);
+	}
+
+	@Benchmark
+	@Group("readMostly")
+	@GroupThreads(56)
+	public Object readMostlyGet(MapState state, KeyIndex index) {
+		return state.map.get(state.keys[index.next(state.keys.length)]);
+	}
+
+	@Benchmark
+	@Group("readMostly")
+	@GroupThreads(8)
+	public Object readMostlyPut(MapState state, KeyIndex index) {
+		return state.map.put(state.keys[index.next(state.keys.length)], index);
+	}
+
+}
@@ -90,6 +90,8 @@ public class MethodParameter {
 
 	private volatile MethodParameter nestedMethodParameter;
 
+	private volatile ResolvableType resolvableType;
+
 
 	/**
 	 * Create a new {@code MethodParameter} for the given method, with nesting level 1.
@@ -246,6 +248,7 @@ public class MethodParameter {
 	 */
 	public void increaseNestingLevel() {
 		this.nestingLevel++;
+		this.resolvableType = null;
 	}
 
 	/**
@@ -255,6 +258,7 @@ public class MethodParameter {
 	public void decreaseNestingLevel() {
 		getTypeIndexesPerLevel().remove(this.nestingLevel);
 		this.nestingLevel--;
+		this.resolvableType = null;
 	}
 
 	/**
@@ -274,6 +278,7 @@ public class MethodParameter {
 	 */
 	public void setTypeIndexForCurrentLevel(int typeIndex) {
 		getTypeIndexesPerLevel().put(this.nestingLevel, typeIndex);
+		this.resolvableType = null;
 	}
 
 	/**
@@ -369,12 +374,33 @@ public class MethodParameter {
 	 */
 	void setContainingClass(Class<?> containingClass) {
 		this.containingClass = containingClass;
+		this.resolvableType = null;
 	}
 
 	public Class<?> getContainingClass() {
 		return (this.containingClass != null ? this.containingClass : getDeclaringClass());
 	}
 
+	/**
+	 * Return the {@link ResolvableType} for this parameter at its current nesting
+	 * level, caching it for as long as the nesting state remains unchanged.
+	 * <p>The cache is bypassed once type indexes are registered, since the
+	 * type-indexes-per-level Map may be shared with copies of this parameter.
+	 * @since 5.0
+	 * @see ResolvableType#forMethodParameter(MethodParameter)
+	 */
+	ResolvableType getResolvableType() {
+		boolean cacheable = (this.typeIndexesPerLevel == null || this.typeIndexesPerLevel.isEmpty());
+		ResolvableType resolvableType = (cacheable ? this.resolvableType : null);
+		if (resolvableType == null) {
+			resolvableType = ResolvableType.forMethodParameter(this, (Type) null);
+			if (cacheable) {
+				this.resolvableType = resolvableType;
+			}
+		}
+		return resolvableType;
+	}
+
 	/**
 	 * Set a resolved (generic) parameter type.
 	 */
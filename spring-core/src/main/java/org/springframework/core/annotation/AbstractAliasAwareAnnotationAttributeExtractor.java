@@ -19,7 +19,6 @@ package org.springframework.core.annotation;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.List;
-import java.util.Map;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -45,7 +44,7 @@ abstract class AbstractAliasAwareAnnotationAttributeExtractor<S> implements Anno
 
 	private final S source;
 
-	private final Map<String, List<String>> attributeAliasMap;
+	private final AnnotationTypeMapping mapping;
 
 
 	/**
@@ -63,7 +62,7 @@ abstract class AbstractAliasAwareAnnotationAttributeExtractor<S> implements Anno
 		this.annotationType = annotationType;
 		this.annotatedElement = annotatedElement;
 		this.source = source;
-		this.attributeAliasMap = AnnotationUtils.getAttributeAliasMap(annotationType);
+		this.mapping = AnnotationUtils.getAnnotationTypeMapping(annotationType);
 	}
 
 
@@ -82,20 +81,27 @@ abstract class AbstractAliasAwareAnnotationAttributeExtractor<S> implements Anno
 		return this.source;
 	}
 
+	/**
+	 * Return the precomputed {@link AnnotationTypeMapping} for the
+	 * {@linkplain #getAnnotationType annotation type}.
+	 */
+	protected final AnnotationTypeMapping getAnnotationTypeMapping() {
+		return this.mapping;
+	}
+
 	@Override
 	public final Object getAttributeValue(Method attributeMethod) {
 		String attributeName = attributeMethod.getName();
 		Object attributeValue = getRawAttributeValue(attributeMethod);
 
-		List<String> aliasNames = this.attributeAliasMap.get(attributeName);
+		List<String> aliasNames = this.mapping.getAttributeAliasMap().get(attributeName);
 		if (aliasNames != null) {
-			Object defaultValue = AnnotationUtils.getDefaultValue(this.annotationType, attributeName);
 			for (String aliasName : aliasNames) {
 				Object aliasValue = getRawAttributeValue(aliasName);
 
 				if (!ObjectUtils.nullSafeEquals(attributeValue, aliasValue) &&
-						!ObjectUtils.nullSafeEquals(attributeValue, defaultValue) &&
-						!ObjectUtils.nullSafeEquals(aliasValue, defaultValue)) {
+						!this.mapping.isDefaultValue(attributeName, attributeValue) &&
+						!this.mapping.isDefaultValue(attributeName, aliasValue)) {
 					String elementName = (this.annotatedElement != null ? this.annotatedElement.toString() : "unknown element");
 					throw new AnnotationConfigurationException(String.format(
 							"In annotation [%s] declared on %s and synthesized from [%s], attribute '%s' and its " +
@@ -106,7 +112,7 @@ abstract class AbstractAliasAwareAnnotationAttributeExtractor<S> implements Anno
 
 				// If the user didn't declare the annotation with an explicit value,
 				// use the value of the alias instead.
-				if (ObjectUtils.nullSafeEquals(attributeValue, defaultValue)) {
+				if (this.mapping.isDefaultValue(attributeName, attributeValue)) {
 					attributeValue = aliasValue;
 				}
 			}
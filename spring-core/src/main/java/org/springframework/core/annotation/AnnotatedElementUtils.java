@@ -18,6 +18,8 @@ package org.springframework.core.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,10 +29,13 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.springframework.core.BridgeMethodResolver;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
@@ -87,6 +92,15 @@ import org.springframework.util.MultiValueMap;
  * traverses type and method hierarchies and thereby implicitly supports
  * annotation inheritance without the need for {@code @Inherited}.
  *
+ * <h3>Caching</h3>
+ * <p>The results of {@code getMergedAnnotationAttributes()},
+ * {@code getMergedAnnotation()}, {@code findMergedAnnotationAttributes()} and
+ * {@code findMergedAnnotation()} are cached per {@link Class} or
+ * {@link java.lang.reflect.Member} in a cache of limited size, provided that
+ * the element and the annotation type are cache-safe with respect to this
+ * class's {@code ClassLoader}. Attribute maps are copied on every retrieval,
+ * so callers are free to modify them. See {@link AnnotationUtils#clearCache()}.
+ *
  * @author Phillip Webb
  * @author Juergen Hoeller
  * @author Sam Brannen
@@ -107,6 +121,14 @@ public class AnnotatedElementUtils {
 
 	private static final Processor<Boolean> alwaysTrueAnnotationProcessor = new AlwaysTrueBooleanAnnotationProcessor();
 
+	private static final int MERGED_ANNOTATION_CACHE_LIMIT = 4096;
+
+	/** Cache marker for a merged annotation lookup without result */
+	private static final Object NOT_FOUND = new Object();
+
+	private static final ConcurrentLruCache<MergedAnnotationCacheKey, Object> mergedAnnotationCache =
+			new ConcurrentLruCache<>(MERGED_ANNOTATION_CACHE_LIMIT);
+
 
 	/**
 	 * Build an adapted {@link AnnotatedElement} for the given annotations,
@@ -323,10 +345,8 @@ public class AnnotatedElementUtils {
 			AnnotatedElement element, Class<? extends Annotation> annotationType) {
 
 		Assert.notNull(annotationType, "'annotationType' must not be null");
-		AnnotationAttributes attributes = searchWithGetSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor());
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, false, false);
-		return attributes;
+		return copyOf(getCachedResult(MergedAnnotationCacheKey.of(element, annotationType, false, false, false, false),
+				() -> searchMergedAnnotationAttributes(element, annotationType, null, false, false, false)));
 	}
 
 	/**
@@ -383,10 +403,10 @@ public class AnnotatedElementUtils {
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
 		Assert.hasLength(annotationName, "'annotationName' must not be null or empty");
-		AnnotationAttributes attributes = searchWithGetSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return copyOf(getCachedResult(MergedAnnotationCacheKey.of(
+						element, annotationName, false, false, classValuesAsString, nestedAnnotationsAsMap),
+				() -> searchMergedAnnotationAttributes(
+						element, null, annotationName, false, classValuesAsString, nestedAnnotationsAsMap)));
 	}
 
 	/**
@@ -410,6 +430,18 @@ public class AnnotatedElementUtils {
 	@Nullable
 	public static <A extends Annotation> A getMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		Assert.notNull(annotationType, "'annotationType' must not be null");
+		return getCachedResult(MergedAnnotationCacheKey.of(element, annotationType, false, true, false, false),
+				() -> searchMergedAnnotation(element, annotationType, false));
+	}
+
+	/**
+	 * Resolve the merged, synthesized annotation of the specified
+	 * {@code annotationType} for {@link #getMergedAnnotation} or
+	 * {@link #findMergedAnnotation}, bypassing the cache.
+	 */
+	@Nullable
+	private static <A extends Annotation> A searchMergedAnnotation(
+			AnnotatedElement element, Class<A> annotationType, boolean findSemantics) {
 
 		// Shortcut: directly present on the element, with no merging needed?
 		if (!(element instanceof Class)) {
@@ -422,10 +454,29 @@ public class AnnotatedElementUtils {
 		}
 
 		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = getMergedAnnotationAttributes(element, annotationType);
+		AnnotationAttributes attributes =
+				searchMergedAnnotationAttributes(element, annotationType, null, findSemantics, false, false);
 		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
 	}
 
+	/**
+	 * Resolve the merged annotation attributes for the specified annotation
+	 * type or name, following either find or get semantics, bypassing the cache.
+	 */
+	@Nullable
+	private static AnnotationAttributes searchMergedAnnotationAttributes(AnnotatedElement element,
+			@Nullable Class<? extends Annotation> annotationType, @Nullable String annotationName,
+			boolean findSemantics, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+
+		MergedAnnotationAttributesProcessor processor =
+				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap);
+		AnnotationAttributes attributes = (findSemantics ?
+				searchWithFindSemantics(element, annotationType, annotationName, processor) :
+				searchWithGetSemantics(element, annotationType, annotationName, processor));
+		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
+		return attributes;
+	}
+
 	/**
 	 * Get <strong>all</strong> annotations of the specified {@code annotationType}
 	 * within the annotation hierarchy <em>above</em> the supplied {@code element};
@@ -647,10 +698,10 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			Class<? extends Annotation> annotationType, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, annotationType, null,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return copyOf(getCachedResult(MergedAnnotationCacheKey.of(
+						element, annotationType, true, false, classValuesAsString, nestedAnnotationsAsMap),
+				() -> searchMergedAnnotationAttributes(
+						element, annotationType, null, true, classValuesAsString, nestedAnnotationsAsMap)));
 	}
 
 	/**
@@ -684,10 +735,10 @@ public class AnnotatedElementUtils {
 	public static AnnotationAttributes findMergedAnnotationAttributes(AnnotatedElement element,
 			String annotationName, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 
-		AnnotationAttributes attributes = searchWithFindSemantics(element, null, annotationName,
-				new MergedAnnotationAttributesProcessor(classValuesAsString, nestedAnnotationsAsMap));
-		AnnotationUtils.postProcessAnnotationAttributes(element, attributes, classValuesAsString, nestedAnnotationsAsMap);
-		return attributes;
+		return copyOf(getCachedResult(MergedAnnotationCacheKey.of(
+						element, annotationName, true, false, classValuesAsString, nestedAnnotationsAsMap),
+				() -> searchMergedAnnotationAttributes(
+						element, null, annotationName, true, classValuesAsString, nestedAnnotationsAsMap)));
 	}
 
 	/**
@@ -711,20 +762,8 @@ public class AnnotatedElementUtils {
 	@Nullable
 	public static <A extends Annotation> A findMergedAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		Assert.notNull(annotationType, "'annotationType' must not be null");
-
-		// Shortcut: directly present on the element, with no merging needed?
-		if (!(element instanceof Class)) {
-			// Do not use this shortcut against a Class: Inherited annotations
-			// would get preferred over locally declared composed annotations.
-			A annotation = element.getAnnotation(annotationType);
-			if (annotation != null) {
-				return AnnotationUtils.synthesizeAnnotation(annotation, element);
-			}
-		}
-
-		// Exhaustive retrieval of merged annotation attributes...
-		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, annotationType, false, false);
-		return (attributes != null ? AnnotationUtils.synthesizeAnnotation(attributes, annotationType, element) : null);
+		return getCachedResult(MergedAnnotationCacheKey.of(element, annotationType, true, true, false, false),
+				() -> searchMergedAnnotation(element, annotationType, true));
 	}
 
 	/**
@@ -904,17 +943,23 @@ public class AnnotatedElementUtils {
 
 		Assert.notNull(element, "AnnotatedElement must not be null");
 
+		if (!isCandidate(element, annotationType, annotationName, processor)) {
+			return null;
+		}
+
 		if (visited.add(element)) {
 			try {
 				// Start searching within locally declared annotations
-				List<Annotation> declaredAnnotations = Arrays.asList(element.getDeclaredAnnotations());
+				List<Annotation> declaredAnnotations = Arrays.asList(getDeclaredAnnotations(element));
 				T result = searchWithGetSemanticsInAnnotations(element, declaredAnnotations,
 						annotationType, annotationName, containerType, processor, visited, metaDepth);
 				if (result != null) {
 					return result;
 				}
 
-				if (element instanceof Class) { // otherwise getAnnotations doesn't return anything new
+				// Annotation types cannot inherit annotations; for anything but
+				// a regular Class, getAnnotations doesn't return anything new
+				if (element instanceof Class && !((Class<?>) element).isAnnotation()) {
 					List<Annotation> inheritedAnnotations = new ArrayList<>();
 					for (Annotation annotation : element.getAnnotations()) {
 						if (!declaredAnnotations.contains(annotation)) {
@@ -938,6 +983,26 @@ public class AnnotatedElementUtils {
 		return null;
 	}
 
+	/**
+	 * Determine whether the given element needs to be introspected for the
+	 * specified annotation, rejecting JDK types and their members upfront
+	 * unless the processor needs to see every annotation.
+	 * @since 5.0
+	 * @see AnnotationUtils#isCandidateClass(Class, String)
+	 */
+	private static boolean isCandidate(AnnotatedElement element,
+			@Nullable Class<? extends Annotation> annotationType, @Nullable String annotationName,
+			Processor<?> processor) {
+
+		if (processor.alwaysProcesses()) {
+			return true;
+		}
+		if (annotationType != null) {
+			return AnnotationUtils.isCandidate(element, annotationType);
+		}
+		return (annotationName == null || AnnotationUtils.isCandidate(element, annotationName));
+	}
+
 	/**
 	 * This method is invoked by {@link #searchWithGetSemantics} to perform
 	 * the actual search within the supplied list of annotations.
@@ -1098,10 +1163,14 @@ public class AnnotatedElementUtils {
 
 		Assert.notNull(element, "AnnotatedElement must not be null");
 
+		if (!isCandidate(element, annotationType, annotationName, processor)) {
+			return null;
+		}
+
 		if (visited.add(element)) {
 			try {
 				// Locally declared annotations (ignoring @Inherited)
-				Annotation[] annotations = element.getDeclaredAnnotations();
+				Annotation[] annotations = getDeclaredAnnotations(element);
 				List<T> aggregatedResults = (processor.aggregates() ? new ArrayList<>() : null);
 
 				// Search in local annotations
@@ -1259,6 +1328,88 @@ public class AnnotatedElementUtils {
 		return null;
 	}
 
+	/**
+	 * Get the locally declared annotations of the supplied {@code element},
+	 * using the precomputed meta-annotations of an annotation type.
+	 * <p>The returned array must not be modified.
+	 * @since 5.0
+	 * @see AnnotationTypeMapping#getMetaAnnotations()
+	 */
+	@SuppressWarnings("unchecked")
+	private static Annotation[] getDeclaredAnnotations(AnnotatedElement element) {
+		if (element instanceof Class && ((Class<?>) element).isAnnotation()) {
+			return AnnotationUtils.getAnnotationTypeMapping((Class<? extends Annotation>) element).getMetaAnnotations();
+		}
+		return element.getDeclaredAnnotations();
+	}
+
+	/**
+	 * Look up the result for the given cache key, resolving and caching it
+	 * on a cache miss. A {@code null} cache key bypasses the cache.
+	 * @since 5.0
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static <T> T getCachedResult(@Nullable MergedAnnotationCacheKey cacheKey, Supplier<T> resolver) {
+		if (cacheKey == null) {
+			return resolver.get();
+		}
+		Object result = mergedAnnotationCache.get(cacheKey);
+		if (result == null) {
+			result = resolver.get();
+			mergedAnnotationCache.put(cacheKey, (result != null ? result : NOT_FOUND));
+		}
+		return (result != NOT_FOUND ? (T) result : null);
+	}
+
+	/**
+	 * Copy the given (potentially cached) attributes, including nested
+	 * attributes and arrays, so that the caller may modify the copy.
+	 * @since 5.0
+	 */
+	@Nullable
+	private static AnnotationAttributes copyOf(@Nullable AnnotationAttributes attributes) {
+		if (attributes == null) {
+			return null;
+		}
+		AnnotationAttributes copy = new AnnotationAttributes(attributes);
+		for (Map.Entry<String, Object> entry : copy.entrySet()) {
+			entry.setValue(copyValue(entry.getValue()));
+		}
+		return copy;
+	}
+
+	@Nullable
+	private static Object copyValue(@Nullable Object value) {
+		if (value instanceof AnnotationAttributes) {
+			return copyOf((AnnotationAttributes) value);
+		}
+		if (value != null && value.getClass().isArray()) {
+			Class<?> componentType = value.getClass().getComponentType();
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(componentType, length);
+			if (componentType.isPrimitive()) {
+				System.arraycopy(value, 0, copy, 0, length);
+			}
+			else {
+				for (int i = 0; i < length; i++) {
+					Array.set(copy, i, copyValue(Array.get(value, i)));
+				}
+			}
+			return copy;
+		}
+		return value;
+	}
+
+	/**
+	 * Clear the merged annotation cache.
+	 * @since 5.0
+	 * @see AnnotationUtils#clearCache()
+	 */
+	static void clearMergedAnnotationCache() {
+		mergedAnnotationCache.clear();
+	}
+
 	/**
 	 * Get the array of raw (unsynthesized) annotations from the {@code value}
 	 * attribute of the supplied repeatable annotation {@code container}.
@@ -1502,6 +1653,66 @@ public class AnnotatedElementUtils {
 	}
 
 
+	/**
+	 * Cache key for the merged annotation cache.
+	 * @since 5.0
+	 */
+	private static final class MergedAnnotationCacheKey {
+
+		private final AnnotatedElement element;
+
+		private final Object annotation;
+
+		private final int flags;
+
+		private MergedAnnotationCacheKey(AnnotatedElement element, Object annotation, int flags) {
+			this.element = element;
+			this.annotation = annotation;
+			this.flags = flags;
+		}
+
+		/**
+		 * Create a cache key for the given lookup.
+		 * @param element the annotated element
+		 * @param annotation the annotation type or the annotation type name
+		 * @return the cache key, or {@code null} if the lookup must not be cached
+		 */
+		@Nullable
+		static MergedAnnotationCacheKey of(AnnotatedElement element, Object annotation, boolean findSemantics,
+				boolean synthesize, boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
+
+			Class<?> declaringClass = (element instanceof Class ? (Class<?>) element :
+					element instanceof Member ? ((Member) element).getDeclaringClass() : null);
+			ClassLoader classLoader = AnnotatedElementUtils.class.getClassLoader();
+			if (declaringClass == null || !ClassUtils.isCacheSafe(declaringClass, classLoader) ||
+					(annotation instanceof Class && !ClassUtils.isCacheSafe((Class<?>) annotation, classLoader))) {
+				return null;
+			}
+			int flags = (findSemantics ? 1 : 0) | (synthesize ? 2 : 0) |
+					(classValuesAsString ? 4 : 0) | (nestedAnnotationsAsMap ? 8 : 0);
+			return new MergedAnnotationCacheKey(element, annotation, flags);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MergedAnnotationCacheKey)) {
+				return false;
+			}
+			MergedAnnotationCacheKey otherKey = (MergedAnnotationCacheKey) other;
+			return (this.element.equals(otherKey.element) && this.annotation.equals(otherKey.annotation) &&
+					this.flags == otherKey.flags);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.element.hashCode() * 29 + this.annotation.hashCode()) * 29 + this.flags;
+		}
+	}
+
+
 	/**
 	 * {@link Processor} that gets the {@code AnnotationAttributes} for the
 	 * target annotation during the {@link #process} phase and then merges
@@ -1523,10 +1734,6 @@ public class AnnotatedElementUtils {
 
 		private final List<AnnotationAttributes> aggregatedResults;
 
-		MergedAnnotationAttributesProcessor() {
-			this(false, false, false);
-		}
-
 		MergedAnnotationAttributesProcessor(boolean classValuesAsString, boolean nestedAnnotationsAsMap) {
 			this(classValuesAsString, nestedAnnotationsAsMap, false);
 		}
@@ -1571,9 +1778,13 @@ public class AnnotatedElementUtils {
 			// circuit the search algorithms.
 			Set<String> valuesAlreadyReplaced = new HashSet<>();
 
-			for (Method attributeMethod : AnnotationUtils.getAttributeMethods(annotation.annotationType())) {
-				String attributeName = attributeMethod.getName();
-				String attributeOverrideName = AnnotationUtils.getAttributeOverrideName(attributeMethod, targetAnnotationType);
+			AnnotationTypeMapping mapping = AnnotationUtils.getAnnotationTypeMapping(annotation.annotationType());
+			List<Method> attributeMethods = mapping.getAttributeMethods();
+			String[] attributeOverrideNames = mapping.getAttributeOverrideNames(targetAnnotationType);
+
+			for (int i = 0; i < attributeMethods.size(); i++) {
+				String attributeName = attributeMethods.get(i).getName();
+				String attributeOverrideName = attributeOverrideNames[i];
 
 				// Explicit annotation attribute override declared via @AliasFor
 				if (attributeOverrideName != null) {
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Precomputed, reflection-free view of a single annotation type: its
+ * attribute methods and default values, its {@link AliasFor @AliasFor}
+ * alias map, the attribute overrides it declares for each meta-annotation
+ * type, and its own meta-annotations.
+ *
+ * <p>Attribute methods and default values are resolved eagerly; aliases,
+ * attribute overrides and meta-annotations are resolved on first access
+ * since resolving them may fail with an {@link AnnotationConfigurationException}
+ * or a {@link TypeNotPresentException} that callers expect at that point.
+ *
+ * <p>Instances are obtained via {@link AnnotationUtils#getAnnotationTypeMapping}.
+ *
+ * @since 5.0
+ * @see AnnotationUtils#getAnnotationTypeMapping
+ */
+final class AnnotationTypeMapping {
+
+	private static final Annotation[] EMPTY_ANNOTATION_ARRAY = new Annotation[0];
+
+
+	private final Class<? extends Annotation> annotationType;
+
+	private final List<Method> attributeMethods;
+
+	private final Map<String, Method> attributeMethodsByName;
+
+	private final Map<String, Object> defaultValues;
+
+	private final Map<Class<? extends Annotation>, String[]> attributeOverrideNames = new ConcurrentHashMap<>(4);
+
+	private volatile Map<String, List<String>> attributeAliasMap;
+
+	private volatile Boolean synthesizable;
+
+	private volatile Annotation[] metaAnnotations;
+
+
+	AnnotationTypeMapping(Class<? extends Annotation> annotationType) {
+		this.annotationType = annotationType;
+		List<Method> attributeMethods = new ArrayList<>();
+		Map<String, Method> attributeMethodsByName = new HashMap<>();
+		Map<String, Object> defaultValues = new HashMap<>();
+		for (Method method : annotationType.getDeclaredMethods()) {
+			if (AnnotationUtils.isAttributeMethod(method)) {
+				ReflectionUtils.makeAccessible(method);
+				attributeMethods.add(method);
+				attributeMethodsByName.put(method.getName(), method);
+				Object defaultValue = method.getDefaultValue();
+				if (defaultValue != null) {
+					defaultValues.put(method.getName(), defaultValue);
+				}
+			}
+		}
+		this.attributeMethods = Collections.unmodifiableList(attributeMethods);
+		this.attributeMethodsByName = attributeMethodsByName;
+		this.defaultValues = defaultValues;
+	}
+
+
+	/**
+	 * Return the annotation type that this mapping describes.
+	 */
+	public Class<? extends Annotation> getAnnotationType() {
+		return this.annotationType;
+	}
+
+	/**
+	 * Return all attribute methods of the annotation type, made accessible.
+	 * @see AnnotationUtils#getAttributeMethods
+	 */
+	public List<Method> getAttributeMethods() {
+		return this.attributeMethods;
+	}
+
+	/**
+	 * Return the attribute method with the given name.
+	 * @param attributeName the name of the attribute
+	 * @return the attribute method, or {@code null} if not declared
+	 */
+	@Nullable
+	public Method getAttributeMethod(String attributeName) {
+		return this.attributeMethodsByName.get(attributeName);
+	}
+
+	/**
+	 * Return the declared default value of the given attribute.
+	 * <p>Array values are copied, so callers may safely modify them.
+	 * @param attributeName the name of the attribute
+	 * @return the default value, or {@code null} if the attribute does not
+	 * exist or does not declare a default value
+	 */
+	@Nullable
+	public Object getDefaultValue(String attributeName) {
+		Object defaultValue = this.defaultValues.get(attributeName);
+		if (defaultValue != null && defaultValue.getClass().isArray()) {
+			int length = Array.getLength(defaultValue);
+			Object copy = Array.newInstance(defaultValue.getClass().getComponentType(), length);
+			System.arraycopy(defaultValue, 0, copy, 0, length);
+			return copy;
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * Determine whether the given value is equal to the declared default
+	 * value of the given attribute, without copying the default value.
+	 * @param attributeName the name of the attribute
+	 * @param value the value to check
+	 */
+	public boolean isDefaultValue(String attributeName, @Nullable Object value) {
+		Object defaultValue = this.defaultValues.get(attributeName);
+		return (defaultValue != null && ObjectUtils.nullSafeEquals(value, defaultValue));
+	}
+
+	/**
+	 * Return the attribute alias map of the annotation type, resolving it on
+	 * first access.
+	 * @see AnnotationUtils#getAttributeAliasMap
+	 */
+	public Map<String, List<String>> getAttributeAliasMap() {
+		Map<String, List<String>> aliasMap = this.attributeAliasMap;
+		if (aliasMap == null) {
+			aliasMap = new LinkedHashMap<>();
+			for (Method attribute : this.attributeMethods) {
+				List<String> aliasNames = AnnotationUtils.getAttributeAliasNames(attribute);
+				if (!aliasNames.isEmpty()) {
+					aliasMap.put(attribute.getName(), aliasNames);
+				}
+			}
+			aliasMap = (aliasMap.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(aliasMap));
+			this.attributeAliasMap = aliasMap;
+		}
+		return aliasMap;
+	}
+
+	/**
+	 * Determine whether annotations of this type need to be synthesized,
+	 * i.e. whether the type or any nested annotation type declares aliases.
+	 * @see AnnotationUtils#synthesizeAnnotation(Annotation, java.lang.reflect.AnnotatedElement)
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean isSynthesizable() {
+		Boolean synthesizable = this.synthesizable;
+		if (synthesizable == null) {
+			synthesizable = !getAttributeAliasMap().isEmpty();
+			if (!synthesizable) {
+				for (Method attribute : this.attributeMethods) {
+					Class<?> returnType = attribute.getReturnType();
+					if (returnType.isArray()) {
+						returnType = returnType.getComponentType();
+					}
+					if (returnType.isAnnotation() && AnnotationUtils.getAnnotationTypeMapping(
+							(Class<? extends Annotation>) returnType).isSynthesizable()) {
+						synthesizable = true;
+						break;
+					}
+				}
+			}
+			this.synthesizable = synthesizable;
+		}
+		return synthesizable;
+	}
+
+	/**
+	 * Return the names of the attributes in the given meta-annotation type
+	 * that the attributes of this annotation type explicitly override via
+	 * {@link AliasFor @AliasFor}, resolving them on first access per
+	 * meta-annotation type.
+	 * @param metaAnnotationType the meta-annotation type
+	 * @return an array aligned with {@link #getAttributeMethods()}, holding
+	 * the overridden attribute name or {@code null} for each attribute
+	 * @see AnnotationUtils#getAttributeOverrideName
+	 */
+	public String[] getAttributeOverrideNames(Class<? extends Annotation> metaAnnotationType) {
+		String[] overrideNames = this.attributeOverrideNames.get(metaAnnotationType);
+		if (overrideNames == null) {
+			overrideNames = new String[this.attributeMethods.size()];
+			for (int i = 0; i < overrideNames.length; i++) {
+				overrideNames[i] = AnnotationUtils.getAttributeOverrideName(
+						this.attributeMethods.get(i), metaAnnotationType);
+			}
+			this.attributeOverrideNames.put(metaAnnotationType, overrideNames);
+		}
+		return overrideNames;
+	}
+
+	/**
+	 * Return the annotations declared on the annotation type itself,
+	 * excluding those from the {@code java.lang.annotation} package,
+	 * resolving them on first access.
+	 * <p>The returned array is shared and must not be modified.
+	 */
+	public Annotation[] getMetaAnnotations() {
+		Annotation[] metaAnnotations = this.metaAnnotations;
+		if (metaAnnotations == null) {
+			List<Annotation> result = new ArrayList<>();
+			for (Annotation metaAnnotation : this.annotationType.getDeclaredAnnotations()) {
+				if (!AnnotationUtils.isInJavaLangAnnotationPackage(metaAnnotation)) {
+					result.add(metaAnnotation);
+				}
+			}
+			metaAnnotations = (result.isEmpty() ? EMPTY_ANNOTATION_ARRAY : result.toArray(new Annotation[result.size()]));
+			this.metaAnnotations = metaAnnotations;
+		}
+		return metaAnnotations;
+	}
+
+	@Override
+	public String toString() {
+		return "AnnotationTypeMapping for [" + this.annotationType.getName() + "]";
+	}
+
+}
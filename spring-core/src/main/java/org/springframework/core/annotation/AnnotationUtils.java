@@ -22,13 +22,13 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +38,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.Ordered;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ConcurrentReferenceHashMap;
@@ -115,7 +116,10 @@ public abstract class AnnotationUtils {
 	 */
 	public static final String VALUE = "value";
 
-	private static final Map<AnnotationCacheKey, Annotation> findAnnotationCache =
+	/** Cache marker for a {@code findAnnotation} lookup without result */
+	private static final Object NOT_ANNOTATED = new Object();
+
+	private static final Map<AnnotationCacheKey, Object> findAnnotationCache =
 			new ConcurrentReferenceHashMap<>(256);
 
 	private static final Map<AnnotationCacheKey, Boolean> metaPresentCache =
@@ -124,13 +128,7 @@ public abstract class AnnotationUtils {
 	private static final Map<Class<?>, Boolean> annotatedInterfaceCache =
 			new ConcurrentReferenceHashMap<>(256);
 
-	private static final Map<Class<? extends Annotation>, Boolean> synthesizableCache =
-			new ConcurrentReferenceHashMap<>(256);
-
-	private static final Map<Class<? extends Annotation>, Map<String, List<String>>> attributeAliasesCache =
-			new ConcurrentReferenceHashMap<>(256);
-
-	private static final Map<Class<? extends Annotation>, List<Method>> attributeMethodsCache =
+	private static final Map<Class<? extends Annotation>, AnnotationTypeMapping> annotationTypeMappingCache =
 			new ConcurrentReferenceHashMap<>(256);
 
 	private static final Map<Method, AliasDescriptor> aliasDescriptorCache =
@@ -181,6 +179,9 @@ public abstract class AnnotationUtils {
 	 */
 	@Nullable
 	public static <A extends Annotation> A getAnnotation(AnnotatedElement annotatedElement, Class<A> annotationType) {
+		if (!isCandidate(annotatedElement, annotationType)) {
+			return null;
+		}
 		try {
 			A annotation = annotatedElement.getAnnotation(annotationType);
 			if (annotation == null) {
@@ -493,6 +494,10 @@ public abstract class AnnotationUtils {
 	@Nullable
 	private static <A extends Annotation> A findAnnotation(
 			AnnotatedElement annotatedElement, Class<A> annotationType, Set<Annotation> visited) {
+
+		if (!isCandidate(annotatedElement, annotationType)) {
+			return null;
+		}
 		try {
 			A annotation = annotatedElement.getDeclaredAnnotation(annotationType);
 			if (annotation != null) {
@@ -533,46 +538,46 @@ public abstract class AnnotationUtils {
 	@Nullable
 	public static <A extends Annotation> A findAnnotation(Method method, @Nullable Class<A> annotationType) {
 		Assert.notNull(method, "Method must not be null");
-		if (annotationType == null) {
+		if (annotationType == null || !isCandidate(method, annotationType)) {
 			return null;
 		}
 
 		AnnotationCacheKey cacheKey = new AnnotationCacheKey(method, annotationType);
-		A result = (A) findAnnotationCache.get(cacheKey);
+		Object cached = findAnnotationCache.get(cacheKey);
+		if (cached != null) {
+			return (cached != NOT_ANNOTATED ? (A) cached : null);
+		}
+
+		Method resolvedMethod = BridgeMethodResolver.findBridgedMethod(method);
+		A result = findAnnotation((AnnotatedElement) resolvedMethod, annotationType);
 
 		if (result == null) {
-			Method resolvedMethod = BridgeMethodResolver.findBridgedMethod(method);
-			result = findAnnotation((AnnotatedElement) resolvedMethod, annotationType);
+			result = searchOnInterfaces(method, annotationType, method.getDeclaringClass().getInterfaces());
+		}
 
-			if (result == null) {
-				result = searchOnInterfaces(method, annotationType, method.getDeclaringClass().getInterfaces());
+		Class<?> clazz = method.getDeclaringClass();
+		while (result == null) {
+			clazz = clazz.getSuperclass();
+			if (clazz == null || Object.class == clazz || !isCandidate(clazz, annotationType)) {
+				break;
 			}
-
-			Class<?> clazz = method.getDeclaringClass();
-			while (result == null) {
-				clazz = clazz.getSuperclass();
-				if (clazz == null || Object.class == clazz) {
-					break;
-				}
-				try {
-					Method equivalentMethod = clazz.getDeclaredMethod(method.getName(), method.getParameterTypes());
-					Method resolvedEquivalentMethod = BridgeMethodResolver.findBridgedMethod(equivalentMethod);
-					result = findAnnotation((AnnotatedElement) resolvedEquivalentMethod, annotationType);
-				}
-				catch (NoSuchMethodException ex) {
-					// No equivalent method found
-				}
-				if (result == null) {
-					result = searchOnInterfaces(method, annotationType, clazz.getInterfaces());
-				}
+			try {
+				Method equivalentMethod = clazz.getDeclaredMethod(method.getName(), method.getParameterTypes());
+				Method resolvedEquivalentMethod = BridgeMethodResolver.findBridgedMethod(equivalentMethod);
+				result = findAnnotation((AnnotatedElement) resolvedEquivalentMethod, annotationType);
 			}
-
-			if (result != null) {
-				result = synthesizeAnnotation(result, method);
-				findAnnotationCache.put(cacheKey, result);
+			catch (NoSuchMethodException ex) {
+				// No equivalent method found
+			}
+			if (result == null) {
+				result = searchOnInterfaces(method, annotationType, clazz.getInterfaces());
 			}
 		}
 
+		if (result != null) {
+			result = synthesizeAnnotation(result, method);
+		}
+		findAnnotationCache.put(cacheKey, (result != null ? result : NOT_ANNOTATED));
 		return result;
 	}
 
@@ -580,7 +585,7 @@ public abstract class AnnotationUtils {
 	private static <A extends Annotation> A searchOnInterfaces(Method method, Class<A> annotationType, Class<?>... ifcs) {
 		A annotation = null;
 		for (Class<?> iface : ifcs) {
-			if (isInterfaceWithAnnotatedMethods(iface)) {
+			if (isCandidate(iface, annotationType) && isInterfaceWithAnnotatedMethods(iface)) {
 				try {
 					Method equivalentMethod = iface.getMethod(method.getName(), method.getParameterTypes());
 					annotation = getAnnotation(equivalentMethod, annotationType);
@@ -664,11 +669,22 @@ public abstract class AnnotationUtils {
 			return null;
 		}
 
+		if (!isCandidate(clazz, annotationType)) {
+			return null;
+		}
+
 		AnnotationCacheKey cacheKey = new AnnotationCacheKey(clazz, annotationType);
-		A result = (A) findAnnotationCache.get(cacheKey);
+		Object cached = findAnnotationCache.get(cacheKey);
+		if (cached == NOT_ANNOTATED) {
+			return null;
+		}
+		A result = (A) cached;
 		if (result == null) {
 			result = findAnnotation(clazz, annotationType, new HashSet<>());
-			if (result != null && synthesize) {
+			if (result == null) {
+				findAnnotationCache.put(cacheKey, NOT_ANNOTATED);
+			}
+			else if (synthesize) {
 				result = synthesizeAnnotation(result, clazz);
 				findAnnotationCache.put(cacheKey, result);
 			}
@@ -687,6 +703,9 @@ public abstract class AnnotationUtils {
 	 */
 	@Nullable
 	private static <A extends Annotation> A findAnnotation(Class<?> clazz, Class<A> annotationType, Set<Annotation> visited) {
+		if (!isCandidate(clazz, annotationType)) {
+			return null;
+		}
 		try {
 			A annotation = clazz.getDeclaredAnnotation(annotationType);
 			if (annotation != null) {
@@ -909,6 +928,80 @@ public abstract class AnnotationUtils {
 		return (annotationType != null && annotationType.startsWith("java.lang.annotation"));
 	}
 
+	/**
+	 * Determine whether the given class is a candidate for carrying the
+	 * specified annotation (at type, method or field level).
+	 * <p>This is a cheap pre-check for skipping the introspection of classes
+	 * that cannot possibly carry the annotation: for any annotation type that
+	 * is not itself declared in a {@code java} package, this returns
+	 * {@code false} for JDK types ({@code java.*}) as well as for Spring's
+	 * {@link Ordered} interface, since those only ever declare plain Java
+	 * annotations. A {@code true} result does not imply that the annotation
+	 * is actually present.
+	 * @param clazz the class to introspect
+	 * @param annotationType the searchable annotation type
+	 * @return {@code false} if the class is known to not carry the annotation,
+	 * {@code true} if it may carry the annotation and needs to be introspected
+	 * @since 5.0
+	 * @see #isCandidateClass(Class, String)
+	 */
+	public static boolean isCandidateClass(Class<?> clazz, Class<? extends Annotation> annotationType) {
+		return isCandidateClass(clazz, annotationType.getName());
+	}
+
+	/**
+	 * Determine whether the given class is a candidate for carrying the
+	 * specified annotation (at type, method or field level).
+	 * @param clazz the class to introspect
+	 * @param annotationName the fully-qualified name of the searchable annotation type
+	 * @return {@code false} if the class is known to not carry the annotation,
+	 * {@code true} if it may carry the annotation and needs to be introspected
+	 * @since 5.0
+	 * @see #isCandidateClass(Class, Class)
+	 */
+	public static boolean isCandidateClass(Class<?> clazz, String annotationName) {
+		return (annotationName.startsWith("java.") || !hasPlainJavaAnnotationsOnly(clazz));
+	}
+
+	/**
+	 * Determine whether the given annotated element may carry the specified
+	 * annotation, rejecting JDK types and their members upfront.
+	 * @param annotatedElement the element to introspect
+	 * @param annotationType the searchable annotation type
+	 * @since 5.0
+	 * @see #isCandidateClass(Class, Class)
+	 */
+	static boolean isCandidate(AnnotatedElement annotatedElement, Class<? extends Annotation> annotationType) {
+		return isCandidate(annotatedElement, annotationType.getName());
+	}
+
+	/**
+	 * Determine whether the given annotated element may carry the annotation
+	 * with the specified name, rejecting JDK types and their members upfront.
+	 * @param annotatedElement the element to introspect
+	 * @param annotationName the fully-qualified name of the searchable annotation type
+	 * @since 5.0
+	 * @see #isCandidateClass(Class, String)
+	 */
+	static boolean isCandidate(AnnotatedElement annotatedElement, String annotationName) {
+		if (annotatedElement instanceof Class) {
+			return isCandidateClass((Class<?>) annotatedElement, annotationName);
+		}
+		if (annotatedElement instanceof Member) {
+			return isCandidateClass(((Member) annotatedElement).getDeclaringClass(), annotationName);
+		}
+		return true;
+	}
+
+	/**
+	 * Determine whether the given type only ever declares plain Java
+	 * annotations: JDK types ({@code java.*}) and Spring's {@link Ordered}.
+	 * @param type the type to check
+	 */
+	private static boolean hasPlainJavaAnnotationsOnly(Class<?> type) {
+		return (type.getName().startsWith("java.") || type == Ordered.class);
+	}
+
 	/**
 	 * Retrieve the given annotation's attributes as a {@link Map}, preserving all
 	 * attribute types.
@@ -1053,12 +1146,12 @@ public abstract class AnnotationUtils {
 		Class<? extends Annotation> annotationType = annotation.annotationType();
 		AnnotationAttributes attributes = new AnnotationAttributes(annotationType);
 
-		for (Method method : getAttributeMethods(annotationType)) {
+		AnnotationTypeMapping mapping = getAnnotationTypeMapping(annotationType);
+		for (Method method : mapping.getAttributeMethods()) {
 			try {
 				Object attributeValue = method.invoke(annotation);
-				Object defaultValue = method.getDefaultValue();
-				if (defaultValue != null && ObjectUtils.nullSafeEquals(attributeValue, defaultValue)) {
-					attributeValue = new DefaultValueHolder(defaultValue);
+				if (mapping.isDefaultValue(method.getName(), attributeValue)) {
+					attributeValue = new DefaultValueHolder(attributeValue);
 				}
 				attributes.put(method.getName(),
 						adaptValue(annotatedElement, attributeValue, classValuesAsString, nestedAnnotationsAsMap));
@@ -1151,9 +1244,10 @@ public abstract class AnnotationUtils {
 		Class<? extends Annotation> annotationType = attributes.annotationType();
 		if (annotationType != null && Modifier.isPublic(annotationType.getModifiers())) {
 			// Check declared default values of attributes in the annotation type.
-			for (Method annotationAttribute : getAttributeMethods(annotationType)) {
+			AnnotationTypeMapping mapping = getAnnotationTypeMapping(annotationType);
+			for (Method annotationAttribute : mapping.getAttributeMethods()) {
 				String attributeName = annotationAttribute.getName();
-				Object defaultValue = annotationAttribute.getDefaultValue();
+				Object defaultValue = mapping.getDefaultValue(attributeName);
 				if (defaultValue != null && !attributes.containsKey(attributeName)) {
 					if (defaultValue instanceof Annotation) {
 						defaultValue = getAnnotationAttributes((Annotation) defaultValue, false, true);
@@ -1323,9 +1417,8 @@ public abstract class AnnotationUtils {
 			return null;
 		}
 		try {
-			Method method = annotation.annotationType().getDeclaredMethod(attributeName);
-			ReflectionUtils.makeAccessible(method);
-			return method.invoke(annotation);
+			Method method = getAnnotationTypeMapping(annotation.annotationType()).getAttributeMethod(attributeName);
+			return (method != null ? method.invoke(annotation) : null);
 		}
 		catch (InvocationTargetException ex) {
 			rethrowAnnotationConfigurationException(ex.getTargetException());
@@ -1393,7 +1486,7 @@ public abstract class AnnotationUtils {
 			return null;
 		}
 		try {
-			return annotationType.getDeclaredMethod(attributeName).getDefaultValue();
+			return getAnnotationTypeMapping(annotationType).getDefaultValue(attributeName);
 		}
 		catch (Throwable ex) {
 			handleIntrospectionFailure(annotationType, ex);
@@ -1610,22 +1703,7 @@ public abstract class AnnotationUtils {
 		if (annotationType == null) {
 			return Collections.emptyMap();
 		}
-
-		Map<String, List<String>> map = attributeAliasesCache.get(annotationType);
-		if (map != null) {
-			return map;
-		}
-
-		map = new LinkedHashMap<>();
-		for (Method attribute : getAttributeMethods(annotationType)) {
-			List<String> aliasNames = getAttributeAliasNames(attribute);
-			if (!aliasNames.isEmpty()) {
-				map.put(attribute.getName(), aliasNames);
-			}
-		}
-
-		attributeAliasesCache.put(annotationType, map);
-		return map;
+		return getAnnotationTypeMapping(annotationType).getAttributeAliasMap();
 	}
 
 	/**
@@ -1655,39 +1733,8 @@ public abstract class AnnotationUtils {
 	 * @see SynthesizedAnnotation
 	 * @see SynthesizedAnnotationInvocationHandler
 	 */
-	@SuppressWarnings("unchecked")
 	private static boolean isSynthesizable(Class<? extends Annotation> annotationType) {
-		Boolean synthesizable = synthesizableCache.get(annotationType);
-		if (synthesizable != null) {
-			return synthesizable;
-		}
-
-		synthesizable = Boolean.FALSE;
-		for (Method attribute : getAttributeMethods(annotationType)) {
-			if (!getAttributeAliasNames(attribute).isEmpty()) {
-				synthesizable = Boolean.TRUE;
-				break;
-			}
-			Class<?> returnType = attribute.getReturnType();
-			if (Annotation[].class.isAssignableFrom(returnType)) {
-				Class<? extends Annotation> nestedAnnotationType =
-						(Class<? extends Annotation>) returnType.getComponentType();
-				if (isSynthesizable(nestedAnnotationType)) {
-					synthesizable = Boolean.TRUE;
-					break;
-				}
-			}
-			else if (Annotation.class.isAssignableFrom(returnType)) {
-				Class<? extends Annotation> nestedAnnotationType = (Class<? extends Annotation>) returnType;
-				if (isSynthesizable(nestedAnnotationType)) {
-					synthesizable = Boolean.TRUE;
-					break;
-				}
-			}
-		}
-
-		synthesizableCache.put(annotationType, synthesizable);
-		return synthesizable;
+		return getAnnotationTypeMapping(annotationType).isSynthesizable();
 	}
 
 	/**
@@ -1748,21 +1795,25 @@ public abstract class AnnotationUtils {
 	 * @since 4.2
 	 */
 	static List<Method> getAttributeMethods(Class<? extends Annotation> annotationType) {
-		List<Method> methods = attributeMethodsCache.get(annotationType);
-		if (methods != null) {
-			return methods;
-		}
+		return getAnnotationTypeMapping(annotationType).getAttributeMethods();
+	}
 
-		methods = new ArrayList<>();
-		for (Method method : annotationType.getDeclaredMethods()) {
-			if (isAttributeMethod(method)) {
-				ReflectionUtils.makeAccessible(method);
-				methods.add(method);
-			}
+	/**
+	 * Get the precomputed {@link AnnotationTypeMapping} for the supplied
+	 * {@code annotationType}, holding its attribute methods, default values,
+	 * attribute aliases, attribute overrides and meta-annotations.
+	 * @param annotationType the annotation type to introspect
+	 * (never {@code null})
+	 * @return the (cached) mapping for the annotation type
+	 * @since 5.0
+	 */
+	static AnnotationTypeMapping getAnnotationTypeMapping(Class<? extends Annotation> annotationType) {
+		AnnotationTypeMapping mapping = annotationTypeMappingCache.get(annotationType);
+		if (mapping == null) {
+			mapping = new AnnotationTypeMapping(annotationType);
+			annotationTypeMappingCache.put(annotationType, mapping);
 		}
-
-		attributeMethodsCache.put(annotationType, methods);
-		return methods;
+		return mapping;
 	}
 
 	/**
@@ -1868,6 +1919,22 @@ public abstract class AnnotationUtils {
 		}
 	}
 
+	/**
+	 * Clear the internal annotation metadata cache, including the cached
+	 * {@link AnnotationTypeMapping annotation type mappings} and the
+	 * {@link AnnotatedElementUtils} merged annotation cache.
+	 * @since 5.0
+	 */
+	public static void clearCache() {
+		findAnnotationCache.clear();
+		metaPresentCache.clear();
+		annotatedInterfaceCache.clear();
+		annotationTypeMappingCache.clear();
+		aliasDescriptorCache.clear();
+		AnnotatedElementUtils.clearMergedAnnotationCache();
+		OrderUtils.clearCache();
+	}
+
 
 	/**
 	 * Cache key for the AnnotatedElement cache.
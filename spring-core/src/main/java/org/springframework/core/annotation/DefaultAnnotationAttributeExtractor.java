@@ -55,7 +55,7 @@ class DefaultAnnotationAttributeExtractor extends AbstractAliasAwareAnnotationAt
 
 	@Override
 	protected Object getRawAttributeValue(String attributeName) {
-		Method attributeMethod = ReflectionUtils.findMethod(getAnnotationType(), attributeName);
+		Method attributeMethod = getAnnotationTypeMapping().getAttributeMethod(attributeName);
 		return (attributeMethod != null ? getRawAttributeValue(attributeMethod) : null);
 	}
 
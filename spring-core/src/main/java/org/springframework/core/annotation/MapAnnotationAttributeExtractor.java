@@ -89,9 +89,10 @@ class MapAnnotationAttributeExtractor extends AbstractAliasAwareAnnotationAttrib
 			Map<String, Object> originalAttributes, Class<? extends Annotation> annotationType) {
 
 		Map<String, Object> attributes = new LinkedHashMap<>(originalAttributes);
-		Map<String, List<String>> attributeAliasMap = AnnotationUtils.getAttributeAliasMap(annotationType);
+		AnnotationTypeMapping mapping = AnnotationUtils.getAnnotationTypeMapping(annotationType);
+		Map<String, List<String>> attributeAliasMap = mapping.getAttributeAliasMap();
 
-		for (Method attributeMethod : AnnotationUtils.getAttributeMethods(annotationType)) {
+		for (Method attributeMethod : mapping.getAttributeMethods()) {
 			String attributeName = attributeMethod.getName();
 			Object attributeValue = attributes.get(attributeName);
 
@@ -112,7 +113,7 @@ class MapAnnotationAttributeExtractor extends AbstractAliasAwareAnnotationAttrib
 
 			// if aliases not present, check default
 			if (attributeValue == null) {
-				Object defaultValue = AnnotationUtils.getDefaultValue(annotationType, attributeName);
+				Object defaultValue = mapping.getDefaultValue(attributeName);
 				if (defaultValue != null) {
 					attributeValue = defaultValue;
 					attributes.put(attributeName, attributeValue);
@@ -17,9 +17,11 @@
 package org.springframework.core.annotation;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * General utility for determining the order of an object based on its type declaration.
@@ -34,6 +36,12 @@ import org.springframework.util.ClassUtils;
 @SuppressWarnings("unchecked")
 public abstract class OrderUtils {
 
+	/** Cache marker for a non-annotated Class */
+	private static final Object NOT_ANNOTATED = new Object();
+
+	/** Cache for @Order / @Priority values per Class, including negative results */
+	private static final Map<Class<?>, Object> orderCache = new ConcurrentReferenceHashMap<>(64);
+
 	private static Class<? extends Annotation> priorityAnnotationType = null;
 
 	static {
@@ -84,6 +92,21 @@ public abstract class OrderUtils {
 	 */
 	@Nullable
 	public static Integer getOrder(Class<?> type) {
+		if (!AnnotationUtils.isCandidateClass(type, Order.class)) {
+			// JDK types never carry @Order or @Priority
+			return null;
+		}
+		Object cached = orderCache.get(type);
+		if (cached != null) {
+			return (cached != NOT_ANNOTATED ? (Integer) cached : null);
+		}
+		Integer result = findOrder(type);
+		orderCache.put(type, (result != null ? result : NOT_ANNOTATED));
+		return result;
+	}
+
+	@Nullable
+	private static Integer findOrder(Class<?> type) {
 		Order order = AnnotationUtils.findAnnotation(type, Order.class);
 		if (order != null) {
 			return order.value();
@@ -112,4 +135,13 @@ public abstract class OrderUtils {
 		return null;
 	}
 
+	/**
+	 * Clear the internal order value cache.
+	 * @since 5.0
+	 * @see AnnotationUtils#clearCache()
+	 */
+	static void clearCache() {
+		orderCache.clear();
+	}
+
 }
@@ -0,0 +1,434 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link DataBuffer} that presents a number of component buffers as a single
+ * buffer, without copying their content. Returned by
+ * {@link DefaultDataBufferFactory#join(List)}.
+ *
+ * <p>The readable bytes of all components, at the time of joining, make up the
+ * readable bytes of the composite. Data written to a composite buffer is appended
+ * to an additional component allocated from the {@linkplain #factory() factory}.
+ * Use {@link #asByteBuffers()} for gathering writes of the composite content;
+ * {@link #asByteBuffer()} has to copy the content of multiple components.
+ *
+ * <p>A composite buffer takes ownership of its components: they are
+ * {@linkplain DataBufferUtils#release(DataBuffer) released} once the composite
+ * buffer is released.
+ *
+ * @since 5.0
+ * @see DataBufferFactory#join(List)
+ */
+public class CompositeDataBuffer implements PooledDataBuffer {
+
+	private final DataBufferFactory dataBufferFactory;
+
+	private final List<DataBuffer> components;
+
+	private final AtomicInteger refCount = new AtomicInteger(1);
+
+	private ByteBuffer[] views;
+
+	private int[] offsets;
+
+	private int viewCount;
+
+	private int readPosition;
+
+	private int writePosition;
+
+	private DataBuffer tail;
+
+
+	/**
+	 * Create a new {@code CompositeDataBuffer} for the given component buffers.
+	 * @param dataBufferFactory the factory to allocate additional components with
+	 * @param components the buffers to compose, in order
+	 */
+	public CompositeDataBuffer(DataBufferFactory dataBufferFactory, List<? extends DataBuffer> components) {
+		Assert.notNull(dataBufferFactory, "'dataBufferFactory' must not be null");
+		Assert.notNull(components, "'components' must not be null");
+		this.dataBufferFactory = dataBufferFactory;
+		this.components = new ArrayList<>(components);
+		this.views = new ByteBuffer[Math.max(components.size(), 1)];
+		this.offsets = new int[this.views.length];
+		for (DataBuffer component : components) {
+			addView(component.asByteBuffer().slice());
+		}
+	}
+
+
+	/**
+	 * Return the number of component buffers.
+	 */
+	public int getComponentCount() {
+		return this.components.size();
+	}
+
+	@Override
+	public DataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public int indexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "'predicate' must not be null");
+
+		if (fromIndex < 0) {
+			fromIndex = 0;
+		}
+		else if (fromIndex >= this.writePosition) {
+			return -1;
+		}
+		for (int i = viewIndex(fromIndex); i < this.viewCount; i++) {
+			ByteBuffer view = this.views[i];
+			int offset = this.offsets[i];
+			for (int j = Math.max(fromIndex - offset, 0); j < view.limit(); j++) {
+				if (predicate.test(view.get(j))) {
+					return offset + j;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "'predicate' must not be null");
+
+		fromIndex = Math.min(fromIndex, this.writePosition - 1);
+		if (fromIndex < 0) {
+			return -1;
+		}
+		for (int i = viewIndex(fromIndex); i >= 0; i--) {
+			ByteBuffer view = this.views[i];
+			int offset = this.offsets[i];
+			for (int j = Math.min(fromIndex - offset, view.limit() - 1); j >= 0; j--) {
+				if (predicate.test(view.get(j))) {
+					return offset + j;
+				}
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int readableByteCount() {
+		return this.writePosition - this.readPosition;
+	}
+
+	@Override
+	public byte read() {
+		if (this.readPosition >= this.writePosition) {
+			throw new BufferUnderflowException();
+		}
+		int index = viewIndex(this.readPosition);
+		byte b = this.views[index].get(this.readPosition - this.offsets[index]);
+		this.readPosition++;
+		return b;
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination) {
+		Assert.notNull(destination, "'destination' must not be null");
+		return read(destination, 0, destination.length);
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination, int offset, int length) {
+		Assert.notNull(destination, "'destination' must not be null");
+		if (length > readableByteCount()) {
+			throw new BufferUnderflowException();
+		}
+		int index = viewIndex(this.readPosition);
+		while (length > 0) {
+			ByteBuffer view = this.views[index].duplicate();
+			int position = this.readPosition - this.offsets[index];
+			int count = Math.min(length, view.limit() - position);
+			// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
+			((Buffer) view).position(position);
+			view.get(destination, offset, count);
+			this.readPosition += count;
+			offset += count;
+			length -= count;
+			index++;
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte b) {
+		DataBuffer tail = getTail(1);
+		tail.write(b);
+		updateTail();
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source) {
+		Assert.notNull(source, "'source' must not be null");
+		return write(source, 0, source.length);
+	}
+
+	@Override
+	public CompositeDataBuffer write(byte[] source, int offset, int length) {
+		Assert.notNull(source, "'source' must not be null");
+		DataBuffer tail = getTail(length);
+		tail.write(source, offset, length);
+		updateTail();
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(DataBuffer... buffers) {
+		if (!ObjectUtils.isEmpty(buffers)) {
+			DataBuffer tail = getTail(Arrays.stream(buffers).mapToInt(DataBuffer::readableByteCount).sum());
+			tail.write(buffers);
+			updateTail();
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer write(ByteBuffer... buffers) {
+		Assert.notEmpty(buffers, "'buffers' must not be empty");
+		DataBuffer tail = getTail(Arrays.stream(buffers).mapToInt(ByteBuffer::remaining).sum());
+		tail.write(buffers);
+		updateTail();
+		return this;
+	}
+
+	@Override
+	public DataBuffer slice(int index, int length) {
+		Assert.isTrue(index >= 0 && length >= 0 && index + length <= this.writePosition,
+				"'index' and 'length' must be within the bounds of this buffer");
+		List<DataBuffer> slices = new ArrayList<>();
+		int i = viewIndex(index);
+		while (length > 0) {
+			ByteBuffer view = this.views[i].duplicate();
+			int position = index - this.offsets[i];
+			int count = Math.min(length, view.limit() - position);
+			// Explicit access via Buffer base type for compatibility
+			// with covariant return type on JDK 9's ByteBuffer...
+			Buffer buffer = view;
+			buffer.position(position);
+			buffer.limit(position + count);
+			slices.add(this.dataBufferFactory.wrap(view));
+			index += count;
+			length -= count;
+			i++;
+		}
+		if (slices.size() == 1) {
+			return slices.get(0);
+		}
+		return new CompositeDataBuffer(this.dataBufferFactory, slices);
+	}
+
+	/**
+	 * Expose this buffer's readable bytes as a {@link ByteBuffer}, copying the
+	 * content unless it is held by a single component.
+	 * @see #asByteBuffers()
+	 */
+	@Override
+	public ByteBuffer asByteBuffer() {
+		ByteBuffer[] byteBuffers = asByteBuffers();
+		if (byteBuffers.length == 1) {
+			return byteBuffers[0];
+		}
+		ByteBuffer copy = ByteBuffer.allocate(readableByteCount());
+		for (ByteBuffer byteBuffer : byteBuffers) {
+			copy.put(byteBuffer);
+		}
+		// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
+		((Buffer) copy).flip();
+		return copy;
+	}
+
+	/**
+	 * Expose this buffer's readable bytes as {@link ByteBuffer}s, one per
+	 * non-empty component, e.g. for a
+	 * {@linkplain java.nio.channels.GatheringByteChannel gathering write}.
+	 * Data between this {@code DataBuffer} and the returned {@code ByteBuffer}s
+	 * is shared; though changes in their {@linkplain ByteBuffer#position() position}
+	 * will not be reflected in the reading position of this data buffer.
+	 * @return this data buffer's content as byte buffers
+	 */
+	public ByteBuffer[] asByteBuffers() {
+		List<ByteBuffer> byteBuffers = new ArrayList<>(this.viewCount);
+		if (this.readPosition < this.writePosition) {
+			for (int i = viewIndex(this.readPosition); i < this.viewCount; i++) {
+				ByteBuffer view = this.views[i].duplicate();
+				int position = Math.max(this.readPosition - this.offsets[i], 0);
+				// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
+				((Buffer) view).position(position);
+				if (view.hasRemaining()) {
+					byteBuffers.add(view);
+				}
+			}
+		}
+		return byteBuffers.toArray(new ByteBuffer[byteBuffers.size()]);
+	}
+
+	@Override
+	public InputStream asInputStream() {
+		return new CompositeDataBufferInputStream();
+	}
+
+	@Override
+	public OutputStream asOutputStream() {
+		return new CompositeDataBufferOutputStream();
+	}
+
+	@Override
+	public CompositeDataBuffer retain() {
+		while (true) {
+			int count = this.refCount.get();
+			if (count <= 0) {
+				throw new IllegalStateException("Buffer has already been released");
+			}
+			if (this.refCount.compareAndSet(count, count + 1)) {
+				return this;
+			}
+		}
+	}
+
+	@Override
+	public boolean release() {
+		while (true) {
+			int count = this.refCount.get();
+			if (count <= 0) {
+				throw new IllegalStateException("Buffer has already been released");
+			}
+			if (this.refCount.compareAndSet(count, count - 1)) {
+				if (count > 1) {
+					return false;
+				}
+				this.components.forEach(DataBufferUtils::release);
+				return true;
+			}
+		}
+	}
+
+
+	private void addView(ByteBuffer view) {
+		if (this.viewCount == this.views.length) {
+			this.views = Arrays.copyOf(this.views, this.viewCount * 2);
+			this.offsets = Arrays.copyOf(this.offsets, this.viewCount * 2);
+		}
+		this.views[this.viewCount] = view;
+		this.offsets[this.viewCount] = this.writePosition;
+		this.viewCount++;
+		this.writePosition += view.remaining();
+	}
+
+	/**
+	 * Return the index of the view containing the byte at the given index.
+	 */
+	private int viewIndex(int index) {
+		int low = 0;
+		int high = this.viewCount - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (this.offsets[mid] <= index) {
+				low = mid;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	private DataBuffer getTail(int extraCapacity) {
+		if (this.tail == null) {
+			this.tail = this.dataBufferFactory.allocateBuffer(Math.max(extraCapacity, 1));
+			this.components.add(this.tail);
+			addView(this.tail.asByteBuffer().slice());
+		}
+		return this.tail;
+	}
+
+	private void updateTail() {
+		// The tail may have grown into a different byte buffer
+		ByteBuffer view = this.tail.asByteBuffer().slice();
+		this.views[this.viewCount - 1] = view;
+		this.writePosition = this.offsets[this.viewCount - 1] + view.remaining();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("CompositeDataBuffer (r: %d, w: %d, components: %d)",
+				this.readPosition, this.writePosition, this.components.size());
+	}
+
+
+	private class CompositeDataBufferInputStream extends InputStream {
+
+		@Override
+		public int available() {
+			return readableByteCount();
+		}
+
+		@Override
+		public int read() {
+			return (available() > 0 ? CompositeDataBuffer.this.read() & 0xFF : -1);
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) {
+			int available = available();
+			if (available > 0) {
+				len = Math.min(len, available);
+				CompositeDataBuffer.this.read(bytes, off, len);
+				return len;
+			}
+			else {
+				return -1;
+			}
+		}
+	}
+
+
+	private class CompositeDataBufferOutputStream extends OutputStream {
+
+		@Override
+		public void write(int b) {
+			CompositeDataBuffer.this.write((byte) b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) {
+			CompositeDataBuffer.this.write(bytes, off, len);
+		}
+	}
+
+}
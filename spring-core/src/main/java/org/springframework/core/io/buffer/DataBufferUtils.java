@@ -18,18 +18,32 @@ package org.springframework.core.io.buffer;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.SynchronousSink;
 
 import org.springframework.lang.Nullable;
@@ -123,6 +137,142 @@ public abstract class DataBufferUtils {
 		});
 	}
 
+	/**
+	 * Write the given stream of {@link DataBuffer}s to the given {@code OutputStream}.
+	 * Does <strong>not</strong> close the output stream when the flux is terminated.
+	 * <p>Each data buffer is {@linkplain #release(DataBuffer) released} as soon as it
+	 * has been written, and the next one is only requested afterwards.
+	 * Note that the writing process does not start until the returned {@code Mono}
+	 * is subscribed to.
+	 * @param source the stream of data buffers to be written
+	 * @param outputStream the output stream to write to
+	 * @return a mono that completes when all data buffers have been written
+	 */
+	public static Mono<Void> write(Publisher<DataBuffer> source, OutputStream outputStream) {
+		Assert.notNull(source, "'source' must not be null");
+		Assert.notNull(outputStream, "'outputStream' must not be null");
+
+		WritableByteChannel channel = Channels.newChannel(outputStream);
+		return write(source, channel);
+	}
+
+	/**
+	 * Write the given stream of {@link DataBuffer}s to the given
+	 * {@code WritableByteChannel}. Does <strong>not</strong> close the channel
+	 * when the flux is terminated.
+	 * <p>Each data buffer is {@linkplain #release(DataBuffer) released} as soon as it
+	 * has been written, and the next one is only requested afterwards.
+	 * Note that the writing process does not start until the returned {@code Mono}
+	 * is subscribed to.
+	 * @param source the stream of data buffers to be written
+	 * @param channel the channel to write to
+	 * @return a mono that completes when all data buffers have been written
+	 */
+	public static Mono<Void> write(Publisher<DataBuffer> source, WritableByteChannel channel) {
+		Assert.notNull(source, "'source' must not be null");
+		Assert.notNull(channel, "'channel' must not be null");
+
+		return Mono.create(sink -> {
+			WritableByteChannelSubscriber subscriber = new WritableByteChannelSubscriber(sink, channel);
+			sink.onDispose(subscriber);
+			source.subscribe(subscriber);
+		});
+	}
+
+	/**
+	 * Write the given stream of {@link DataBuffer}s to the given
+	 * {@code AsynchronousFileChannel}. Does <strong>not</strong> close the channel
+	 * when the flux is terminated.
+	 * <p>Each data buffer is {@linkplain #release(DataBuffer) released} as soon as it
+	 * has been written, and the next one is only requested afterwards.
+	 * Note that the writing process does not start until the returned {@code Mono}
+	 * is subscribed to.
+	 * @param source the stream of data buffers to be written
+	 * @param channel the channel to write to
+	 * @param position the file position at which the write is to begin; must be non-negative
+	 * @return a mono that completes when all data buffers have been written
+	 */
+	public static Mono<Void> write(Publisher<DataBuffer> source, AsynchronousFileChannel channel,
+			long position) {
+
+		Assert.notNull(source, "'source' must not be null");
+		Assert.notNull(channel, "'channel' must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+
+		return Mono.create(sink -> {
+			AsynchronousFileChannelWriteCompletionHandler completionHandler =
+					new AsynchronousFileChannelWriteCompletionHandler(sink, channel, position);
+			sink.onDispose(completionHandler);
+			source.subscribe(completionHandler);
+		});
+	}
+
+	/**
+	 * Transfer {@code count} bytes of the given {@code FileChannel}, starting at the
+	 * given position, to the given target channel, without copying the file content
+	 * into {@link DataBuffer}s. Does <strong>not</strong> close any of the channels.
+	 * <p>Depending on the operating system, the bytes may be transferred directly
+	 * from the filesystem cache to the target channel. Note that the transfer is
+	 * performed in a blocking fashion when the returned {@code Mono} is subscribed
+	 * to; consider subscribing on a scheduler suitable for blocking I/O.
+	 * @param source the file channel to transfer from
+	 * @param position the position within the file at which the transfer is to begin
+	 * @param count the maximum number of bytes to be transferred
+	 * @param target the channel to transfer to, expected to be in blocking mode
+	 * @return a mono emitting the number of bytes actually transferred
+	 * @see FileChannel#transferTo(long, long, WritableByteChannel)
+	 */
+	public static Mono<Long> transferTo(FileChannel source, long position, long count,
+			WritableByteChannel target) {
+
+		Assert.notNull(source, "'source' must not be null");
+		Assert.notNull(target, "'target' must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.isTrue(count >= 0, "'count' must be >= 0");
+
+		return Mono.fromCallable(() -> transfer(source, position, count, target));
+	}
+
+	/**
+	 * Copy the content of the given source file to the given destination file,
+	 * creating or truncating the latter, without copying the file content into
+	 * {@link DataBuffer}s.
+	 * <p>Note that the transfer is performed in a blocking fashion when the returned
+	 * {@code Mono} is subscribed to; consider subscribing on a scheduler suitable
+	 * for blocking I/O.
+	 * @param source the file to copy from
+	 * @param destination the file to copy to
+	 * @return a mono emitting the number of bytes copied
+	 * @see #transferTo(FileChannel, long, long, WritableByteChannel)
+	 */
+	public static Mono<Long> transferTo(Path source, Path destination) {
+		Assert.notNull(source, "'source' must not be null");
+		Assert.notNull(destination, "'destination' must not be null");
+
+		return Mono.fromCallable(() -> {
+			try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+					FileChannel out = FileChannel.open(destination, StandardOpenOption.WRITE,
+							StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				return transfer(in, 0, in.size(), out);
+			}
+		});
+	}
+
+	private static long transfer(FileChannel source, long position, long count,
+			WritableByteChannel target) throws IOException {
+
+		long transferred = 0;
+		while (transferred < count) {
+			long bytes = source.transferTo(position + transferred, count - transferred, target);
+			if (bytes <= 0) {
+				// end of file reached
+				break;
+			}
+			transferred += bytes;
+		}
+		return transferred;
+	}
+
 	private static void closeChannel(@Nullable Channel channel) {
 		try {
 			if (channel != null) {
@@ -201,6 +351,58 @@ public abstract class DataBufferUtils {
 				});
 	}
 
+	/**
+	 * Compose all the buffers of the given {@link Publisher} into a single
+	 * {@code DataBuffer}, using the {@linkplain DataBufferFactory#join(java.util.List) join}
+	 * operation of the factory of the first buffer, rather than copying each
+	 * buffer into the previous one.
+	 * @param publisher the buffers to join
+	 * @return a mono with the joined buffer, or an empty mono if the publisher
+	 * did not emit any buffers
+	 */
+	public static Mono<DataBuffer> join(Publisher<DataBuffer> publisher) {
+		Assert.notNull(publisher, "'publisher' must not be null");
+
+		return Flux.from(publisher)
+				.collectList()
+				.filter(dataBuffers -> !dataBuffers.isEmpty())
+				.map(dataBuffers -> dataBuffers.get(0).factory().join(dataBuffers));
+	}
+
+	/**
+	 * Variant of {@link #join(Publisher)} that fails with a
+	 * {@link DataBufferLimitException} as soon as the total
+	 * {@linkplain DataBuffer#readableByteCount() byte count} of the buffers
+	 * exceeds the given maximum, releasing all buffers collected so far.
+	 * @param publisher the buffers to join
+	 * @param maxByteCount the maximum number of bytes to aggregate,
+	 * or -1 for no limit
+	 * @return a mono with the joined buffer, or an empty mono if the publisher
+	 * did not emit any buffers
+	 */
+	public static Mono<DataBuffer> join(Publisher<DataBuffer> publisher, int maxByteCount) {
+		Assert.notNull(publisher, "'publisher' must not be null");
+		if (maxByteCount < 0) {
+			return join(publisher);
+		}
+
+		return Mono.defer(() -> {
+			List<DataBuffer> dataBuffers = new ArrayList<>();
+			AtomicLong byteCount = new AtomicLong();
+			return Flux.from(publisher)
+					.doOnNext(dataBuffer -> {
+						dataBuffers.add(dataBuffer);
+						if (byteCount.addAndGet(dataBuffer.readableByteCount()) > maxByteCount) {
+							throw new DataBufferLimitException(
+									"Exceeded limit on max bytes to buffer: " + maxByteCount);
+						}
+					})
+					.doOnError(ex -> dataBuffers.forEach(DataBufferUtils::release))
+					.then(Mono.defer(() -> (dataBuffers.isEmpty() ? Mono.<DataBuffer>empty() :
+							Mono.just(dataBuffers.get(0).factory().join(dataBuffers)))));
+		});
+	}
+
 	/**
 	 * Retain the given data buffer, it it is a {@link PooledDataBuffer}.
 	 * @param dataBuffer the data buffer to retain
@@ -326,4 +528,153 @@ public abstract class DataBufferUtils {
 			closeChannel(channel);
 		}
 	}
+
+	private static class WritableByteChannelSubscriber extends BaseSubscriber<DataBuffer> {
+
+		private final MonoSink<Void> sink;
+
+		private final WritableByteChannel channel;
+
+		public WritableByteChannelSubscriber(MonoSink<Void> sink, WritableByteChannel channel) {
+			this.sink = sink;
+			this.channel = channel;
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			request(1);
+		}
+
+		@Override
+		protected void hookOnNext(DataBuffer dataBuffer) {
+			try {
+				if (isDisposed()) {
+					return;
+				}
+				if (dataBuffer instanceof CompositeDataBuffer && this.channel instanceof GatheringByteChannel) {
+					ByteBuffer[] byteBuffers = ((CompositeDataBuffer) dataBuffer).asByteBuffers();
+					long remaining = dataBuffer.readableByteCount();
+					while (remaining > 0) {
+						remaining -= ((GatheringByteChannel) this.channel).write(byteBuffers);
+					}
+				}
+				else {
+					ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+					while (byteBuffer.hasRemaining()) {
+						this.channel.write(byteBuffer);
+					}
+				}
+			}
+			catch (IOException ex) {
+				this.sink.error(ex);
+				dispose();
+				return;
+			}
+			finally {
+				release(dataBuffer);
+			}
+			request(1);
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+			this.sink.error(throwable);
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			this.sink.success();
+		}
+	}
+
+	private static class AsynchronousFileChannelWriteCompletionHandler extends BaseSubscriber<DataBuffer>
+			implements CompletionHandler<Integer, ByteBuffer> {
+
+		private final MonoSink<Void> sink;
+
+		private final AsynchronousFileChannel channel;
+
+		private final AtomicBoolean writing = new AtomicBoolean();
+
+		private final AtomicBoolean terminated = new AtomicBoolean();
+
+		private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+		private long position;
+
+		private DataBuffer dataBuffer;
+
+		public AsynchronousFileChannelWriteCompletionHandler(MonoSink<Void> sink,
+				AsynchronousFileChannel channel, long position) {
+			this.sink = sink;
+			this.channel = channel;
+			this.position = position;
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			request(1);
+		}
+
+		@Override
+		protected void hookOnNext(DataBuffer dataBuffer) {
+			if (isDisposed()) {
+				release(dataBuffer);
+				return;
+			}
+			this.dataBuffer = dataBuffer;
+			this.writing.set(true);
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			this.channel.write(byteBuffer, this.position, byteBuffer, this);
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+			this.error.set(throwable);
+			this.terminated.set(true);
+			if (!this.writing.get()) {
+				this.sink.error(throwable);
+			}
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			this.terminated.set(true);
+			if (!this.writing.get()) {
+				this.sink.success();
+			}
+		}
+
+		@Override
+		public void completed(Integer written, ByteBuffer byteBuffer) {
+			this.position += written;
+			if (byteBuffer.hasRemaining()) {
+				this.channel.write(byteBuffer, this.position, byteBuffer, this);
+				return;
+			}
+			release(this.dataBuffer);
+			this.writing.set(false);
+			if (this.terminated.get()) {
+				// Upstream terminated while the last buffer was being written
+				Throwable throwable = this.error.get();
+				if (throwable != null) {
+					this.sink.error(throwable);
+				}
+				else {
+					this.sink.success();
+				}
+			}
+			else {
+				request(1);
+			}
+		}
+
+		@Override
+		public void failed(Throwable exc, ByteBuffer byteBuffer) {
+			release(this.dataBuffer);
+			this.sink.error(exc);
+			dispose();
+		}
+	}
+
 }
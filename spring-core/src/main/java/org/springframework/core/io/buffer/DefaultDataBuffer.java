@@ -235,7 +235,7 @@ public class DefaultDataBuffer implements DataBuffer {
 			ByteBuffer slice = this.byteBuffer.slice();
 			// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
 			((Buffer) slice).limit(length);
-			return new SlicedDefaultDataBuffer(slice, 0, length, this.dataBufferFactory);
+			return createSlice(slice, length);
 		}
 		finally {
 			buffer.position(oldPosition);
@@ -300,9 +300,7 @@ public class DefaultDataBuffer implements DataBuffer {
 
 	void grow(int capacity) {
 		ByteBuffer oldBuffer = this.byteBuffer;
-		ByteBuffer newBuffer =
-				(oldBuffer.isDirect() ? ByteBuffer.allocateDirect(capacity) :
-						ByteBuffer.allocate(capacity));
+		ByteBuffer newBuffer = allocateByteBuffer(capacity, oldBuffer.isDirect());
 
 		// Explicit cast for compatibility with covariant return type on JDK 9's ByteBuffer
 		final int remaining = readableByteCount();
@@ -312,7 +310,33 @@ public class DefaultDataBuffer implements DataBuffer {
 		this.byteBuffer = newBuffer;
 		this.readPosition = 0;
 		this.writePosition = remaining;
-		oldBuffer.clear();
+		releaseByteBuffer(oldBuffer);
+	}
+
+	/**
+	 * Allocate the {@code ByteBuffer} to grow this buffer into.
+	 * @param capacity the minimum capacity of the new buffer
+	 * @param direct whether to allocate a direct buffer
+	 */
+	ByteBuffer allocateByteBuffer(int capacity, boolean direct) {
+		return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	/**
+	 * Release the {@code ByteBuffer} that this buffer has outgrown.
+	 * @param byteBuffer the previous buffer, not used by this buffer anymore
+	 */
+	void releaseByteBuffer(ByteBuffer byteBuffer) {
+		byteBuffer.clear();
+	}
+
+	/**
+	 * Create a {@code DataBuffer} for the given slice of this buffer's content.
+	 * @param slice the sliced byte buffer
+	 * @param length the length of the slice
+	 */
+	DefaultDataBuffer createSlice(ByteBuffer slice, int length) {
+		return new SlicedDefaultDataBuffer(slice, 0, length, this.dataBufferFactory);
 	}
 
 
@@ -17,6 +17,7 @@
 package org.springframework.core.io.buffer;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import org.springframework.util.Assert;
 
@@ -100,6 +101,20 @@ public class DefaultDataBufferFactory implements DataBufferFactory {
 		return new DefaultDataBuffer(wrapper, 0, bytes.length, this);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation returns a {@link CompositeDataBuffer} referring to
+	 * the given buffers, unless a single buffer is given.
+	 */
+	@Override
+	public DataBuffer join(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "'dataBuffers' must not be empty");
+		if (dataBuffers.size() == 1) {
+			return dataBuffers.get(0);
+		}
+		return new CompositeDataBuffer(this, dataBuffers);
+	}
+
 	@Override
 	public String toString() {
 		return "DefaultDataBufferFactory (preferDirect=" + this.preferDirect + ")";
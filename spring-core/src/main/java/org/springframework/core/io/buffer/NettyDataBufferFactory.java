@@ -17,10 +17,13 @@
 package org.springframework.core.io.buffer;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 
 import org.springframework.util.Assert;
 
@@ -83,11 +86,31 @@ public class NettyDataBufferFactory implements DataBufferFactory {
 		return new NettyDataBuffer(byteBuf, this);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation uses Netty's {@link CompositeByteBuf}.
+	 */
+	@Override
+	public DataBuffer join(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "'dataBuffers' must not be empty");
+		if (dataBuffers.size() == 1) {
+			return dataBuffers.get(0);
+		}
+		CompositeByteBuf composite = this.byteBufAllocator.compositeBuffer(dataBuffers.size());
+		for (DataBuffer dataBuffer : dataBuffers) {
+			composite.addComponent(true, toByteBuf(dataBuffer));
+		}
+		return new NettyDataBuffer(composite, this);
+	}
+
 	/**
 	 * Return the given Netty {@link DataBuffer} as a {@link ByteBuf}. Returns the
 	 * {@linkplain NettyDataBuffer#getNativeBuffer() native buffer} if {@code buffer} is
-	 * a {@link NettyDataBuffer}; returns {@link Unpooled#wrappedBuffer(ByteBuffer)}
-	 * otherwise.
+	 * a {@link NettyDataBuffer}; returns a {@link CompositeByteBuf} wrapping the
+	 * {@linkplain CompositeDataBuffer#asByteBuffers() components} of a
+	 * {@link CompositeDataBuffer}, or the content of any other {@link PooledDataBuffer},
+	 * which releases the given buffer once it is released itself; returns
+	 * {@link Unpooled#wrappedBuffer(ByteBuffer)} otherwise.
 	 * @param buffer the {@code DataBuffer} to return a {@code ByteBuf} for.
 	 * @return the netty {@code ByteBuf}
 	 */
@@ -95,6 +118,13 @@ public class NettyDataBufferFactory implements DataBufferFactory {
 		if (buffer instanceof NettyDataBuffer) {
 			return ((NettyDataBuffer) buffer).getNativeBuffer();
 		}
+		else if (buffer instanceof CompositeDataBuffer) {
+			CompositeDataBuffer composite = (CompositeDataBuffer) buffer;
+			return new ReleasingCompositeByteBuf(composite, composite.asByteBuffers());
+		}
+		else if (buffer instanceof PooledDataBuffer) {
+			return new ReleasingCompositeByteBuf((PooledDataBuffer) buffer, buffer.asByteBuffer());
+		}
 		else {
 			return Unpooled.wrappedBuffer(buffer.asByteBuffer());
 		}
@@ -105,4 +135,36 @@ public class NettyDataBufferFactory implements DataBufferFactory {
 	public String toString() {
 		return "NettyDataBufferFactory (" + this.byteBufAllocator + ")";
 	}
+
+
+	/**
+	 * {@link CompositeByteBuf} wrapping the content of a {@link PooledDataBuffer},
+	 * passing on the release of the wrapper to the pooled buffer, so that Netty
+	 * releasing the {@code ByteBuf} after a write recycles the original memory.
+	 */
+	private static class ReleasingCompositeByteBuf extends CompositeByteBuf {
+
+		private final PooledDataBuffer dataBuffer;
+
+		public ReleasingCompositeByteBuf(PooledDataBuffer dataBuffer, ByteBuffer... byteBuffers) {
+			super(UnpooledByteBufAllocator.DEFAULT, false, Math.max(byteBuffers.length, 2),
+					wrap(byteBuffers));
+			this.dataBuffer = dataBuffer;
+		}
+
+		private static ByteBuf[] wrap(ByteBuffer[] byteBuffers) {
+			ByteBuf[] byteBufs = new ByteBuf[byteBuffers.length];
+			for (int i = 0; i < byteBuffers.length; i++) {
+				byteBufs[i] = Unpooled.wrappedBuffer(byteBuffers[i]);
+			}
+			return byteBufs;
+		}
+
+		@Override
+		protected void deallocate() {
+			super.deallocate();
+			this.dataBuffer.release();
+		}
+	}
+
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PooledDataBuffer} allocated by a {@link PoolingDataBufferFactory},
+ * returning its byte buffer to the factory's pool once released.
+ *
+ * @since 5.0
+ * @see PoolingDataBufferFactory
+ */
+final class PoolingDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+	private final PoolingDataBufferFactory pool;
+
+	private final AtomicInteger refCount = new AtomicInteger(1);
+
+	private PoolingDataBufferFactory.LeakTracker leakTracker;
+
+	private volatile boolean sliced;
+
+
+	PoolingDataBuffer(ByteBuffer byteBuffer, PoolingDataBufferFactory pool) {
+		super(byteBuffer, pool);
+		this.pool = pool;
+	}
+
+
+	void setLeakTracker(PoolingDataBufferFactory.LeakTracker leakTracker) {
+		this.leakTracker = leakTracker;
+	}
+
+	@Override
+	public PoolingDataBuffer retain() {
+		while (true) {
+			int count = this.refCount.get();
+			if (count <= 0) {
+				throw new IllegalStateException("Buffer has already been released");
+			}
+			if (this.refCount.compareAndSet(count, count + 1)) {
+				return this;
+			}
+		}
+	}
+
+	@Override
+	public boolean release() {
+		while (true) {
+			int count = this.refCount.get();
+			if (count <= 0) {
+				throw new IllegalStateException("Buffer has already been released");
+			}
+			if (this.refCount.compareAndSet(count, count - 1)) {
+				if (count > 1) {
+					return false;
+				}
+				if (this.leakTracker != null) {
+					this.pool.untrack(this.leakTracker);
+				}
+				// Slices may outlive this buffer: leave their memory to the garbage collector
+				if (!this.sliced) {
+					this.pool.recycle(getNativeBuffer());
+				}
+				return true;
+			}
+		}
+	}
+
+	@Override
+	ByteBuffer allocateByteBuffer(int capacity, boolean direct) {
+		return this.pool.acquire(capacity);
+	}
+
+	@Override
+	void releaseByteBuffer(ByteBuffer byteBuffer) {
+		// Slices keep pointing to the previous buffer
+		if (!this.sliced) {
+			this.pool.recycle(byteBuffer);
+		}
+	}
+
+	@Override
+	DefaultDataBuffer createSlice(ByteBuffer slice, int length) {
+		this.sliced = true;
+		return new PoolingDataBufferSlice(slice, length, this);
+	}
+
+
+	/**
+	 * Slice of a {@code PoolingDataBuffer}, sharing its reference count.
+	 */
+	private static final class PoolingDataBufferSlice extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final PoolingDataBuffer parent;
+
+		PoolingDataBufferSlice(ByteBuffer byteBuffer, int length, PoolingDataBuffer parent) {
+			super(byteBuffer, 0, length, parent.factory());
+			this.parent = parent;
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+
+		@Override
+		void grow(int capacity) {
+			throw new UnsupportedOperationException(
+					"Growing the capacity of a sliced buffer is not supported");
+		}
+
+		@Override
+		DefaultDataBuffer createSlice(ByteBuffer slice, int length) {
+			return new PoolingDataBufferSlice(slice, length, this.parent);
+		}
+	}
+
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Extension of {@link DefaultDataBufferFactory} that allocates
+ * {@link PooledDataBuffer}s, recycling their underlying {@link ByteBuffer}s
+ * once released. Intended for runtimes without a pooling allocator of their
+ * own, e.g. Servlet containers, where it can be passed to the
+ * {@code ServletHttpHandlerAdapter}.
+ *
+ * <p>Byte buffers are pooled per size class, with capacities being powers of two
+ * from 64 bytes up to 64 KB; larger buffers are not pooled. Released buffers are
+ * first kept in a small cache local to the releasing thread, and otherwise in a
+ * bounded pool shared across threads. Thread-local caches hold on to their buffers
+ * for the lifetime of the thread, for every thread that releases buffers: with
+ * default settings up to 256 KB per thread. Call {@link #clearCaches()} when the
+ * factory is no longer used, or turn off thread-local caching through
+ * {@link #setThreadCacheSize}.
+ *
+ * <p>Buffers {@linkplain #wrap(ByteBuffer) wrapping} existing memory are not
+ * pooled. All other buffers obtained from this factory need to be
+ * {@linkplain DataBufferUtils#release(DataBuffer) released} when no longer used,
+ * after which neither the buffer nor any of its slices or
+ * {@linkplain DataBuffer#asByteBuffer() byte buffer views} may be accessed.
+ * A {@link LeakListener} can be registered to find buffers that are not released.
+ *
+ * @since 5.0
+ * @see DataBufferUtils#release(DataBuffer)
+ */
+public class PoolingDataBufferFactory extends DefaultDataBufferFactory {
+
+	private static final int MIN_POOLED_CAPACITY_SHIFT = 6;
+
+	private static final int MAX_POOLED_CAPACITY_SHIFT = 16;
+
+	private static final int MIN_POOLED_CAPACITY = 1 << MIN_POOLED_CAPACITY_SHIFT;
+
+	private static final int MAX_POOLED_CAPACITY = 1 << MAX_POOLED_CAPACITY_SHIFT;
+
+	private static final int SIZE_CLASS_COUNT = MAX_POOLED_CAPACITY_SHIFT - MIN_POOLED_CAPACITY_SHIFT + 1;
+
+	/** Size classes up to 16 KB are cached per thread */
+	private static final int THREAD_CACHED_SIZE_CLASS_COUNT = 14 - MIN_POOLED_CAPACITY_SHIFT + 1;
+
+
+	private final boolean preferDirect;
+
+	private final SizeClassPool[] pools = new SizeClassPool[SIZE_CLASS_COUNT];
+
+	private int maxPooledBuffers = 256;
+
+	private int threadCacheSize = 8;
+
+	private final Map<Thread, ThreadCache> threadCaches = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(() -> {
+		ThreadCache cache = new ThreadCache(this.threadCacheSize);
+		this.threadCaches.put(Thread.currentThread(), cache);
+		return cache;
+	});
+
+	private volatile LeakListener leakListener;
+
+	private final ReferenceQueue<PoolingDataBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+
+
+	/**
+	 * Creates a new {@code PoolingDataBufferFactory} with default settings.
+	 */
+	public PoolingDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new {@code PoolingDataBufferFactory}, indicating whether direct
+	 * buffers should be created by {@link #allocateBuffer()} and
+	 * {@link #allocateBuffer(int)}.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PoolingDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@code PoolingDataBufferFactory}, indicating whether direct
+	 * buffers should be created by {@link #allocateBuffer()} and
+	 * {@link #allocateBuffer(int)}, and what the capacity is to be used for
+	 * {@link #allocateBuffer()}.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PoolingDataBufferFactory(boolean preferDirect, int defaultInitialCapacity) {
+		super(preferDirect, defaultInitialCapacity);
+		this.preferDirect = preferDirect;
+		for (int i = 0; i < SIZE_CLASS_COUNT; i++) {
+			this.pools[i] = new SizeClassPool();
+		}
+	}
+
+
+	/**
+	 * Set the maximum number of released byte buffers to keep in the shared pool,
+	 * per size class.
+	 * <p>Default is 256. To be configured before the factory is used.
+	 */
+	public void setMaxPooledBuffers(int maxPooledBuffers) {
+		Assert.isTrue(maxPooledBuffers >= 0, "'maxPooledBuffers' must not be negative");
+		this.maxPooledBuffers = maxPooledBuffers;
+	}
+
+	/**
+	 * Set the maximum number of released byte buffers to cache per thread and
+	 * size class, for size classes up to 16 KB. Set this to 0 to turn off
+	 * thread-local caching, e.g. when threads are not reused.
+	 * <p>Default is 8, retaining up to 256 KB per thread that releases buffers
+	 * until {@link #clearCaches()} is called. To be configured before the
+	 * factory is used.
+	 */
+	public void setThreadCacheSize(int threadCacheSize) {
+		Assert.isTrue(threadCacheSize >= 0, "'threadCacheSize' must not be negative");
+		this.threadCacheSize = threadCacheSize;
+	}
+
+	/**
+	 * Register a listener to be notified of buffers that got garbage collected
+	 * without having been released.
+	 * <p>Note that this records the stack trace of each allocation, so it should
+	 * only be used for diagnostic purposes.
+	 */
+	public void setLeakListener(@Nullable LeakListener leakListener) {
+		this.leakListener = leakListener;
+	}
+
+
+	/**
+	 * Drop all released byte buffers kept by this factory, in the shared pool
+	 * as well as in the thread-local caches of all threads, so that they can be
+	 * garbage collected. To be called when the factory is no longer used, since
+	 * thread-local caches are otherwise retained as long as their threads live.
+	 * <p>The factory remains usable afterwards, starting with empty caches.
+	 */
+	public void clearCaches() {
+		List<ThreadCache> caches;
+		synchronized (this.threadCaches) {
+			caches = new ArrayList<>(this.threadCaches.values());
+		}
+		for (ThreadCache cache : caches) {
+			cache.clear();
+		}
+		for (SizeClassPool pool : this.pools) {
+			while (pool.poll() != null) {
+				// drain
+			}
+		}
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		PoolingDataBuffer dataBuffer = new PoolingDataBuffer(acquire(initialCapacity), this);
+		LeakListener leakListener = this.leakListener;
+		if (leakListener != null) {
+			reportLeaks(leakListener);
+			LeakTracker tracker = new LeakTracker(dataBuffer, this.leakQueue);
+			this.leakTrackers.add(tracker);
+			dataBuffer.setLeakTracker(tracker);
+		}
+		return dataBuffer;
+	}
+
+	/**
+	 * Obtain a cleared byte buffer of at least the given capacity.
+	 */
+	ByteBuffer acquire(int capacity) {
+		int sizeClass = sizeClass(capacity);
+		if (sizeClass < 0) {
+			return allocate(capacity);
+		}
+		ByteBuffer byteBuffer = null;
+		if (sizeClass < THREAD_CACHED_SIZE_CLASS_COUNT && this.threadCacheSize > 0) {
+			byteBuffer = this.threadCache.get().poll(sizeClass);
+		}
+		if (byteBuffer == null) {
+			byteBuffer = this.pools[sizeClass].poll();
+		}
+		if (byteBuffer == null) {
+			byteBuffer = allocate(MIN_POOLED_CAPACITY << sizeClass);
+		}
+		return byteBuffer;
+	}
+
+	/**
+	 * Return the given byte buffer to the pool, if it has been allocated by it.
+	 */
+	void recycle(ByteBuffer byteBuffer) {
+		int capacity = byteBuffer.capacity();
+		if (byteBuffer.isDirect() != this.preferDirect || Integer.bitCount(capacity) != 1) {
+			return;
+		}
+		int sizeClass = sizeClass(capacity);
+		if (sizeClass < 0) {
+			return;
+		}
+		byteBuffer.clear();
+		if (sizeClass < THREAD_CACHED_SIZE_CLASS_COUNT && this.threadCacheSize > 0 &&
+				this.threadCache.get().offer(sizeClass, byteBuffer)) {
+			return;
+		}
+		this.pools[sizeClass].offer(byteBuffer, this.maxPooledBuffers);
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return (this.preferDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	private static int sizeClass(int capacity) {
+		if (capacity > MAX_POOLED_CAPACITY) {
+			return -1;
+		}
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		return Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1) - MIN_POOLED_CAPACITY_SHIFT;
+	}
+
+	void untrack(LeakTracker tracker) {
+		tracker.clear();
+		this.leakTrackers.remove(tracker);
+	}
+
+	private void reportLeaks(LeakListener leakListener) {
+		Reference<? extends PoolingDataBuffer> reference;
+		while ((reference = this.leakQueue.poll()) != null) {
+			LeakTracker tracker = (LeakTracker) reference;
+			if (this.leakTrackers.remove(tracker)) {
+				leakListener.leakDetected(tracker.capacity, tracker.allocationSite);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "PoolingDataBufferFactory (preferDirect=" + this.preferDirect + ")";
+	}
+
+
+	/**
+	 * Callback interface for buffers that were not released.
+	 * @see #setLeakListener
+	 */
+	@FunctionalInterface
+	public interface LeakListener {
+
+		/**
+		 * Invoked when a buffer has been garbage collected without having been released.
+		 * @param capacity the capacity of the leaked buffer at allocation time
+		 * @param allocationSite an exception recording the stack trace of the allocation
+		 */
+		void leakDetected(int capacity, Throwable allocationSite);
+	}
+
+
+	/**
+	 * Bounded pool of released byte buffers of the same size class.
+	 */
+	private static final class SizeClassPool {
+
+		private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger size = new AtomicInteger();
+
+		@Nullable
+		ByteBuffer poll() {
+			ByteBuffer byteBuffer = this.buffers.poll();
+			if (byteBuffer != null) {
+				this.size.decrementAndGet();
+			}
+			return byteBuffer;
+		}
+
+		void offer(ByteBuffer byteBuffer, int maxSize) {
+			if (this.size.incrementAndGet() <= maxSize) {
+				this.buffers.offer(byteBuffer);
+			}
+			else {
+				this.size.decrementAndGet();
+			}
+		}
+	}
+
+
+	/**
+	 * Per-thread stacks of released byte buffers, one per size class.
+	 * Synchronized (uncontended but for {@link #clearCaches()}), so that
+	 * another thread can drop the cached buffers.
+	 */
+	private static final class ThreadCache {
+
+		private final ByteBuffer[][] buffers;
+
+		private final int[] sizes;
+
+		ThreadCache(int cacheSize) {
+			this.buffers = new ByteBuffer[THREAD_CACHED_SIZE_CLASS_COUNT][cacheSize];
+			this.sizes = new int[THREAD_CACHED_SIZE_CLASS_COUNT];
+		}
+
+		@Nullable
+		synchronized ByteBuffer poll(int sizeClass) {
+			int size = this.sizes[sizeClass];
+			if (size == 0) {
+				return null;
+			}
+			ByteBuffer[] stack = this.buffers[sizeClass];
+			ByteBuffer byteBuffer = stack[--size];
+			stack[size] = null;
+			this.sizes[sizeClass] = size;
+			return byteBuffer;
+		}
+
+		synchronized boolean offer(int sizeClass, ByteBuffer byteBuffer) {
+			ByteBuffer[] stack = this.buffers[sizeClass];
+			int size = this.sizes[sizeClass];
+			if (size == stack.length) {
+				return false;
+			}
+			stack[size] = byteBuffer;
+			this.sizes[sizeClass] = size + 1;
+			return true;
+		}
+
+		synchronized void clear() {
+			for (int i = 0; i < this.buffers.length; i++) {
+				Arrays.fill(this.buffers[i], null);
+				this.sizes[i] = 0;
+			}
+		}
+	}
+
+
+	/**
+	 * Weak reference to an allocated buffer, enqueued if the buffer gets
+	 * garbage collected before having been released.
+	 */
+	static final class LeakTracker extends WeakReference<PoolingDataBuffer> {
+
+		final int capacity;
+
+		final Throwable allocationSite;
+
+		LeakTracker(PoolingDataBuffer dataBuffer, ReferenceQueue<PoolingDataBuffer> queue) {
+			super(dataBuffer, queue);
+			this.capacity = dataBuffer.getNativeBuffer().capacity();
+			this.allocationSite = new Throwable("Buffer allocation site");
+		}
+	}
+
+}
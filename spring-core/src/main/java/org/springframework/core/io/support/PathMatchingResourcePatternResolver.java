@@ -18,6 +18,7 @@ package org.springframework.core.io.support;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.net.JarURLConnection;
@@ -26,11 +27,19 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.zip.ZipException;
@@ -202,6 +211,11 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	private int jarScanParallelism = 1;
+
+	/** Cache of jar entry names, keyed by jar file URL; null if caching is disabled */
+	private volatile Map<String, String[]> jarEntryCache;
+
 
 	/**
 	 * Create a new PathMatchingResourcePatternResolver with a DefaultResourceLoader.
@@ -264,6 +278,65 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Set the number of threads to traverse the root directories of a location
+	 * pattern with, e.g. all jar files that contain the base package of a
+	 * "classpath*:" pattern.
+	 * <p>Default is 1, traversing one root directory after the other. A higher
+	 * value traverses the roots of a pattern that spans more than one jar file
+	 * concurrently on a temporary fork-join pool. The order of the resolved
+	 * resources is the same in both cases.
+	 * @since 5.0
+	 * @see #findPathMatchingResources
+	 */
+	public void setJarScanParallelism(int jarScanParallelism) {
+		Assert.isTrue(jarScanParallelism > 0, "Parallelism must be greater than 0");
+		this.jarScanParallelism = jarScanParallelism;
+	}
+
+	/**
+	 * Return the number of threads to traverse the root directories of
+	 * a location pattern with.
+	 * @since 5.0
+	 */
+	public int getJarScanParallelism() {
+		return this.jarScanParallelism;
+	}
+
+	/**
+	 * Specify whether to keep the entry names of each traversed jar file in
+	 * memory, so that subsequent patterns against the same jar file (e.g. for
+	 * several base packages to scan) do not need to read its directory again.
+	 * <p>Default is "false". Switching this flag off clears the cache.
+	 * Application contexts enable it for the duration of their refresh.
+	 * @since 5.0
+	 * @see #clearCache()
+	 */
+	public void setCacheJarEntries(boolean cacheJarEntries) {
+		this.jarEntryCache = (cacheJarEntries ? new ConcurrentHashMap<>(64) : null);
+	}
+
+	/**
+	 * Return whether the entry names of traversed jar files are cached.
+	 * @since 5.0
+	 */
+	public boolean isCacheJarEntries() {
+		return (this.jarEntryCache != null);
+	}
+
+	/**
+	 * Clear the cache of jar entry names, if any, e.g. after all expected
+	 * patterns have been resolved. Caching stays enabled.
+	 * @since 5.0
+	 * @see #setCacheJarEntries
+	 */
+	public void clearCache() {
+		Map<String, String[]> jarEntryCache = this.jarEntryCache;
+		if (jarEntryCache != null) {
+			jarEntryCache.clear();
+		}
+	}
+
 
 	@Override
 	public Resource getResource(String location) {
@@ -459,7 +532,8 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		String rootDirPath = determineRootDir(locationPattern);
 		String subPattern = locationPattern.substring(rootDirPath.length());
 		Resource[] rootDirResources = getResources(rootDirPath);
-		Set<Resource> result = new LinkedHashSet<>(16);
+		List<Callable<Set<Resource>>> lookups = new ArrayList<>(rootDirResources.length);
+		int jarLookupCount = 0;
 		for (Resource rootDirResource : rootDirResources) {
 			rootDirResource = resolveRootDirResource(rootDirResource);
 			URL rootDirUrl = rootDirResource.getURL();
@@ -472,14 +546,29 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 					rootDirResource = new UrlResource(rootDirUrl);
 				}
 			}
+			Resource rootDirResourceToUse = rootDirResource;
+			URL rootDirUrlToUse = rootDirUrl;
 			if (rootDirUrl.getProtocol().startsWith(ResourceUtils.URL_PROTOCOL_VFS)) {
-				result.addAll(VfsResourceMatchingDelegate.findMatchingResources(rootDirUrl, subPattern, getPathMatcher()));
+				lookups.add(() -> VfsResourceMatchingDelegate.findMatchingResources(
+						rootDirUrlToUse, subPattern, getPathMatcher()));
 			}
 			else if (ResourceUtils.isJarURL(rootDirUrl) || isJarResource(rootDirResource)) {
-				result.addAll(doFindPathMatchingJarResources(rootDirResource, rootDirUrl, subPattern));
+				lookups.add(() -> doFindPathMatchingJarResources(rootDirResourceToUse, rootDirUrlToUse, subPattern));
+				jarLookupCount++;
 			}
 			else {
-				result.addAll(doFindPathMatchingFileResources(rootDirResource, subPattern));
+				lookups.add(() -> doFindPathMatchingFileResources(rootDirResourceToUse, subPattern));
+			}
+		}
+		Set<Resource> result = new LinkedHashSet<>(16);
+		if (this.jarScanParallelism > 1 && jarLookupCount > 1) {
+			for (Set<Resource> partialResult : invokeInParallel(lookups)) {
+				result.addAll(partialResult);
+			}
+		}
+		else {
+			for (Callable<Set<Resource>> lookup : lookups) {
+				result.addAll(invoke(lookup));
 			}
 		}
 		if (logger.isDebugEnabled()) {
@@ -488,6 +577,45 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return result.toArray(new Resource[result.size()]);
 	}
 
+	private List<Set<Resource>> invokeInParallel(List<Callable<Set<Resource>>> lookups) throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(Math.min(this.jarScanParallelism, lookups.size()));
+		try {
+			List<Set<Resource>> partialResults = new ArrayList<>(lookups.size());
+			for (Future<Set<Resource>> future : pool.invokeAll(lookups)) {
+				try {
+					partialResults.add(future.get());
+				}
+				catch (ExecutionException ex) {
+					Throwable cause = ex.getCause();
+					if (cause instanceof IOException) {
+						throw (IOException) cause;
+					}
+					ReflectionUtils.rethrowRuntimeException(cause);
+				}
+			}
+			return partialResults;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while traversing root directories in parallel");
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private Set<Resource> invoke(Callable<Set<Resource>> lookup) throws IOException {
+		try {
+			return lookup.call();
+		}
+		catch (IOException | RuntimeException ex) {
+			throw ex;
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 	/**
 	 * Determine the root directory for the given location.
 	 * <p>Used for determining the starting point for file matching,
@@ -558,20 +686,28 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 			throws IOException {
 
 		URLConnection con = rootDirURL.openConnection();
-		JarFile jarFile;
+		JarFile jarFile = null;
 		String jarFileUrl;
 		String rootEntryPath;
-		boolean closeJarFile;
+		boolean closeJarFile = false;
+		String[] entryNames;
 
 		if (con instanceof JarURLConnection) {
 			// Should usually be the case for traditional JAR files.
 			JarURLConnection jarCon = (JarURLConnection) con;
 			ResourceUtils.useCachesIfNecessary(jarCon);
-			jarFile = jarCon.getJarFile();
 			jarFileUrl = jarCon.getJarFileURL().toExternalForm();
-			JarEntry jarEntry = jarCon.getJarEntry();
-			rootEntryPath = (jarEntry != null ? jarEntry.getName() : "");
-			closeJarFile = !jarCon.getUseCaches();
+			entryNames = getCachedJarEntryNames(jarFileUrl);
+			if (entryNames != null) {
+				String entryName = jarCon.getEntryName();
+				rootEntryPath = (entryName != null ? entryName : "");
+			}
+			else {
+				jarFile = jarCon.getJarFile();
+				JarEntry jarEntry = jarCon.getJarEntry();
+				rootEntryPath = (jarEntry != null ? jarEntry.getName() : "");
+				closeJarFile = !jarCon.getUseCaches();
+			}
 		}
 		else {
 			// No JarURLConnection -> need to resort to URL file parsing.
@@ -587,14 +723,20 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				if (separatorIndex != -1) {
 					jarFileUrl = urlFile.substring(0, separatorIndex);
 					rootEntryPath = urlFile.substring(separatorIndex + 2);  // both separators are 2 chars
-					jarFile = getJarFile(jarFileUrl);
+					entryNames = getCachedJarEntryNames(jarFileUrl);
+					if (entryNames == null) {
+						jarFile = getJarFile(jarFileUrl);
+					}
 				}
 				else {
-					jarFile = new JarFile(urlFile);
 					jarFileUrl = urlFile;
 					rootEntryPath = "";
+					entryNames = getCachedJarEntryNames(jarFileUrl);
+					if (entryNames == null) {
+						jarFile = new JarFile(urlFile);
+					}
 				}
-				closeJarFile = true;
+				closeJarFile = (jarFile != null);
 			}
 			catch (ZipException ex) {
 				if (logger.isDebugEnabled()) {
@@ -613,10 +755,11 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				// The Sun JRE does not return a slash here, but BEA JRockit does.
 				rootEntryPath = rootEntryPath + "/";
 			}
+			if (entryNames == null) {
+				entryNames = readJarEntryNames(jarFileUrl, jarFile);
+			}
 			Set<Resource> result = new LinkedHashSet<>(8);
-			for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
-				JarEntry entry = entries.nextElement();
-				String entryPath = entry.getName();
+			for (String entryPath : entryNames) {
 				if (entryPath.startsWith(rootEntryPath)) {
 					String relativePath = entryPath.substring(rootEntryPath.length());
 					if (getPathMatcher().match(subPattern, relativePath)) {
@@ -633,6 +776,25 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		}
 	}
 
+	@Nullable
+	private String[] getCachedJarEntryNames(String jarFileUrl) {
+		Map<String, String[]> jarEntryCache = this.jarEntryCache;
+		return (jarEntryCache != null ? jarEntryCache.get(jarFileUrl) : null);
+	}
+
+	private String[] readJarEntryNames(String jarFileUrl, JarFile jarFile) {
+		List<String> entryNames = new ArrayList<>(jarFile.size());
+		for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+			entryNames.add(entries.nextElement().getName());
+		}
+		String[] result = StringUtils.toStringArray(entryNames);
+		Map<String, String[]> jarEntryCache = this.jarEntryCache;
+		if (jarEntryCache != null) {
+			jarEntryCache.put(jarFileUrl, result);
+		}
+		return result;
+	}
+
 	/**
 	 * Resolve the given jar file URL into a JarFile object.
 	 */
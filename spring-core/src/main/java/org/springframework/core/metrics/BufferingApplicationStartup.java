@@ -0,0 +1,318 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that buffers {@link StartupStep steps}
+ * in memory and exposes them as a timeline once they have ended.
+ *
+ * <p>Parent/child relationships between steps are derived from the step that
+ * is currently active on the calling thread, so nested steps such as the
+ * creation of a bean triggered while creating another bean show up as children.
+ * Steps started on other threads become roots of their own.
+ *
+ * <p>Recording stops once the configured capacity has been reached, which
+ * bounds the memory consumption for very large contexts. The recorded timeline
+ * can be obtained via {@link #getTimeline()} or be written out in "folded stacks"
+ * format via {@link #writeFoldedStacks(Appendable)}, as accepted by common
+ * flame graph tools.
+ *
+ * @since 5.0
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final long startTime = System.nanoTime();
+
+	private final AtomicLong idSequence = new AtomicLong();
+
+	private final AtomicLong recordedCount = new AtomicLong();
+
+	private final Queue<TimelineEvent> events = new ConcurrentLinkedQueue<>();
+
+	private final ThreadLocal<BufferedStartupStep> currentStep =
+			new NamedThreadLocal<>("Current startup step");
+
+
+	/**
+	 * Create a new buffered {@code ApplicationStartup} with a limited capacity.
+	 * @param capacity the maximum number of steps to record
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+	}
+
+
+	@Override
+	public StartupStep start(String name) {
+		Assert.notNull(name, "Step name must not be null");
+		BufferedStartupStep parent = this.currentStep.get();
+		BufferedStartupStep step = new BufferedStartupStep(
+				this.idSequence.incrementAndGet(), name, parent, System.nanoTime());
+		this.currentStep.set(step);
+		return step;
+	}
+
+	/**
+	 * Return the ended steps recorded so far, ordered by their start time.
+	 */
+	public List<TimelineEvent> getTimeline() {
+		List<TimelineEvent> timeline = new ArrayList<>(this.events);
+		timeline.sort(Comparator.comparing(TimelineEvent::getStartTime));
+		return timeline;
+	}
+
+	/**
+	 * Return whether steps have been dropped since the capacity has been reached.
+	 */
+	public boolean isCapacityExceeded() {
+		return (this.recordedCount.get() > this.capacity);
+	}
+
+	/**
+	 * Write the recorded timeline in "folded stacks" format: one line per step,
+	 * listing the step and its ancestors separated by {@code ';'}, followed by
+	 * the time spent in the step itself (excluding its recorded children) in
+	 * microseconds. Each frame is the step name followed by its tags, if any.
+	 * @param out the target to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeFoldedStacks(Appendable out) throws IOException {
+		List<TimelineEvent> timeline = getTimeline();
+		Map<Long, TimelineEvent> eventsById = new HashMap<>(timeline.size());
+		Map<Long, Long> childDurations = new HashMap<>(timeline.size());
+		for (TimelineEvent event : timeline) {
+			eventsById.put(event.getId(), event);
+			if (event.getParentId() != null) {
+				childDurations.merge(event.getParentId(), event.getDuration().toNanos(), Long::sum);
+			}
+		}
+		for (TimelineEvent event : timeline) {
+			List<TimelineEvent> stack = new ArrayList<>();
+			for (TimelineEvent current = event; current != null;
+					current = (current.getParentId() != null ? eventsById.get(current.getParentId()) : null)) {
+				stack.add(current);
+			}
+			Collections.reverse(stack);
+			StringBuilder line = new StringBuilder();
+			for (TimelineEvent frame : stack) {
+				if (line.length() > 0) {
+					line.append(';');
+				}
+				line.append(frame.toFrameLabel());
+			}
+			long selfTime = event.getDuration().toNanos() - childDurations.getOrDefault(event.getId(), 0L);
+			line.append(' ').append(TimeUnit.NANOSECONDS.toMicros(Math.max(selfTime, 0L))).append('\n');
+			out.append(line);
+		}
+	}
+
+	private void record(TimelineEvent event) {
+		if (this.recordedCount.incrementAndGet() <= this.capacity) {
+			this.events.add(event);
+		}
+	}
+
+
+	private class BufferedStartupStep implements StartupStep {
+
+		private final long id;
+
+		private final String name;
+
+		private final BufferedStartupStep parent;
+
+		private final long startTime;
+
+		private final Map<String, String> tags = new LinkedHashMap<>(4);
+
+		private boolean ended;
+
+		BufferedStartupStep(long id, String name, @Nullable BufferedStartupStep parent, long startTime) {
+			this.id = id;
+			this.name = name;
+			this.parent = parent;
+			this.startTime = startTime;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return (this.parent != null ? this.parent.id : null);
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.state(!this.ended, "StartupStep has already ended");
+			this.tags.put(key, value);
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public void end() {
+			Assert.state(!this.ended, "StartupStep has already ended");
+			long endTime = System.nanoTime();
+			this.ended = true;
+			// Also unwind nested steps that have been abandoned without being ended
+			for (BufferedStartupStep current = currentStep.get(); current != null; current = current.parent) {
+				if (current == this) {
+					if (this.parent != null) {
+						currentStep.set(this.parent);
+					}
+					else {
+						currentStep.remove();
+					}
+					break;
+				}
+			}
+			record(new TimelineEvent(this.id, getParentId(), this.name, this.tags,
+					Duration.ofNanos(this.startTime - BufferingApplicationStartup.this.startTime),
+					Duration.ofNanos(endTime - this.startTime)));
+		}
+	}
+
+
+	/**
+	 * A recorded step on the startup timeline.
+	 */
+	public static final class TimelineEvent {
+
+		private final long id;
+
+		private final Long parentId;
+
+		private final String name;
+
+		private final Map<String, String> tags;
+
+		private final Duration startTime;
+
+		private final Duration duration;
+
+		TimelineEvent(long id, @Nullable Long parentId, String name, Map<String, String> tags,
+				Duration startTime, Duration duration) {
+
+			this.id = id;
+			this.parentId = parentId;
+			this.name = name;
+			this.tags = Collections.unmodifiableMap(tags);
+			this.startTime = startTime;
+			this.duration = duration;
+		}
+
+		/**
+		 * Return the unique id of the recorded step.
+		 */
+		public long getId() {
+			return this.id;
+		}
+
+		/**
+		 * Return the id of the parent step, if any.
+		 */
+		@Nullable
+		public Long getParentId() {
+			return this.parentId;
+		}
+
+		/**
+		 * Return the name of the recorded step.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the tags attached to the recorded step.
+		 */
+		public Map<String, String> getTags() {
+			return this.tags;
+		}
+
+		/**
+		 * Return the start time of the step, relative to the creation
+		 * of the {@link BufferingApplicationStartup}.
+		 */
+		public Duration getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the time spent between the start and the end of the step.
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		String toFrameLabel() {
+			StringBuilder label = new StringBuilder(this.name);
+			if (!this.tags.isEmpty()) {
+				label.append('[');
+				this.tags.forEach((key, value) -> {
+					if (label.charAt(label.length() - 1) != '[') {
+						label.append(',');
+					}
+					label.append(key).append('=').append(value);
+				});
+				label.append(']');
+			}
+			return label.toString().replace(';', ':').replace('\n', ' ');
+		}
+
+		@Override
+		public String toString() {
+			return toFrameLabel() + " (" + this.duration.toMillis() + " ms)";
+		}
+	}
+
+}
@@ -0,0 +1,8 @@
+/**
+ * Support package for recording metrics during application startup,
+ * such as the steps of an application context refresh.
+ */
+@NonNullApi
+package org.springframework.core.metrics;
+
+import org.springframework.lang.NonNullApi;
@@ -17,6 +17,7 @@
 package org.springframework.core.type.classreading;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
@@ -40,9 +41,15 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	/** Default maximum number of entries for a local MetadataReader cache: 256 */
 	public static final int DEFAULT_CACHE_LIMIT = 256;
 
+	/** Default maximum number of entries for a shared MetadataReader cache: 4096 */
+	public static final int DEFAULT_SHARED_CACHE_LIMIT = 4096;
+
 	/** MetadataReader cache: either local or shared at the ResourceLoader level */
 	private Map<Resource, MetadataReader> metadataReaderCache;
 
+	/** Maximum number of entries to keep in a shared MetadataReader cache */
+	private volatile int sharedCacheLimit = DEFAULT_SHARED_CACHE_LIMIT;
+
 
 	/**
 	 * Create a new CachingMetadataReaderFactory for the default class loader,
@@ -85,8 +92,9 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	/**
 	 * Specify the maximum number of entries for the MetadataReader cache.
 	 * <p>Default is 256 for a local cache, whereas a shared cache is
-	 * typically unbounded. This method enforces a local resource cache,
-	 * even if the {@link ResourceLoader} supports a shared resource cache.
+	 * bounded by the {@link #setSharedCacheLimit shared cache limit}.
+	 * This method enforces a local resource cache, even if the
+	 * {@link ResourceLoader} supports a shared resource cache.
 	 */
 	public void setCacheLimit(int cacheLimit) {
 		if (cacheLimit <= 0) {
@@ -108,10 +116,25 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			return ((LocalResourceCache) this.metadataReaderCache).getCacheLimit();
 		}
 		else {
-			return (this.metadataReaderCache != null ? Integer.MAX_VALUE : 0);
+			return (this.metadataReaderCache != null ? this.sharedCacheLimit : 0);
 		}
 	}
 
+	/**
+	 * Specify the maximum number of entries to keep in a MetadataReader cache
+	 * shared at the {@link ResourceLoader} level. Once the limit has been
+	 * reached, existing entries get evicted for newly created readers; since
+	 * the shared cache does not track access order, the evicted entries are
+	 * arbitrary ones.
+	 * <p>Default is 4096. The shared cache itself is released by the owning
+	 * application context once its refresh has completed.
+	 * @since 5.0
+	 * @see DefaultResourceLoader#clearResourceCaches()
+	 */
+	public void setSharedCacheLimit(int sharedCacheLimit) {
+		this.sharedCacheLimit = sharedCacheLimit;
+	}
+
 
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
@@ -120,7 +143,11 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
 				metadataReader = super.getMetadataReader(resource);
-				this.metadataReaderCache.put(resource, metadataReader);
+				int cacheLimit = this.sharedCacheLimit;
+				if (cacheLimit > 0) {
+					evictFromSharedCache(cacheLimit - 1);
+					this.metadataReaderCache.put(resource, metadataReader);
+				}
 			}
 			return metadataReader;
 		}
@@ -150,6 +177,14 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 		}
 	}
 
+	private void evictFromSharedCache(int maxSize) {
+		Iterator<Resource> it = this.metadataReaderCache.keySet().iterator();
+		while (this.metadataReaderCache.size() > maxSize && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
 
 	@SuppressWarnings("serial")
 	private static class LocalResourceCache extends LinkedHashMap<Resource, MetadataReader> {
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Immutable {@link AnnotationMetadata} implementation, created from an
+ * {@link AnnotationMetadataReadingVisitor} once the class file has been read.
+ *
+ * <p>In contrast to the visitor, which keeps a {@code LinkedMultiValueMap} of
+ * {@link AnnotationAttributes} for the class and for each annotated method,
+ * this representation holds interned names in flat arrays and decodes
+ * annotation attributes lazily, keeping the footprint of cached
+ * {@link MetadataReader} instances low during component scanning.
+ *
+ * @since 5.0
+ * @see SimpleMetadataReader
+ */
+final class CompactAnnotationMetadata implements AnnotationMetadata {
+
+	private static final int INTERFACE = 1;
+
+	private static final int ANNOTATION = 2;
+
+	private static final int ABSTRACT = 4;
+
+	private static final int FINAL = 8;
+
+	private static final int INDEPENDENT = 16;
+
+	private static final MethodMetadata[] NO_METHODS = new MethodMetadata[0];
+
+
+	private final String className;
+
+	private final int flags;
+
+	private final String enclosingClassName;
+
+	private final String superClassName;
+
+	private final String[] interfaceNames;
+
+	private final String[] memberClassNames;
+
+	private final ClassLoader classLoader;
+
+	private final String[] annotationTypes;
+
+	private final CompactAnnotations annotations;
+
+	private final MethodMetadata[] annotatedMethods;
+
+
+	CompactAnnotationMetadata(AnnotationMetadataReadingVisitor visitor) {
+		this.className = visitor.getClassName().intern();
+		this.flags = (visitor.isInterface() ? INTERFACE : 0) | (visitor.isAnnotation() ? ANNOTATION : 0) |
+				(visitor.isAbstract() ? ABSTRACT : 0) | (visitor.isFinal() ? FINAL : 0) |
+				(visitor.isIndependent() ? INDEPENDENT : 0);
+		this.enclosingClassName = intern(visitor.getEnclosingClassName());
+		this.superClassName = intern(visitor.getSuperClassName());
+		this.interfaceNames = intern(visitor.getInterfaceNames());
+		this.memberClassNames = intern(visitor.getMemberClassNames());
+		this.classLoader = visitor.classLoader;
+		this.annotationTypes = CompactAnnotations.intern(visitor.annotationSet);
+		this.annotations = CompactAnnotations.of(visitor.attributesMap, visitor.metaAnnotationMap);
+		this.annotatedMethods = compact(visitor.methodMetadataSet);
+	}
+
+	@Nullable
+	private static String intern(@Nullable String name) {
+		return (name != null ? name.intern() : null);
+	}
+
+	private static String[] intern(String[] names) {
+		for (int i = 0; i < names.length; i++) {
+			names[i] = names[i].intern();
+		}
+		return names;
+	}
+
+	private static MethodMetadata[] compact(Set<MethodMetadata> methodMetadataSet) {
+		if (methodMetadataSet.isEmpty()) {
+			return NO_METHODS;
+		}
+		MethodMetadata[] result = new MethodMetadata[methodMetadataSet.size()];
+		int i = 0;
+		for (MethodMetadata methodMetadata : methodMetadataSet) {
+			result[i++] = (methodMetadata instanceof MethodMetadataReadingVisitor ?
+					new CompactMethodMetadata((MethodMetadataReadingVisitor) methodMetadata) : methodMetadata);
+		}
+		return result;
+	}
+
+
+	@Override
+	public String getClassName() {
+		return this.className;
+	}
+
+	@Override
+	public boolean isInterface() {
+		return ((this.flags & INTERFACE) != 0);
+	}
+
+	@Override
+	public boolean isAnnotation() {
+		return ((this.flags & ANNOTATION) != 0);
+	}
+
+	@Override
+	public boolean isAbstract() {
+		return ((this.flags & ABSTRACT) != 0);
+	}
+
+	@Override
+	public boolean isConcrete() {
+		return !(isInterface() || isAbstract());
+	}
+
+	@Override
+	public boolean isFinal() {
+		return ((this.flags & FINAL) != 0);
+	}
+
+	@Override
+	public boolean isIndependent() {
+		return ((this.flags & INDEPENDENT) != 0);
+	}
+
+	@Override
+	public boolean hasEnclosingClass() {
+		return (this.enclosingClassName != null);
+	}
+
+	@Override
+	public String getEnclosingClassName() {
+		return this.enclosingClassName;
+	}
+
+	@Override
+	public boolean hasSuperClass() {
+		return (this.superClassName != null);
+	}
+
+	@Override
+	public String getSuperClassName() {
+		return this.superClassName;
+	}
+
+	@Override
+	public String[] getInterfaceNames() {
+		return this.interfaceNames.clone();
+	}
+
+	@Override
+	public String[] getMemberClassNames() {
+		return this.memberClassNames.clone();
+	}
+
+	@Override
+	public Set<String> getAnnotationTypes() {
+		Set<String> result = new LinkedHashSet<>(this.annotationTypes.length);
+		for (String annotationType : this.annotationTypes) {
+			result.add(annotationType);
+		}
+		return result;
+	}
+
+	@Override
+	public Set<String> getMetaAnnotationTypes(String annotationName) {
+		return this.annotations.getMetaAnnotationTypes(annotationName);
+	}
+
+	@Override
+	public boolean hasAnnotation(String annotationName) {
+		for (String annotationType : this.annotationTypes) {
+			if (annotationType.equals(annotationName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean hasMetaAnnotation(String metaAnnotationName) {
+		return this.annotations.hasMetaAnnotation(metaAnnotationName);
+	}
+
+	@Override
+	public boolean isAnnotated(String annotationName) {
+		return (!AnnotationUtils.isInJavaLangAnnotationPackage(annotationName) &&
+				this.annotations.contains(annotationName));
+	}
+
+	@Override
+	public AnnotationAttributes getAnnotationAttributes(String annotationName) {
+		return getAnnotationAttributes(annotationName, false);
+	}
+
+	@Override
+	public AnnotationAttributes getAnnotationAttributes(String annotationName, boolean classValuesAsString) {
+		return this.annotations.getMergedAnnotationAttributes(
+				annotationName, "class '" + this.className + "'", this.classLoader, classValuesAsString);
+	}
+
+	@Override
+	public MultiValueMap<String, Object> getAllAnnotationAttributes(String annotationName) {
+		return getAllAnnotationAttributes(annotationName, false);
+	}
+
+	@Override
+	public MultiValueMap<String, Object> getAllAnnotationAttributes(String annotationName, boolean classValuesAsString) {
+		return this.annotations.getAllAnnotationAttributes(
+				annotationName, "class '" + this.className + "'", this.classLoader, classValuesAsString);
+	}
+
+	@Override
+	public boolean hasAnnotatedMethods(String annotationName) {
+		for (MethodMetadata methodMetadata : this.annotatedMethods) {
+			if (methodMetadata.isAnnotated(annotationName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
+		Set<MethodMetadata> annotatedMethods = new LinkedHashSet<>(4);
+		for (MethodMetadata methodMetadata : this.annotatedMethods) {
+			if (methodMetadata.isAnnotated(annotationName)) {
+				annotatedMethods.add(methodMetadata);
+			}
+		}
+		return annotatedMethods;
+	}
+
+}
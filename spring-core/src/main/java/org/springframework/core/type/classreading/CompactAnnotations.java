@@ -0,0 +1,359 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.lang.annotation.Annotation;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Compact, immutable holder for the annotations read from a class or method
+ * via ASM, replacing the {@link LinkedMultiValueMap} of {@link AnnotationAttributes}
+ * that the reading visitors build up.
+ *
+ * <p>Annotation type names and attribute names are interned and kept in flat
+ * arrays; attribute values are stored as raw arrays and only decoded into
+ * {@link AnnotationAttributes} instances on request. Each request returns
+ * freshly decoded instances, so callers cannot mutate the shared state.
+ *
+ * @since 5.0
+ * @see CompactAnnotationMetadata
+ * @see CompactMethodMetadata
+ */
+final class CompactAnnotations {
+
+	private static final String[] EMPTY_STRING_ARRAY = new String[0];
+
+	private static final Object[] EMPTY_OBJECT_ARRAY = new Object[0];
+
+	private static final Entry[][] EMPTY_ENTRIES = new Entry[0][];
+
+	static final CompactAnnotations NONE =
+			new CompactAnnotations(EMPTY_STRING_ARRAY, EMPTY_ENTRIES, EMPTY_STRING_ARRAY, new String[0][]);
+
+
+	/** Annotation type names, in the hierarchical order of the reading visitor */
+	private final String[] annotationTypes;
+
+	/** Attribute entries per annotation type, index-aligned with annotationTypes */
+	private final Entry[][] attributes;
+
+	/** Annotation type names for which meta-annotation types have been recorded */
+	private final String[] metaAnnotationKeys;
+
+	/** Meta-annotation type names, index-aligned with metaAnnotationKeys */
+	private final String[][] metaAnnotationTypes;
+
+
+	private CompactAnnotations(String[] annotationTypes, Entry[][] attributes,
+			String[] metaAnnotationKeys, String[][] metaAnnotationTypes) {
+
+		this.annotationTypes = annotationTypes;
+		this.attributes = attributes;
+		this.metaAnnotationKeys = metaAnnotationKeys;
+		this.metaAnnotationTypes = metaAnnotationTypes;
+	}
+
+
+	/**
+	 * Build a compact representation of the given visitor state.
+	 * @param attributesMap the attributes per annotation type, in hierarchical order
+	 * @param metaAnnotationMap the meta-annotation types per annotation type
+	 */
+	static CompactAnnotations of(LinkedMultiValueMap<String, AnnotationAttributes> attributesMap,
+			Map<String, Set<String>> metaAnnotationMap) {
+
+		if (attributesMap.isEmpty() && metaAnnotationMap.isEmpty()) {
+			return NONE;
+		}
+
+		String[] annotationTypes = new String[attributesMap.size()];
+		Entry[][] attributes = new Entry[attributesMap.size()][];
+		int i = 0;
+		for (Map.Entry<String, List<AnnotationAttributes>> entry : attributesMap.entrySet()) {
+			annotationTypes[i] = entry.getKey().intern();
+			List<AnnotationAttributes> list = entry.getValue();
+			Entry[] entries = new Entry[list.size()];
+			for (int j = 0; j < entries.length; j++) {
+				entries[j] = Entry.of(list.get(j));
+			}
+			attributes[i] = entries;
+			i++;
+		}
+
+		String[] metaAnnotationKeys = new String[metaAnnotationMap.size()];
+		String[][] metaAnnotationTypes = new String[metaAnnotationMap.size()][];
+		i = 0;
+		for (Map.Entry<String, Set<String>> entry : metaAnnotationMap.entrySet()) {
+			metaAnnotationKeys[i] = entry.getKey().intern();
+			metaAnnotationTypes[i] = intern(entry.getValue());
+			i++;
+		}
+
+		return new CompactAnnotations(annotationTypes, attributes, metaAnnotationKeys, metaAnnotationTypes);
+	}
+
+	static String[] intern(Set<String> names) {
+		if (names.isEmpty()) {
+			return EMPTY_STRING_ARRAY;
+		}
+		String[] result = new String[names.size()];
+		int i = 0;
+		for (String name : names) {
+			result[i++] = name.intern();
+		}
+		return result;
+	}
+
+
+	/**
+	 * Determine whether attributes have been recorded for the given annotation type.
+	 */
+	boolean contains(String annotationName) {
+		return (indexOf(this.annotationTypes, annotationName) != -1);
+	}
+
+	/**
+	 * Return the meta-annotation types recorded for the given annotation type,
+	 * or {@code null} if none have been recorded.
+	 */
+	@Nullable
+	Set<String> getMetaAnnotationTypes(String annotationName) {
+		int index = indexOf(this.metaAnnotationKeys, annotationName);
+		if (index == -1) {
+			return null;
+		}
+		String[] metaTypes = this.metaAnnotationTypes[index];
+		Set<String> result = new LinkedHashSet<>(metaTypes.length);
+		for (String metaType : metaTypes) {
+			result.add(metaType);
+		}
+		return result;
+	}
+
+	/**
+	 * Determine whether any recorded annotation is meta-annotated with the given type.
+	 */
+	boolean hasMetaAnnotation(String metaAnnotationName) {
+		for (String[] metaTypes : this.metaAnnotationTypes) {
+			if (indexOf(metaTypes, metaAnnotationName) != -1) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Retrieve the merged attributes of the annotation of the given type,
+	 * following the algorithm of
+	 * {@link AnnotationReadingVisitorUtils#getMergedAnnotationAttributes}
+	 * and converting class values for the given annotated element.
+	 * @return the merged attributes, or {@code null} if not present
+	 */
+	@Nullable
+	AnnotationAttributes getMergedAnnotationAttributes(String annotationName,
+			Object annotatedElement, @Nullable ClassLoader classLoader, boolean classValuesAsString) {
+
+		int index = indexOf(this.annotationTypes, annotationName);
+		if (index == -1 || this.attributes[index].length == 0) {
+			return null;
+		}
+
+		AnnotationAttributes result = this.attributes[index][0].decode();
+		Set<String> overridableAttributeNames = new HashSet<>(result.keySet());
+		overridableAttributeNames.remove(AnnotationUtils.VALUE);
+
+		// Traverse "down" the annotation hierarchy, skipping the target annotation type.
+		for (int i = this.annotationTypes.length - 1; i >= 0; i--) {
+			if (i == index || this.attributes[i].length == 0) {
+				continue;
+			}
+			int metaIndex = indexOf(this.metaAnnotationKeys, this.annotationTypes[i]);
+			if (metaIndex != -1 && indexOf(this.metaAnnotationTypes[metaIndex], annotationName) != -1) {
+				Entry currentAttributes = this.attributes[i][0];
+				for (String overridableAttributeName : overridableAttributeNames) {
+					Object value = currentAttributes.get(overridableAttributeName);
+					if (value != null) {
+						result.put(overridableAttributeName, value);
+					}
+				}
+			}
+		}
+
+		return copyArrays(AnnotationReadingVisitorUtils.convertClassValues(
+				annotatedElement, classLoader, result, classValuesAsString));
+	}
+
+	/**
+	 * Retrieve all attributes of all annotations of the given type,
+	 * converting class values for the given annotated element.
+	 * @return the attributes, or {@code null} if not present
+	 */
+	@Nullable
+	MultiValueMap<String, Object> getAllAnnotationAttributes(String annotationName,
+			Object annotatedElement, @Nullable ClassLoader classLoader, boolean classValuesAsString) {
+
+		int index = indexOf(this.annotationTypes, annotationName);
+		if (index == -1) {
+			return null;
+		}
+		MultiValueMap<String, Object> allAttributes = new LinkedMultiValueMap<>();
+		for (Entry entry : this.attributes[index]) {
+			copyArrays(AnnotationReadingVisitorUtils.convertClassValues(
+					annotatedElement, classLoader, entry.decode(), classValuesAsString)).forEach(allAttributes::add);
+		}
+		return allAttributes;
+	}
+
+
+	/**
+	 * Copy array values (including default values which get resolved during
+	 * class value conversion) so that callers cannot modify shared state.
+	 */
+	private static AnnotationAttributes copyArrays(AnnotationAttributes attributes) {
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof AnnotationAttributes) {
+				copyArrays((AnnotationAttributes) value);
+			}
+			else if (value instanceof AnnotationAttributes[]) {
+				for (AnnotationAttributes nested : (AnnotationAttributes[]) value) {
+					copyArrays(nested);
+				}
+			}
+			else if (value instanceof Object[]) {
+				entry.setValue(((Object[]) value).clone());
+			}
+		}
+		return attributes;
+	}
+
+	private static int indexOf(String[] names, String name) {
+		for (int i = 0; i < names.length; i++) {
+			String candidate = names[i];
+			// Identity check first since all stored names are interned
+			if (candidate == name || candidate.equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+
+	/**
+	 * The raw attributes of a single annotation, including nested annotations.
+	 */
+	private static final class Entry {
+
+		private final Class<? extends Annotation> annotationType;
+
+		private final String[] names;
+
+		private final Object[] values;
+
+		/** The original attributes if the annotation type could not be resolved */
+		private final AnnotationAttributes unresolved;
+
+		private Entry(@Nullable Class<? extends Annotation> annotationType, String[] names, Object[] values,
+				@Nullable AnnotationAttributes unresolved) {
+
+			this.annotationType = annotationType;
+			this.names = names;
+			this.values = values;
+			this.unresolved = unresolved;
+		}
+
+		static Entry of(AnnotationAttributes attributes) {
+			Class<? extends Annotation> annotationType = attributes.annotationType();
+			if (annotationType == null) {
+				// Keep as-is in order to preserve the original display name
+				return new Entry(null, EMPTY_STRING_ARRAY, EMPTY_OBJECT_ARRAY, attributes);
+			}
+			String[] names = new String[attributes.size()];
+			Object[] values = new Object[attributes.size()];
+			int i = 0;
+			for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+				names[i] = attribute.getKey().intern();
+				values[i] = compact(attribute.getValue());
+				i++;
+			}
+			return new Entry(annotationType, names, values, null);
+		}
+
+		@Nullable
+		private static Object compact(@Nullable Object value) {
+			if (value instanceof AnnotationAttributes) {
+				return of((AnnotationAttributes) value);
+			}
+			if (value instanceof AnnotationAttributes[]) {
+				AnnotationAttributes[] nested = (AnnotationAttributes[]) value;
+				Entry[] entries = new Entry[nested.length];
+				for (int i = 0; i < nested.length; i++) {
+					entries[i] = of(nested[i]);
+				}
+				return entries;
+			}
+			return value;
+		}
+
+		@Nullable
+		Object get(String name) {
+			if (this.unresolved != null) {
+				return this.unresolved.get(name);
+			}
+			int index = indexOf(this.names, name);
+			return (index != -1 ? decode(this.values[index]) : null);
+		}
+
+		AnnotationAttributes decode() {
+			if (this.unresolved != null) {
+				return new AnnotationAttributes(this.unresolved);
+			}
+			AnnotationAttributes attributes = new AnnotationAttributes(this.annotationType);
+			for (int i = 0; i < this.names.length; i++) {
+				attributes.put(this.names[i], decode(this.values[i]));
+			}
+			return attributes;
+		}
+
+		@Nullable
+		private static Object decode(@Nullable Object value) {
+			if (value instanceof Entry) {
+				return ((Entry) value).decode();
+			}
+			if (value instanceof Entry[]) {
+				Entry[] entries = (Entry[]) value;
+				AnnotationAttributes[] nested = new AnnotationAttributes[entries.length];
+				for (int i = 0; i < entries.length; i++) {
+					nested[i] = entries[i].decode();
+				}
+				return nested;
+			}
+			return value;
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import org.springframework.asm.Opcodes;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Immutable {@link MethodMetadata} implementation, created from a
+ * {@link MethodMetadataReadingVisitor} once the class file has been read.
+ *
+ * @since 5.0
+ * @see CompactAnnotationMetadata
+ */
+final class CompactMethodMetadata implements MethodMetadata {
+
+	private final String methodName;
+
+	private final int access;
+
+	private final String declaringClassName;
+
+	private final String returnTypeName;
+
+	private final ClassLoader classLoader;
+
+	private final CompactAnnotations annotations;
+
+
+	CompactMethodMetadata(MethodMetadataReadingVisitor visitor) {
+		this.methodName = visitor.methodName.intern();
+		this.access = visitor.access;
+		this.declaringClassName = visitor.declaringClassName.intern();
+		this.returnTypeName = visitor.returnTypeName.intern();
+		this.classLoader = visitor.classLoader;
+		this.annotations = CompactAnnotations.of(visitor.attributesMap, visitor.metaAnnotationMap);
+	}
+
+
+	@Override
+	public String getMethodName() {
+		return this.methodName;
+	}
+
+	@Override
+	public String getDeclaringClassName() {
+		return this.declaringClassName;
+	}
+
+	@Override
+	public String getReturnTypeName() {
+		return this.returnTypeName;
+	}
+
+	@Override
+	public boolean isAbstract() {
+		return ((this.access & Opcodes.ACC_ABSTRACT) != 0);
+	}
+
+	@Override
+	public boolean isStatic() {
+		return ((this.access & Opcodes.ACC_STATIC) != 0);
+	}
+
+	@Override
+	public boolean isFinal() {
+		return ((this.access & Opcodes.ACC_FINAL) != 0);
+	}
+
+	@Override
+	public boolean isOverridable() {
+		return (!isStatic() && !isFinal() && ((this.access & Opcodes.ACC_PRIVATE) == 0));
+	}
+
+	@Override
+	public boolean isAnnotated(String annotationName) {
+		return this.annotations.contains(annotationName);
+	}
+
+	@Override
+	public AnnotationAttributes getAnnotationAttributes(String annotationName) {
+		return getAnnotationAttributes(annotationName, false);
+	}
+
+	@Override
+	public AnnotationAttributes getAnnotationAttributes(String annotationName, boolean classValuesAsString) {
+		return this.annotations.getMergedAnnotationAttributes(
+				annotationName, "method '" + this.methodName + "'", this.classLoader, classValuesAsString);
+	}
+
+	@Override
+	public MultiValueMap<String, Object> getAllAnnotationAttributes(String annotationName) {
+		return getAllAnnotationAttributes(annotationName, false);
+	}
+
+	@Override
+	public MultiValueMap<String, Object> getAllAnnotationAttributes(String annotationName, boolean classValuesAsString) {
+		return this.annotations.getAllAnnotationAttributes(
+				annotationName, "method '" + this.methodName + "'", this.classLoader, classValuesAsString);
+	}
+
+}
@@ -64,9 +64,11 @@ final class SimpleMetadataReader implements MetadataReader {
 		AnnotationMetadataReadingVisitor visitor = new AnnotationMetadataReadingVisitor(classLoader);
 		classReader.accept(visitor, ClassReader.SKIP_DEBUG);
 
-		this.annotationMetadata = visitor;
-		// (since AnnotationMetadataReadingVisitor extends ClassMetadataReadingVisitor)
-		this.classMetadata = visitor;
+		// Keep a compact copy of the metadata rather than the visitor itself,
+		// since readers may get cached for all scanned classes...
+		this.annotationMetadata = new CompactAnnotationMetadata(visitor);
+		// (since AnnotationMetadata extends ClassMetadata)
+		this.classMetadata = this.annotationMetadata;
 		this.resource = resource;
 	}
 
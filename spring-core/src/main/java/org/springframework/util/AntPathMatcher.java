@@ -21,7 +21,6 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,7 +74,7 @@ public class AntPathMatcher implements PathMatcher {
 	/** Default path separator: "/" */
 	public static final String DEFAULT_PATH_SEPARATOR = "/";
 
-	private static final int CACHE_TURNOFF_THRESHOLD = 65536;
+	private static final int DEFAULT_CACHE_LIMIT = 65536;
 
 	private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{[^/]+?\\}");
 
@@ -90,11 +89,13 @@ public class AntPathMatcher implements PathMatcher {
 
 	private boolean trimTokens = false;
 
-	private volatile Boolean cachePatterns;
+	private volatile boolean cachePatterns = true;
 
-	private final Map<String, String[]> tokenizedPatternCache = new ConcurrentHashMap<>(256);
+	private volatile ConcurrentLruCache<String, String[]> tokenizedPatternCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT);
 
-	final Map<String, AntPathStringMatcher> stringMatcherCache = new ConcurrentHashMap<>(256);
+	volatile ConcurrentLruCache<String, AntPathStringMatcher> stringMatcherCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT);
 
 
 	/**
@@ -148,21 +149,41 @@ public class AntPathMatcher implements PathMatcher {
 	 * into this matcher's {@link #match} method. A value of {@code true}
 	 * activates an unlimited pattern cache; a value of {@code false} turns
 	 * the pattern cache off completely.
-	 * <p>Default is for the cache to be on, but with the variant to automatically
-	 * turn it off when encountering too many patterns to cache at runtime
-	 * (the threshold is 65536), assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>Default is for the cache to be on, but limited to 65536 patterns:
+	 * when encountering more patterns at runtime (e.g. paths containing ids
+	 * being passed in as patterns), the least recently used ones get evicted,
+	 * so that recurring patterns keep being served from the cache.
 	 * @since 4.0.1
 	 * @see #getStringMatcher(String)
+	 * @see #getCacheHitCount()
+	 * @see #getCacheMissCount()
 	 */
 	public void setCachePatterns(boolean cachePatterns) {
+		int cacheLimit = (cachePatterns ? Integer.MAX_VALUE : 0);
+		this.tokenizedPatternCache = new ConcurrentLruCache<>(cacheLimit);
+		this.stringMatcherCache = new ConcurrentLruCache<>(cacheLimit);
 		this.cachePatterns = cachePatterns;
 	}
 
-	private void deactivatePatternCache() {
-		this.cachePatterns = false;
-		this.tokenizedPatternCache.clear();
-		this.stringMatcherCache.clear();
+	/**
+	 * Return the number of pattern lookups (tokenized patterns as well as
+	 * {@link AntPathStringMatcher string matchers}) served from the cache.
+	 * @since 5.0
+	 * @see #setCachePatterns
+	 */
+	public long getCacheHitCount() {
+		return (this.tokenizedPatternCache.getHitCount() + this.stringMatcherCache.getHitCount());
+	}
+
+	/**
+	 * Return the number of pattern lookups (tokenized patterns as well as
+	 * {@link AntPathStringMatcher string matchers}) not found in the cache,
+	 * i.e. requiring the pattern to be parsed again.
+	 * @since 5.0
+	 * @see #setCachePatterns
+	 */
+	public long getCacheMissCount() {
+		return (this.tokenizedPatternCache.getMissCount() + this.stringMatcherCache.getMissCount());
 	}
 
 
@@ -378,23 +399,14 @@ public class AntPathMatcher implements PathMatcher {
 	 * @return the tokenized pattern parts
 	 */
 	protected String[] tokenizePattern(String pattern) {
-		String[] tokenized = null;
-		Boolean cachePatterns = this.cachePatterns;
-		if (cachePatterns == null || cachePatterns.booleanValue()) {
-			tokenized = this.tokenizedPatternCache.get(pattern);
+		if (!this.cachePatterns) {
+			return tokenizePath(pattern);
 		}
+		ConcurrentLruCache<String, String[]> cache = this.tokenizedPatternCache;
+		String[] tokenized = cache.get(pattern);
 		if (tokenized == null) {
 			tokenized = tokenizePath(pattern);
-			if (cachePatterns == null && this.tokenizedPatternCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return tokenized;
-			}
-			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.tokenizedPatternCache.put(pattern, tokenized);
-			}
+			cache.put(pattern, tokenized);
 		}
 		return tokenized;
 	}
@@ -425,32 +437,22 @@ public class AntPathMatcher implements PathMatcher {
 	 * <p>The default implementation checks this AntPathMatcher's internal cache
 	 * (see {@link #setCachePatterns}), creating a new AntPathStringMatcher instance
 	 * if no cached copy is found.
-	 * <p>When encountering too many patterns to cache at runtime (the threshold is 65536),
-	 * it turns the default cache off, assuming that arbitrary permutations of patterns
-	 * are coming in, with little chance for encountering a recurring pattern.
+	 * <p>When encountering too many patterns to cache at runtime (the limit is 65536),
+	 * the default cache evicts the least recently used patterns.
 	 * <p>This method may be overridden to implement a custom cache strategy.
 	 * @param pattern the pattern to match against (never {@code null})
 	 * @return a corresponding AntPathStringMatcher (never {@code null})
 	 * @see #setCachePatterns
 	 */
 	protected AntPathStringMatcher getStringMatcher(String pattern) {
-		AntPathStringMatcher matcher = null;
-		Boolean cachePatterns = this.cachePatterns;
-		if (cachePatterns == null || cachePatterns.booleanValue()) {
-			matcher = this.stringMatcherCache.get(pattern);
+		if (!this.cachePatterns) {
+			return new AntPathStringMatcher(pattern, this.caseSensitive);
 		}
+		ConcurrentLruCache<String, AntPathStringMatcher> cache = this.stringMatcherCache;
+		AntPathStringMatcher matcher = cache.get(pattern);
 		if (matcher == null) {
 			matcher = new AntPathStringMatcher(pattern, this.caseSensitive);
-			if (cachePatterns == null && this.stringMatcherCache.size() >= CACHE_TURNOFF_THRESHOLD) {
-				// Try to adapt to the runtime situation that we're encountering:
-				// There are obviously too many different patterns coming in here...
-				// So let's turn off the cache since the patterns are unlikely to be reoccurring.
-				deactivatePatternCache();
-				return matcher;
-			}
-			if (cachePatterns == null || cachePatterns.booleanValue()) {
-				this.stringMatcherCache.put(pattern, matcher);
-			}
+			cache.put(pattern, matcher);
 		}
 		return matcher;
 	}
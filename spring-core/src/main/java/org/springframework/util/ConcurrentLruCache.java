@@ -0,0 +1,256 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Simple bounded cache backed by a {@link ConcurrentHashMap}, evicting
+ * entries in approximately least-recently-used order once the size limit
+ * has been exceeded.
+ *
+ * <p>Eviction follows the "second chance" (CLOCK) algorithm: entries are
+ * queued in insertion order, and a cache hit merely marks the entry as
+ * recently used. On eviction, marked entries get unmarked and requeued
+ * while the first unmarked entry gets removed. This keeps reads lock-free,
+ * at the expense of not tracking the exact access order.
+ *
+ * <p>A size limit of {@link Integer#MAX_VALUE} indicates an unbounded cache
+ * which never evicts, and therefore skips the eviction queue altogether.
+ * Removed and replaced entries are marked as stale in the queue, and the
+ * queue gets purged once stale entries outnumber the live ones.
+ *
+ * <p>Hit, miss and eviction counts are tracked for monitoring purposes.
+ * {@code null} keys and values are not supported.
+ *
+ * @since 5.0
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final boolean unbounded;
+
+	private final ConcurrentHashMap<K, Node<K, V>> cache;
+
+	private final Queue<Node<K, V>> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final AtomicInteger staleCount = new AtomicInteger();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Create a new cache instance with the given size limit.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value;
+	 * {@link Integer#MAX_VALUE} indicates an unbounded cache)
+	 */
+	public ConcurrentLruCache(int sizeLimit) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		this.sizeLimit = sizeLimit;
+		this.unbounded = (sizeLimit == Integer.MAX_VALUE);
+		this.cache = new ConcurrentHashMap<>(Math.min(sizeLimit, 256));
+	}
+
+
+	/**
+	 * Retrieve the value cached for the given key, if any,
+	 * marking the entry as recently used.
+	 * @param key the key to look up
+	 * @return the cached value, or {@code null} if none
+	 */
+	@Nullable
+	public V get(K key) {
+		Node<K, V> node = this.cache.get(key);
+		if (node == null) {
+			this.missCount.increment();
+			return null;
+		}
+		if (!node.used) {
+			// Avoid writing to a shared cache line on every hit
+			node.used = true;
+		}
+		this.hitCount.increment();
+		return node.value;
+	}
+
+	/**
+	 * Cache the given value for the given key, evicting
+	 * least recently used entries if the size limit has been exceeded.
+	 * @param key the key to cache the value for
+	 * @param value the value to cache
+	 */
+	public void put(K key, V value) {
+		if (this.sizeLimit == 0) {
+			return;
+		}
+		Node<K, V> node = new Node<>(key, value);
+		Node<K, V> previous = this.cache.put(key, node);
+		if (this.unbounded) {
+			if (previous == null) {
+				this.size.incrementAndGet();
+			}
+			return;
+		}
+		if (previous != null) {
+			markStale(previous);
+		}
+		else if (this.size.incrementAndGet() > this.sizeLimit) {
+			// Evict before queueing the new entry, not to evict it right away
+			evict();
+		}
+		this.queue.add(node);
+	}
+
+	/**
+	 * Remove the value cached for the given key, if any.
+	 * @param key the key to remove
+	 * @return {@code true} if an entry has been removed
+	 */
+	public boolean remove(K key) {
+		Node<K, V> node = this.cache.remove(key);
+		if (node != null) {
+			this.size.decrementAndGet();
+			if (!this.unbounded) {
+				markStale(node);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove all entries from this cache, keeping the statistics.
+	 */
+	public void clear() {
+		this.cache.clear();
+		this.queue.clear();
+		this.size.set(0);
+		this.staleCount.set(0);
+	}
+
+	/**
+	 * Return the current number of entries in the cache.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache.
+	 */
+	public int getSizeLimit() {
+		return this.sizeLimit;
+	}
+
+	/**
+	 * Return the number of {@link #get} calls that found a cached value.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of {@link #get} calls that did not find a cached value.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries evicted because of the size limit.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	/**
+	 * Return the number of nodes currently held in the eviction queue,
+	 * including stale ones (for testing purposes).
+	 */
+	int getQueueLength() {
+		return this.queue.size();
+	}
+
+	private void markStale(Node<K, V> node) {
+		node.stale = true;
+		if (this.staleCount.incrementAndGet() > Math.max(this.size.get(), 16)) {
+			this.staleCount.set(0);
+			this.queue.removeIf(candidate -> candidate.stale);
+		}
+	}
+
+	private void evict() {
+		while (this.size.get() > this.sizeLimit) {
+			Node<K, V> node = this.queue.poll();
+			if (node == null) {
+				return;
+			}
+			if (node.stale || this.cache.get(node.key) != node) {
+				// Stale queue entry for a replaced or removed value
+				continue;
+			}
+			if (node.used) {
+				node.used = false;
+				this.queue.add(node);
+			}
+			else if (this.cache.remove(node.key, node)) {
+				this.size.decrementAndGet();
+				this.evictionCount.increment();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [size=" + size() + ", sizeLimit=" + this.sizeLimit +
+				", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+	}
+
+
+	private static final class Node<K, V> {
+
+		final K key;
+
+		final V value;
+
+		volatile boolean used;
+
+		volatile boolean stale;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+}
@@ -23,7 +23,6 @@ import java.lang.reflect.Array;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -53,6 +52,11 @@ import org.springframework.lang.Nullable;
  * <p>If not explicitly specified, this implementation will use
  * {@linkplain SoftReference soft entry references}.
  *
+ * <p>Lookups (including {@link #putIfAbsent} for an already present key) do not
+ * acquire any lock. Updates lock a single segment only, according to the
+ * {@code concurrencyLevel}, and garbage collected entries are purged from a
+ * segment in one batch whenever it is accessed.
+ *
  * @author Phillip Webb
  * @since 3.2
  * @param <K> the key type
@@ -260,6 +264,12 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	@Override
 	@Nullable
 	public V putIfAbsent(K key, V value) {
+		// Lock-free fast path for the common case of an already present key
+		Reference<K, V> reference = getReference(key, Restructure.NEVER);
+		Entry<K, V> entry = (reference != null ? reference.get() : null);
+		if (entry != null) {
+			return entry.getValue();
+		}
 		return put(key, value, false);
 	}
 
@@ -503,7 +513,8 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 				final Reference<K, V> head = this.references[index];
 				Reference<K, V> reference = findInChain(head, key, hash);
 				Entry<K, V> entry = (reference != null ? reference.get() : null);
-				Entries entries = new Entries() {
+				// Entries are only ever added for a key that is not present yet
+				Entries entries = (entry != null ? null : new Entries() {
 					@Override
 					public void add(V value) {
 						@SuppressWarnings("unchecked")
@@ -512,7 +523,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 						Segment.this.references[index] = newReference;
 						Segment.this.count++;
 					}
-				};
+				});
 				return task.execute(reference, entry, entries);
 			}
 			finally {
@@ -753,14 +764,18 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 */
 	private abstract class Task<T> {
 
-		private final EnumSet<TaskOption> options;
+		private final int options;
 
 		public Task(TaskOption... options) {
-			this.options = (options.length == 0 ? EnumSet.noneOf(TaskOption.class) : EnumSet.of(options[0], options));
+			int mask = 0;
+			for (TaskOption option : options) {
+				mask |= option.mask;
+			}
+			this.options = mask;
 		}
 
 		public boolean hasOption(TaskOption option) {
-			return this.options.contains(option);
+			return ((this.options & option.mask) != 0);
 		}
 
 		/**
@@ -795,7 +810,9 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 */
 	private enum TaskOption {
 
-		RESTRUCTURE_BEFORE, RESTRUCTURE_AFTER, SKIP_IF_EMPTY, RESIZE
+		RESTRUCTURE_BEFORE, RESTRUCTURE_AFTER, SKIP_IF_EMPTY, RESIZE;
+
+		private final int mask = (1 << ordinal());
 	}
 
 
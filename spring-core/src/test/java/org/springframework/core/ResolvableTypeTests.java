@@ -108,6 +108,13 @@ public class ResolvableTypeTests {
 		assertFalse(type.isAssignableFrom(ArrayList.class));
 	}
 
+	@Test
+	public void forClassIsShared() throws Exception {
+		assertSame(ResolvableType.forClass(ExtendsList.class), ResolvableType.forClass(ExtendsList.class));
+		assertSame(ResolvableType.forClass(String.class), ResolvableType.forType(String.class));
+		assertSame(ResolvableType.forClass(Object.class), ResolvableType.forClass(null));
+	}
+
 	@Test
 	public void forClassWithNull() throws Exception {
 		ResolvableType type = ResolvableType.forClass(null);
@@ -252,6 +259,26 @@ public class ResolvableTypeTests {
 		assertThat(type.getGeneric(1).resolve(), equalTo((Class) Integer.class));
 	}
 
+	@Test
+	public void forMethodParameterIsCachedPerNestingLevel() throws Exception {
+		Method method = Methods.class.getMethod("nested", Map.class);
+		MethodParameter methodParameter = MethodParameter.forExecutable(method, 0);
+		ResolvableType type = ResolvableType.forMethodParameter(methodParameter);
+		assertSame(type, ResolvableType.forMethodParameter(methodParameter));
+
+		methodParameter.increaseNestingLevel();
+		ResolvableType nestedType = ResolvableType.forMethodParameter(methodParameter);
+		assertNotSame(type, nestedType);
+		assertThat(nestedType.getGeneric(0).resolve(), equalTo((Class) Byte.class));
+
+		methodParameter.setTypeIndexForCurrentLevel(0);
+		assertThat(ResolvableType.forMethodParameter(methodParameter).getGeneric(0).resolve(),
+				equalTo((Class) String.class));
+
+		methodParameter.decreaseNestingLevel();
+		assertThat(ResolvableType.forMethodParameter(methodParameter), equalTo(type));
+	}
+
 	@Test
 	public void forMethodParameterMustNotBeNull() throws Exception {
 		this.thrown.expect(IllegalArgumentException.class);
@@ -675,6 +675,33 @@ public class AnnotatedElementUtilsTests {
 		assertArrayEquals("value", propFiles, testPropSource.value());
 	}
 
+	@Test
+	public void findMergedAnnotationIsCachedPerElement() {
+		Class<?> element = AliasedComposedContextConfigAndTestPropSourceClass.class;
+		ContextConfig contextConfig = findMergedAnnotation(element, ContextConfig.class);
+		assertNotNull("@ContextConfig on " + element, contextConfig);
+		assertSame(contextConfig, findMergedAnnotation(element, ContextConfig.class));
+
+		AnnotationUtils.clearCache();
+		ContextConfig recomputed = findMergedAnnotation(element, ContextConfig.class);
+		assertNotSame(contextConfig, recomputed);
+		assertEquals(contextConfig, recomputed);
+	}
+
+	@Test
+	public void findMergedAnnotationAttributesReturnsIndependentCopies() {
+		Class<?> element = AliasedComposedContextConfigAndTestPropSourceClass.class;
+		AnnotationAttributes attributes = findMergedAnnotationAttributes(element, ContextConfig.class);
+		assertNotNull("@ContextConfig on " + element, attributes);
+		attributes.getStringArray("locations")[0] = "modified.xml";
+		attributes.put("value", asArray("modified.xml"));
+
+		AnnotationAttributes cached = findMergedAnnotationAttributes(element, ContextConfig.class);
+		assertNotSame(attributes, cached);
+		assertArrayEquals("locations", asArray("test.xml"), cached.getStringArray("locations"));
+		assertArrayEquals("value", asArray("test.xml"), cached.getStringArray("value"));
+	}
+
 	@Test
 	public void findMergedAnnotationWithLocalAliasesThatConflictWithAttributesInMetaAnnotationByConvention() {
 		final String[] EMPTY = new String[0];
@@ -22,7 +22,6 @@ import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.List;
@@ -38,7 +37,6 @@ import org.springframework.core.Ordered;
 import org.springframework.core.annotation.subpackage.NonPublicAnnotatedClass;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ReflectionUtils;
 
 import static java.util.Arrays.*;
 import static java.util.stream.Collectors.*;
@@ -68,18 +66,7 @@ public class AnnotationUtilsTests {
 	}
 
 	static void clearCaches() {
-		clearCache("findAnnotationCache", "annotatedInterfaceCache", "metaPresentCache", "synthesizableCache",
-				"attributeAliasesCache", "attributeMethodsCache", "aliasDescriptorCache");
-	}
-
-	static void clearCache(String... cacheNames) {
-		stream(cacheNames).forEach(cacheName -> getCache(cacheName).clear());
-	}
-
-	static Map<?, ?> getCache(String cacheName) {
-		Field field = ReflectionUtils.findField(AnnotationUtils.class, cacheName);
-		ReflectionUtils.makeAccessible(field);
-		return (Map<?, ?>) ReflectionUtils.getField(field, null);
+		AnnotationUtils.clearCache();
 	}
 
 
@@ -152,6 +139,36 @@ public class AnnotationUtilsTests {
 		assertNull(findAnnotation(m, Order.class));
 	}
 
+	@Test
+	public void findMethodAnnotationNotAnnotatedIsCachedAsNegativeResult() throws Exception {
+		Method m = Leaf.class.getMethod("notAnnotated");
+		assertNull(findAnnotation(m, Order.class));
+		assertNull(findAnnotation(m, Order.class));
+		assertNotNull(findAnnotation(Leaf.class.getMethod("annotatedOnLeaf"), Order.class));
+	}
+
+	@Test
+	public void findAnnotationOnJdkTypes() throws Exception {
+		assertNull(findAnnotation(String.class, Component.class));
+		assertNull(findAnnotation(Runnable.class, Order.class));
+		assertNull(findAnnotation(Object.class.getMethod("toString"), Order.class));
+		assertNull(getAnnotation(String.class.getMethod("length"), Order.class));
+
+		// Plain Java annotations are still found on JDK types
+		assertNotNull(findAnnotation(Runnable.class, FunctionalInterface.class));
+		assertNotNull(findAnnotation(Thread.class.getMethod("stop"), Deprecated.class));
+	}
+
+	@Test
+	public void isCandidateClassForJdkTypes() {
+		assertFalse(isCandidateClass(String.class, Order.class));
+		assertFalse(isCandidateClass(Runnable.class, Order.class.getName()));
+		assertFalse(isCandidateClass(Ordered.class, Order.class));
+		assertTrue(isCandidateClass(Runnable.class, FunctionalInterface.class));
+		assertTrue(isCandidateClass(Leaf.class, Order.class));
+		assertTrue(isCandidateClass(Leaf.class, Order.class.getName()));
+	}
+
 	@Test
 	public void findMethodAnnotationOnBridgeMethod() throws Exception {
 		Method bridgeMethod = SimpleFoo.class.getMethod("something", Object.class);
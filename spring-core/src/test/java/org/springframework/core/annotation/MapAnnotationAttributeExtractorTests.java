@@ -17,6 +17,7 @@
 package org.springframework.core.annotation;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -27,6 +28,7 @@ import org.junit.Test;
 
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.ReflectionUtils;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -108,19 +110,19 @@ public class MapAnnotationAttributeExtractorTests extends AbstractAliasAwareAnno
 		expected.forEach((attr, expectedValue) -> assertThat("for attribute '" + attr + "'", enriched.get(attr), is(expectedValue)));
 	}
 
-	@SuppressWarnings("unchecked")
 	private void assertEnrichAndValidateAttributes(Map<String, Object> sourceAttributes, Map<String, Object> expected) {
 		Class<? extends Annotation> annotationType = ImplicitAliasesContextConfig.class;
 
 		// Since the ordering of attribute methods returned by the JVM is
-		// non-deterministic, we have to rig the attributeAliasesCache in AnnotationUtils
+		// non-deterministic, we have to rig the alias map of the AnnotationTypeMapping
 		// so that the tests consistently fail in case enrichAndValidateAttributes() is
 		// buggy.
 		//
 		// Otherwise, these tests would intermittently pass even for an invalid
 		// implementation.
-		Map<Class<? extends Annotation>, MultiValueMap<String, String>> attributeAliasesCache =
-				(Map<Class<? extends Annotation>, MultiValueMap<String, String>>) AnnotationUtilsTests.getCache("attributeAliasesCache");
+		AnnotationTypeMapping mapping = AnnotationUtils.getAnnotationTypeMapping(annotationType);
+		Field attributeAliasMap = ReflectionUtils.findField(AnnotationTypeMapping.class, "attributeAliasMap");
+		ReflectionUtils.makeAccessible(attributeAliasMap);
 
 		// Declare aliases in an order that will cause enrichAndValidateAttributes() to
 		// fail unless it considers all aliases in the set of implicit aliases.
@@ -132,7 +134,7 @@ public class MapAnnotationAttributeExtractorTests extends AbstractAliasAwareAnno
 		aliases.put("location2", Arrays.asList("xmlFile", "groovyScript", "value", "location1", "location3"));
 		aliases.put("location3", Arrays.asList("xmlFile", "groovyScript", "value", "location1", "location2"));
 
-		attributeAliasesCache.put(annotationType, aliases);
+		ReflectionUtils.setField(attributeAliasMap, mapping, aliases);
 
 		MapAnnotationAttributeExtractor extractor = new MapAnnotationAttributeExtractor(sourceAttributes, annotationType, null);
 		Map<String, Object> enriched = extractor.getSource();
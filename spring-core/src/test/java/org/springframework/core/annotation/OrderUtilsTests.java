@@ -48,6 +48,19 @@ public class OrderUtilsTests {
 		assertEquals(33, OrderUtils.getOrder(NoOrder.class, 33));
 	}
 
+	@Test
+	public void getDefaultOrderIsStableForNonAnnotatedType() {
+		assertNull(OrderUtils.getOrder(NoOrder.class));
+		assertEquals(33, OrderUtils.getOrder(NoOrder.class, 33));
+		assertEquals(Integer.valueOf(50), OrderUtils.getOrder(SimpleOrder.class));
+	}
+
+	@Test
+	public void getDefaultOrderForJdkType() {
+		assertNull(OrderUtils.getOrder(String.class));
+		assertEquals(33, OrderUtils.getOrder(Runnable.class, 33));
+	}
+
 	@Test
 	public void getPriorityValueNoAnnotation() {
 		assertNull(OrderUtils.getPriority(SimpleOrder.class));
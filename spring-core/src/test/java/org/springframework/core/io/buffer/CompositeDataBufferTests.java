@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.netty.buffer.ByteBuf;
+import org.junit.Test;
+
+import org.springframework.util.StreamUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CompositeDataBuffer}.
+ */
+public class CompositeDataBufferTests {
+
+	private final PoolingDataBufferFactory bufferFactory = new PoolingDataBufferFactory();
+
+
+	@Test
+	public void read() {
+		CompositeDataBuffer composite = composite("foo", "", "bar", "baz");
+		assertEquals(9, composite.readableByteCount());
+		assertEquals('f', composite.read());
+
+		byte[] bytes = new byte[7];
+		composite.read(bytes);
+		assertArrayEquals("oobarba".getBytes(StandardCharsets.UTF_8), bytes);
+		assertEquals(1, composite.readableByteCount());
+		assertEquals('z', composite.read());
+		assertEquals(0, composite.readableByteCount());
+	}
+
+	@Test
+	public void indexOf() {
+		CompositeDataBuffer composite = composite("foo", "bar", "baz");
+		assertEquals(3, composite.indexOf(b -> b == 'b', 0));
+		assertEquals(6, composite.indexOf(b -> b == 'b', 4));
+		assertEquals(-1, composite.indexOf(b -> b == 'x', 0));
+		assertEquals(7, composite.lastIndexOf(b -> b == 'a', 8));
+		assertEquals(4, composite.lastIndexOf(b -> b == 'a', 6));
+		assertEquals(-1, composite.lastIndexOf(b -> b == 'z', 7));
+	}
+
+	@Test
+	public void slice() {
+		CompositeDataBuffer composite = composite("foo", "bar", "baz");
+		assertEquals("oob", string(composite.slice(1, 3)));
+		assertEquals("ar", string(composite.slice(4, 2)));
+		assertEquals("obarbaz", string(composite.slice(2, 7)));
+	}
+
+	@Test
+	public void write() {
+		CompositeDataBuffer composite = composite("foo", "bar");
+		composite.write((byte) '-');
+		composite.write("baz".getBytes(StandardCharsets.UTF_8));
+		composite.write(new byte[200]);
+
+		assertEquals(3, composite.getComponentCount());
+		assertEquals(210, composite.readableByteCount());
+		assertEquals(6, composite.indexOf(b -> b == '-', 0));
+		assertEquals("foobar-baz", string(composite.slice(0, 10)));
+	}
+
+	@Test
+	public void asByteBuffers() {
+		CompositeDataBuffer composite = composite("foo", "", "bar", "baz");
+		composite.read();
+		composite.read(new byte[3]);
+
+		ByteBuffer[] byteBuffers = composite.asByteBuffers();
+		assertEquals(2, byteBuffers.length);
+		assertEquals("ar", StandardCharsets.UTF_8.decode(byteBuffers[0]).toString());
+		assertEquals("baz", StandardCharsets.UTF_8.decode(byteBuffers[1]).toString());
+		assertEquals(5, composite.readableByteCount());
+		assertEquals("arbaz", StandardCharsets.UTF_8.decode(composite.asByteBuffer()).toString());
+	}
+
+	@Test
+	public void asInputStream() throws Exception {
+		CompositeDataBuffer composite = composite("foo", "bar", "baz");
+		InputStream inputStream = composite.asInputStream();
+		assertEquals("foobarbaz", StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8));
+		assertEquals(-1, inputStream.read());
+	}
+
+	@Test
+	public void releasesComponents() {
+		PooledDataBuffer foo = (PooledDataBuffer) stringBuffer("foo");
+		PooledDataBuffer bar = (PooledDataBuffer) stringBuffer("bar");
+		CompositeDataBuffer composite = new CompositeDataBuffer(this.bufferFactory, Arrays.asList(foo, bar));
+
+		composite.retain();
+		assertFalse(composite.release());
+		assertTrue(composite.release());
+		try {
+			foo.release();
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException expected) {
+		}
+	}
+
+	@Test
+	public void releasesComponentsThroughNettyByteBuf() {
+		PooledDataBuffer foo = (PooledDataBuffer) stringBuffer("foo");
+		PooledDataBuffer bar = (PooledDataBuffer) stringBuffer("bar");
+		CompositeDataBuffer composite = new CompositeDataBuffer(this.bufferFactory, Arrays.asList(foo, bar));
+		composite.read();
+
+		ByteBuf byteBuf = NettyDataBufferFactory.toByteBuf(composite);
+		assertEquals("oobar", byteBuf.toString(StandardCharsets.UTF_8));
+		assertTrue(byteBuf.release());
+		try {
+			foo.release();
+			fail("IllegalStateException expected");
+		}
+		catch (IllegalStateException expected) {
+		}
+	}
+
+
+	private CompositeDataBuffer composite(String... values) {
+		DataBuffer[] buffers = Arrays.stream(values).map(this::stringBuffer).toArray(DataBuffer[]::new);
+		return new CompositeDataBuffer(this.bufferFactory, Arrays.asList(buffers));
+	}
+
+	private DataBuffer stringBuffer(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		return this.bufferFactory.allocateBuffer(bytes.length).write(bytes);
+	}
+
+	private static String string(DataBuffer dataBuffer) {
+		byte[] bytes = new byte[dataBuffer.readableByteCount()];
+		dataBuffer.read(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
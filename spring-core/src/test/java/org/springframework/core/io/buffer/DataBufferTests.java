@@ -267,6 +267,20 @@ public class DataBufferTests extends AbstractDataBufferAllocatingTestCase {
 	}
 
 
+	@Test
+	public void join() {
+		DataBuffer composite = this.bufferFactory.join(Arrays.asList(stringBuffer("a"),
+				stringBuffer("b"), stringBuffer("c")));
+		assertEquals(3, composite.readableByteCount());
+		assertEquals(1, composite.indexOf(b -> b == 'b', 0));
+
+		byte[] bytes = new byte[3];
+		composite.read(bytes);
+		assertArrayEquals(new byte[] {'a', 'b', 'c'}, bytes);
+
+		release(composite);
+	}
+
 	@Test
 	public void growDataBuffer() {
 		DataBuffer buffer = stringBuffer("Hello World!");
@@ -16,17 +16,24 @@
 
 package org.springframework.core.io.buffer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 
 import org.junit.Test;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
 /**
@@ -112,6 +119,132 @@ public class DataBufferUtilsTests extends AbstractDataBufferAllocatingTestCase {
 				.verify();
 	}
 
+	@Test
+	public void writeOutputStream() throws Exception {
+		Flux<DataBuffer> flux = Flux.just(stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		Mono<Void> writeResult = DataBufferUtils.write(flux, os);
+
+		StepVerifier.create(writeResult).expectComplete().verify();
+		assertEquals("foobarbaz", os.toString("UTF-8"));
+	}
+
+	@Test
+	public void writeWritableByteChannel() throws Exception {
+		Flux<DataBuffer> flux = Flux.just(stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"));
+		Path tempFile = Files.createTempFile("DataBufferUtilsTests", null);
+		FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+		Mono<Void> writeResult = DataBufferUtils.write(flux, channel);
+
+		StepVerifier.create(writeResult).expectComplete().verify();
+		channel.close();
+		assertEquals("foobarbaz", new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void writeWritableByteChannelError() throws Exception {
+		Flux<DataBuffer> flux = Flux.concat(Flux.just(stringBuffer("foo")),
+				Flux.error(new RuntimeException()));
+		Path tempFile = Files.createTempFile("DataBufferUtilsTests", null);
+		FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+		Mono<Void> writeResult = DataBufferUtils.write(flux, channel);
+
+		StepVerifier.create(writeResult).expectError(RuntimeException.class).verify();
+		channel.close();
+		assertEquals("foo", new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void writeAsynchronousFileChannel() throws Exception {
+		Flux<DataBuffer> flux = Flux.just(stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"));
+		Path tempFile = Files.createTempFile("DataBufferUtilsTests", null);
+		AsynchronousFileChannel channel = AsynchronousFileChannel.open(tempFile, StandardOpenOption.WRITE);
+		Mono<Void> writeResult = DataBufferUtils.write(flux, channel, 0);
+
+		StepVerifier.create(writeResult).expectComplete().verify();
+		channel.close();
+		assertEquals("foobarbaz", new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void writeAsynchronousFileChannelPosition() throws Exception {
+		Flux<DataBuffer> flux = Flux.just(stringBuffer("bar"), stringBuffer("baz"));
+		Path tempFile = Files.createTempFile("DataBufferUtilsTests", null);
+		Files.write(tempFile, "foo".getBytes(StandardCharsets.UTF_8));
+		AsynchronousFileChannel channel = AsynchronousFileChannel.open(tempFile, StandardOpenOption.WRITE);
+		Mono<Void> writeResult = DataBufferUtils.write(flux, channel, 3);
+
+		StepVerifier.create(writeResult).expectComplete().verify();
+		channel.close();
+		assertEquals("foobarbaz", new String(Files.readAllBytes(tempFile), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void transferToPath() throws Exception {
+		Path source = Paths.get(DataBufferUtilsTests.class.getResource("DataBufferUtilsTests.txt").toURI());
+		Path destination = Files.createTempFile("DataBufferUtilsTests", null);
+
+		StepVerifier.create(DataBufferUtils.transferTo(source, destination))
+				.expectNext(12L)
+				.expectComplete()
+				.verify();
+		assertEquals("foobarbazqux", new String(Files.readAllBytes(destination), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void transferToChannelPosition() throws Exception {
+		URI uri = DataBufferUtilsTests.class.getResource("DataBufferUtilsTests.txt").toURI();
+		FileChannel channel = FileChannel.open(Paths.get(uri), StandardOpenOption.READ);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		StepVerifier.create(DataBufferUtils.transferTo(channel, 3, 6, Channels.newChannel(os)))
+				.expectNext(6L)
+				.expectComplete()
+				.verify();
+		channel.close();
+		assertEquals("barbaz", os.toString("UTF-8"));
+	}
+
+	@Test
+	public void join() {
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer baz = stringBuffer("baz");
+		Flux<DataBuffer> flux = Flux.just(foo, bar, baz);
+		Mono<DataBuffer> result = DataBufferUtils.join(flux);
+
+		StepVerifier.create(result)
+				.consumeNextWith(stringConsumer("foobarbaz"))
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void joinEmpty() {
+		StepVerifier.create(DataBufferUtils.join(Flux.empty()))
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void joinWithinLimit() {
+		Flux<DataBuffer> flux = Flux.just(stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"));
+
+		StepVerifier.create(DataBufferUtils.join(flux, 9))
+				.consumeNextWith(stringConsumer("foobarbaz"))
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void joinExceedingLimit() {
+		Flux<DataBuffer> flux = Flux.just(stringBuffer("foo"), stringBuffer("bar"), stringBuffer("baz"));
+
+		StepVerifier.create(DataBufferUtils.join(flux, 8))
+				.expectError(DataBufferLimitException.class)
+				.verify();
+	}
+
 	@Test
 	public void takeUntilByteCount() throws Exception {
 		DataBuffer foo = stringBuffer("foo");
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PoolingDataBufferFactory}.
+ */
+public class PoolingDataBufferFactoryTests {
+
+	private final PoolingDataBufferFactory bufferFactory = new PoolingDataBufferFactory();
+
+
+	@Test
+	public void roundsUpToSizeClass() {
+		assertEquals(64, nativeBuffer(this.bufferFactory.allocateBuffer(1)).capacity());
+		assertEquals(128, nativeBuffer(this.bufferFactory.allocateBuffer(65)).capacity());
+		assertEquals(8192, nativeBuffer(this.bufferFactory.allocateBuffer(8192)).capacity());
+		assertEquals(100000, nativeBuffer(this.bufferFactory.allocateBuffer(100000)).capacity());
+	}
+
+	@Test
+	public void reusesReleasedBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		ByteBuffer byteBuffer = nativeBuffer(buffer);
+		buffer.write("foo".getBytes(StandardCharsets.UTF_8));
+		assertTrue(DataBufferUtils.release(buffer));
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(128);
+		assertSame(byteBuffer, nativeBuffer(other));
+		assertEquals(0, other.readableByteCount());
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	public void reusesBufferReleasedInOtherThread() throws Exception {
+		this.bufferFactory.setThreadCacheSize(0);
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		ByteBuffer byteBuffer = nativeBuffer(buffer);
+		Thread thread = new Thread(() -> DataBufferUtils.release(buffer));
+		thread.start();
+		thread.join();
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(100);
+		assertSame(byteBuffer, nativeBuffer(other));
+	}
+
+	@Test
+	public void clearCachesDropsSharedPool() {
+		this.bufferFactory.setThreadCacheSize(0);
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		ByteBuffer byteBuffer = nativeBuffer(buffer);
+		DataBufferUtils.release(buffer);
+		this.bufferFactory.clearCaches();
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(100);
+		assertNotSame(byteBuffer, nativeBuffer(other));
+	}
+
+	@Test
+	public void clearCachesDropsThreadCacheOfOtherThread() throws Exception {
+		AtomicReference<ByteBuffer> released = new AtomicReference<>();
+		AtomicReference<ByteBuffer> reallocated = new AtomicReference<>();
+		CountDownLatch releasedLatch = new CountDownLatch(1);
+		CountDownLatch clearedLatch = new CountDownLatch(1);
+		Thread thread = new Thread(() -> {
+			DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+			released.set(nativeBuffer(buffer));
+			DataBufferUtils.release(buffer);
+			releasedLatch.countDown();
+			try {
+				clearedLatch.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			reallocated.set(nativeBuffer(this.bufferFactory.allocateBuffer(100)));
+		});
+		thread.start();
+		assertTrue(releasedLatch.await(5, TimeUnit.SECONDS));
+		this.bufferFactory.clearCaches();
+		clearedLatch.countDown();
+		thread.join(5000);
+
+		assertNotNull(reallocated.get());
+		assertNotSame(released.get(), reallocated.get());
+	}
+
+	@Test
+	public void doesNotReuseRetainedBuffer() {
+		PooledDataBuffer buffer = (PooledDataBuffer) this.bufferFactory.allocateBuffer(100);
+		ByteBuffer byteBuffer = nativeBuffer(buffer);
+		buffer.retain();
+		assertFalse(buffer.release());
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(100);
+		assertNotSame(byteBuffer, nativeBuffer(other));
+		assertTrue(buffer.release());
+	}
+
+	@Test
+	public void growsIntoPooledBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		ByteBuffer byteBuffer = nativeBuffer(buffer);
+		buffer.write(new byte[100]);
+		assertEquals(128, nativeBuffer(buffer).capacity());
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(64);
+		assertSame(byteBuffer, nativeBuffer(other));
+	}
+
+	@Test
+	public void sliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(64);
+		buffer.write("foobar".getBytes(StandardCharsets.UTF_8));
+		DataBuffer slice = buffer.slice(3, 3);
+		assertTrue(slice instanceof PooledDataBuffer);
+
+		DataBufferUtils.retain(slice);
+		assertFalse(DataBufferUtils.release(buffer));
+		assertTrue(DataBufferUtils.release(slice));
+	}
+
+	@Test
+	public void wrappedBufferIsNotPooled() {
+		DataBuffer buffer = this.bufferFactory.wrap("foo".getBytes(StandardCharsets.UTF_8));
+		assertFalse(buffer instanceof PooledDataBuffer);
+	}
+
+	@Test
+	public void reportsLeak() throws Exception {
+		AtomicInteger leaks = new AtomicInteger();
+		this.bufferFactory.setLeakListener((capacity, allocationSite) -> leaks.incrementAndGet());
+
+		DataBufferUtils.release(this.bufferFactory.allocateBuffer(64));
+		this.bufferFactory.allocateBuffer(64);
+		for (int i = 0; i < 20 && leaks.get() == 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+			DataBufferUtils.release(this.bufferFactory.allocateBuffer(64));
+		}
+		assertEquals(1, leaks.get());
+	}
+
+
+	private static ByteBuffer nativeBuffer(DataBuffer dataBuffer) {
+		return ((DefaultDataBuffer) dataBuffer).getNativeBuffer();
+	}
+
+}
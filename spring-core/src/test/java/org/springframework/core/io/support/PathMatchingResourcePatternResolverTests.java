@@ -106,6 +106,28 @@ public class PathMatchingResourcePatternResolverTests {
 		assertProtocolAndFilenames(resources, "jar", CLASSES_IN_REACTIVESTREAMS);
 	}
 
+	@Test
+	public void classpathStarWithPatternInJarWithCachedJarEntries() throws IOException {
+		resolver.setCacheJarEntries(true);
+		Resource[] resources = resolver.getResources("classpath*:org/reactivestreams/*.class");
+		assertProtocolAndFilenames(resources, "jar", CLASSES_IN_REACTIVESTREAMS);
+		resources = resolver.getResources("classpath*:org/reactivestreams/Pr*.class");
+		assertProtocolAndFilenames(resources, "jar", "Processor.class");
+		resolver.clearCache();
+		resources = resolver.getResources("classpath*:org/reactivestreams/Su*.class");
+		assertProtocolAndFilenames(resources, "jar", "Subscriber.class", "Subscription.class");
+	}
+
+	@Test
+	public void classpathStarWithPatternInJarFilesInParallel() throws IOException {
+		Resource[] expected = resolver.getResources("classpath*:META-INF/*.MF");
+		assertTrue(expected.length > 1);
+		resolver.setJarScanParallelism(4);
+		resolver.setCacheJarEntries(true);
+		assertEquals(Arrays.asList(expected), Arrays.asList(resolver.getResources("classpath*:META-INF/*.MF")));
+		assertEquals(Arrays.asList(expected), Arrays.asList(resolver.getResources("classpath*:META-INF/*.MF")));
+	}
+
 	@Test
 	public void rootPatternRetrievalInJarFiles() throws IOException {
 		Resource[] resources = resolver.getResources("classpath*:*.dtd");
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.core.metrics.BufferingApplicationStartup.TimelineEvent;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BufferingApplicationStartup}.
+ */
+public class BufferingApplicationStartupTests {
+
+	@Test
+	public void nestedStepsAreRecordedWithParent() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("test.outer").tag("name", "value");
+		StartupStep inner = applicationStartup.start("test.inner");
+		inner.end();
+		outer.end();
+		StartupStep next = applicationStartup.start("test.next");
+		next.end();
+
+		List<TimelineEvent> timeline = applicationStartup.getTimeline();
+		assertEquals(3, timeline.size());
+		assertEquals("test.outer", timeline.get(0).getName());
+		assertNull(timeline.get(0).getParentId());
+		assertEquals("value", timeline.get(0).getTags().get("name"));
+		assertEquals("test.inner", timeline.get(1).getName());
+		assertEquals(Long.valueOf(outer.getId()), timeline.get(1).getParentId());
+		assertEquals("test.next", timeline.get(2).getName());
+		assertNull(timeline.get(2).getParentId());
+		assertTrue(timeline.get(0).getDuration().compareTo(timeline.get(1).getDuration()) >= 0);
+	}
+
+	@Test
+	public void abandonedStepIsUnwoundByParent() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("test.outer");
+		applicationStartup.start("test.abandoned");
+		outer.end();
+		StartupStep next = applicationStartup.start("test.next");
+		assertNull(next.getParentId());
+	}
+
+	@Test
+	public void stepsBeyondCapacityAreDropped() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(2);
+		for (int i = 0; i < 3; i++) {
+			applicationStartup.start("test.step").end();
+		}
+		assertEquals(2, applicationStartup.getTimeline().size());
+		assertTrue(applicationStartup.isCapacityExceeded());
+	}
+
+	@Test
+	public void foldedStacks() throws IOException {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+		StartupStep outer = applicationStartup.start("test.outer").tag("name", "value");
+		applicationStartup.start("test.inner").tag("first", "1").tag("second", () -> "2").end();
+		outer.end();
+
+		StringBuilder out = new StringBuilder();
+		applicationStartup.writeFoldedStacks(out);
+		String[] lines = out.toString().split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].matches("test\\.outer\\[name=value] \\d+"));
+		assertTrue(lines[1].matches("test\\.outer\\[name=value];test\\.inner\\[first=1,second=2] \\d+"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void tagAfterEnd() {
+		StartupStep step = new BufferingApplicationStartup(10).start("test.step");
+		step.end();
+		step.tag("name", "value");
+	}
+
+	@Test
+	public void defaultStepDoesNotEvaluateTags() {
+		StartupStep step = ApplicationStartup.DEFAULT.start("test.step").tag("name", () -> {
+			throw new AssertionError("Should not be evaluated");
+		});
+		step.end();
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CachingMetadataReaderFactory}.
+ *
+ * @since 5.0
+ */
+public class CachingMetadataReaderFactoryTests {
+
+	private final DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+
+	private final Map<Resource, MetadataReader> sharedCache =
+			this.resourceLoader.getResourceCache(MetadataReader.class);
+
+
+	@Test
+	public void sharedCacheReturnsCachedReader() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory(this.resourceLoader);
+		MetadataReader reader = factory.getMetadataReader(String.class.getName());
+
+		assertSame(reader, factory.getMetadataReader(String.class.getName()));
+		assertSame(reader, new CachingMetadataReaderFactory(this.resourceLoader)
+				.getMetadataReader(String.class.getName()));
+	}
+
+	@Test
+	public void sharedCacheEvictsEntriesBeyondLimit() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory(this.resourceLoader);
+		factory.setSharedCacheLimit(2);
+		factory.getMetadataReader(String.class.getName());
+		factory.getMetadataReader(Integer.class.getName());
+		MetadataReader reader = factory.getMetadataReader(Long.class.getName());
+
+		assertEquals(2, this.sharedCache.size());
+		assertTrue(this.sharedCache.containsValue(reader));
+		assertSame(reader, factory.getMetadataReader(Long.class.getName()));
+	}
+
+	@Test
+	public void sharedCacheLimitOfZeroDisablesCaching() throws Exception {
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory(this.resourceLoader);
+		factory.setSharedCacheLimit(0);
+		factory.getMetadataReader(String.class.getName());
+
+		assertTrue(this.sharedCache.isEmpty());
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CompactAnnotationMetadata} and the shared cache limit
+ * of {@link CachingMetadataReaderFactory}.
+ *
+ * @since 5.0
+ */
+public class CompactAnnotationMetadataTests {
+
+	private final MetadataReaderFactory metadataReaderFactory = new SimpleMetadataReaderFactory();
+
+
+	@Test
+	public void metadataReaderExposesCompactMetadata() throws Exception {
+		MetadataReader reader = this.metadataReaderFactory.getMetadataReader(AnnotatedComponent.class.getName());
+		AnnotationMetadata metadata = reader.getAnnotationMetadata();
+
+		assertThat(metadata, instanceOf(CompactAnnotationMetadata.class));
+		assertSame(metadata, reader.getClassMetadata());
+		assertSame(AnnotatedComponent.class.getName().intern(), metadata.getClassName());
+		assertThat(metadata.hasAnnotation(TypeMarker.class.getName()), is(true));
+		assertThat(metadata.getAnnotationAttributes(TypeMarker.class.getName()).get("value"), is("type"));
+	}
+
+	@Test
+	public void annotationAttributesAreDecodedIntoFreshInstances() throws Exception {
+		AnnotationMetadata metadata = this.metadataReaderFactory.getMetadataReader(
+				AnnotatedComponent.class.getName()).getAnnotationMetadata();
+
+		AnnotationAttributes attributes =
+				AnnotationAttributes.fromMap(metadata.getAnnotationAttributes(TypeMarker.class.getName()));
+		attributes.put("value", "modified");
+		((String[]) attributes.get("tags"))[0] = "modified";
+		Map<String, Object> all = metadata.getAllAnnotationAttributes(TypeMarker.class.getName()).toSingleValueMap();
+		all.put("value", "modified");
+
+		AnnotationAttributes fresh =
+				AnnotationAttributes.fromMap(metadata.getAnnotationAttributes(TypeMarker.class.getName()));
+		assertNotSame(attributes, fresh);
+		assertThat(fresh.getString("value"), is("type"));
+		assertThat(fresh.getStringArray("tags")[0], is("a"));
+		assertThat(fresh.annotationType(), equalTo(TypeMarker.class));
+	}
+
+	@Test
+	public void annotatedMethodsAreStableAcrossLookups() throws Exception {
+		AnnotationMetadata metadata = this.metadataReaderFactory.getMetadataReader(
+				AnnotatedComponent.class.getName()).getAnnotationMetadata();
+
+		Set<MethodMetadata> methods = metadata.getAnnotatedMethods(TypeMarker.class.getName());
+		assertThat(methods.size(), is(1));
+		MethodMetadata method = methods.iterator().next();
+		assertThat(method.getMethodName(), is("work"));
+		assertThat(method.getDeclaringClassName(), is(AnnotatedComponent.class.getName()));
+		assertThat(method.isOverridable(), is(true));
+		assertThat(method.getAnnotationAttributes(TypeMarker.class.getName()).get("value"), is("method"));
+		assertSame(method, metadata.getAnnotatedMethods(TypeMarker.class.getName()).iterator().next());
+	}
+
+	@Test
+	public void sharedCacheLimit() throws Exception {
+		DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory(resourceLoader);
+		factory.setSharedCacheLimit(1);
+		assertThat(factory.getCacheLimit(), is(1));
+
+		Resource first = resourceLoader.getResource("classpath:" +
+				AnnotatedComponent.class.getName().replace('.', '/') + ".class");
+		Resource second = resourceLoader.getResource("classpath:" +
+				TypeMarker.class.getName().replace('.', '/') + ".class");
+		assertSame(factory.getMetadataReader(first), factory.getMetadataReader(first));
+		assertNotSame(factory.getMetadataReader(second), factory.getMetadataReader(second));
+		assertThat(resourceLoader.getResourceCache(MetadataReader.class).size(), is(1));
+
+		resourceLoader.clearResourceCaches();
+		assertThat(resourceLoader.getResourceCache(MetadataReader.class).size(), is(0));
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface TypeMarker {
+
+		String value();
+
+		String[] tags() default {"a", "b"};
+	}
+
+
+	@TypeMarker("type")
+	public static class AnnotatedComponent {
+
+		@TypeMarker("method")
+		public void work() {
+		}
+	}
+
+}
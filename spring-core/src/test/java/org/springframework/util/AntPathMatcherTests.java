@@ -616,10 +616,15 @@ public class AntPathMatcherTests {
 		assertTrue(pathMatcher.stringMatcherCache.size() > 20);
 
 		for (int i = 0; i < 65536; i++) {
-			pathMatcher.match("test" + i, "test");
+			pathMatcher.match("test" + i, "test" + i);
 		}
-		// Cache turned off because it went beyond the threshold
-		assertTrue(pathMatcher.stringMatcherCache.isEmpty());
+		// Cache keeps being bounded, evicting least recently used patterns
+		assertEquals(65536, pathMatcher.stringMatcherCache.size());
+		assertTrue(pathMatcher.stringMatcherCache.getEvictionCount() > 0);
+
+		long hits = pathMatcher.getCacheHitCount();
+		pathMatcher.match("test65535", "test65535");
+		assertEquals(hits + 2, pathMatcher.getCacheHitCount());
 	}
 
 	@Test
@@ -671,7 +676,7 @@ public class AntPathMatcherTests {
 	public void cachePatternsSetToFalse() {
 		pathMatcher.setCachePatterns(false);
 		match();
-		assertTrue(pathMatcher.stringMatcherCache.isEmpty());
+		assertEquals(0, pathMatcher.stringMatcherCache.size());
 	}
 
 	@Test
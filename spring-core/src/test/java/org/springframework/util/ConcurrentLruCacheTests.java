@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ConcurrentLruCache}.
+ */
+public class ConcurrentLruCacheTests {
+
+	private final ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2);
+
+
+	@Test
+	public void getAndPut() {
+		assertNull(this.cache.get("k1"));
+		this.cache.put("k1", "v1");
+		assertEquals("v1", this.cache.get("k1"));
+		assertEquals(1, this.cache.size());
+		assertEquals(1, this.cache.getHitCount());
+		assertEquals(1, this.cache.getMissCount());
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsed() {
+		this.cache.put("k1", "v1");
+		this.cache.put("k2", "v2");
+		this.cache.get("k1");
+		this.cache.put("k3", "v3");
+
+		assertEquals(2, this.cache.size());
+		assertEquals("v1", this.cache.get("k1"));
+		assertNull(this.cache.get("k2"));
+		assertEquals("v3", this.cache.get("k3"));
+		assertEquals(1, this.cache.getEvictionCount());
+	}
+
+	@Test
+	public void evictsOldestIfAllRecentlyUsed() {
+		this.cache.put("k1", "v1");
+		this.cache.put("k2", "v2");
+		this.cache.get("k1");
+		this.cache.get("k2");
+		this.cache.put("k3", "v3");
+
+		assertEquals(2, this.cache.size());
+		assertNull(this.cache.get("k1"));
+		assertEquals("v2", this.cache.get("k2"));
+		assertEquals("v3", this.cache.get("k3"));
+	}
+
+	@Test
+	public void replaceValue() {
+		this.cache.put("k1", "v1");
+		this.cache.put("k1", "v2");
+		this.cache.put("k2", "v2");
+
+		assertEquals(2, this.cache.size());
+		assertEquals("v2", this.cache.get("k1"));
+		assertEquals(0, this.cache.getEvictionCount());
+	}
+
+	@Test
+	public void removeAndClear() {
+		this.cache.put("k1", "v1");
+		this.cache.put("k2", "v2");
+		assertTrue(this.cache.remove("k1"));
+		assertFalse(this.cache.remove("k1"));
+		this.cache.put("k3", "v3");
+		assertEquals(2, this.cache.size());
+		assertEquals(0, this.cache.getEvictionCount());
+
+		this.cache.clear();
+		assertEquals(0, this.cache.size());
+		assertNull(this.cache.get("k2"));
+	}
+
+	@Test
+	public void removePurgesStaleQueueEntries() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(100);
+		for (int i = 0; i < 1000; i++) {
+			cache.put("k" + i, "v" + i);
+			cache.remove("k" + i);
+		}
+		assertEquals(0, cache.size());
+		assertTrue(cache.getQueueLength() <= 17);
+
+		for (int i = 0; i < 1000; i++) {
+			cache.put("k", "v" + i);
+		}
+		assertEquals(1, cache.size());
+		assertEquals("v999", cache.get("k"));
+		assertTrue(cache.getQueueLength() <= 18);
+	}
+
+	@Test
+	public void unboundedSizeLimit() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(Integer.MAX_VALUE);
+		for (int i = 0; i < 1000; i++) {
+			cache.put("k" + i, "v" + i);
+		}
+		cache.put("k1", "v");
+		assertTrue(cache.remove("k2"));
+		assertEquals(999, cache.size());
+		assertEquals("v", cache.get("k1"));
+		assertEquals(0, cache.getQueueLength());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void zeroSizeLimit() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(0);
+		cache.put("k1", "v1");
+		assertEquals(0, cache.size());
+		assertNull(cache.get("k1"));
+	}
+
+}
@@ -268,6 +268,36 @@ public class ConcurrentReferenceHashMapTests {
 		assertThat(this.map.get(null), is("123"));
 	}
 
+	@Test
+	public void shouldPutIfAbsentFromConcurrentThreads() throws Exception {
+		ConcurrentReferenceHashMap<Integer, String> map = new ConcurrentReferenceHashMap<>(16, 2);
+		int threadCount = 8;
+		int keyCount = 1000;
+		String[][] observed = new String[threadCount][keyCount];
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < threadCount; t++) {
+			int thread = t;
+			threads.add(new Thread(() -> {
+				for (int key = 0; key < keyCount; key++) {
+					String previous = map.putIfAbsent(key, key + "-" + thread);
+					observed[thread][key] = (previous != null ? previous : map.get(key));
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(map.size(), is(keyCount));
+		for (int key = 0; key < keyCount; key++) {
+			for (int t = 0; t < threadCount; t++) {
+				assertThat(observed[t][key], is(map.get(key)));
+			}
+		}
+	}
+
 	@Test
 	public void shouldRemoveKeyAndValue() throws Exception {
 		this.map.put(123, "123");
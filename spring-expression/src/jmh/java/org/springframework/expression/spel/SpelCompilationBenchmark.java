@@ -0,0 +1,108 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Benchmarks comparing interpreted and compiled evaluation of SpEL expressions.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpelCompilationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class ExpressionState {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		public Person root;
+
+		public Expression propertyExpression;
+
+		public Expression arithmeticExpression;
+
+		public Expression methodExpression;
+
+		@Setup
+		public void setup() {
+			SpelExpressionParser parser = new SpelExpressionParser(
+					new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader()));
+			this.root = new Person("Jane", 42);
+			this.propertyExpression = parser.parseExpression("name");
+			this.arithmeticExpression = parser.parseExpression("age * 2 + 1 > 50");
+			this.methodExpression = parser.parseExpression("name.substring(1).length()");
+			// Evaluate once so that IMMEDIATE mode has compiled the expressions
+			this.propertyExpression.getValue(this.root);
+			this.arithmeticExpression.getValue(this.root);
+			this.methodExpression.getValue(this.root);
+		}
+	}
+
+
+	@Benchmark
+	public Object property(ExpressionState state) {
+		return state.propertyExpression.getValue(state.root);
+	}
+
+	@Benchmark
+	public Object arithmetic(ExpressionState state) {
+		return state.arithmeticExpression.getValue(state.root);
+	}
+
+	@Benchmark
+	public Object methodInvocation(ExpressionState state) {
+		return state.methodExpression.getValue(state.root);
+	}
+
+
+	public static class Person {
+
+		private final String name;
+
+		private final int age;
+
+		public Person(String name, int age) {
+			this.name = name;
+			this.age = age;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+	}
+
+}
@@ -22,7 +22,6 @@ import java.util.List;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
-import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
 import org.springframework.messaging.handler.annotation.support.MessageHandlerMethodFactory;
@@ -42,7 +41,7 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 
 	private MessageHandlerMethodFactory messageHandlerMethodFactory;
 
-	private JmsListenerContainerFactory<?> containerFactory;
+	private volatile JmsListenerContainerFactory<?> containerFactory;
 
 	private String containerFactoryBeanName;
 
@@ -52,7 +51,7 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 
 	private boolean startImmediately;
 
-	private Object mutex = endpointDescriptors;
+	private final Object mutex = this.endpointDescriptors;
 
 
 	/**
@@ -119,9 +118,6 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
-		if (beanFactory instanceof ConfigurableBeanFactory) {
-			this.mutex = ((ConfigurableBeanFactory) beanFactory).getSingletonMutex();
-		}
 	}
 
 
@@ -131,13 +127,16 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 	}
 
 	protected void registerAllEndpoints() {
+		List<JmsListenerEndpointDescriptor> descriptors;
 		synchronized (this.mutex) {
-			for (JmsListenerEndpointDescriptor descriptor : this.endpointDescriptors) {
-				this.endpointRegistry.registerListenerContainer(
-						descriptor.endpoint, resolveContainerFactory(descriptor));
-			}
+			descriptors = new ArrayList<>(this.endpointDescriptors);
 			this.startImmediately = true;  // trigger immediate startup
 		}
+		// Resolving a container factory may trigger bean creation -> not within the mutex
+		for (JmsListenerEndpointDescriptor descriptor : descriptors) {
+			this.endpointRegistry.registerListenerContainer(
+					descriptor.endpoint, resolveContainerFactory(descriptor));
+		}
 	}
 
 	private JmsListenerContainerFactory<?> resolveContainerFactory(JmsListenerEndpointDescriptor descriptor) {
@@ -175,14 +174,14 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 		JmsListenerEndpointDescriptor descriptor = new JmsListenerEndpointDescriptor(endpoint, factory);
 
 		synchronized (this.mutex) {
-			if (this.startImmediately) {  // register and start immediately
-				this.endpointRegistry.registerListenerContainer(descriptor.endpoint,
-						resolveContainerFactory(descriptor), true);
-			}
-			else {
+			if (!this.startImmediately) {
 				this.endpointDescriptors.add(descriptor);
+				return;
 			}
 		}
+		// Register and start immediately, resolving the container factory outside of the mutex
+		this.endpointRegistry.registerListenerContainer(descriptor.endpoint,
+				resolveContainerFactory(descriptor), true);
 	}
 
 	/**
@@ -21,6 +21,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 import static org.junit.Assert.*;
@@ -104,4 +106,27 @@ public class JmsListenerEndpointRegistrarTests {
 		assertEquals("myEndpoint", this.registry.getListenerContainerIds().iterator().next());
 	}
 
+	@Test
+	public void containerFactoryBeanIsNotCreatedUnderSingletonMutex() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("containerFactory",
+				new RootBeanDefinition(JmsListenerContainerTestFactory.class, () -> {
+					assertFalse(Thread.holdsLock(beanFactory.getSingletonMutex()));
+					return this.containerFactory;
+				}));
+		this.registrar.setBeanFactory(beanFactory);
+		this.registrar.setContainerFactoryBeanName("containerFactory");
+		SimpleJmsListenerEndpoint endpoint = new SimpleJmsListenerEndpoint();
+		endpoint.setId("myEndpoint");
+		this.registrar.registerEndpoint(endpoint);
+		this.registrar.afterPropertiesSet();
+		assertNotNull("Container not created", this.registry.getListenerContainer("myEndpoint"));
+
+		SimpleJmsListenerEndpoint anotherEndpoint = new SimpleJmsListenerEndpoint();
+		anotherEndpoint.setId("anotherEndpoint");
+		this.registrar.registerEndpoint(anotherEndpoint);
+		assertNotNull("Container not created", this.registry.getListenerContainer("anotherEndpoint"));
+		assertEquals(2, this.registry.getListenerContainers().size());
+	}
+
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link PathPattern#matches(String)} and
+ * {@link PathPattern#matchAndExtract(String)}.
+ *
+ * @since 5.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PathPatternBenchmark {
+
+	private static final String[] PATTERNS = {
+			"/api/users", "/api/users/{id}", "/api/users/{id}/orders/{orderId}",
+			"/static/**", "/docs/*.html", "/files/{name:[a-z]+}.{ext}", "/resources/{*path}"};
+
+	private static final String[] PATHS = {
+			"/api/users", "/api/users/42", "/api/users/42/orders/7",
+			"/static/css/site.css", "/docs/index.html", "/files/report.pdf", "/resources/js/app.js"};
+
+
+	@State(Scope.Benchmark)
+	public static class PatternState {
+
+		@Param({"false", "true"})
+		public boolean compileMatchers;
+
+		public List<PathPattern> patterns = new ArrayList<>();
+
+		public PathPattern capturingPattern;
+
+		@Setup
+		public void setup() {
+			PathPatternParser parser = new PathPatternParser();
+			parser.setCompileMatchers(this.compileMatchers);
+			for (String pattern : PATTERNS) {
+				this.patterns.add(parser.parse(pattern));
+			}
+			this.capturingPattern = parser.parse("/api/users/{id}/orders/{orderId}");
+		}
+	}
+
+
+	@Benchmark
+	public void matches(PatternState state, Blackhole bh) {
+		for (PathPattern pattern : state.patterns) {
+			for (String path : PATHS) {
+				bh.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public Object matchAndExtract(PatternState state) {
+		return state.capturingPattern.matchAndExtract("/api/users/42/orders/7");
+	}
+
+	@Benchmark
+	public PathPattern parse() {
+		return new PathPatternParser().parse("/api/users/{id}/orders/{orderId}");
+	}
+
+}
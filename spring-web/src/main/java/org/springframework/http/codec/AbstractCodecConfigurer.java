@@ -33,6 +33,8 @@ import org.springframework.core.codec.ResourceDecoder;
 import org.springframework.core.codec.StringDecoder;
 import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
 import org.springframework.http.codec.xml.Jaxb2XmlDecoder;
 import org.springframework.http.codec.xml.Jaxb2XmlEncoder;
 import org.springframework.util.Assert;
@@ -53,6 +55,10 @@ abstract class AbstractCodecConfigurer implements CodecConfigurer {
 					ClassUtils.isPresent("com.fasterxml.jackson.core.JsonGenerator",
 							AbstractCodecConfigurer.class.getClassLoader());
 
+	protected static final boolean jackson2SmilePresent =
+			ClassUtils.isPresent("com.fasterxml.jackson.dataformat.smile.SmileFactory",
+					AbstractCodecConfigurer.class.getClassLoader());
+
 	protected static final boolean jaxb2Present = ClassUtils.isPresent("javax.xml.bind.Binder",
 			AbstractCodecConfigurer.class.getClassLoader());
 
@@ -188,6 +194,9 @@ abstract class AbstractCodecConfigurer implements CodecConfigurer {
 			}
 			if (jackson2Present) {
 				result.add(new DecoderHttpMessageReader<>(jackson2Decoder()));
+				if (jackson2SmilePresent) {
+					result.add(new DecoderHttpMessageReader<>(new Jackson2SmileDecoder()));
+				}
 			}
 			return result;
 		}
@@ -226,6 +235,9 @@ abstract class AbstractCodecConfigurer implements CodecConfigurer {
 			}
 			if (jackson2Present) {
 				result.add(new EncoderHttpMessageWriter<>(jackson2Encoder()));
+				if (jackson2SmilePresent) {
+					result.add(new EncoderHttpMessageWriter<>(new Jackson2SmileEncoder()));
+				}
 			}
 			return result;
 		}
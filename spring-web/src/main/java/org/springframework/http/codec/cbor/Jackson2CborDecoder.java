@@ -0,0 +1,77 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.cbor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import org.springframework.http.codec.json.AbstractJackson2Decoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.Assert;
+import org.springframework.util.MimeType;
+
+/**
+ * Decode a byte stream of CBOR data into Objects with Jackson 2.9.
+ *
+ * <p>Jackson 2.9 has no non-blocking CBOR parser, so the input is aggregated
+ * before it is parsed, up to {@link #setMaxInMemorySize maxInMemorySize} bytes.
+ * A {@code Flux} is still decoded element by element, either from a top-level
+ * CBOR array or from a sequence of concatenated CBOR data items.
+ *
+ * <p>This decoder is not registered by default; it needs to be registered
+ * explicitly, e.g. through the custom codecs of a {@code CodecConfigurer}.
+ *
+ * @since 5.0
+ * @see Jackson2CborEncoder
+ */
+public class Jackson2CborDecoder extends AbstractJackson2Decoder {
+
+	/**
+	 * The default value for {@link #setMaxInMemorySize maxInMemorySize}: 256K.
+	 */
+	public static final int DEFAULT_MAX_IN_MEMORY_SIZE = 256 * 1024;
+
+
+	private int maxInMemorySize = DEFAULT_MAX_IN_MEMORY_SIZE;
+
+
+	public Jackson2CborDecoder() {
+		this(Jackson2ObjectMapperBuilder.cbor().build(), Jackson2CborEncoder.CBOR_MIME_TYPES);
+	}
+
+	public Jackson2CborDecoder(ObjectMapper mapper, MimeType... mimeTypes) {
+		super(mapper, mimeTypes);
+		Assert.isInstanceOf(CBORFactory.class, mapper.getFactory(), "CBORFactory required");
+	}
+
+
+	/**
+	 * Set the maximum number of input bytes to aggregate before parsing.
+	 * Input exceeding it results in a
+	 * {@link org.springframework.core.codec.DecodingException}.
+	 * <p>By default this is set to 256K. Use -1 for no limit.
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	@Override
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+}
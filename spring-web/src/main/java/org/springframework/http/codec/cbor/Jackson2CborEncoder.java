@@ -0,0 +1,71 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.cbor;
+
+import java.util.Collections;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.MimeType;
+
+/**
+ * Encode from an {@code Object} stream to a byte stream of CBOR objects,
+ * using Jackson 2.9.
+ *
+ * <p>A {@code Flux} is encoded as a CBOR array, unless the target MIME type
+ * is {@code "application/cbor-seq"}, in which case each element is written
+ * as a separate CBOR data item. CBOR data items are self-delimiting, so they
+ * are simply concatenated.
+ *
+ * @since 5.0
+ * @see Jackson2CborDecoder
+ */
+public class Jackson2CborEncoder extends AbstractJackson2Encoder {
+
+	static final MediaType APPLICATION_CBOR = new MediaType("application", "cbor");
+
+	static final MediaType APPLICATION_CBOR_SEQ = new MediaType("application", "cbor-seq");
+
+	static final MimeType[] CBOR_MIME_TYPES = new MimeType[] {APPLICATION_CBOR, APPLICATION_CBOR_SEQ};
+
+	private static final byte[] STREAM_SEPARATOR = new byte[0];
+
+
+	public Jackson2CborEncoder() {
+		this(Jackson2ObjectMapperBuilder.cbor().build(), CBOR_MIME_TYPES);
+	}
+
+	public Jackson2CborEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+		super(mapper, mimeTypes);
+		Assert.isInstanceOf(CBORFactory.class, mapper.getFactory(), "CBORFactory required");
+		setStreamingMediaTypes(Collections.singletonList(APPLICATION_CBOR_SEQ));
+	}
+
+
+	@Override
+	@Nullable
+	protected byte[] getStreamingMediaTypeSeparator(@Nullable MimeType mimeType) {
+		return (APPLICATION_CBOR_SEQ.isCompatibleWith(mimeType) ? STREAM_SEPARATOR : null);
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CodecException;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.HttpMessageDecoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.MimeType;
+
+/**
+ * Abstract base class for Jackson 2.9 decoding, leveraging non-blocking parsing
+ * where the data format of the {@code ObjectMapper} supports it.
+ *
+ * @since 5.0
+ * @see AbstractJackson2Encoder
+ */
+public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport implements HttpMessageDecoder<Object> {
+
+	/**
+	 * Constructor with a Jackson {@link ObjectMapper} to use.
+	 */
+	protected AbstractJackson2Decoder(ObjectMapper mapper, MimeType... mimeTypes) {
+		super(mapper, mimeTypes);
+	}
+
+
+	@Override
+	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
+		// Skip String: CharSequenceDecoder + "*/*" comes after
+		if (CharSequence.class.isAssignableFrom(elementType.resolve(Object.class)) || !supportsMimeType(mimeType)) {
+			return false;
+		}
+		JavaType javaType = this.objectMapper.getTypeFactory().constructType(elementType.getType());
+		return this.objectMapper.canDeserialize(javaType);
+	}
+
+	@Override
+	public List<MimeType> getDecodableMimeTypes() {
+		return getMimeTypes();
+	}
+
+	/**
+	 * Return the maximum number of input bytes to aggregate for data formats
+	 * without a non-blocking parser, which need the entire input in memory
+	 * before it can be parsed. Input exceeding it results in a
+	 * {@link DecodingException}.
+	 * <p>The default implementation returns -1, i.e. no limit.
+	 */
+	public int getMaxInMemorySize() {
+		return -1;
+	}
+
+	@Override
+	public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+		return decodeInternal(input, true, elementType, mimeType, hints);
+	}
+
+	@Override
+	public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
+			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+		return decodeInternal(input, false, elementType, mimeType, hints).singleOrEmpty();
+	}
+
+	private Flux<Object> decodeInternal(Publisher<DataBuffer> inputStream, boolean tokenizeArrayElements,
+			ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+		Assert.notNull(inputStream, "'inputStream' must not be null");
+		Assert.notNull(elementType, "'elementType' must not be null");
+
+		Class<?> contextClass = getParameter(elementType).map(MethodParameter::getContainingClass).orElse(null);
+		JavaType javaType = getJavaType(elementType.getType(), contextClass);
+		Class<?> jsonView = (hints != null ? (Class<?>) hints.get(Jackson2CodecSupport.JSON_VIEW_HINT) : null);
+
+		ObjectReader reader = (jsonView != null ?
+				this.objectMapper.readerWithView(jsonView).forType(javaType) :
+				this.objectMapper.readerFor(javaType));
+
+		return Jackson2Tokenizer.tokenize(Flux.from(inputStream), this.objectMapper.getFactory(),
+				tokenizeArrayElements, getMaxInMemorySize())
+				.flatMap(tokenBuffer -> {
+					try {
+						Object value = reader.readValue(tokenBuffer.asParser(this.objectMapper));
+						return Mono.justOrEmpty(value);
+					}
+					catch (InvalidDefinitionException ex) {
+						return Mono.error(new CodecException("Type definition error: " + ex.getType(), ex));
+					}
+					catch (JsonProcessingException ex) {
+						return Mono.error(new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex));
+					}
+					catch (IOException ex) {
+						return Mono.error(new DecodingException("I/O error while parsing input stream", ex));
+					}
+				});
+	}
+
+
+	// HttpMessageDecoder...
+
+	@Override
+	public Map<String, Object> getDecodeHints(ResolvableType actualType, ResolvableType elementType,
+			ServerHttpRequest request, ServerHttpResponse response) {
+
+		return getHints(actualType);
+	}
+
+	@Override
+	protected <A extends Annotation> A getAnnotation(MethodParameter parameter, Class<A> annotType) {
+		return parameter.getParameterAnnotation(annotType);
+	}
+
+}
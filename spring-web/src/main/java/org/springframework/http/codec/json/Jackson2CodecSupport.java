@@ -39,7 +39,8 @@ import org.springframework.util.MimeType;
 import org.springframework.util.ObjectUtils;
 
 /**
- * Base class providing support methods for Jackson 2.9 encoding and decoding.
+ * Base class providing support methods for Jackson 2.9 encoding and decoding,
+ * independent of the data format of the underlying {@code ObjectMapper}.
  *
  * @author Sebastien Deleuze
  * @author Rossen Stoyanchev
@@ -77,8 +78,23 @@ public abstract class Jackson2CodecSupport {
 	}
 
 
+	/**
+	 * Return the MIME types supported by this codec.
+	 */
+	protected List<MimeType> getMimeTypes() {
+		return this.mimeTypes;
+	}
+
 	protected boolean supportsMimeType(@Nullable MimeType mimeType) {
-		return (mimeType == null || this.mimeTypes.stream().anyMatch(m -> m.isCompatibleWith(mimeType)));
+		if (mimeType == null) {
+			return true;
+		}
+		for (MimeType supportedMimeType : this.mimeTypes) {
+			if (supportedMimeType.isCompatibleWith(mimeType)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	protected JavaType getJavaType(Type type, @Nullable Class<?> contextClass) {
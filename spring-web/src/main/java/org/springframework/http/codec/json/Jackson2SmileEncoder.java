@@ -0,0 +1,73 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.MimeType;
+
+/**
+ * Encode from an {@code Object} stream to a byte stream of Smile objects
+ * ("binary JSON"), using Jackson 2.9.
+ *
+ * <p>A {@code Flux} is encoded as a Smile array, unless the target MIME type
+ * is {@code "application/stream+x-jackson-smile"}, in which case each element
+ * is written as a separate Smile document. Smile documents are self-delimiting,
+ * so they are simply concatenated.
+ *
+ * @since 5.0
+ * @see Jackson2SmileDecoder
+ * @see Jackson2JsonEncoder
+ */
+public class Jackson2SmileEncoder extends AbstractJackson2Encoder {
+
+	private static final MimeType[] DEFAULT_SMILE_MIME_TYPES = new MimeType[] {
+			new MimeType("application", "x-jackson-smile", StandardCharsets.UTF_8),
+			new MimeType("application", "*+x-jackson-smile", StandardCharsets.UTF_8)};
+
+	private static final MediaType APPLICATION_STREAM_SMILE =
+			new MediaType("application", "stream+x-jackson-smile");
+
+	private static final byte[] STREAM_SEPARATOR = new byte[0];
+
+
+	public Jackson2SmileEncoder() {
+		this(Jackson2ObjectMapperBuilder.smile().build(), DEFAULT_SMILE_MIME_TYPES);
+	}
+
+	public Jackson2SmileEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+		super(mapper, mimeTypes);
+		Assert.isInstanceOf(SmileFactory.class, mapper.getFactory(), "SmileFactory required");
+		setStreamingMediaTypes(Collections.singletonList(APPLICATION_STREAM_SMILE));
+	}
+
+
+	@Override
+	@Nullable
+	protected byte[] getStreamingMediaTypeSeparator(@Nullable MimeType mimeType) {
+		return (APPLICATION_STREAM_SMILE.isCompatibleWith(mimeType) ? STREAM_SEPARATOR : null);
+	}
+
+}
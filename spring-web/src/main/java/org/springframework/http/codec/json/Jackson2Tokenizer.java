@@ -0,0 +1,244 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+/**
+ * {@link Function} to transform a JSON stream of arbitrary size, byte array
+ * chunks into a {@code Flux<TokenBuffer>} where each token buffer is a
+ * well-formed JSON object.
+ *
+ * <p>Bytes are fed into Jackson's non-blocking parser as they arrive, so each
+ * byte is tokenized exactly once; the resulting {@link TokenBuffer TokenBuffers}
+ * can be bound via {@link TokenBuffer#asParser} without parsing the raw input
+ * a second time.
+ *
+ * <p>For data formats without a non-blocking parser, such as CBOR, the input
+ * is aggregated and then tokenized with a regular parser.
+ *
+ * @since 5.0
+ */
+class Jackson2Tokenizer implements Function<DataBuffer, Flux<TokenBuffer>> {
+
+	private final JsonParser parser;
+
+	private final boolean tokenizeArrayElements;
+
+	private TokenBuffer tokenBuffer;
+
+	private int objectDepth;
+
+	private int arrayDepth;
+
+	// Jackson's non-blocking parsers only accept byte arrays as input, so heap
+	// buffers are fed via their backing array (null for a blocking parser)
+	private final ByteArrayFeeder inputFeeder;
+
+
+	private Jackson2Tokenizer(JsonParser parser, boolean tokenizeArrayElements) {
+		this.parser = parser;
+		this.tokenizeArrayElements = tokenizeArrayElements;
+		this.tokenBuffer = new TokenBuffer(parser);
+		this.inputFeeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+	}
+
+
+	/**
+	 * Tokenize the given {@code Flux<DataBuffer>} into {@code Flux<TokenBuffer>}.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param tokenizeArrayElements if {@code true} and the "top level" JSON
+	 * object is an array, each element is returned individually, immediately
+	 * after it is received.
+	 * @return the result token buffers
+	 */
+	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			boolean tokenizeArrayElements) {
+
+		return tokenize(dataBuffers, jsonFactory, tokenizeArrayElements, -1);
+	}
+
+	/**
+	 * Variant of {@link #tokenize(Flux, JsonFactory, boolean)} with a limit on
+	 * the number of bytes to aggregate for data formats without a non-blocking
+	 * parser. Input exceeding it results in a {@link DecodingException}.
+	 * @param maxInMemorySize the maximum number of bytes to aggregate,
+	 * or -1 for no limit
+	 */
+	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			boolean tokenizeArrayElements, int maxInMemorySize) {
+
+		if (!jsonFactory.canParseAsync()) {
+			// No non-blocking parser for this data format: aggregate the input first
+			return DataBufferUtils.join(dataBuffers, maxInMemorySize)
+					.onErrorMap(DataBufferLimitException.class, ex -> new DecodingException(
+							"Input exceeds the limit of " + maxInMemorySize + " bytes", ex))
+					.flatMapMany(dataBuffer -> {
+						try {
+							JsonParser parser = jsonFactory.createParser(dataBuffer.asInputStream());
+							return new Jackson2Tokenizer(parser, tokenizeArrayElements).parseTokenBufferFlux();
+						}
+						catch (IOException ex) {
+							return Flux.error(decodingException(ex));
+						}
+						finally {
+							DataBufferUtils.release(dataBuffer);
+						}
+					});
+		}
+
+		return Flux.defer(() -> {
+			try {
+				JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+				Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, tokenizeArrayElements);
+				return dataBuffers.flatMap(tokenizer, Flux::error, tokenizer::endOfInput);
+			}
+			catch (IOException ex) {
+				return Flux.error(ex);
+			}
+		});
+	}
+
+	private static DecodingException decodingException(IOException ex) {
+		if (ex instanceof JsonProcessingException) {
+			return new DecodingException(
+					"JSON decoding error: " + ((JsonProcessingException) ex).getOriginalMessage(), ex);
+		}
+		return new DecodingException("I/O error while parsing input stream", ex);
+	}
+
+
+	@Override
+	public Flux<TokenBuffer> apply(DataBuffer dataBuffer) {
+		try {
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			if (byteBuffer.hasArray()) {
+				// Heap buffer: feed the backing array directly, no copy needed since
+				// all available tokens are consumed before the buffer is released
+				int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+				this.inputFeeder.feedInput(byteBuffer.array(), offset, offset + byteBuffer.remaining());
+			}
+			else {
+				byte[] bytes = new byte[byteBuffer.remaining()];
+				byteBuffer.get(bytes);
+				this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			}
+			return parseTokenBufferFlux();
+		}
+		catch (IOException ex) {
+			return Flux.error(decodingException(ex));
+		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
+	}
+
+	private Flux<TokenBuffer> endOfInput() {
+		this.inputFeeder.endOfInput();
+		try {
+			return parseTokenBufferFlux();
+		}
+		catch (IOException ex) {
+			return Flux.error(decodingException(ex));
+		}
+	}
+
+	private Flux<TokenBuffer> parseTokenBufferFlux() throws IOException {
+		List<TokenBuffer> result = new ArrayList<>();
+
+		while (true) {
+			JsonToken token = this.parser.nextToken();
+			if (token == null || token == JsonToken.NOT_AVAILABLE) {
+				break;
+			}
+			updateDepth(token);
+
+			if (!this.tokenizeArrayElements) {
+				processTokenNormal(token, result);
+			}
+			else {
+				processTokenArray(token, result);
+			}
+		}
+		return Flux.fromIterable(result);
+	}
+
+	private void updateDepth(JsonToken token) {
+		switch (token) {
+			case START_OBJECT:
+				this.objectDepth++;
+				break;
+			case END_OBJECT:
+				this.objectDepth--;
+				break;
+			case START_ARRAY:
+				this.arrayDepth++;
+				break;
+			case END_ARRAY:
+				this.arrayDepth--;
+				break;
+		}
+	}
+
+	private void processTokenNormal(JsonToken token, List<TokenBuffer> result) throws IOException {
+		this.tokenBuffer.copyCurrentEvent(this.parser);
+
+		if ((token.isStructEnd() || token.isScalarValue()) &&
+				this.objectDepth == 0 && this.arrayDepth == 0) {
+			result.add(this.tokenBuffer);
+			this.tokenBuffer = new TokenBuffer(this.parser);
+		}
+	}
+
+	private void processTokenArray(JsonToken token, List<TokenBuffer> result) throws IOException {
+		if (!isTopLevelArrayToken(token)) {
+			this.tokenBuffer.copyCurrentEvent(this.parser);
+		}
+
+		if (this.objectDepth == 0 &&
+				(this.arrayDepth == 0 || this.arrayDepth == 1) &&
+				(token == JsonToken.END_OBJECT || token.isScalarValue() ||
+						(token == JsonToken.END_ARRAY && this.arrayDepth == 1))) {
+			result.add(this.tokenBuffer);
+			this.tokenBuffer = new TokenBuffer(this.parser);
+		}
+	}
+
+	private boolean isTopLevelArrayToken(JsonToken token) {
+		return this.objectDepth == 0 && ((token == JsonToken.START_ARRAY && this.arrayDepth == 1) ||
+				(token == JsonToken.END_ARRAY && this.arrayDepth == 0));
+	}
+
+}
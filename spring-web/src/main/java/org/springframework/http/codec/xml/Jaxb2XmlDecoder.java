@@ -68,17 +68,46 @@ public class Jaxb2XmlDecoder extends AbstractDecoder<Object> {
 	 */
 	private static final String JAXB_DEFAULT_ANNOTATION_VALUE = "##default";
 
+	/**
+	 * The default value for {@link #setMaxInMemorySize maxInMemorySize}: no limit.
+	 */
+	public static final int DEFAULT_MAX_IN_MEMORY_SIZE = -1;
+
 
 	private final XmlEventDecoder xmlEventDecoder = new XmlEventDecoder();
 
 	private final JaxbContextContainer jaxbContexts = new JaxbContextContainer();
 
+	private int maxInMemorySize = DEFAULT_MAX_IN_MEMORY_SIZE;
+
 
 	public Jaxb2XmlDecoder() {
 		super(MimeTypeUtils.APPLICATION_XML, MimeTypeUtils.TEXT_XML);
 	}
 
 
+	/**
+	 * Set the maximum number of input bytes a single decoded element may span.
+	 * Elements are unmarshalled one at a time as soon as they are complete, so
+	 * this limit bounds the memory used while decoding a stream of elements of
+	 * arbitrary overall size. An element exceeding it results in a
+	 * {@link DecodingException}.
+	 * <p>By default there is no limit (-1).
+	 * <p><b>Note:</b> without Aalto, the input is aggregated before it is parsed,
+	 * so the limit applies to the size of the entire input instead.
+	 */
+	public void setMaxInMemorySize(int byteCount) {
+		this.maxInMemorySize = byteCount;
+	}
+
+	/**
+	 * Return the configured {@link #setMaxInMemorySize maxInMemorySize}.
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		if (super.canDecode(elementType, mimeType)) {
@@ -98,11 +127,15 @@ public class Jaxb2XmlDecoder extends AbstractDecoder<Object> {
 		Class<?> outputClass = elementType.getRawClass();
 		Assert.state(outputClass != null, "Unresolvable output class");
 
-		Flux<XMLEvent> xmlEventFlux = this.xmlEventDecoder.decode(
-				inputStream, ResolvableType.forClass(XMLEvent.class), mimeType, hints);
-
 		QName typeName = toQName(outputClass);
-		Flux<List<XMLEvent>> splitEvents = split(xmlEventFlux, typeName);
+		Flux<List<XMLEvent>> splitEvents;
+		if (this.xmlEventDecoder.isAsync()) {
+			splitEvents = this.xmlEventDecoder.decodeElements(inputStream, typeName, this.maxInMemorySize);
+		}
+		else {
+			Flux<XMLEvent> xmlEventFlux = this.xmlEventDecoder.decode(inputStream, this.maxInMemorySize);
+			splitEvents = split(xmlEventFlux, typeName);
+		}
 
 		return splitEvents.map(events -> unmarshal(events, outputClass));
 	}
@@ -21,8 +21,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.XMLEvent;
 import javax.xml.stream.util.XMLEventAllocator;
@@ -38,9 +40,12 @@ import reactor.core.publisher.Mono;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.AbstractDecoder;
+import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
@@ -70,6 +75,11 @@ import org.springframework.util.MimeTypeUtils;
  * Note that this decoder is not registered by default but used internally
  * by other decoders who are there by default.
  *
+ * <p>When Aalto is present, decoding is non-blocking: each data buffer is fed
+ * to Aalto's asynchronous parser and released once all events it contains have
+ * been parsed. See {@link #decodeElements} for a mode that only materializes
+ * the events of selected elements.
+ *
  * @author Arjen Poutsma
  * @since 5.0
  */
@@ -89,16 +99,31 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public Flux<XMLEvent> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
+		return decode(inputStream, -1);
+	}
+
+	/**
+	 * Decode the given stream into {@link XMLEvent}s.
+	 * <p>Without Aalto, the input is aggregated before it is parsed, so the given
+	 * limit applies to the size of the entire input; with Aalto, the input is
+	 * parsed as it arrives and the limit does not apply.
+	 * @param inputStream the input to decode
+	 * @param maxInMemorySize the maximum number of input bytes to aggregate,
+	 * or -1 for no limit; exceeding it results in a {@link DecodingException}
+	 */
+	@SuppressWarnings("unchecked")
+	Flux<XMLEvent> decode(Publisher<DataBuffer> inputStream, int maxInMemorySize) {
 		Flux<DataBuffer> flux = Flux.from(inputStream);
 		if (useAalto && aaltoPresent) {
 			return flux.flatMap(new AaltoDataBufferToXmlEvent());
 		}
 		else {
-			Mono<DataBuffer> singleBuffer = flux.reduce(DataBuffer::write);
+			Mono<DataBuffer> singleBuffer = DataBufferUtils.join(flux, maxInMemorySize)
+					.onErrorMap(DataBufferLimitException.class, ex -> new DecodingException(
+							"XML input exceeds the limit of " + maxInMemorySize + " bytes", ex));
 			return singleBuffer.
 					flatMapMany(dataBuffer -> {
 						try {
@@ -117,6 +142,36 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 	}
 
 
+	/**
+	 * Whether decoding is done with Aalto's non-blocking parser, i.e. whether
+	 * {@link #decodeElements} is available.
+	 */
+	boolean isAsync() {
+		return (this.useAalto && aaltoPresent);
+	}
+
+	/**
+	 * Decode the given stream into lists of {@link XMLEvent}s, one for each
+	 * element with the given name, emitted as soon as the end tag of that
+	 * element has been parsed. Events outside of matching elements are never
+	 * allocated, and the events of a matching element are discarded once
+	 * emitted, so memory use is bounded by the largest element rather than
+	 * by the size of the document.
+	 * <p>Requires Aalto, see {@link #isAsync()}.
+	 * @param inputStream the input to decode
+	 * @param elementName the qualified name of the elements to emit
+	 * @param maxInMemorySize the maximum number of input bytes a single element
+	 * may span, or -1 for no limit; exceeding it results in a
+	 * {@link DecodingException}
+	 */
+	Flux<List<XMLEvent>> decodeElements(Publisher<DataBuffer> inputStream, QName elementName,
+			int maxInMemorySize) {
+
+		Assert.state(isAsync(), "Element decoding requires Aalto");
+		return Flux.from(inputStream).flatMap(new AaltoDataBufferToXmlElements(elementName, maxInMemorySize));
+	}
+
+
 	/*
 	 * Separate static class to isolate Aalto dependency.
 	 */
@@ -159,4 +214,96 @@ public class XmlEventDecoder extends AbstractDecoder<XMLEvent> {
 		}
 	}
 
+
+	/*
+	 * Separate static class to isolate Aalto dependency.
+	 */
+	private static class AaltoDataBufferToXmlElements
+			implements Function<DataBuffer, Publisher<? extends List<XMLEvent>>> {
+
+		private static final AsyncXMLInputFactory inputFactory = new InputFactoryImpl();
+
+		private final AsyncXMLStreamReader<AsyncByteBufferFeeder> streamReader =
+				inputFactory.createAsyncForByteBuffer();
+
+		private final XMLEventAllocator eventAllocator =
+				EventAllocatorImpl.getDefaultInstance();
+
+		private final QName elementName;
+
+		private final int maxInMemorySize;
+
+		private List<XMLEvent> events;
+
+		private int elementDepth = 0;
+
+		private int barrier = Integer.MAX_VALUE;
+
+		private long elementStartOffset;
+
+		private long bytesFed;
+
+		public AaltoDataBufferToXmlElements(QName elementName, int maxInMemorySize) {
+			this.elementName = elementName;
+			this.maxInMemorySize = maxInMemorySize;
+		}
+
+		@Override
+		public Publisher<? extends List<XMLEvent>> apply(DataBuffer dataBuffer) {
+			try {
+				this.bytesFed += dataBuffer.readableByteCount();
+				this.streamReader.getInputFeeder().feedInput(dataBuffer.asByteBuffer());
+				List<List<XMLEvent>> elements = new ArrayList<>();
+				while (true) {
+					int eventType = this.streamReader.next();
+					if (eventType == AsyncXMLStreamReader.EVENT_INCOMPLETE) {
+						// no more events with what currently has been fed to the reader
+						break;
+					}
+					if (eventType == XMLStreamConstants.END_DOCUMENT) {
+						break;
+					}
+					if (eventType == XMLStreamConstants.START_ELEMENT) {
+						if (this.barrier == Integer.MAX_VALUE && this.elementName.equals(this.streamReader.getName())) {
+							this.events = new ArrayList<>();
+							this.barrier = this.elementDepth;
+							this.elementStartOffset = this.streamReader.getLocationInfo().getStartingByteOffset();
+						}
+						this.elementDepth++;
+					}
+					if (this.elementDepth > this.barrier) {
+						this.events.add(this.eventAllocator.allocate(this.streamReader));
+						checkInMemorySize(this.streamReader.getLocationInfo().getEndingByteOffset());
+					}
+					if (eventType == XMLStreamConstants.END_ELEMENT) {
+						this.elementDepth--;
+						if (this.elementDepth == this.barrier) {
+							this.barrier = Integer.MAX_VALUE;
+							elements.add(this.events);
+							this.events = null;
+						}
+					}
+				}
+				if (this.barrier != Integer.MAX_VALUE) {
+					// an incomplete token within the current element is buffered by the parser
+					checkInMemorySize(this.bytesFed);
+				}
+				return Flux.fromIterable(elements);
+			}
+			catch (XMLStreamException | DecodingException ex) {
+				return Mono.error(ex);
+			}
+			finally {
+				DataBufferUtils.release(dataBuffer);
+			}
+		}
+
+		private void checkInMemorySize(long offset) {
+			if (this.maxInMemorySize >= 0 && offset - this.elementStartOffset > this.maxInMemorySize) {
+				throw new DecodingException("XML element <" + this.elementName.getLocalPart() +
+						"> exceeds the limit of " + this.maxInMemorySize + " bytes");
+			}
+		}
+	}
+
 }
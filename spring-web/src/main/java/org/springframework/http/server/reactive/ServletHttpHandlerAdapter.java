@@ -89,6 +89,12 @@ public class ServletHttpHandlerAdapter implements Servlet {
 		return this.bufferSize;
 	}
 
+	/**
+	 * Set the factory to allocate request body buffers with.
+	 * <p>By default this is a {@link DefaultDataBufferFactory} for heap buffers.
+	 * Consider a {@link org.springframework.core.io.buffer.PoolingDataBufferFactory}
+	 * in order to recycle buffers across requests.
+	 */
 	public void setDataBufferFactory(DataBufferFactory dataBufferFactory) {
 		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
 		this.dataBufferFactory = dataBufferFactory;
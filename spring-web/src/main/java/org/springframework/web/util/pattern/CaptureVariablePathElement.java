@@ -135,6 +135,13 @@ class CaptureVariablePathElement extends PathElement {
 		return this.variableName;
 	}
 
+	/**
+	 * Return whether the captured value is constrained by a regex pattern.
+	 */
+	boolean hasConstraintPattern() {
+		return (this.constraintPattern != null);
+	}
+
 	@Override
 	public int getNormalizedLength() {
 		return 1;
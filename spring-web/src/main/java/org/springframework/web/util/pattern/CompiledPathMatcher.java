@@ -0,0 +1,226 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Specialized matcher for a {@link PathPattern}, compiled from its chain of
+ * {@link PathElement}s into flat arrays that are evaluated in a single loop
+ * over the candidate path: no virtual dispatch per element, no copy of the
+ * candidate into a {@code char[]} and no {@link PathPattern.MatchingContext}.
+ *
+ * <p>Only patterns made of separators, case sensitive literals, unconstrained
+ * captures and an optional trailing {@code /**} can be compiled, which covers
+ * the majority of request mappings. Their segment boundaries are unambiguous,
+ * so matching never needs to backtrack: {@link #matches} does not allocate,
+ * and {@link #extractVariables} only allocates the returned map.
+ *
+ * @since 5.0
+ * @see PathPatternParser#setCompileMatchers
+ */
+final class CompiledPathMatcher {
+
+	private static final byte SEPARATOR = 0;
+
+	private static final byte LITERAL = 1;
+
+	private static final byte CAPTURE = 2;
+
+	private static final byte WILDCARD_THE_REST = 3;
+
+
+	private final byte[] kinds;
+
+	private final char[][] literals;
+
+	private final String[] variableNames;
+
+	private final int captureCount;
+
+	private final char separator;
+
+	private final boolean allowOptionalTrailingSlash;
+
+
+	private CompiledPathMatcher(byte[] kinds, char[][] literals, String[] variableNames, int captureCount,
+			char separator, boolean allowOptionalTrailingSlash) {
+
+		this.kinds = kinds;
+		this.literals = literals;
+		this.variableNames = variableNames;
+		this.captureCount = captureCount;
+		this.separator = separator;
+		this.allowOptionalTrailingSlash = allowOptionalTrailingSlash;
+	}
+
+
+	/**
+	 * Whether the given path matches, with the same semantics as
+	 * {@link PathPattern#matches} for the pattern this matcher was compiled from.
+	 */
+	public boolean matches(String path) {
+		return (match(path, null) != -1);
+	}
+
+	/**
+	 * Extract the variables captured from a matching path.
+	 * @return the extracted (decoded) variables, or {@code null} if the path does not match
+	 */
+	@Nullable
+	public Map<String, String> extractVariables(String path) {
+		if (this.captureCount == 0) {
+			return (matches(path) ? Collections.emptyMap() : null);
+		}
+		Map<String, String> variables = new HashMap<>(this.captureCount * 2);
+		return (match(path, variables) != -1 ? variables : null);
+	}
+
+	/**
+	 * Match the given path, collecting captured variables if a map is given.
+	 * @return the number of matched characters, or -1 if no match
+	 */
+	private int match(String path, @Nullable Map<String, String> variables) {
+		int length = path.length();
+		int pos = 0;
+		int last = this.kinds.length - 1;
+		for (int i = 0; i <= last; i++) {
+			switch (this.kinds[i]) {
+				case SEPARATOR:
+					if (pos >= length || path.charAt(pos) != this.separator) {
+						return -1;
+					}
+					pos++;
+					if (i == last) {
+						return (pos == length ? pos : -1);
+					}
+					break;
+				case LITERAL:
+					char[] text = this.literals[i];
+					if (pos + text.length > length || !matchesLiteral(path, pos, text)) {
+						return -1;
+					}
+					pos += text.length;
+					if (i == last) {
+						return (matchesEnd(path, pos) ? length : -1);
+					}
+					break;
+				case CAPTURE:
+					int end = path.indexOf(this.separator, pos);
+					if (end == -1) {
+						end = length;
+					}
+					// There must be at least one character to capture
+					if (end == pos) {
+						return -1;
+					}
+					if (i == last && !matchesEnd(path, end)) {
+						return -1;
+					}
+					if (variables != null) {
+						variables.put(this.variableNames[i], decode(path.substring(pos, end)));
+					}
+					pos = end;
+					if (i == last) {
+						return length;
+					}
+					break;
+				default:
+					// WILDCARD_THE_REST: if there is more data, it must start with the separator
+					return (pos < length && path.charAt(pos) != this.separator ? -1 : length);
+			}
+		}
+		return -1;
+	}
+
+	private boolean matchesLiteral(String path, int pos, char[] text) {
+		for (int i = 0; i < text.length; i++) {
+			int index = pos + i;
+			if (path.charAt(index) != text[i]) {
+				// Allow for lower case hex digits in encoded characters, like LiteralPathElement
+				if (i < 3 || path.charAt(index - 2) != '%' || Character.toUpperCase(path.charAt(index)) != text[i]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean matchesEnd(String path, int pos) {
+		int length = path.length();
+		return (pos == length ||
+				(this.allowOptionalTrailingSlash && pos + 1 == length && path.charAt(pos) == this.separator));
+	}
+
+	private static String decode(String value) {
+		return (value.indexOf('%') != -1 ? UriUtils.decode(value, StandardCharsets.UTF_8) : value);
+	}
+
+
+	/**
+	 * Compile a matcher for the given chain of path elements.
+	 * @return the compiled matcher, or {@code null} if the chain contains
+	 * elements that cannot be compiled
+	 */
+	@Nullable
+	static CompiledPathMatcher compile(@Nullable PathElement head, char separator,
+			boolean allowOptionalTrailingSlash) {
+
+		if (head == null) {
+			return null;
+		}
+		int count = 0;
+		for (PathElement element = head; element != null; element = element.next) {
+			count++;
+		}
+		byte[] kinds = new byte[count];
+		char[][] literals = new char[count][];
+		String[] variableNames = new String[count];
+		int captureCount = 0;
+		int i = 0;
+		for (PathElement element = head; element != null; element = element.next, i++) {
+			if (element instanceof SeparatorPathElement) {
+				kinds[i] = SEPARATOR;
+			}
+			else if (element instanceof LiteralPathElement && ((LiteralPathElement) element).isCaseSensitive()) {
+				kinds[i] = LITERAL;
+				literals[i] = ((LiteralPathElement) element).getText().toCharArray();
+			}
+			else if (element instanceof CaptureVariablePathElement &&
+					!((CaptureVariablePathElement) element).hasConstraintPattern()) {
+				kinds[i] = CAPTURE;
+				variableNames[i] = ((CaptureVariablePathElement) element).getVariableName();
+				captureCount++;
+			}
+			else if (element instanceof WildcardTheRestPathElement && element.next == null) {
+				kinds[i] = WILDCARD_THE_REST;
+			}
+			else {
+				return null;
+			}
+		}
+		return new CompiledPathMatcher(kinds, literals, variableNames, captureCount,
+				separator, allowOptionalTrailingSlash);
+	}
+
+}
@@ -43,6 +43,10 @@ class InternalPathPatternParser {
 	// that don't have a trailing slash to match paths that may or may not
 	// have a trailing slash
 	private boolean matchOptionalTrailingSlash = false;
+
+	// If true the PathPatterns produced by the parser will use a compiled matcher
+	// where the pattern structure allows for it
+	private boolean compileMatchers = false;
 	
 	// The input data for parsing
 	private char[] pathPatternData;
@@ -92,9 +96,24 @@ class InternalPathPatternParser {
 	 * can match paths that do have a trailing slash
 	 */
 	public InternalPathPatternParser(char separator, boolean caseSensitive, boolean matchOptionalTrailingSlash) {
+		this(separator, caseSensitive, matchOptionalTrailingSlash, false);
+	}
+
+	/**
+	 * @param separator the path separator to look for when parsing
+	 * @param caseSensitive true if PathPatterns should be sensitive to case
+	 * @param matchOptionalTrailingSlash true if patterns without a trailing slash
+	 * can match paths that do have a trailing slash
+	 * @param compileMatchers true if PathPatterns should use a compiled matcher
+	 * where possible
+	 */
+	public InternalPathPatternParser(char separator, boolean caseSensitive, boolean matchOptionalTrailingSlash,
+			boolean compileMatchers) {
+
 		this.separator = separator;
 		this.caseSensitive = caseSensitive;
 		this.matchOptionalTrailingSlash = matchOptionalTrailingSlash;
+		this.compileMatchers = compileMatchers;
 	}
 
 
@@ -200,8 +219,8 @@ class InternalPathPatternParser {
 		if (this.pathElementStart != -1) {
 			pushPathElement(createPathElement());
 		}
-		return new PathPattern(
-				pathPattern, this.headPE, this.separator, this.caseSensitive, this.matchOptionalTrailingSlash);
+		return new PathPattern(pathPattern, this.headPE, this.separator, this.caseSensitive,
+				this.matchOptionalTrailingSlash, this.compileMatchers);
 	}
 
 	/**
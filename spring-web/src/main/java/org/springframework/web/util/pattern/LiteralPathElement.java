@@ -103,6 +103,21 @@ class LiteralPathElement extends PathElement {
 		return len;
 	}
 
+	/**
+	 * Return the literal text of this element, in lower case if the element
+	 * does not match case sensitively.
+	 */
+	String getText() {
+		return String.valueOf(this.text);
+	}
+
+	/**
+	 * Return whether this element matches case sensitively.
+	 */
+	boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
 
 	public String toString() {
 		return "Literal(" + String.valueOf(this.text) + ")";
@@ -107,10 +107,19 @@ public class PathPattern implements Comparable<PathPattern> {
 	/** Does the pattern end with {*...} */
 	private boolean catchAll = false;
 
+	/** Compiled matcher, if requested and supported by the pattern structure */
+	private CompiledPathMatcher compiledMatcher;
+
 
 	PathPattern(String patternText, PathElement head, char separator, boolean caseSensitive,
 			boolean allowOptionalTrailingSlash) {
 
+		this(patternText, head, separator, caseSensitive, allowOptionalTrailingSlash, false);
+	}
+
+	PathPattern(String patternText, PathElement head, char separator, boolean caseSensitive,
+			boolean allowOptionalTrailingSlash, boolean compileMatcher) {
+
 		this.patternString = patternText;
 		this.head = head;
 		this.separator = separator;
@@ -132,6 +141,10 @@ public class PathPattern implements Comparable<PathPattern> {
 			}
 			elem = elem.next;
 		}
+
+		if (compileMatcher) {
+			this.compiledMatcher = CompiledPathMatcher.compile(head, separator, allowOptionalTrailingSlash);
+		}
 	}
 
 
@@ -163,6 +176,9 @@ public class PathPattern implements Comparable<PathPattern> {
 				return false;
 			}
 		}
+		if (this.compiledMatcher != null) {
+			return this.compiledMatcher.matches(path);
+		}
 		MatchingContext matchingContext = new MatchingContext(path, false);
 		return this.head.matches(0, matchingContext);
 	}
@@ -223,11 +239,19 @@ public class PathPattern implements Comparable<PathPattern> {
 	 * @throws IllegalStateException if the path does not match the pattern
 	 */
 	public Map<String, String> matchAndExtract(String path) {
-		MatchingContext matchingContext = new MatchingContext(path, true);
-		if (this.head != null && this.head.matches(0, matchingContext)) {
-			return matchingContext.getExtractedVariables();
+		if (this.compiledMatcher != null) {
+			Map<String, String> variables = this.compiledMatcher.extractVariables(path);
+			if (variables != null) {
+				return variables;
+			}
 		}
-		else if (!StringUtils.hasLength(path)) {
+		else {
+			MatchingContext matchingContext = new MatchingContext(path, true);
+			if (this.head != null && this.head.matches(0, matchingContext)) {
+				return matchingContext.getExtractedVariables();
+			}
+		}
+		if (!StringUtils.hasLength(path)) {
 			return Collections.emptyMap();
 		}
 		else {
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix tree over the {@link PathElement} chains of {@link PathPattern}s,
+ * used to narrow down the patterns that may match a given path without
+ * evaluating every registered pattern.
+ *
+ * <p>Each pattern is indexed under its leading literal path segments: the
+ * literal segments form the edges of the tree, and the pattern is stored at
+ * the node where its first non-literal element (a capture, wildcard, regex
+ * or "match the rest" element) or its end is reached. A lookup walks the
+ * tree along the segments of the path and collects the values stored at all
+ * visited nodes, so the lookup cost depends on the depth of the path rather
+ * than on the number of registered patterns.
+ *
+ * <p>The candidates returned by {@link #getCandidates(String)} are a superset
+ * of the values whose patterns actually match: callers still need to match
+ * each candidate, but can rely on no matching pattern being left out. Segment
+ * keys are compared in lower case and without file extension, which keeps
+ * the index valid for case insensitive patterns as well as for suffix and
+ * trailing slash variants that callers may apply at matching time.
+ *
+ * <p>This class is not thread-safe: concurrent modifications need to be
+ * guarded by the caller.
+ *
+ * @since 5.0
+ * @param <T> the type of value associated with each pattern
+ */
+public class PathPatternIndex<T> {
+
+	private final char separator;
+
+	private final Node<T> root = new Node<>();
+
+	private int size;
+
+
+	/**
+	 * Create a new index for paths using the
+	 * {@link PathPatternParser#DEFAULT_SEPARATOR default separator}.
+	 */
+	public PathPatternIndex() {
+		this(PathPatternParser.DEFAULT_SEPARATOR);
+	}
+
+	/**
+	 * Create a new index for paths using the given separator.
+	 * @param separator the separator between path segments
+	 */
+	public PathPatternIndex(char separator) {
+		this.separator = separator;
+	}
+
+
+	/**
+	 * Add a value for the given pattern.
+	 * @param pattern the pattern to index the value under
+	 * @param value the value to return as a candidate for matching paths
+	 */
+	public void add(PathPattern pattern, T value) {
+		findOrCreateNode(pattern).values.add(value);
+		this.size++;
+	}
+
+	/**
+	 * Add a value that is returned as a candidate for every path,
+	 * e.g. for a mapping without any patterns.
+	 * @param value the value to add
+	 */
+	public void addFallback(T value) {
+		this.root.values.add(value);
+		this.size++;
+	}
+
+	/**
+	 * Remove a value previously added for the given pattern.
+	 * @param pattern the pattern the value was indexed under
+	 * @param value the value to remove
+	 * @return {@code true} if the value was found and removed
+	 */
+	public boolean remove(PathPattern pattern, T value) {
+		Node<T> node = this.root;
+		for (String segment : getLiteralSegments(pattern)) {
+			node = node.children.get(segment);
+			if (node == null) {
+				return false;
+			}
+		}
+		if (node.values.remove(value)) {
+			this.size--;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Remove a value previously added through {@link #addFallback}.
+	 * @param value the value to remove
+	 * @return {@code true} if the value was found and removed
+	 */
+	public boolean removeFallback(T value) {
+		if (this.root.values.remove(value)) {
+			this.size--;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Return the values whose patterns may match the given path, in the
+	 * order of the path segments they are indexed under.
+	 * @param path the path to find candidates for
+	 * @return the candidate values (possibly empty, never {@code null})
+	 */
+	public Set<T> getCandidates(String path) {
+		Set<T> candidates = new LinkedHashSet<>(this.root.values);
+		Node<T> node = this.root;
+		int length = path.length();
+		int start = 0;
+		while (start < length) {
+			int end = path.indexOf(this.separator, start);
+			if (end == -1) {
+				end = length;
+			}
+			if (end > start) {
+				String segment = path.substring(start, end);
+				if (segment.indexOf('%') != -1) {
+					// Encoded characters may be matched leniently: consider the entire subtree
+					node.collectDescendantValues(candidates);
+					break;
+				}
+				node = node.children.get(getKey(segment));
+				if (node == null) {
+					break;
+				}
+				candidates.addAll(node.values);
+			}
+			start = end + 1;
+		}
+		return candidates;
+	}
+
+	/**
+	 * Return the number of values in this index.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Remove all values from this index.
+	 */
+	public void clear() {
+		this.root.values.clear();
+		this.root.children.clear();
+		this.size = 0;
+	}
+
+
+	private Node<T> findOrCreateNode(PathPattern pattern) {
+		Node<T> node = this.root;
+		for (String segment : getLiteralSegments(pattern)) {
+			node = node.children.computeIfAbsent(segment, key -> new Node<>());
+		}
+		return node;
+	}
+
+	/**
+	 * Return the keys of the leading path segments of the given pattern that
+	 * consist of a single literal, i.e. the path to its node in the tree.
+	 */
+	private List<String> getLiteralSegments(PathPattern pattern) {
+		List<String> segments = new ArrayList<>();
+		PathElement element = pattern.getHeadSection();
+		while (element instanceof SeparatorPathElement && element.separator == this.separator &&
+				element.next instanceof LiteralPathElement) {
+			LiteralPathElement literal = (LiteralPathElement) element.next;
+			PathElement next = literal.next;
+			if (next != null && !(next instanceof SeparatorPathElement ||
+					next instanceof WildcardTheRestPathElement || next instanceof CaptureTheRestPathElement)) {
+				break;
+			}
+			String text = literal.getText();
+			if (text.indexOf('%') != -1) {
+				// Encoded characters may be matched leniently: stop here
+				break;
+			}
+			segments.add(getKey(text));
+			element = next;
+		}
+		return segments;
+	}
+
+	/**
+	 * Return the key for a path segment: trimmed, without file extension
+	 * and in lower case.
+	 */
+	private static String getKey(String segment) {
+		String key = segment.trim();
+		int dotIndex = key.indexOf('.');
+		if (dotIndex != -1) {
+			key = key.substring(0, dotIndex);
+		}
+		StringBuilder sb = null;
+		for (int i = 0; i < key.length(); i++) {
+			char ch = key.charAt(i);
+			char lower = Character.toLowerCase(ch);
+			if (ch != lower && sb == null) {
+				sb = new StringBuilder(key.length());
+				sb.append(key, 0, i);
+			}
+			if (sb != null) {
+				sb.append(lower);
+			}
+		}
+		return (sb != null ? sb.toString() : key);
+	}
+
+
+	private static class Node<T> {
+
+		private final List<T> values = new ArrayList<>(1);
+
+		private final Map<String, Node<T>> children = new HashMap<>();
+
+		void collectDescendantValues(Set<T> result) {
+			for (Node<T> child : this.children.values()) {
+				result.addAll(child.values);
+				child.collectDescendantValues(result);
+			}
+		}
+	}
+
+}
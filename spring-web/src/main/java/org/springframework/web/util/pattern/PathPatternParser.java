@@ -38,6 +38,9 @@ public class PathPatternParser {
 	// If the parser produces case-sensitive PathPattern matchers.
 	private boolean caseSensitive = true;
 
+	// If the parser produces PathPatterns with compiled matchers.
+	private boolean compileMatchers = false;
+
 
 	/**
 	 * Create a path pattern parser that will use the default separator '/'
@@ -75,6 +78,19 @@ public class PathPatternParser {
 		this.caseSensitive = caseSensitive;
 	}
 
+	/**
+	 * Set whether the path patterns produced by this parser should compile
+	 * their chain of path elements into a specialized matcher, where the
+	 * structure of the pattern allows for it. Compiled matchers evaluate
+	 * {@link PathPattern#matches} without allocation and avoid per-element
+	 * dispatch in {@link PathPattern#matchAndExtract}, at the expense of a
+	 * little extra memory per pattern.
+	 * <p>The default is {@code false}.
+	 */
+	public void setCompileMatchers(boolean compileMatchers) {
+		this.compileMatchers = compileMatchers;
+	}
+
 
 	/**
 	 * Process the path pattern data, a character at a time, breaking it into
@@ -88,7 +104,8 @@ public class PathPatternParser {
 	 */
 	public PathPattern parse(String pathPattern) throws PatternParseException {
 		InternalPathPatternParser parserDelegate =
-				new InternalPathPatternParser(this.separator, this.caseSensitive, this.matchOptionalTrailingSlash);
+				new InternalPathPatternParser(this.separator, this.caseSensitive,
+						this.matchOptionalTrailingSlash, this.compileMatchers);
 		return parserDelegate.parse(pathPattern);
 	}
 
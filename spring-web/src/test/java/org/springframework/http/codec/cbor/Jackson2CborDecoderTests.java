@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.cbor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.Pojo;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.core.ResolvableType.forClass;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.codec.cbor.Jackson2CborEncoder.APPLICATION_CBOR;
+import static org.springframework.http.codec.cbor.Jackson2CborEncoder.APPLICATION_CBOR_SEQ;
+
+/**
+ * Unit tests for {@link Jackson2CborDecoder} and {@link Jackson2CborEncoder}.
+ */
+public class Jackson2CborDecoderTests extends AbstractDataBufferAllocatingTestCase {
+
+	private final Jackson2CborDecoder decoder = new Jackson2CborDecoder();
+
+	private final Jackson2CborEncoder encoder = new Jackson2CborEncoder();
+
+	private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+
+	@Test
+	public void canDecode() {
+		assertTrue(this.decoder.canDecode(forClass(Pojo.class), APPLICATION_CBOR));
+		assertTrue(this.decoder.canDecode(forClass(Pojo.class), APPLICATION_CBOR_SEQ));
+		assertFalse(this.decoder.canDecode(forClass(Pojo.class), APPLICATION_JSON));
+	}
+
+	@Test
+	public void decodePojo() throws Exception {
+		Flux<DataBuffer> source = chunked(this.mapper.writeValueAsBytes(new Pojo("foofoo", "barbar")));
+		Mono<Object> mono = this.decoder.decodeToMono(source, forClass(Pojo.class), APPLICATION_CBOR, emptyMap());
+
+		StepVerifier.create(mono)
+				.expectNext(new Pojo("foofoo", "barbar"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeArrayToFlux() throws Exception {
+		List<Pojo> list = asList(new Pojo("f1", "b1"), new Pojo("f2", "b2"));
+		Flux<DataBuffer> source = chunked(this.mapper.writeValueAsBytes(list));
+		Flux<Object> flux = this.decoder.decode(source, forClass(Pojo.class), APPLICATION_CBOR, emptyMap());
+
+		StepVerifier.create(flux)
+				.expectNext(new Pojo("f1", "b1"))
+				.expectNext(new Pojo("f2", "b2"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeExceedingMaxInMemorySize() throws Exception {
+		byte[] bytes = this.mapper.writeValueAsBytes(new Pojo("foofoo", "barbar"));
+		this.decoder.setMaxInMemorySize(bytes.length - 1);
+		Flux<DataBuffer> source = chunked(bytes);
+		Mono<Object> mono = this.decoder.decodeToMono(source, forClass(Pojo.class), APPLICATION_CBOR, emptyMap());
+
+		StepVerifier.create(mono)
+				.expectError(DecodingException.class)
+				.verify();
+	}
+
+	@Test
+	public void encodeAndDecodeSequence() {
+		Flux<Pojo> pojos = Flux.just(new Pojo("f1", "b1"), new Pojo("f2", "b2"), new Pojo("f3", "b3"));
+		ResolvableType type = ResolvableType.forClass(Pojo.class);
+
+		Flux<DataBuffer> encoded = this.encoder.encode(pojos, this.bufferFactory, type, APPLICATION_CBOR_SEQ, emptyMap());
+		Flux<Object> flux = this.decoder.decode(encoded, type, APPLICATION_CBOR_SEQ, emptyMap());
+
+		StepVerifier.create(flux)
+				.expectNext(new Pojo("f1", "b1"))
+				.expectNext(new Pojo("f2", "b2"))
+				.expectNext(new Pojo("f3", "b3"))
+				.verifyComplete();
+	}
+
+
+	private Flux<DataBuffer> chunked(byte[] bytes) {
+		int half = bytes.length / 2;
+		return Flux.just(Arrays.copyOfRange(bytes, 0, half), Arrays.copyOfRange(bytes, half, bytes.length))
+				.map(chunk -> {
+					DataBuffer buffer = this.bufferFactory.allocateBuffer(chunk.length);
+					buffer.write(chunk);
+					return buffer;
+				});
+	}
+
+}
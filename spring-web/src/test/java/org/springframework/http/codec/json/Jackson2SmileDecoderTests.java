@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.Pojo;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.core.ResolvableType.forClass;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Unit tests for {@link Jackson2SmileDecoder}.
+ */
+public class Jackson2SmileDecoderTests extends AbstractDataBufferAllocatingTestCase {
+
+	private static final MimeType SMILE_MIME_TYPE = new MimeType("application", "x-jackson-smile");
+
+
+	private final Jackson2SmileDecoder decoder = new Jackson2SmileDecoder();
+
+	private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.smile().build();
+
+
+	@Test
+	public void canDecode() {
+		assertTrue(this.decoder.canDecode(forClass(Pojo.class), SMILE_MIME_TYPE));
+		assertTrue(this.decoder.canDecode(forClass(Pojo.class), null));
+
+		assertFalse(this.decoder.canDecode(forClass(String.class), null));
+		assertFalse(this.decoder.canDecode(forClass(Pojo.class), APPLICATION_JSON));
+	}
+
+	@Test
+	public void decodePojo() throws Exception {
+		Flux<DataBuffer> source = chunked(this.mapper.writeValueAsBytes(new Pojo("foofoo", "barbar")));
+		Mono<Object> mono = this.decoder.decodeToMono(source, forClass(Pojo.class), SMILE_MIME_TYPE, emptyMap());
+
+		StepVerifier.create(mono)
+				.expectNext(new Pojo("foofoo", "barbar"))
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeToList() throws Exception {
+		List<Pojo> list = asList(new Pojo("f1", "b1"), new Pojo("f2", "b2"));
+		Flux<DataBuffer> source = chunked(this.mapper.writeValueAsBytes(list));
+		ResolvableType elementType = ResolvableType.forClassWithGenerics(List.class, Pojo.class);
+		Mono<Object> mono = this.decoder.decodeToMono(source, elementType, SMILE_MIME_TYPE, emptyMap());
+
+		StepVerifier.create(mono)
+				.expectNext(list)
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeArrayToFlux() throws Exception {
+		List<Pojo> list = asList(new Pojo("f1", "b1"), new Pojo("f2", "b2"));
+		Flux<DataBuffer> source = chunked(this.mapper.writeValueAsBytes(list));
+		Flux<Object> flux = this.decoder.decode(source, forClass(Pojo.class), SMILE_MIME_TYPE, emptyMap());
+
+		StepVerifier.create(flux)
+				.expectNext(new Pojo("f1", "b1"))
+				.expectNext(new Pojo("f2", "b2"))
+				.verifyComplete();
+	}
+
+
+	private Flux<DataBuffer> chunked(byte[] bytes) {
+		int half = bytes.length / 2;
+		return Flux.just(Arrays.copyOfRange(bytes, 0, half), Arrays.copyOfRange(bytes, half, bytes.length))
+				.map(chunk -> {
+					DataBuffer buffer = this.bufferFactory.allocateBuffer(chunk.length);
+					buffer.write(chunk);
+					return buffer;
+				});
+	}
+
+}
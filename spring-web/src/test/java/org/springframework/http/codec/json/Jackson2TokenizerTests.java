@@ -0,0 +1,196 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Unit tests for {@link Jackson2Tokenizer}.
+ */
+public class Jackson2TokenizerTests extends AbstractDataBufferAllocatingTestCase {
+
+	private ObjectMapper objectMapper;
+
+	private JsonFactory jsonFactory;
+
+
+	@Before
+	public void setup() {
+		this.jsonFactory = new JsonFactory();
+		this.objectMapper = new ObjectMapper(this.jsonFactory);
+	}
+
+
+	@Test
+	public void doNotTokenizeArrayElements() {
+		testTokenize(
+				singletonList("{\"foo\": \"foofoo\", \"bar\": \"barbar\"}"),
+				singletonList("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}"), false);
+
+		testTokenize(
+				asList("{\"foo\": \"foofoo\"",
+						", \"bar\": \"barbar\"}"),
+				singletonList("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}"), false);
+
+		testTokenize(
+				singletonList("[{\"foo\": \"foofoo\", \"bar\": \"barbar\"},{\"foo\": \"foofoofoo\", \"bar\": \"barbarbar\"}]"),
+				singletonList("[{\"foo\":\"foofoo\",\"bar\":\"barbar\"},{\"foo\":\"foofoofoo\",\"bar\":\"barbarbar\"}]"),
+				false);
+
+		testTokenize(
+				asList("[{\"foo\": \"foofoo\", \"bar\"",
+						": \"barbar\"},{\"foo\": \"foofoofoo\", \"bar\": \"barbarbar\"}]"),
+				singletonList("[{\"foo\":\"foofoo\",\"bar\":\"barbar\"},{\"foo\":\"foofoofoo\",\"bar\":\"barbarbar\"}]"),
+				false);
+
+		testTokenize(
+				singletonList("[]"),
+				singletonList("[]"), false);
+	}
+
+	@Test
+	public void tokenizeArrayElements() {
+		testTokenize(
+				singletonList("{\"foo\": \"foofoo\", \"bar\": \"barbar\"}"),
+				singletonList("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}"), true);
+
+		testTokenize(
+				asList("{\"foo\": \"foofoo\"",
+						", \"bar\": \"barbar\"}"),
+				singletonList("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}"), true);
+
+		testTokenize(
+				singletonList("[{\"foo\": \"foofoo\", \"bar\": \"barbar\"},{\"foo\": \"foofoofoo\", \"bar\": \"barbarbar\"}]"),
+				asList("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}",
+						"{\"foo\":\"foofoofoo\",\"bar\":\"barbarbar\"}"), true);
+
+		testTokenize(
+				asList("[{\"foo\": \"foofoo\", \"bar\"",
+						": \"barbar\"},{\"foo\": \"foofoofoo\", \"bar\": \"barbarbar\"}]"),
+				asList("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}",
+						"{\"foo\":\"foofoofoo\",\"bar\":\"barbarbar\"}"), true);
+
+		testTokenize(
+				asList("[{\"foo\": \"",
+						"bar\"},{\"fo",
+						"o\": \"baz\"}",
+						"]"),
+				asList("{\"foo\":\"bar\"}",
+						"{\"foo\":\"baz\"}"), true);
+
+		// SPR-15013
+		testTokenize(
+				asList("[",
+						"{\"id\":1,\"name\":\"Robert\"}",
+						",",
+						"{\"id\":2,\"name\":\"Raide\"}",
+						",",
+						"{\"id\":3,\"name\":\"Ford\"}",
+						"]"),
+				asList("{\"id\":1,\"name\":\"Robert\"}",
+						"{\"id\":2,\"name\":\"Raide\"}",
+						"{\"id\":3,\"name\":\"Ford\"}"), true);
+
+		testTokenize(
+				singletonList("[[1, 2], {\"foo\": [3]}, 4, \"five\"]"),
+				asList("[1,2]", "{\"foo\":[3]}", "4", "\"five\""), true);
+
+		testTokenize(
+				singletonList("{\"foo\": 1} {\"foo\": 2}"),
+				asList("{\"foo\":1}", "{\"foo\":2}"), true);
+
+		testTokenize(
+				singletonList("[]"),
+				emptyList(), true);
+	}
+
+	@Test
+	public void errorInStream() {
+		DataBuffer buffer = stringBuffer("{\"id\":1,\"name\":");
+		Flux<DataBuffer> source = Flux.just(buffer).concatWith(Flux.error(new RuntimeException()));
+
+		Flux<TokenBuffer> result = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true);
+
+		StepVerifier.create(result)
+				.expectError(RuntimeException.class)
+				.verify();
+	}
+
+	@Test
+	public void malformedJson() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"foo\":}"));
+
+		Flux<TokenBuffer> result = Jackson2Tokenizer.tokenize(source, this.jsonFactory, true);
+
+		StepVerifier.create(result)
+				.expectError(DecodingException.class)
+				.verify();
+	}
+
+	@Test
+	public void truncatedJson() {
+		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"foo\": \"bar\""));
+
+		Flux<TokenBuffer> result = Jackson2Tokenizer.tokenize(source, this.jsonFactory, false);
+
+		StepVerifier.create(result)
+				.expectError(DecodingException.class)
+				.verify();
+	}
+
+
+	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements) {
+		Flux<DataBuffer> sourceFlux = Flux.fromIterable(source)
+				.map(this::stringBuffer);
+
+		Flux<TokenBuffer> tokenBufferFlux =
+				Jackson2Tokenizer.tokenize(sourceFlux, this.jsonFactory, tokenizeArrayElements);
+
+		Flux<String> result = tokenBufferFlux
+				.map(tokenBuffer -> {
+					try {
+						return this.objectMapper.writeValueAsString(tokenBuffer);
+					}
+					catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+				});
+
+		StepVerifier.FirstStep<String> builder = StepVerifier.create(result);
+		expected.forEach(builder::expectNext);
+		builder.verifyComplete();
+	}
+
+}
@@ -26,6 +26,7 @@ import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
@@ -206,6 +207,35 @@ public class Jaxb2XmlDecoderTests extends AbstractDataBufferAllocatingTestCase {
 				.verify();
 	}
 
+	@Test
+	public void decodeMultipleXmlRootElementInChunks() throws Exception {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer(POJO_CHILD.substring(0, 60)),
+				stringBuffer(POJO_CHILD.substring(60, 95)),
+				stringBuffer(POJO_CHILD.substring(95)));
+		Flux<Object> output = this.decoder.decode(source, ResolvableType.forClass(Pojo.class),
+				null, Collections.emptyMap());
+
+		StepVerifier.create(output)
+				.expectNext(new Pojo("foo", "bar"))
+				.expectNext(new Pojo("foofoo", "barbar"))
+				.expectComplete()
+				.verify();
+	}
+
+	@Test
+	public void decodeExceedingMaxInMemorySize() throws Exception {
+		this.decoder.setMaxInMemorySize(44);
+		Flux<DataBuffer> source = Flux.just(stringBuffer(POJO_CHILD));
+		Flux<Object> output = this.decoder.decode(source, ResolvableType.forClass(Pojo.class),
+				null, Collections.emptyMap());
+
+		StepVerifier.create(output)
+				.expectNext(new Pojo("foo", "bar"))
+				.expectError(DecodingException.class)
+				.verify();
+	}
+
 	@Test
 	public void toExpectedQName() {
 		assertEquals(new QName("pojo"), this.decoder.toQName(Pojo.class));
@@ -17,12 +17,15 @@
 package org.springframework.http.codec.xml;
 
 import java.util.Collections;
+import java.util.List;
+import javax.xml.namespace.QName;
 import javax.xml.stream.events.XMLEvent;
 
 import org.junit.Test;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.AbstractDataBufferAllocatingTestCase;
 
 import static org.junit.Assert.assertEquals;
@@ -83,6 +86,35 @@ public class XmlEventDecoderTests extends AbstractDataBufferAllocatingTestCase {
 				.verify();
 	}
 
+	@Test
+	public void toXMLEventsNonAaltoExceedingMaxInMemorySize() {
+		decoder.useAalto = false;
+
+		Flux<XMLEvent> events = this.decoder.decode(
+				Flux.just(stringBuffer(XML.substring(0, 47)), stringBuffer(XML.substring(47))), 47);
+
+		StepVerifier.create(events)
+				.expectError(DecodingException.class)
+				.verify();
+	}
+
+	@Test
+	public void decodeElements() {
+		Flux<List<XMLEvent>> elements = this.decoder.decodeElements(
+				Flux.just(stringBuffer(XML.substring(0, 47)), stringBuffer(XML.substring(47))),
+				new QName("foo"), -1);
+
+		StepVerifier.create(elements)
+				.consumeNextWith(events -> {
+					assertEquals(3, events.size());
+					assertStartElement(events.get(0), "foo");
+					assertCharacters(events.get(1), "foofoo");
+					assertEndElement(events.get(2), "foo");
+				})
+				.expectComplete()
+				.verify();
+	}
+
 	private static void assertStartElement(XMLEvent event, String expectedLocalName) {
 		assertTrue(event.isStartElement());
 		assertEquals(expectedLocalName, event.asStartElement().getName().getLocalPart());
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.beans.DirectFieldAccessor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CompiledPathMatcher}, verifying that compiled
+ * {@link PathPattern}s match exactly like interpreted ones.
+ */
+public class CompiledPathMatcherTests {
+
+	private static final String[] PATTERNS = {
+			"/", "/foo", "/foo/", "foo", "/foo/bar", "/foo/{bar}", "/{foo}/{bar}", "/foo/{bar}/baz",
+			"/foo/**", "/**", "/foo/{bar}/**", "/caf%C3%A9", "/foo/*.html", "/foo/b?r"};
+
+	private static final String[] PATHS = {
+			"", "/", "//", "/foo", "/foo/", "foo", "/fo", "/foo/bar", "/foo/bar/", "/foo//bar", "/foo/bar/baz",
+			"/foo/bar/baz/", "/foo/bar/qux", "/foo/a%20b", "/foo/a%20b/baz", "/bar/foo", "/caf%C3%A9", "/caf%c3%a9",
+			"/foo/bar/baz/qux", "/foo/index.html", "/FOO/bar"};
+
+
+	@Test
+	public void compilesSimplePatterns() {
+		PathPatternParser parser = createParser(true);
+		assertNotNull(getCompiledMatcher(parser.parse("/foo/{bar}/**")));
+		assertNotNull(getCompiledMatcher(parser.parse("/")));
+		assertNull(getCompiledMatcher(parser.parse("")));
+		assertNull(getCompiledMatcher(parser.parse("/foo/{bar:[a-z]+}")));
+		assertNull(getCompiledMatcher(parser.parse("/foo/*.html")));
+		assertNull(getCompiledMatcher(createParser(false).parse("/foo/{bar}")));
+
+		PathPatternParser caseInsensitiveParser = createParser(true);
+		caseInsensitiveParser.setCaseSensitive(false);
+		assertNull(getCompiledMatcher(caseInsensitiveParser.parse("/foo")));
+	}
+
+	@Test
+	public void matchesLikeInterpretedPatterns() {
+		for (boolean trailingSlash : new boolean[] {true, false}) {
+			PathPatternParser interpreted = createParser(false);
+			interpreted.setMatchOptionalTrailingSlash(trailingSlash);
+			PathPatternParser compiled = createParser(true);
+			compiled.setMatchOptionalTrailingSlash(trailingSlash);
+			for (String pattern : PATTERNS) {
+				PathPattern expected = interpreted.parse(pattern);
+				PathPattern actual = compiled.parse(pattern);
+				for (String path : PATHS) {
+					String message = "'" + pattern + "' vs '" + path + "' (trailing slash: " + trailingSlash + ")";
+					assertEquals(message, expected.matches(path), actual.matches(path));
+					assertEquals(message, extract(expected, path), extract(actual, path));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void extractDecodedVariables() {
+		PathPattern pattern = createParser(true).parse("/{foo}/{bar}");
+		Map<String, String> variables = pattern.matchAndExtract("/a%20b/c");
+		assertEquals(2, variables.size());
+		assertEquals("a b", variables.get("foo"));
+		assertEquals("c", variables.get("bar"));
+		assertEquals(Collections.emptyMap(), createParser(true).parse("/foo/**").matchAndExtract("/foo/bar"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void extractFromNonMatchingPath() {
+		createParser(true).parse("/foo/{bar}").matchAndExtract("/bar/foo");
+	}
+
+
+	private PathPatternParser createParser(boolean compileMatchers) {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCompileMatchers(compileMatchers);
+		return parser;
+	}
+
+	private CompiledPathMatcher getCompiledMatcher(PathPattern pattern) {
+		return (CompiledPathMatcher) new DirectFieldAccessor(pattern)
+				.getPropertyValue("compiledMatcher");
+	}
+
+	private Object extract(PathPattern pattern, String path) {
+		try {
+			return pattern.matchAndExtract(path);
+		}
+		catch (IllegalStateException ex) {
+			return ex.getClass();
+		}
+	}
+
+}
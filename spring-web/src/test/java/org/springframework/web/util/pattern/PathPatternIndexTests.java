@@ -0,0 +1,128 @@
+/*
+ * Copyright 2002-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PathPatternIndex}.
+ */
+public class PathPatternIndexTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+	private final PathPatternIndex<String> index = new PathPatternIndex<>();
+
+
+	@Test
+	public void literalPatterns() {
+		add("/api/users", "/api/orders", "/static/site.css");
+
+		assertCandidates("/api/users", "/api/users");
+		assertCandidates("/api/orders", "/api/orders");
+		assertCandidates("/api/other");
+		assertCandidates("/other");
+		assertCandidates("/static/site.css", "/static/site.css");
+	}
+
+	@Test
+	public void nonLiteralSegmentsAreFallbacksForTheirPrefix() {
+		add("/api/users/{id}", "/api/users/*.json", "/api/orders/{id}", "/{*path}");
+
+		assertCandidates("/api/users/42", "/{*path}", "/api/users/{id}", "/api/users/*.json");
+		assertCandidates("/api/orders/7", "/{*path}", "/api/orders/{id}");
+		assertCandidates("/other", "/{*path}");
+	}
+
+	@Test
+	public void prefixPatternsAreCandidatesForLongerPaths() {
+		add("/resources/**", "/resources", "/resources/{*path}");
+
+		assertCandidates("/resources/css/site.css", "/resources/**", "/resources", "/resources/{*path}");
+		assertCandidates("/resources", "/resources/**", "/resources", "/resources/{*path}");
+	}
+
+	@Test
+	public void trailingSlashAndSuffixVariants() {
+		add("/api/users");
+
+		assertCandidates("/api/users/", "/api/users");
+		assertCandidates("/api/users.json", "/api/users");
+		assertCandidates("/api//users", "/api/users");
+	}
+
+	@Test
+	public void caseInsensitivePatterns() {
+		PathPatternParser caseInsensitiveParser = new PathPatternParser();
+		caseInsensitiveParser.setCaseSensitive(false);
+		this.index.add(caseInsensitiveParser.parse("/API/Users"), "/API/Users");
+
+		assertCandidates("/api/USERS", "/API/Users");
+	}
+
+	@Test
+	public void encodedPathIncludesSubtree() {
+		add("/api/users/list", "/api/users/{id}");
+
+		assertCandidates("/api/%75sers/list", "/api/users/list", "/api/users/{id}");
+	}
+
+	@Test
+	public void emptyPatternAndFallback() {
+		add("", "/api");
+		this.index.addFallback("fallback");
+
+		assertCandidates("", "", "fallback");
+		assertCandidates("/api", "", "fallback", "/api");
+		assertEquals(3, this.index.size());
+	}
+
+	@Test
+	public void remove() {
+		add("/api/users", "/api/users/{id}");
+		this.index.addFallback("fallback");
+
+		assertTrue(this.index.remove(this.parser.parse("/api/users/{id}"), "/api/users/{id}"));
+		assertFalse(this.index.remove(this.parser.parse("/api/users/{id}"), "/api/users/{id}"));
+		assertTrue(this.index.removeFallback("fallback"));
+		assertCandidates("/api/users/42", "/api/users");
+		assertEquals(1, this.index.size());
+
+		this.index.clear();
+		assertCandidates("/api/users");
+		assertEquals(0, this.index.size());
+	}
+
+
+	private void add(String... patterns) {
+		for (String pattern : patterns) {
+			this.index.add(this.parser.parse(pattern), pattern);
+		}
+	}
+
+	private void assertCandidates(String path, String... expected) {
+		Set<String> candidates = this.index.getCandidates(path);
+		assertEquals(new HashSet<>(Arrays.asList(expected)), candidates);
+	}
+
+}
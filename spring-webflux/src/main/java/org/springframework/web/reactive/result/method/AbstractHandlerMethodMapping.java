@@ -43,6 +43,9 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.reactive.handler.AbstractHandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
+import org.springframework.web.util.pattern.PatternParseException;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -300,7 +303,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			throws Exception {
 
 		List<Match> matches = new ArrayList<>();
-		addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, exchange);
+		addMatchingMappings(this.mappingRegistry.getMappingsByPath(lookupPath), matches, exchange);
 
 		if (!matches.isEmpty()) {
 			Comparator<Match> comparator = new MatchComparator(getMappingComparator(exchange));
@@ -434,6 +437,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final Map<T, HandlerMethod> mappingLookup = new LinkedHashMap<>();
 
+		private final PathPatternIndex<T> pathLookup = new PathPatternIndex<>();
+
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
 		private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
@@ -446,6 +451,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.mappingLookup;
 		}
 
+		/**
+		 * Return the mappings whose patterns may match the given lookup path,
+		 * narrowed down through an index over the literal path segments of
+		 * all registered patterns. Not thread-safe.
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPath(String lookupPath) {
+			return this.pathLookup.getCandidates(lookupPath);
+		}
+
 		/**
 		 * Return CORS configuration. Thread-safe for concurrent use.
 		 */
@@ -455,14 +470,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 
 		/**
-		 * Acquire the read lock when using getMappings and getMappingsByUrl.
+		 * Acquire the read lock when using getMappings and getMappingsByPath.
 		 */
 		public void acquireReadLock() {
 			this.readWriteLock.readLock().lock();
 		}
 
 		/**
-		 * Release the read lock after using getMappings and getMappingsByUrl.
+		 * Release the read lock after using getMappings and getMappingsByPath.
 		 */
 		public void releaseReadLock() {
 			this.readWriteLock.readLock().unlock();
@@ -479,12 +494,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 				this.mappingLookup.put(mapping, handlerMethod);
 
+				List<PathPattern> pathPatterns = getPathPatterns(mapping);
+				for (PathPattern pathPattern : pathPatterns) {
+					this.pathLookup.add(pathPattern, mapping);
+				}
+				if (pathPatterns.isEmpty()) {
+					this.pathLookup.addFallback(mapping);
+				}
+
 				CorsConfiguration corsConfig = initCorsConfiguration(handler, method, mapping);
 				if (corsConfig != null) {
 					this.corsLookup.put(handlerMethod, corsConfig);
 				}
 
-				this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod));
+				this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod, pathPatterns));
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
@@ -501,6 +524,24 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			}
 		}
 
+		/**
+		 * Parse the path patterns of the given mapping for indexing. A mapping
+		 * with unparseable patterns (or none at all) is returned for any path.
+		 */
+		private List<PathPattern> getPathPatterns(T mapping) {
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			List<PathPattern> pathPatterns = new ArrayList<>(patterns.size());
+			for (String pattern : patterns) {
+				try {
+					pathPatterns.add(getPathPatternParser().parse(pattern));
+				}
+				catch (PatternParseException ex) {
+					return Collections.emptyList();
+				}
+			}
+			return pathPatterns;
+		}
+
 		public void unregister(T mapping) {
 			this.readWriteLock.writeLock().lock();
 			try {
@@ -510,6 +551,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				}
 
 				this.mappingLookup.remove(definition.getMapping());
+
+				for (PathPattern pathPattern : definition.getPathPatterns()) {
+					this.pathLookup.remove(pathPattern, definition.getMapping());
+				}
+				if (definition.getPathPatterns().isEmpty()) {
+					this.pathLookup.removeFallback(definition.getMapping());
+				}
+
 				this.corsLookup.remove(definition.getHandlerMethod());
 			}
 			finally {
@@ -525,11 +574,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final HandlerMethod handlerMethod;
 
-		public MappingRegistration(T mapping, HandlerMethod handlerMethod) {
+		private final List<PathPattern> pathPatterns;
+
+		public MappingRegistration(T mapping, HandlerMethod handlerMethod, List<PathPattern> pathPatterns) {
 			Assert.notNull(mapping, "Mapping must not be null");
 			Assert.notNull(handlerMethod, "HandlerMethod must not be null");
 			this.mapping = mapping;
 			this.handlerMethod = handlerMethod;
+			this.pathPatterns = pathPatterns;
 		}
 
 		public T getMapping() {
@@ -540,6 +592,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.handlerMethod;
 		}
 
+		public List<PathPattern> getPathPatterns() {
+			return this.pathPatterns;
+		}
 	}
 
 
@@ -36,14 +36,21 @@ import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.PathMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.pattern.ParsingPathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -346,8 +353,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			// Go through all mappings that may match the path...
+			addMatchingMappings(this.mappingRegistry.getMappingsByPath(lookupPath), matches, request);
 		}
 
 		if (!matches.isEmpty()) {
@@ -486,6 +493,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PathPatternIndex<T> pathLookup = new PathPatternIndex<>();
+
+		private final PathPatternParser pathPatternParser = new PathPatternParser();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -509,6 +520,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings whose patterns may match the given URL path,
+		 * narrowed down through an index over the literal path segments of
+		 * all registered patterns. Not thread-safe.
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPath(String urlPath) {
+			return this.pathLookup.getCandidates(urlPath);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -525,14 +546,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 
 		/**
-		 * Acquire the read lock when using getMappings and getMappingsByUrl.
+		 * Acquire the read lock when using getMappings, getMappingsByUrl and getMappingsByPath.
 		 */
 		public void acquireReadLock() {
 			this.readWriteLock.readLock().lock();
 		}
 
 		/**
-		 * Release the read lock after using getMappings and getMappingsByUrl.
+		 * Release the read lock after using getMappings, getMappingsByUrl and getMappingsByPath.
 		 */
 		public void releaseReadLock() {
 			this.readWriteLock.readLock().unlock();
@@ -554,6 +575,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.urlLookup.add(url, mapping);
 				}
 
+				List<PathPattern> pathPatterns = getPathPatterns(mapping);
+				for (PathPattern pathPattern : pathPatterns) {
+					this.pathLookup.add(pathPattern, mapping);
+				}
+				if (pathPatterns.isEmpty()) {
+					this.pathLookup.addFallback(mapping);
+				}
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -565,7 +594,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.corsLookup.put(handlerMethod, corsConfig);
 				}
 
-				this.registry.put(mapping, new MappingRegistration<>(mapping, handlerMethod, directUrls, name));
+				this.registry.put(mapping,
+						new MappingRegistration<>(mapping, handlerMethod, directUrls, pathPatterns, name));
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
@@ -592,6 +622,29 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return urls;
 		}
 
+		/**
+		 * Parse the path patterns of the given mapping for indexing. A mapping
+		 * with unparseable patterns (or none at all), or any mapping if a custom
+		 * {@link PathMatcher} is in use, is returned for any path.
+		 */
+		private List<PathPattern> getPathPatterns(T mapping) {
+			PathMatcher pathMatcher = getPathMatcher();
+			if (!(pathMatcher instanceof AntPathMatcher || pathMatcher instanceof ParsingPathMatcher)) {
+				return Collections.emptyList();
+			}
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			List<PathPattern> pathPatterns = new ArrayList<>(patterns.size());
+			for (String pattern : patterns) {
+				try {
+					pathPatterns.add(this.pathPatternParser.parse(pattern));
+				}
+				catch (PatternParseException ex) {
+					return Collections.emptyList();
+				}
+			}
+			return pathPatterns;
+		}
+
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
 			List<HandlerMethod> oldList = this.nameLookup.get(name);
 			if (oldList == null) {
@@ -641,6 +694,13 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				for (PathPattern pathPattern : definition.getPathPatterns()) {
+					this.pathLookup.remove(pathPattern, definition.getMapping());
+				}
+				if (definition.getPathPatterns().isEmpty()) {
+					this.pathLookup.removeFallback(definition.getMapping());
+				}
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
@@ -683,16 +743,19 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final List<String> directUrls;
 
+		private final List<PathPattern> pathPatterns;
+
 		private final String mappingName;
 
-		public MappingRegistration(T mapping, HandlerMethod handlerMethod,
-				@Nullable List<String> directUrls, @Nullable String mappingName) {
+		public MappingRegistration(T mapping, HandlerMethod handlerMethod, @Nullable List<String> directUrls,
+				@Nullable List<PathPattern> pathPatterns, @Nullable String mappingName) {
 
 			Assert.notNull(mapping, "Mapping must not be null");
 			Assert.notNull(handlerMethod, "HandlerMethod must not be null");
 			this.mapping = mapping;
 			this.handlerMethod = handlerMethod;
 			this.directUrls = (directUrls != null ? directUrls : Collections.emptyList());
+			this.pathPatterns = (pathPatterns != null ? pathPatterns : Collections.emptyList());
 			this.mappingName = mappingName;
 		}
 
@@ -708,6 +771,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.directUrls;
 		}
 
+		public List<PathPattern> getPathPatterns() {
+			return this.pathPatterns;
+		}
+
 		@Nullable
 		public String getMappingName() {
 			return this.mappingName;